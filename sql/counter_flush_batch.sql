@@ -0,0 +1,14 @@
+-- ----------------------------
+-- 计数器回写批次表（已有库升级用，新库直接执行 xypai_all_databases.sql）
+-- 查看数增量按批次回写，批次号与增量在同一事务中写入本表，
+-- 落库提交后、删除Redis待落库表前崩溃时，重新投递的批次按主键冲突跳过。
+-- 记录只用于去重，可定期删除一天前的数据。
+-- ----------------------------
+use `xypai_content`;
+create table `counter_flush_batch` (
+    `batch_id` varchar(64) not null comment '批次号',
+    `namespace` varchar(64) not null comment '计数器命名空间',
+    `created_at` datetime default current_timestamp comment '回写时间',
+    primary key (`batch_id`),
+    key `idx_created_at` (`created_at`)
+) engine=innodb default charset=utf8mb4 collate=utf8mb4_unicode_ci comment='计数器回写批次表';
@@ -0,0 +1,17 @@
+-- ----------------------------
+-- 游标分页索引（已有库升级用，新库直接执行 xypai_all_databases.sql）
+-- 内容列表、钱包流水按 (created_at, id) 游标分页并按 user_id 过滤，
+-- 单列 idx_user_id 替换为 (user_id, created_at)，仍可用于只按 user_id 的查询。
+-- 加索引与删索引在同一条语句中完成，不会出现两个索引都不存在的窗口；InnoDB 在线执行，不阻塞读写。
+-- ----------------------------
+use `xypai_content`;
+alter table `content`
+    add key `idx_user_created_at` (`user_id`, `created_at`),
+    drop key `idx_user_id`,
+    algorithm = inplace, lock = none;
+
+use `xypai_user`;
+alter table `transaction`
+    add key `idx_user_created_at` (`user_id`, `created_at`),
+    drop key `idx_user_id`,
+    algorithm = inplace, lock = none;
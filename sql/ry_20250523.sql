@@ -729,13 +729,14 @@ create table sys_oper_log
     json_result    varchar(2000) default '' comment '返回参数',
     status         int(1)          default 0                  comment '操作状态（0正常 1异常）',
     error_msg      varchar(2000) default '' comment '错误消息',
-    oper_time      datetime comment '操作时间',
+    oper_time      datetime      not null default current_timestamp comment '操作时间',
     cost_time      bigint(20)      default 0                  comment '消耗时间',
-    primary key (oper_id),
+    primary key (oper_id, oper_time),
     key            idx_sys_oper_log_bt (business_type),
     key            idx_sys_oper_log_s (status),
     key            idx_sys_oper_log_ot (oper_time)
-) engine=innodb auto_increment=100 comment = '操作日志记录';
+) engine=innodb auto_increment=100 comment = '操作日志记录'
+  partition by range columns(oper_time) (partition p_future values less than (maxvalue));
 
 
 -- ----------------------------
@@ -915,11 +916,12 @@ create table sys_logininfor
     ipaddr      varchar(128) default '' comment '登录IP地址',
     status      char(1)      default '0' comment '登录状态（0成功 1失败）',
     msg         varchar(255) default '' comment '提示信息',
-    access_time datetime comment '访问时间',
-    primary key (info_id),
+    access_time datetime     not null default current_timestamp comment '访问时间',
+    primary key (info_id, access_time),
     key         idx_sys_logininfor_s (status),
     key         idx_sys_logininfor_lt (access_time)
-) engine=innodb auto_increment=100 comment = '系统访问记录';
+) engine=innodb auto_increment=100 comment = '系统访问记录'
+  partition by range columns(access_time) (partition p_future values less than (maxvalue));
 
 
 -- ----------------------------
@@ -953,6 +955,9 @@ values (2, '系统默认（有参）', 'DEFAULT', 'ryTask.ryParams(\'ry\')', '0/
 insert into sys_job
 values (3, '系统默认（多参）', 'DEFAULT', 'ryTask.ryMultipleParams(\'ry\', true, 2000L, 316.50D, 100)', '0/20 * * * * ?',
         '3', '1', '1', 'admin', sysdate(), '', null, '');
+insert into sys_job
+values (4, '日志表分区维护', 'SYSTEM', 'logPartitionTask.maintain(2, 6)', '0 30 1 * * ?', '1', '1', '1', 'admin',
+        sysdate(), '', null, '操作日志、登录日志预建2个月分区，保留6个月；会删除过期分区，确认保留期后手动启用');
 
 
 -- ----------------------------
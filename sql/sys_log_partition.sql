@@ -0,0 +1,27 @@
+-- ----------------------------
+-- 操作日志、登录日志改为按月分区（已有库升级用，新库直接执行 ry_20250523.sql）
+-- 分区键必须包含在主键中，因此主键改为 (id, 时间)；初始只有 p_future 一个分区，
+-- 由定时任务 logPartitionTask.maintain(2, 6) 按月拆分历史数据、预建分区并删除过期分区。
+-- 该任务默认暂停，确认保留期后在定时任务页面启用。
+-- 注意：改表会重建整张表，数据量大时请在低峰期执行。
+-- ----------------------------
+update sys_oper_log set oper_time = '1970-01-01 00:00:00' where oper_time is null;
+alter table sys_oper_log
+    modify oper_time datetime not null default current_timestamp comment '操作时间',
+    drop primary key,
+    add primary key (oper_id, oper_time);
+alter table sys_oper_log
+    partition by range columns(oper_time) (partition p_future values less than (maxvalue));
+
+update sys_logininfor set access_time = '1970-01-01 00:00:00' where access_time is null;
+alter table sys_logininfor
+    modify access_time datetime not null default current_timestamp comment '访问时间',
+    drop primary key,
+    add primary key (info_id, access_time);
+alter table sys_logininfor
+    partition by range columns(access_time) (partition p_future values less than (maxvalue));
+
+insert into sys_job (job_name, job_group, invoke_target, cron_expression, misfire_policy, concurrent, status,
+                     create_by, create_time, remark)
+values ('日志表分区维护', 'SYSTEM', 'logPartitionTask.maintain(2, 6)', '0 30 1 * * ?', '1', '1', '1',
+        'admin', sysdate(), '操作日志、登录日志预建2个月分区，保留6个月；会删除过期分区，确认保留期后手动启用');
@@ -0,0 +1,120 @@
+-- ----------------------------
+-- 操作日志分区与游标翻页基准测试（MySQL 8，在独立库中执行，约需数分钟）
+-- mysql -uroot -p < sys_log_partition_benchmark.sql
+-- 生成12个月、@rows 条合成数据，分别写入未分区表 bench_oper_log_plain 与按月分区表 bench_oper_log_part，
+-- 对比：深翻页（偏移量 vs 游标）、总数（count(*) vs 执行计划估算）、过期数据清理（delete vs drop partition）。
+-- ----------------------------
+create database if not exists xypai_bench default charset utf8mb4;
+use xypai_bench;
+
+set @rows = 5000000;
+set @begin_time = date_format(date_sub(now(), interval 11 month), '%Y-%m-01');
+
+drop table if exists bench_oper_log_plain;
+create table bench_oper_log_plain
+(
+    oper_id        bigint(20)    not null auto_increment,
+    title          varchar(50)   default '',
+    business_type  int(2)        default 0,
+    method         varchar(200)  default '',
+    oper_name      varchar(50)   default '',
+    oper_url       varchar(255)  default '',
+    oper_ip        varchar(128)  default '',
+    oper_param     varchar(2000) default '',
+    status         int(1)        default 0,
+    oper_time      datetime      not null,
+    cost_time      bigint(20)    default 0,
+    primary key (oper_id),
+    key idx_ot (oper_time)
+) engine=innodb;
+
+drop table if exists bench_oper_log_part;
+create table bench_oper_log_part like bench_oper_log_plain;
+alter table bench_oper_log_part drop primary key, add primary key (oper_id, oper_time);
+
+-- 按月预建分区，与 logPartitionTask 生成的分区一致
+drop procedure if exists bench_partition;
+delimiter //
+create procedure bench_partition()
+begin
+    declare i int default 0;
+    declare ddl text default '';
+    while i < 12 do
+        set ddl = concat(ddl, 'partition p', date_format(date_add(@begin_time, interval i month), '%Y%m'),
+                         ' values less than (''', date_add(@begin_time, interval i + 1 month), '''),');
+        set i = i + 1;
+    end while;
+    set @ddl = concat('alter table bench_oper_log_part partition by range columns(oper_time) (', ddl,
+                      'partition p_future values less than (maxvalue))');
+    prepare stmt from @ddl;
+    execute stmt;
+    deallocate prepare stmt;
+end //
+
+-- 合成数据：时间在12个月内均匀递增，每批10万行
+drop procedure if exists bench_fill //
+create procedure bench_fill()
+begin
+    declare done int default 0;
+    declare span int default timestampdiff(second, @begin_time, now());
+    while done < @rows do
+        insert into bench_oper_log_plain (title, business_type, method, oper_name, oper_url, oper_ip, oper_param, status, oper_time, cost_time)
+        select concat('模块', n % 20), n % 10, 'com.xypai.system.controller.SysUserController.list()',
+               concat('user', n % 1000), '/system/user/list', concat('192.168.', n % 256, '.', n % 200),
+               repeat('p', 200 + n % 300), if(n % 50 = 0, 1, 0),
+               date_add(@begin_time, interval floor(n / @rows * span) second), n % 500
+        from (select done + a.i + b.i * 10 + c.i * 100 + d.i * 1000 + e.i * 10000 as n
+              from (select 0 i union all select 1 union all select 2 union all select 3 union all select 4 union all select 5 union all select 6 union all select 7 union all select 8 union all select 9) a,
+                   (select 0 i union all select 1 union all select 2 union all select 3 union all select 4 union all select 5 union all select 6 union all select 7 union all select 8 union all select 9) b,
+                   (select 0 i union all select 1 union all select 2 union all select 3 union all select 4 union all select 5 union all select 6 union all select 7 union all select 8 union all select 9) c,
+                   (select 0 i union all select 1 union all select 2 union all select 3 union all select 4 union all select 5 union all select 6 union all select 7 union all select 8 union all select 9) d,
+                   (select 0 i union all select 1 union all select 2 union all select 3 union all select 4 union all select 5 union all select 6 union all select 7 union all select 8 union all select 9) e) t
+        where n < @rows;
+        set done = done + 100000;
+    end while;
+end //
+delimiter ;
+
+call bench_partition();
+call bench_fill();
+insert into bench_oper_log_part select * from bench_oper_log_plain;
+analyze table bench_oper_log_plain, bench_oper_log_part;
+
+-- 1. 深翻页：跳过200万行后取10条
+select oper_id, oper_time into @cursor_id, @cursor_time from bench_oper_log_part
+order by oper_time desc, oper_id desc limit 1 offset 1999999;
+
+set @t = now(6);
+select count(*) from (select oper_id, title, oper_time from bench_oper_log_plain order by oper_id desc limit 2000000, 10) t;
+select '偏移量翻页 limit 2000000,10' as test, timestampdiff(microsecond, @t, now(6)) / 1000 as ms;
+
+set @t = now(6);
+select count(*) from (select oper_id, title, oper_time from bench_oper_log_part
+                      where oper_time < @cursor_time or (oper_time = @cursor_time and oper_id < @cursor_id)
+                      order by oper_time desc, oper_id desc limit 10) t;
+select '游标翻页 (oper_time, oper_id)' as test, timestampdiff(microsecond, @t, now(6)) / 1000 as ms;
+
+-- 2. 总数
+set @t = now(6);
+select count(*) from bench_oper_log_part;
+select 'count(*)' as test, timestampdiff(microsecond, @t, now(6)) / 1000 as ms;
+explain select oper_id from bench_oper_log_part;
+
+-- 3. 按时间范围查询只扫描命中的分区（partitions 列）
+explain select count(*) from bench_oper_log_part where oper_time >= date_sub(now(), interval 7 day);
+
+-- 4. 清理最早一个月的数据
+set @expire_time = date_add(@begin_time, interval 1 month);
+set @t = now(6);
+delete from bench_oper_log_plain where oper_time < @expire_time;
+select 'delete 一个月数据' as test, timestampdiff(microsecond, @t, now(6)) / 1000 as ms;
+
+set @ddl = concat('alter table bench_oper_log_part drop partition p', date_format(@begin_time, '%Y%m'));
+set @t = now(6);
+prepare stmt from @ddl;
+execute stmt;
+deallocate prepare stmt;
+select 'drop partition 一个月数据' as test, timestampdiff(microsecond, @t, now(6)) / 1000 as ms;
+
+drop procedure if exists bench_partition;
+drop procedure if exists bench_fill;
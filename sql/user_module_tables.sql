@@ -46,7 +46,7 @@ CREATE TABLE `transaction` (
     `ref_id` VARCHAR(50) DEFAULT NULL COMMENT '关联业务ID(订单号/活动ID等)',
     `created_at` DATETIME DEFAULT CURRENT_TIMESTAMP COMMENT '交易时间',
     PRIMARY KEY (`id`),
-    KEY `idx_user_id` (`user_id`),
+    KEY `idx_user_created_at` (`user_id`, `created_at`),
     KEY `idx_type` (`type`),
     KEY `idx_ref_id` (`ref_id`),
     KEY `idx_created_at` (`created_at`)
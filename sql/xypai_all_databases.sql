@@ -62,7 +62,7 @@ CREATE TABLE `transaction` (
     `ref_id` VARCHAR(50) DEFAULT NULL COMMENT '关联业务ID(订单号/活动ID等)',
     `created_at` DATETIME DEFAULT CURRENT_TIMESTAMP COMMENT '交易时间',
     PRIMARY KEY (`id`),
-    KEY `idx_user_id` (`user_id`),
+    KEY `idx_user_created_at` (`user_id`, `created_at`),
     KEY `idx_type` (`type`),
     KEY `idx_ref_id` (`ref_id`),
     KEY `idx_created_at` (`created_at`)
@@ -101,9 +101,10 @@ CREATE TABLE `content` (
     `title` VARCHAR(200) NOT NULL COMMENT '内容标题',
     `data` JSON NOT NULL COMMENT '类型特定数据JSON',
     `status` TINYINT DEFAULT 1 COMMENT '内容状态(0=草稿,1=发布,2=下架)',
+    `view_count` BIGINT DEFAULT 0 COMMENT '查看数(由Redis计数器批量回写)',
     `created_at` DATETIME DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
     PRIMARY KEY (`id`),
-    KEY `idx_user_id` (`user_id`),
+    KEY `idx_user_created_at` (`user_id`, `created_at`),
     KEY `idx_type` (`type`),
     KEY `idx_status` (`status`),
     KEY `idx_created_at` (`created_at`)
@@ -125,6 +126,15 @@ CREATE TABLE `content_action` (
     UNIQUE KEY `uk_user_content_action` (`user_id`, `content_id`, `action`)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='内容行为统一表';
 
+-- 3. 计数器回写批次表
+CREATE TABLE `counter_flush_batch` (
+    `batch_id` VARCHAR(64) NOT NULL COMMENT '批次号',
+    `namespace` VARCHAR(64) NOT NULL COMMENT '计数器命名空间',
+    `created_at` DATETIME DEFAULT CURRENT_TIMESTAMP COMMENT '回写时间',
+    PRIMARY KEY (`batch_id`),
+    KEY `idx_created_at` (`created_at`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='计数器回写批次表(批次重复投递时去重，可定期清理一天前的记录)';
+
 -- 内容模块外键约束
 ALTER TABLE `content_action` ADD CONSTRAINT `fk_content_action_content` FOREIGN KEY (`content_id`) REFERENCES `content` (`id`) ON DELETE CASCADE;
 
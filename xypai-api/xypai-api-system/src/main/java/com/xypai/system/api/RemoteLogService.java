@@ -1,5 +1,6 @@
 package com.xypai.system.api;
 
+import java.util.List;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -28,6 +29,16 @@ public interface RemoteLogService {
     @PostMapping("/operlog")
     public R<Boolean> saveLog(@RequestBody SysOperLog sysOperLog, @RequestHeader(SecurityConstants.FROM_SOURCE) String source) throws Exception;
 
+    /**
+     * 批量保存系统日志
+     *
+     * @param sysOperLogs 日志实体集合
+     * @param source      请求来源
+     * @return 结果
+     */
+    @PostMapping("/operlog/batch")
+    public R<Boolean> saveLogBatch(@RequestBody List<SysOperLog> sysOperLogs, @RequestHeader(SecurityConstants.FROM_SOURCE) String source);
+
     /**
      * 保存访问记录
      *
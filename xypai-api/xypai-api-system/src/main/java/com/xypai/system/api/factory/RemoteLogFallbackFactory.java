@@ -1,5 +1,6 @@
 package com.xypai.system.api.factory;
 
+import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.cloud.openfeign.FallbackFactory;
@@ -27,6 +28,11 @@ public class RemoteLogFallbackFactory implements FallbackFactory<RemoteLogServic
                 return R.fail("保存操作日志失败:" + throwable.getMessage());
             }
 
+            @Override
+            public R<Boolean> saveLogBatch(List<SysOperLog> sysOperLogs, String source) {
+                return R.fail("批量保存操作日志失败:" + throwable.getMessage());
+            }
+
             @Override
             public R<Boolean> saveLogininfor(SysLogininfor sysLogininfor, String source) {
                 return R.fail("保存登录日志失败:" + throwable.getMessage());
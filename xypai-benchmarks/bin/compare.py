@@ -0,0 +1,88 @@
+#!/usr/bin/env python3
+# -*- coding: utf-8 -*-
+"""
+比较两次JMH结果（-rf json），发现性能退化
+
+用法：bin/compare.py base.json current.json [--threshold 10]
+  threshold  退化阈值（百分比），默认10
+退化判定：变化超过阈值，且两次结果的误差区间不重叠（避免噪声误报）。
+存在退化时退出码为1，可直接用于CI。
+"""
+import argparse
+import json
+import sys
+
+
+def load(path):
+    with open(path, encoding="utf-8") as f:
+        results = {}
+        for item in json.load(f):
+            params = item.get("params") or {}
+            key = item["benchmark"].rsplit(".", 2)[-2:]
+            name = ".".join(key)
+            if params:
+                name += "(" + ",".join("%s=%s" % (k, v) for k, v in sorted(params.items())) + ")"
+            metric = item["primaryMetric"]
+            results[name] = {
+                "mode": item["mode"],
+                "score": metric["score"],
+                "error": metric.get("scoreError") if isinstance(metric.get("scoreError"), (int, float)) else 0.0,
+                "unit": metric["scoreUnit"],
+                "alloc": secondary(item, "gc.alloc.rate.norm"),
+            }
+        return results
+
+
+def secondary(item, name):
+    metric = (item.get("secondaryMetrics") or {}).get("·" + name) or (item.get("secondaryMetrics") or {}).get(name)
+    return metric["score"] if metric else None
+
+
+def change(base, current):
+    """返回变化百分比，正数表示变差"""
+    if base["score"] == 0:
+        return 0.0
+    delta = (current["score"] - base["score"]) / base["score"] * 100
+    # 吞吐量越大越好，其它模式（avgt/sample/ss）越小越好
+    return -delta if base["mode"] == "thrpt" else delta
+
+
+def overlaps(base, current):
+    return abs(current["score"] - base["score"]) <= (base["error"] or 0) + (current["error"] or 0)
+
+
+def main():
+    parser = argparse.ArgumentParser(description="比较两次JMH结果")
+    parser.add_argument("base")
+    parser.add_argument("current")
+    parser.add_argument("--threshold", type=float, default=10.0)
+    args = parser.parse_args()
+
+    base = load(args.base)
+    current = load(args.current)
+    regressions = 0
+    width = max([len(n) for n in base] + [len(n) for n in current] + [9])
+    print("%-*s %14s %14s %9s %12s  %s" % (width, "benchmark", "base", "current", "change", "alloc(B/op)", "unit"))
+    for name in sorted(set(base) | set(current)):
+        b, c = base.get(name), current.get(name)
+        if b is None or c is None:
+            print("%-*s %s" % (width, name, "仅存在于" + (args.current if b is None else args.base)))
+            continue
+        diff = change(b, c)
+        status = ""
+        if diff > args.threshold and not overlaps(b, c):
+            status = "  <-- 退化"
+            regressions += 1
+        elif diff < -args.threshold and not overlaps(b, c):
+            status = "  提升"
+        alloc = "-" if c["alloc"] is None else "%.0f" % c["alloc"]
+        print("%-*s %14.3f %14.3f %+8.1f%% %12s  %s%s" % (width, name, b["score"], c["score"], diff, alloc, c["unit"], status))
+
+    if regressions:
+        print("\n%d 项退化超过 %.0f%%" % (regressions, args.threshold))
+        return 1
+    return 0
+
+
+if __name__ == "__main__":
+    sys.exit(main())
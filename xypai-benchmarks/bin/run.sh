@@ -0,0 +1,14 @@
+#!/bin/sh
+# 运行基准测试并输出JSON结果
+# 用法：bin/run.sh [结果文件] [JMH参数...]，如 bin/run.sh results/base.json ConvertBenchmark -f 2
+cd "$(dirname "$0")/.." || exit 1
+
+RESULT=${1:-results/$(date +%Y%m%d%H%M%S).json}
+[ $# -gt 0 ] && shift
+mkdir -p "$(dirname "$RESULT")"
+
+if [ ! -f target/benchmarks.jar ]; then
+    (cd .. && mvn -B -q -P benchmark package -pl xypai-benchmarks -am -Dmaven.test.skip=true) || exit 1
+fi
+
+java -jar target/benchmarks.jar -rf json -rff "$RESULT" "$@"
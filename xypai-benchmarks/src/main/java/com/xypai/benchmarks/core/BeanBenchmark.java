@@ -0,0 +1,84 @@
+package com.xypai.benchmarks.core;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import com.xypai.benchmarks.model.SampleData;
+import com.xypai.benchmarks.model.SampleUser;
+import com.xypai.common.core.utils.bean.BeanUtils;
+import com.xypai.common.core.utils.reflect.ReflectUtils;
+
+/**
+ * 反射工具 BeanUtils.copyBeanProp / ReflectUtils.invokeGetter
+ * <p>
+ * invokeGetter 是 ExcelUtil 导出与数据权限取值的主要开销。
+ * copyProperties 为 Spring BeanUtils 的原实现，每次复制都查询属性描述符并逐个 Method.invoke；
+ * getterLookup 为 invokeGetter 的原实现，每次调用都沿父类 getDeclaredMethod 查找后再 invoke。
+ *
+ * @author xypai
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BeanBenchmark
+{
+    private final SampleUser source = SampleData.user(1024L);
+
+    @Benchmark
+    public SampleUser copyBeanProp()
+    {
+        SampleUser dest = new SampleUser();
+        BeanUtils.copyBeanProp(dest, source);
+        return dest;
+    }
+
+    @Benchmark
+    public SampleUser copyProperties()
+    {
+        SampleUser dest = new SampleUser();
+        org.springframework.beans.BeanUtils.copyProperties(source, dest);
+        return dest;
+    }
+
+    @Benchmark
+    public Object invokeGetter()
+    {
+        return ReflectUtils.invokeGetter(source, "nickName");
+    }
+
+    @Benchmark
+    public Object invokeGetterNested()
+    {
+        return ReflectUtils.invokeGetter(source, "dept.deptName");
+    }
+
+    @Benchmark
+    public Object getterLookup() throws Exception
+    {
+        for (Class<?> type = source.getClass(); type != Object.class; type = type.getSuperclass())
+        {
+            try
+            {
+                Method method = type.getDeclaredMethod("getNickName");
+                method.setAccessible(true);
+                return method.invoke(source);
+            }
+            catch (NoSuchMethodException e)
+            {
+                continue;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,112 @@
+package com.xypai.benchmarks.core;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import com.xypai.common.core.constant.SecurityConstants;
+import com.xypai.common.core.context.SecurityContextHolder;
+import com.xypai.common.core.text.Convert;
+
+/**
+ * 类型转换 Convert.toLong / toInt / toStr
+ * <p>
+ * 输入对应请求头中的用户ID（字符串）、实体中的ID（Long/Integer）、分页参数 pageNum/pageSize。
+ * toLongBigDecimal 为 toLong 解析字符串的原实现，用 -prof gc 对比每次调用的分配量。
+ *
+ * @author xypai
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConvertBenchmark
+{
+    public Object longString = "1234567890123";
+
+    public Object longValue = 1234567890123L;
+
+    public Object intValue = 1024;
+
+    public Object intString = "1024";
+
+    public Object pageSize = "10";
+
+    public Object smallIdString = "103";
+
+    @Setup
+    public void setup()
+    {
+        SecurityContextHolder.set(SecurityConstants.DETAILS_USER_ID, "1234567890123");
+    }
+
+    @Benchmark
+    public Long getUserId()
+    {
+        return SecurityContextHolder.getUserId();
+    }
+
+    @Benchmark
+    public Long toLongFromString()
+    {
+        return Convert.toLong(longString);
+    }
+
+    @Benchmark
+    public Long toLongBigDecimal()
+    {
+        return new BigDecimal(((String) longString).trim()).longValue();
+    }
+
+    @Benchmark
+    public Long toLongSmallId()
+    {
+        return Convert.toLong(smallIdString);
+    }
+
+    @Benchmark
+    public Long toLongFromLong()
+    {
+        return Convert.toLong(longValue);
+    }
+
+    @Benchmark
+    public Long toLongFromInteger()
+    {
+        return Convert.toLong(intValue);
+    }
+
+    @Benchmark
+    public Integer toIntFromString()
+    {
+        return Convert.toInt(intString);
+    }
+
+    @Benchmark
+    public Integer toIntPageSize()
+    {
+        return Convert.toInt(pageSize, 10);
+    }
+
+    @Benchmark
+    public String toStrFromLong()
+    {
+        return Convert.toStr(longValue);
+    }
+
+    @Benchmark
+    public String toStrFromString()
+    {
+        return Convert.toStr(longString);
+    }
+}
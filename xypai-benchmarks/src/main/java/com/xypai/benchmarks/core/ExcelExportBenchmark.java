@@ -0,0 +1,134 @@
+package com.xypai.benchmarks.core;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import com.xypai.benchmarks.model.SampleData;
+import com.xypai.benchmarks.model.SampleOperLog;
+import com.xypai.common.core.utils.poi.ExcelUtil;
+
+/**
+ * 大数据量导出 ExcelUtil.exportExcel
+ * <p>
+ * list 先把全部数据载入 List 再导出（原 List 接口的内存占用），stream 逐条生成数据导出（Cursor 接口）。
+ * 每次迭代导出一次，结果为耗时，每秒行数 = rows / 耗时；迭代结束时打印峰值堆内存。
+ * 堆上限固定为1GB，1M行时 list 的峰值接近上限而 stream 与行数无关。
+ *
+ * @author xypai
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = { "-Xms1g", "-Xmx1g" })
+public class ExcelExportBenchmark
+{
+    @Param({ "100000", "1000000" })
+    public int rows;
+
+    @Setup(Level.Iteration)
+    public void resetPeak()
+    {
+        System.gc();
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans())
+        {
+            if (pool.getType() == MemoryType.HEAP)
+            {
+                pool.resetPeakUsage();
+            }
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void printPeak()
+    {
+        long peak = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans())
+        {
+            if (pool.getType() == MemoryType.HEAP)
+            {
+                peak += pool.getPeakUsage().getUsed();
+            }
+        }
+        System.out.printf("  峰值堆内存 %d MB%n", peak >> 20);
+    }
+
+    @Benchmark
+    public long list() throws IOException
+    {
+        List<SampleOperLog> list = new ArrayList<>(rows);
+        for (int i = 1; i <= rows; i++)
+        {
+            list.add(SampleData.operLog(i));
+        }
+        return export(list);
+    }
+
+    @Benchmark
+    public long stream() throws IOException
+    {
+        return export(() -> new Iterator<SampleOperLog>()
+        {
+            private int next = 1;
+
+            @Override
+            public boolean hasNext()
+            {
+                return next <= rows;
+            }
+
+            @Override
+            public SampleOperLog next()
+            {
+                return SampleData.operLog(next++);
+            }
+        });
+    }
+
+    private static long export(Iterable<SampleOperLog> data) throws IOException
+    {
+        CountingOutputStream os = new CountingOutputStream();
+        new ExcelUtil<>(SampleOperLog.class).exportExcel(os, data, "操作日志", "");
+        return os.count;
+    }
+
+    /**
+     * 丢弃写出的内容，只统计字节数
+     */
+    private static class CountingOutputStream extends OutputStream
+    {
+        private long count;
+
+        @Override
+        public void write(int b)
+        {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len)
+        {
+            count += len;
+        }
+    }
+}
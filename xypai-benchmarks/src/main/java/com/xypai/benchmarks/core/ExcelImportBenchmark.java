@@ -0,0 +1,210 @@
+package com.xypai.benchmarks.core;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import com.xypai.benchmarks.model.SampleData;
+import com.xypai.benchmarks.model.SampleOperLog;
+import com.xypai.common.core.utils.StringUtils;
+import com.xypai.common.core.utils.poi.ExcelColumn;
+import com.xypai.common.core.utils.poi.ExcelRow;
+import com.xypai.common.core.utils.poi.ExcelUtil;
+
+/**
+ * 大文件导入 ExcelUtil.importExcel
+ * <p>
+ * 先生成一个单sheet、使用共享字符串表的xlsx（与Excel保存的文件结构一致），
+ * dom 为原 WorkbookFactory 整体读入后转换为 List，sax 为事件模式按1000行一批回调。
+ * 每次迭代导入一次，迭代结束时打印峰值堆内存；500k行时 dom 需要数GB堆，sax 与行数无关。
+ * 生成文件后先用两种方式各导入一次，逐行逐列比较结果，不一致时终止测试。
+ *
+ * @author xypai
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = { "-Xms4g", "-Xmx4g" })
+public class ExcelImportBenchmark
+{
+    @Param({ "500000" })
+    public int rows;
+
+    private Path file;
+
+    @Setup(Level.Trial)
+    public void createFile() throws Exception
+    {
+        file = Files.createTempFile("import-benchmark", ".xlsx");
+        List<ExcelColumn> columns = ExcelColumn.forClass(SampleOperLog.class);
+        SXSSFWorkbook wb = new SXSSFWorkbook(null, 500, true, true);
+        try (OutputStream os = Files.newOutputStream(file))
+        {
+            CellStyle dateStyle = wb.createCellStyle();
+            dateStyle.setDataFormat(wb.createDataFormat().getFormat("yyyy-MM-dd HH:mm:ss"));
+            Sheet sheet = wb.createSheet("操作日志");
+            Row head = sheet.createRow(0);
+            for (int c = 0; c < columns.size(); c++)
+            {
+                head.createCell(c).setCellValue(columns.get(c).getExcel().name());
+            }
+            for (int r = 1; r <= rows; r++)
+            {
+                SampleOperLog operLog = SampleData.operLog(r);
+                Row row = sheet.createRow(r);
+                for (int c = 0; c < columns.size(); c++)
+                {
+                    ExcelColumn column = columns.get(c);
+                    Object value = column.getValue(operLog);
+                    Cell cell = row.createCell(c);
+                    if (value instanceof Date)
+                    {
+                        cell.setCellValue((Date) value);
+                        cell.setCellStyle(dateStyle);
+                    }
+                    else if (StringUtils.isNotEmpty(column.getExcel().readConverterExp()) && value != null)
+                    {
+                        cell.setCellValue(column.convert(value.toString()));
+                    }
+                    else if (value instanceof Number)
+                    {
+                        cell.setCellValue(((Number) value).doubleValue());
+                    }
+                    else if (value != null)
+                    {
+                        cell.setCellValue(value.toString());
+                    }
+                }
+            }
+            wb.write(os);
+        }
+        finally
+        {
+            wb.dispose();
+            wb.close();
+        }
+        System.out.printf("  导入文件 %d 行 %d MB%n", rows, Files.size(file) >> 20);
+        verifySameRows(columns);
+    }
+
+    /**
+     * 两种方式导入的结果逐行逐列一致，否则比较耗时没有意义
+     */
+    private void verifySameRows(List<ExcelColumn> columns) throws Exception
+    {
+        List<SampleOperLog> expected;
+        try (InputStream is = Files.newInputStream(file))
+        {
+            expected = new ExcelUtil<>(SampleOperLog.class).importExcel(is);
+        }
+        List<ExcelRow<SampleOperLog>> actual = new ArrayList<>(rows);
+        try (InputStream is = Files.newInputStream(file))
+        {
+            new ExcelUtil<>(SampleOperLog.class).importExcel(is, 0, 1000, actual::addAll);
+        }
+        if (expected.size() != rows || actual.size() != rows)
+        {
+            throw new IllegalStateException(StringUtils.format("导入行数不一致：dom={}，sax={}，写入={}", expected.size(), actual.size(), rows));
+        }
+        for (int i = 0; i < rows; i++)
+        {
+            ExcelRow<SampleOperLog> row = actual.get(i);
+            if (row.hasError())
+            {
+                throw new IllegalStateException("第 " + row.getRowNum() + " 行导入失败：" + row.getError());
+            }
+            for (ExcelColumn column : columns)
+            {
+                Object dom = column.getValue(expected.get(i));
+                Object sax = column.getValue(row.getData());
+                if (!Objects.equals(dom, sax))
+                {
+                    throw new IllegalStateException(StringUtils.format("第 {} 行{}列不一致：dom={}，sax={}",
+                            row.getRowNum(), column.getExcel().name(), dom, sax));
+                }
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteFile() throws IOException
+    {
+        Files.deleteIfExists(file);
+    }
+
+    @Setup(Level.Iteration)
+    public void resetPeak()
+    {
+        System.gc();
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans())
+        {
+            if (pool.getType() == MemoryType.HEAP)
+            {
+                pool.resetPeakUsage();
+            }
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void printPeak()
+    {
+        long peak = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans())
+        {
+            if (pool.getType() == MemoryType.HEAP)
+            {
+                peak += pool.getPeakUsage().getUsed();
+            }
+        }
+        System.out.printf("  峰值堆内存 %d MB%n", peak >> 20);
+    }
+
+    @Benchmark
+    public int dom() throws IOException
+    {
+        try (InputStream is = Files.newInputStream(file))
+        {
+            return new ExcelUtil<>(SampleOperLog.class).importExcel(is).size();
+        }
+    }
+
+    @Benchmark
+    public int sax() throws IOException
+    {
+        int[] count = new int[1];
+        try (InputStream is = Files.newInputStream(file))
+        {
+            new ExcelUtil<>(SampleOperLog.class).importExcel(is, 0, 1000, batch -> count[0] += batch.size());
+        }
+        return count[0];
+    }
+}
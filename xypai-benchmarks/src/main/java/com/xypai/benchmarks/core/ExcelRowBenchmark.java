@@ -0,0 +1,140 @@
+package com.xypai.benchmarks.core;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import com.xypai.benchmarks.model.SampleData;
+import com.xypai.benchmarks.model.SampleOperLog;
+import com.xypai.common.core.annotation.Excel;
+import com.xypai.common.core.text.Convert;
+import com.xypai.common.core.utils.StringUtils;
+import com.xypai.common.core.utils.poi.ExcelColumn;
+import com.xypai.common.core.utils.poi.ExcelUtil;
+
+/**
+ * Excel导出每行的开销
+ * <p>
+ * reflect 按原实现逐个单元格反射读取字段、读取注解属性拼样式键并拆分 readConverterExp，
+ * plan 使用 ExcelColumn 预编译的访问器、样式键与转换表，两者只比较取值部分；
+ * export 为包含 SXSSF 写入的完整导出，按行数平均。
+ *
+ * @author xypai
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExcelRowBenchmark
+{
+    private static final int ROWS = 10000;
+
+    private final List<SampleOperLog> list = new ArrayList<>(ROWS);
+
+    private Field[] fields;
+
+    private List<ExcelColumn> columns;
+
+    private int next;
+
+    @Setup
+    public void setup()
+    {
+        for (int i = 1; i <= ROWS; i++)
+        {
+            list.add(SampleData.operLog(i));
+        }
+        fields = SampleOperLog.class.getDeclaredFields();
+        columns = ExcelColumn.forClass(SampleOperLog.class);
+    }
+
+    @Benchmark
+    public void reflect(Blackhole bh) throws IllegalAccessException
+    {
+        SampleOperLog vo = nextRow();
+        for (Field field : fields)
+        {
+            Excel attr = field.getAnnotation(Excel.class);
+            if (attr == null)
+            {
+                continue;
+            }
+            field.setAccessible(true);
+            Object value = field.get(vo);
+            bh.consume(StringUtils.format("data_{}_{}_{}_{}_{}", attr.align(), attr.color(), attr.backgroundColor(), attr.cellType(), attr.wrapText()));
+            if (StringUtils.isNotEmpty(attr.readConverterExp()) && value != null)
+            {
+                value = ExcelUtil.convertByExp(Convert.toStr(value), attr.readConverterExp(), attr.separator());
+            }
+            bh.consume(value);
+        }
+    }
+
+    @Benchmark
+    public void plan(Blackhole bh) throws ReflectiveOperationException
+    {
+        SampleOperLog vo = nextRow();
+        for (ExcelColumn column : columns)
+        {
+            Object value = column.getValue(vo);
+            bh.consume(column.getStyleKey());
+            if (StringUtils.isNotEmpty(column.getExcel().readConverterExp()) && value != null)
+            {
+                value = column.convert(Convert.toStr(value));
+            }
+            bh.consume(value);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public long export() throws IOException
+    {
+        CountingOutputStream os = new CountingOutputStream();
+        new ExcelUtil<>(SampleOperLog.class).exportExcel(os, list, "操作日志", "");
+        return os.count;
+    }
+
+    private SampleOperLog nextRow()
+    {
+        SampleOperLog vo = list.get(next);
+        next = next + 1 == ROWS ? 0 : next + 1;
+        return vo;
+    }
+
+    /**
+     * 丢弃写出的内容，只统计字节数
+     */
+    private static class CountingOutputStream extends OutputStream
+    {
+        private long count;
+
+        @Override
+        public void write(int b)
+        {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len)
+        {
+            count += len;
+        }
+    }
+}
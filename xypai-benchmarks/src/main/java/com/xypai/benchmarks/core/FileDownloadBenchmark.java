@@ -0,0 +1,158 @@
+package com.xypai.benchmarks.core;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import com.xypai.common.core.utils.file.FileUtils;
+
+/**
+ * 文件下载 FileUtils.writeBytes / writeFile
+ * <p>
+ * 文件通过本机回环socket发送，对端线程读取后丢弃：
+ * legacy 为原 writeBytes 的1KB堆缓冲循环，writeBytes 为当前实现（64KB缓冲），
+ * sendfile 为 FileChannel.transferTo 到socket，即 writeFile 在Tomcat上交给连接器sendfile后的路径。
+ * 结果为每次下载耗时，吞吐量 = sizeMb / 耗时。
+ *
+ * @author xypai
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class FileDownloadBenchmark
+{
+    /**
+     * 文件大小（MB）
+     */
+    @Param({ "1", "64", "1024" })
+    public int sizeMb;
+
+    private Path file;
+
+    private ServerSocketChannel server;
+
+    private SocketChannel client;
+
+    private OutputStream clientStream;
+
+    private Thread drain;
+
+    @Setup
+    public void setup() throws IOException
+    {
+        file = Files.createTempFile("xypai-download", ".bin");
+        byte[] block = new byte[1024 * 1024];
+        ThreadLocalRandom.current().nextBytes(block);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE))
+        {
+            for (int i = 0; i < sizeMb; i++)
+            {
+                channel.write(ByteBuffer.wrap(block));
+            }
+        }
+
+        server = ServerSocketChannel.open().bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        client = SocketChannel.open(server.getLocalAddress());
+        SocketChannel peer = server.accept();
+        drain = new Thread(() -> {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(1024 * 1024);
+            try (peer)
+            {
+                while (peer.read(buffer.clear()) >= 0)
+                {
+                    // 丢弃
+                }
+            }
+            catch (IOException ignored)
+            {
+            }
+        }, "download-drain");
+        drain.setDaemon(true);
+        drain.start();
+        // writeBytes 会关闭输出流，包装后保持连接复用
+        OutputStream socketStream = Channels.newOutputStream(client);
+        clientStream = new OutputStream()
+        {
+            @Override
+            public void write(int b) throws IOException
+            {
+                socketStream.write(b);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException
+            {
+                socketStream.write(b, off, len);
+            }
+        };
+    }
+
+    @TearDown
+    public void tearDown() throws Exception
+    {
+        client.close();
+        drain.join(10_000);
+        server.close();
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public void legacy() throws IOException
+    {
+        try (FileInputStream fis = new FileInputStream(file.toFile()))
+        {
+            byte[] b = new byte[1024];
+            int length;
+            while ((length = fis.read(b)) > 0)
+            {
+                clientStream.write(b, 0, length);
+            }
+        }
+    }
+
+    @Benchmark
+    public void writeBytes() throws IOException
+    {
+        FileUtils.writeBytes(file.toString(), clientStream);
+    }
+
+    @Benchmark
+    public void sendfile() throws IOException
+    {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ))
+        {
+            long position = 0;
+            long size = channel.size();
+            while (position < size)
+            {
+                position += channel.transferTo(position, size - position, client);
+            }
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.xypai.benchmarks.core;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import com.xypai.common.core.utils.html.EscapeUtil;
+import com.xypai.common.core.utils.html.HTMLFilter;
+import com.xypai.common.core.utils.html.HTMLSanitizer;
+
+/**
+ * XSS过滤 EscapeUtil.clean / HTMLFilter.filter / HTMLSanitizer.sanitize
+ * <p>
+ * filter 每次新建 HTMLFilter（EscapeUtil.clean 的原实现），filterReused 复用同一实例，两者之差即为构造开销；
+ * clean 为当前的单次扫描实现，sanitizeInto 追加到复用的 StringBuilder，不计结果字符串的分配。
+ *
+ * @author xypai
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HtmlFilterBenchmark
+{
+    private static final String PLAIN = "今天天气不错，一起去打球吧！有没有人组队？#篮球 #周末";
+
+    private static final String JSON = "{\"activityId\":1024,\"title\":\"周末篮球局\",\"content\":\"限10人，先到先得 & 自带球\",\"tags\":[\"篮球\",\"周末\"]}";
+
+    private static final String RICH = "<p>周末<b>篮球</b>局，<a href=\"https://www.xypai.vip/activity/1024\" target=\"_blank\">报名链接</a></p>"
+            + "<p><img src=\"https://cdn.xypai.vip/a.png\" onerror=\"alert(1)\"/>地点：体育馆 &amp; 二号场</p>"
+            + "<script>document.cookie</script><div style=\"color:red\">限10人，先到先得</div>";
+
+    /**
+     * plain=普通文本，json=不含标签的请求体，rich=带标签与脚本的富文本
+     */
+    @Param({ "plain", "json", "rich" })
+    public String content;
+
+    private String input;
+
+    private HTMLFilter filter;
+
+    private final StringBuilder out = new StringBuilder(1024);
+
+    @Setup
+    public void setup()
+    {
+        String unit = "plain".equals(content) ? PLAIN : "json".equals(content) ? JSON : RICH;
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 4; i++)
+        {
+            sb.append(unit);
+        }
+        input = sb.toString();
+        filter = new HTMLFilter();
+    }
+
+    @Benchmark
+    public String filter()
+    {
+        return new HTMLFilter().filter(input);
+    }
+
+    @Benchmark
+    public String filterReused()
+    {
+        return filter.filter(input);
+    }
+
+    @Benchmark
+    public String clean()
+    {
+        return EscapeUtil.clean(input);
+    }
+
+    @Benchmark
+    public int sanitizeInto()
+    {
+        out.setLength(0);
+        HTMLSanitizer.sanitize(input, out);
+        return out.length();
+    }
+}
@@ -0,0 +1,60 @@
+package com.xypai.benchmarks.core;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import com.xypai.common.core.utils.uuid.IdUtils;
+
+/**
+ * ID生成 IdUtils.fastUUID / randomUUID / nextId
+ * <p>
+ * 4线程并发，randomUUID 使用 SecureRandom，可观察其在并发下的竞争。
+ * nextId 为雪花算法，单节点上限为每毫秒4096个，4线程合计超过上限时平均耗时约等于 4线程 / 4096每毫秒 ≈ 1微秒，
+ * 此时耗时反映的是序号用尽后等待下一毫秒，而不是CAS竞争。
+ *
+ * @author xypai
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class IdUtilsBenchmark
+{
+    @Benchmark
+    public String fastUUID()
+    {
+        return IdUtils.fastUUID();
+    }
+
+    @Benchmark
+    public String fastSimpleUUID()
+    {
+        return IdUtils.fastSimpleUUID();
+    }
+
+    @Benchmark
+    public String randomUUID()
+    {
+        return IdUtils.randomUUID();
+    }
+
+    @Benchmark
+    public long nextId()
+    {
+        return IdUtils.nextId();
+    }
+
+    @Benchmark
+    public String nextNo()
+    {
+        return IdUtils.nextNo("SO");
+    }
+}
@@ -0,0 +1,65 @@
+package com.xypai.benchmarks.core;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import com.xypai.common.core.constant.SecurityConstants;
+import com.xypai.common.core.utils.JwtUtils;
+import com.xypai.common.core.utils.uuid.IdUtils;
+import io.jsonwebtoken.Claims;
+
+/**
+ * 令牌解析 JwtUtils.parseToken，网关每个请求都会解析一次
+ *
+ * @author xypai
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtBenchmark
+{
+    private Map<String, Object> claims;
+
+    private String token;
+
+    @Setup
+    public void setup()
+    {
+        claims = new HashMap<>();
+        claims.put(SecurityConstants.USER_KEY, IdUtils.fastUUID());
+        claims.put(SecurityConstants.DETAILS_USER_ID, 1024L);
+        claims.put(SecurityConstants.DETAILS_USERNAME, "xypai");
+        token = JwtUtils.createToken(claims);
+    }
+
+    @Benchmark
+    public Claims parseToken()
+    {
+        return JwtUtils.parseToken(token);
+    }
+
+    @Benchmark
+    public String getUserKey()
+    {
+        return JwtUtils.getUserKey(token);
+    }
+
+    @Benchmark
+    public String createToken()
+    {
+        return JwtUtils.createToken(claims);
+    }
+}
@@ -0,0 +1,54 @@
+package com.xypai.benchmarks.core;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import com.xypai.common.core.utils.StringUtils;
+
+/**
+ * 网关白名单匹配 StringUtils.matches / isMatch
+ * <p>
+ * 白名单取自网关配置 security.ignore.whites，每个请求都会完整匹配一遍。
+ *
+ * @author xypai
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StringUtilsBenchmark
+{
+    private static final List<String> WHITES = List.of("/auth/login", "/auth/logout", "/auth/refresh", "/auth/verify",
+            "/auth/register", "/auth/sms/send", "/auth/sms/verify", "/auth/health", "/*/v2/api-docs", "/*/v3/api-docs",
+            "/*/v3/api-docs/**", "/*/doc.html", "/*/doc.html/**", "/*/swagger-ui/**", "/*/swagger-ui.html",
+            "/*/swagger-resources/**", "/*/webjars/**", "/*/favicon.ico", "/actuator/**", "/*/actuator/**", "/csrf");
+
+    /**
+     * 首条命中、中间命中、未命中（业务接口，最常见）
+     */
+    @Param({ "/auth/login", "/xypai-user/v3/api-docs/default", "/xypai-content/api/v1/contents/1024/like" })
+    public String url;
+
+    @Benchmark
+    public boolean matches()
+    {
+        return StringUtils.matches(url, WHITES);
+    }
+
+    @Benchmark
+    public boolean isMatch()
+    {
+        return StringUtils.isMatch("/*/v3/api-docs/**", url);
+    }
+}
@@ -0,0 +1,63 @@
+package com.xypai.benchmarks.log;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import com.alibaba.fastjson2.JSON;
+import com.xypai.benchmarks.model.SampleData;
+import com.xypai.benchmarks.model.SampleUser;
+import com.xypai.common.core.utils.StringUtils;
+import com.xypai.common.log.aspect.LogAspect;
+import com.xypai.common.log.utils.BoundedJsonWriter;
+
+/**
+ * 大结果集接口的 @Log 返回结果序列化，LogAspect 只保留前 MAX_LENGTH 个字符
+ * <p>
+ * full 为原实现：全量 JSON.toJSONString 后截断；bounded 为 BoundedJsonWriter，写满长度后停止序列化。
+ *
+ * @author xypai
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LogResultBenchmark
+{
+    /**
+     * 返回结果的行数
+     */
+    @Param({ "10", "5000" })
+    public int rows;
+
+    private List<SampleUser> result;
+
+    @Setup
+    public void setup()
+    {
+        result = SampleData.users(rows);
+    }
+
+    @Benchmark
+    public String full()
+    {
+        return StringUtils.substring(JSON.toJSONString(result), 0, LogAspect.MAX_LENGTH);
+    }
+
+    @Benchmark
+    public String bounded()
+    {
+        return BoundedJsonWriter.toJSONString(result, LogAspect.MAX_LENGTH);
+    }
+}
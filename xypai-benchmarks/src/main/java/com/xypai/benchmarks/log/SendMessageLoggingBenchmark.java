@@ -0,0 +1,154 @@
+package com.xypai.benchmarks.log;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+import ch.qos.logback.core.encoder.Encoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import com.xypai.common.log.logback.JsonLogEncoder;
+import com.xypai.common.log.logback.SamplingTurboFilter;
+
+/**
+ * sendMessage 日志写入吞吐，8个线程模拟并发发送消息
+ * <p>
+ * 每次调用打印与 ChatMessageServiceImpl.sendMessage 相同的一条INFO日志：
+ * legacy 为原各模块 logback.xml（同步文件输出，[%method,%line] 采集调用栈），
+ * async 为公共配置（AsyncAppender+JSON，队列满时丢弃），sampled 在 async 基础上对该日志10%采样。
+ * async/sampled 测量的是业务线程一侧的开销，不包含后台线程写文件的时间。
+ *
+ * @author xypai
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+public class SendMessageLoggingBenchmark
+{
+    private static final String CHAT = "com.xypai.chat.service.impl.ChatMessageServiceImpl";
+
+    /**
+     * 原各模块 logback.xml 中的格式
+     */
+    private static final String LEGACY_PATTERN = "%d{HH:mm:ss.SSS} [%thread] %-5level %logger{20} - [%method,%line] - %msg%n";
+
+    @Param({ "legacy", "async", "sampled" })
+    public String config;
+
+    private final AtomicLong senders = new AtomicLong(10000L);
+
+    private LoggerContext context;
+
+    private Logger log;
+
+    private File file;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException
+    {
+        file = Files.createTempFile("benchmark-" + config, ".log").toFile();
+        context = new LoggerContext();
+        boolean async = !"legacy".equals(config);
+        Encoder<ILoggingEvent> encoder;
+        if (async)
+        {
+            JsonLogEncoder json = new JsonLogEncoder();
+            json.setApp("xypai-chat");
+            encoder = json;
+        }
+        else
+        {
+            PatternLayoutEncoder pattern = new PatternLayoutEncoder();
+            pattern.setPattern(LEGACY_PATTERN);
+            encoder = pattern;
+        }
+        encoder.setContext(context);
+        encoder.start();
+
+        FileAppender<ILoggingEvent> fileAppender = new FileAppender<>();
+        fileAppender.setContext(context);
+        fileAppender.setFile(file.getPath());
+        fileAppender.setEncoder(encoder);
+        fileAppender.start();
+
+        Appender<ILoggingEvent> appender = fileAppender;
+        if (async)
+        {
+            AsyncAppender asyncAppender = new AsyncAppender();
+            asyncAppender.setContext(context);
+            asyncAppender.setQueueSize(8192);
+            asyncAppender.setNeverBlock(true);
+            asyncAppender.setIncludeCallerData(false);
+            asyncAppender.addAppender(fileAppender);
+            asyncAppender.start();
+            appender = asyncAppender;
+        }
+        if ("sampled".equals(config))
+        {
+            SamplingTurboFilter filter = new SamplingTurboFilter();
+            filter.setContext(context);
+            filter.addSample(CHAT + "=0.1");
+            filter.start();
+            context.addTurboFilter(filter);
+        }
+        Logger root = context.getLogger(Logger.ROOT_LOGGER_NAME);
+        root.setLevel(ch.qos.logback.classic.Level.INFO);
+        root.addAppender(appender);
+        log = context.getLogger(CHAT);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown()
+    {
+        context.stop();
+        file.delete();
+    }
+
+    /**
+     * 每个线程一个发送者
+     */
+    @State(Scope.Thread)
+    public static class Sender
+    {
+        long userId;
+
+        long messageId;
+
+        @Setup(Level.Trial)
+        public void setup(SendMessageLoggingBenchmark benchmark)
+        {
+            userId = benchmark.senders.getAndIncrement();
+        }
+    }
+
+    @Benchmark
+    public void sendMessage(Sender sender)
+    {
+        long messageId = sender.messageId++;
+        log.info("发送消息成功，消息ID：{}，会话ID：{}，发送者：{}，类型：{}", messageId, 100L + messageId % 50, sender.userId, 1);
+    }
+}
@@ -0,0 +1,78 @@
+package com.xypai.benchmarks.model;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * 基准测试数据
+ *
+ * @author xypai
+ */
+public class SampleData
+{
+    private SampleData()
+    {
+    }
+
+    public static SampleUser user(long userId)
+    {
+        SampleDept dept = new SampleDept();
+        dept.setDeptId(103L);
+        dept.setParentId(101L);
+        dept.setDeptName("研发部门");
+        dept.setOrderNum(1);
+        dept.setLeader("xypai");
+        dept.setStatus("0");
+
+        SampleUser user = new SampleUser();
+        user.setUserId(userId);
+        user.setDeptId(dept.getDeptId());
+        user.setUserName("user" + userId);
+        user.setNickName("相遇派用户" + userId);
+        user.setEmail("user" + userId + "@xypai.vip");
+        user.setPhonenumber("1588888" + String.format("%04d", userId % 10000));
+        user.setSex("0");
+        user.setAvatar("https://cdn.xypai.vip/avatar/" + userId + ".png");
+        user.setStatus("0");
+        user.setLoginIp("127.0.0.1");
+        user.setLoginDate(new Date());
+        user.setCreateBy("admin");
+        user.setCreateTime(new Date());
+        user.setRemark("基准测试用户");
+        user.setDept(dept);
+        return user;
+    }
+
+    public static List<SampleUser> users(int count)
+    {
+        List<SampleUser> users = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++)
+        {
+            users.add(user(i));
+        }
+        return users;
+    }
+
+    public static SampleOperLog operLog(long operId)
+    {
+        SampleOperLog operLog = new SampleOperLog();
+        operLog.setOperId(operId);
+        operLog.setTitle("用户管理");
+        operLog.setBusinessType((int) (operId % 4));
+        operLog.setMethod("com.xypai.system.controller.SysUserController.edit()");
+        operLog.setRequestMethod("PUT");
+        operLog.setOperatorType(1);
+        operLog.setOperName("admin");
+        operLog.setDeptName("研发部门");
+        operLog.setOperUrl("/system/user");
+        operLog.setOperIp("192.168.1." + operId % 255);
+        operLog.setOperParam("{\"userId\":" + operId + ",\"nickName\":\"相遇派用户\",\"status\":\"0\"}");
+        operLog.setJsonResult("{\"msg\":\"操作成功\",\"code\":200}");
+        operLog.setStatus(operId % 50 == 0 ? 1 : 0);
+        operLog.setErrorMsg(operId % 50 == 0 ? "数据库连接超时" : null);
+        operLog.setOperTime(new Date(1_700_000_000_000L + operId * 1000));
+        operLog.setCostTime(operId % 300);
+        return operLog;
+    }
+}
@@ -0,0 +1,143 @@
+package com.xypai.benchmarks.redis;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import com.xypai.common.core.utils.reflect.ReflectUtils;
+import com.xypai.common.redis.lock.RedisLock;
+import com.xypai.common.redis.service.RedisLockService;
+
+/**
+ * 分布式锁 RedisLockService 获取与释放的吞吐量，需要Redis：-Dredis.host=127.0.0.1 [-Dredis.port=6379]
+ * <p>
+ * uncontended 每个线程使用各自的锁，测量一次 tryLock/unlock（两次脚本调用与看门狗登记）的开销；
+ * reentrant 在已持有时再加锁一次；contended 所有线程争用同一把锁，失败的 tryLock 也计为一次操作，
+ * 结果中的 acquired 为其中成功获取锁的吞吐量。
+ *
+ * @author xypai
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+public class RedisLockBenchmark
+{
+    private LettuceConnectionFactory connectionFactory;
+
+    private RedisLockService lockService;
+
+    private RedisLock sharedLock;
+
+    private final AtomicInteger threadIndex = new AtomicInteger();
+
+    @Setup(Level.Trial)
+    public void setup()
+    {
+        RedisStandaloneConfiguration configuration = new RedisStandaloneConfiguration(
+                System.getProperty("redis.host", "127.0.0.1"), Integer.getInteger("redis.port", 6379));
+        connectionFactory = new LettuceConnectionFactory(configuration);
+        connectionFactory.afterPropertiesSet();
+        StringRedisTemplate redisTemplate = new StringRedisTemplate(connectionFactory);
+        lockService = new RedisLockService();
+        ReflectUtils.setFieldValue(lockService, "redisTemplate", redisTemplate);
+        ReflectUtils.setFieldValue(lockService, "watchdogTimeout", 30000L);
+        String prefix = "benchmark:lock:" + System.nanoTime();
+        sharedLock = lockService.getLock(prefix + ":shared");
+        threadIndex.set(0);
+        // 连接失败时在预热前终止
+        lockService.isHeldByCurrentThread(prefix);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown()
+    {
+        lockService.destroy();
+        connectionFactory.destroy();
+    }
+
+    /**
+     * 每个线程各自的锁
+     */
+    @State(Scope.Thread)
+    public static class ThreadLock
+    {
+        private RedisLock lock;
+
+        @Setup(Level.Trial)
+        public void setup(RedisLockBenchmark benchmark)
+        {
+            lock = benchmark.lockService.getLock(benchmark.sharedLock.getName() + ":" + benchmark.threadIndex.incrementAndGet());
+        }
+    }
+
+    /**
+     * 成功获取共享锁的次数
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Acquired
+    {
+        public long acquired;
+
+        @Setup(Level.Iteration)
+        public void reset()
+        {
+            acquired = 0;
+        }
+    }
+
+    @Benchmark
+    public boolean uncontended(ThreadLock state)
+    {
+        boolean acquired = state.lock.tryLock();
+        state.lock.unlock();
+        return acquired;
+    }
+
+    @Benchmark
+    public boolean reentrant(ThreadLock state)
+    {
+        state.lock.tryLock();
+        try
+        {
+            boolean acquired = state.lock.tryLock();
+            state.lock.unlock();
+            return acquired;
+        }
+        finally
+        {
+            state.lock.unlock();
+        }
+    }
+
+    @Benchmark
+    public boolean contended(Acquired counter)
+    {
+        if (sharedLock.tryLock())
+        {
+            counter.acquired++;
+            sharedLock.unlock();
+            return true;
+        }
+        return false;
+    }
+}
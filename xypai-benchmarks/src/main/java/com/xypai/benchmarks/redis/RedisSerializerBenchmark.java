@@ -0,0 +1,61 @@
+package com.xypai.benchmarks.redis;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import com.xypai.benchmarks.model.SampleData;
+import com.xypai.common.redis.configure.FastJson2JsonRedisSerializer;
+
+/**
+ * Redis值序列化 FastJson2JsonRedisSerializer，与 RedisConfig 一样以 Object 类型带类名序列化
+ *
+ * @author xypai
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RedisSerializerBenchmark
+{
+    /**
+     * 1=单个对象（登录用户、字典项），100=列表缓存
+     */
+    @Param({ "1", "100" })
+    public int size;
+
+    private final FastJson2JsonRedisSerializer<Object> serializer = new FastJson2JsonRedisSerializer<>(Object.class);
+
+    private Object value;
+
+    private byte[] bytes;
+
+    @Setup
+    public void setup()
+    {
+        value = size == 1 ? SampleData.user(1L) : SampleData.users(size);
+        bytes = serializer.serialize(value);
+    }
+
+    @Benchmark
+    public byte[] serialize()
+    {
+        return serializer.serialize(value);
+    }
+
+    @Benchmark
+    public Object deserialize()
+    {
+        return serializer.deserialize(bytes);
+    }
+}
@@ -0,0 +1,75 @@
+package com.xypai.common.core.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import com.baomidou.mybatisplus.core.incrementer.IdentifierGenerator;
+import com.xypai.common.core.utils.uuid.IdUtils;
+import com.xypai.common.core.utils.uuid.WorkerIdProvider;
+
+/**
+ * 雪花算法ID生成配置
+ * <p>
+ * 工作节点ID优先取 xypai.id.worker-id（可在Nacos配置中心按实例下发），其次取 WorkerIdProvider（如Redis租约），
+ * 都没有时沿用随机ID并告警。MyBatis-Plus 的 ASSIGN_ID 主键与 IdUtils.nextId 使用同一个生成器。
+ *
+ * @author xypai
+ */
+@AutoConfiguration
+public class IdGeneratorConfig implements InitializingBean
+{
+    private static final Logger log = LoggerFactory.getLogger(IdGeneratorConfig.class);
+
+    /**
+     * 固定的工作节点ID，-1表示未配置
+     */
+    @Value("${xypai.id.worker-id:-1}")
+    private int workerId;
+
+    private final ObjectProvider<WorkerIdProvider> workerIdProvider;
+
+    public IdGeneratorConfig(ObjectProvider<WorkerIdProvider> workerIdProvider)
+    {
+        this.workerIdProvider = workerIdProvider;
+    }
+
+    @Override
+    public void afterPropertiesSet()
+    {
+        if (workerId >= 0)
+        {
+            IdUtils.setWorkerId(workerId);
+            log.info("雪花算法工作节点ID（配置）：{}", workerId);
+            return;
+        }
+        WorkerIdProvider provider = workerIdProvider.getIfAvailable();
+        if (provider != null)
+        {
+            IdUtils.setWorkerId(provider.getWorkerId());
+            log.info("雪花算法工作节点ID（{}）：{}", provider.getClass().getSimpleName(), IdUtils.getWorkerId());
+            return;
+        }
+        log.warn("未配置 xypai.id.worker-id 且没有 WorkerIdProvider，使用随机工作节点ID：{}，多实例部署时ID可能重复", IdUtils.getWorkerId());
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(IdentifierGenerator.class)
+    static class MybatisPlusIdConfig
+    {
+        /**
+         * ASSIGN_ID 主键生成，替换 MyBatis-Plus 默认按MAC地址与进程号推算工作节点的实现；
+         * 注入 IdGeneratorConfig 保证工作节点ID在生成主键前已设置
+         */
+        @Bean
+        public IdentifierGenerator identifierGenerator(IdGeneratorConfig idGeneratorConfig)
+        {
+            return entity -> IdUtils.nextId();
+        }
+    }
+}
@@ -17,6 +17,11 @@ public class CacheConstants
      */
     public final static long REFRESH_TIME = 120;
 
+    /**
+     * 参数与字典缓存有效期，默认1440（分钟），到期前由 getOrLoad 按概率提前刷新
+     */
+    public final static long SYS_CACHE_EXPIRATION = 1440;
+
     /**
      * 密码最大错误次数
      */
@@ -56,4 +61,39 @@ public class CacheConstants
      * 登录IP黑名单 cache key
      */
     public static final String SYS_LOGIN_BLACKIPLIST = SYS_CONFIG_KEY + "sys.login.blackIPList";
+
+    /**
+     * 计数器 redis key，格式 counter:{namespace}:{id}
+     */
+    public static final String COUNTER_KEY = "counter:";
+
+    /**
+     * 计数器待落库增量 redis key，格式 counter_delta:{namespace}
+     */
+    public static final String COUNTER_DELTA_KEY = "counter_delta:";
+
+    /**
+     * 计数器落库/对账分布式锁名称前缀
+     */
+    public static final String COUNTER_LOCK_KEY = "counter_lock:";
+
+    /**
+     * 分布式锁 redis key
+     */
+    public static final String LOCK_KEY = "lock:";
+
+    /**
+     * 雪花算法工作节点ID租约 redis key
+     */
+    public static final String SNOWFLAKE_WORKER_KEY = "snowflake_worker:";
+
+    /**
+     * 数据权限部门集合 redis key
+     */
+    public static final String DATA_SCOPE_DEPT_KEY = "data_scope_dept:";
+
+    /**
+     * 数据权限部门集合版本号 redis key，部门或角色数据权限变更时递增
+     */
+    public static final String DATA_SCOPE_VERSION_KEY = "data_scope_version";
 }
@@ -37,6 +37,11 @@ public class SecurityConstants
      */
     public static final String USER_KEY = "user_key";
 
+    /**
+     * 请求链路标识
+     */
+    public static final String TRACE_ID = "trace_id";
+
     /**
      * 登录用户
      */
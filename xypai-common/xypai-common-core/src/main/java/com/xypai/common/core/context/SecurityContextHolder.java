@@ -35,6 +35,15 @@ public class SecurityContextHolder
         return StringUtils.cast(map.getOrDefault(key, null));
     }
 
+    /**
+     * 获取线程变量，当前线程没有上下文时返回null且不创建上下文
+     */
+    public static <T> T peek(String key)
+    {
+        Map<String, Object> map = THREAD_LOCAL.get();
+        return map == null ? null : StringUtils.cast(map.get(key));
+    }
+
     public static Map<String, Object> getLocalMap()
     {
         Map<String, Object> map = THREAD_LOCAL.get();
@@ -53,7 +62,7 @@ public class SecurityContextHolder
 
     public static Long getUserId()
     {
-        return Convert.toLong(get(SecurityConstants.DETAILS_USER_ID), 0L);
+        return Convert.toLong(getLocalMap().getOrDefault(SecurityConstants.DETAILS_USER_ID, StringUtils.EMPTY), 0L);
     }
 
     public static void setUserId(String account)
@@ -81,6 +90,16 @@ public class SecurityContextHolder
         set(SecurityConstants.USER_KEY, userKey);
     }
 
+    public static String getTraceId()
+    {
+        return peek(SecurityConstants.TRACE_ID);
+    }
+
+    public static void setTraceId(String traceId)
+    {
+        set(SecurityConstants.TRACE_ID, traceId);
+    }
+
     public static String getPermission()
     {
         return get(SecurityConstants.ROLE_PERMISSION);
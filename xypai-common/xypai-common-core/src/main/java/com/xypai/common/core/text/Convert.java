@@ -16,6 +16,29 @@ import com.xypai.common.core.utils.StringUtils;
  */
 public class Convert
 {
+    /**
+     * 十进制快速解析失败的标记，真实值等于该值时走通用解析
+     */
+    private static final long NOT_DECIMAL = Long.MIN_VALUE;
+
+    /**
+     * 快速解析时不会溢出的最大位数
+     */
+    private static final int MAX_SAFE_DIGITS = 18;
+
+    /**
+     * 0～1023 的 Long 缓存，覆盖字典、部门、菜单等常用ID，Long.valueOf 只缓存到127
+     */
+    private static final Long[] LONG_CACHE = new Long[1024];
+
+    static
+    {
+        for (int i = 0; i < LONG_CACHE.length; i++)
+        {
+            LONG_CACHE[i] = Long.valueOf(i);
+        }
+    }
+
     /**
      * 转换为字符串<br>
      * 如果给定的值为null，或者转换失败，返回默认值<br>
@@ -260,6 +283,14 @@ public class Convert
         {
             return ((Number) value).intValue();
         }
+        if (value instanceof CharSequence)
+        {
+            long parsed = parseDecimal((CharSequence) value);
+            if (parsed >= Integer.MIN_VALUE && parsed <= Integer.MAX_VALUE)
+            {
+                return Integer.valueOf((int) parsed);
+            }
+        }
         final String valueStr = toStr(value, null);
         if (StringUtils.isEmpty(valueStr))
         {
@@ -398,13 +429,18 @@ public class Convert
         {
             return defaultValue;
         }
-        if (value instanceof Long)
+        if (value instanceof Number)
         {
-            return (Long) value;
+            // Long 也重新装箱，常用ID返回缓存实例
+            return valueOf(((Number) value).longValue());
         }
-        if (value instanceof Number)
+        if (value instanceof CharSequence)
         {
-            return ((Number) value).longValue();
+            long parsed = parseDecimal((CharSequence) value);
+            if (parsed != NOT_DECIMAL)
+            {
+                return valueOf(parsed);
+            }
         }
         final String valueStr = toStr(value, null);
         if (StringUtils.isEmpty(valueStr))
@@ -435,6 +471,62 @@ public class Convert
         return toLong(value, null);
     }
 
+    /**
+     * 解析十进制整数，忽略首尾空白，允许一个正负号<br>
+     * 直接读取字符，不创建中间对象；含其他字符、超过18位或为空时返回 NOT_DECIMAL，由调用方走通用解析
+     * 
+     * @param value 被解析的字符序列
+     * @return 结果
+     */
+    private static long parseDecimal(CharSequence value)
+    {
+        int start = 0;
+        int end = value.length();
+        while (start < end && value.charAt(start) <= ' ')
+        {
+            start++;
+        }
+        while (end > start && value.charAt(end - 1) <= ' ')
+        {
+            end--;
+        }
+        if (start == end)
+        {
+            return NOT_DECIMAL;
+        }
+        boolean negative = false;
+        char first = value.charAt(start);
+        if (first == '-' || first == '+')
+        {
+            negative = first == '-';
+            start++;
+        }
+        int digits = end - start;
+        if (digits == 0 || digits > MAX_SAFE_DIGITS)
+        {
+            return NOT_DECIMAL;
+        }
+        long result = 0;
+        for (int i = start; i < end; i++)
+        {
+            int digit = value.charAt(i) - '0';
+            if (digit < 0 || digit > 9)
+            {
+                return NOT_DECIMAL;
+            }
+            result = result * 10 + digit;
+        }
+        return negative ? -result : result;
+    }
+
+    /**
+     * 装箱long，常用ID取缓存
+     */
+    private static Long valueOf(long value)
+    {
+        return value >= 0 && value < LONG_CACHE.length ? LONG_CACHE[(int) value] : Long.valueOf(value);
+    }
+
     /**
      * 转换为double<br>
      * 如果给定的值为空，或者转换失败，返回默认值<br>
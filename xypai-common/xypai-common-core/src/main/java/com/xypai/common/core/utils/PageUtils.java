@@ -25,6 +25,16 @@ public class PageUtils extends PageHelper
         PageHelper.startPage(pageNum, pageSize, orderBy).setReasonable(reasonable);
     }
 
+    /**
+     * 设置请求分页数据，不执行count查询（大表的总数由调用方单独提供）
+     */
+    public static void startPageWithoutCount()
+    {
+        PageDomain pageDomain = TableSupport.buildPageRequest();
+        String orderBy = SqlUtil.escapeOrderBySql(pageDomain.getOrderBy());
+        PageHelper.startPage(pageDomain.getPageNum(), pageDomain.getPageSize(), false).setOrderBy(orderBy);
+    }
+
     /**
      * 清理分页的线程变量
      */
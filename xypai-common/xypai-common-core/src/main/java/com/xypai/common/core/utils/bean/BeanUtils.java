@@ -1,10 +1,20 @@
 package com.xypai.common.core.utils.bean;
 
+import java.beans.PropertyDescriptor;
 import java.lang.reflect.Method;
+import java.lang.reflect.Type;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import org.springframework.beans.FatalBeanException;
+import org.springframework.core.ResolvableType;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+import com.xypai.common.core.utils.reflect.MethodAccessors;
 
 /**
  * Bean 工具类
@@ -22,17 +32,70 @@ public class BeanUtils extends org.springframework.beans.BeanUtils
     /** * 匹配setter方法的正则表达式 */
     private static final Pattern SET_PATTERN = Pattern.compile("set(\\p{javaUpperCase}\\w*)");
 
+    /** 属性复制计划，按 目标类 → 源类 缓存 */
+    private static final ClassValue<ClassValue<CopyPlan>> COPY_PLANS = new ClassValue<ClassValue<CopyPlan>>()
+    {
+        @Override
+        protected ClassValue<CopyPlan> computeValue(Class<?> destType)
+        {
+            return new ClassValue<CopyPlan>()
+            {
+                @Override
+                protected CopyPlan computeValue(Class<?> srcType)
+                {
+                    return new CopyPlan(srcType, destType);
+                }
+            };
+        }
+    };
+
+    /** setter方法列表，按类缓存 */
+    private static final ClassValue<Method[]> SETTER_METHODS = new ClassValue<Method[]>()
+    {
+        @Override
+        protected Method[] computeValue(Class<?> type)
+        {
+            return findMethods(type, SET_PATTERN, 1);
+        }
+    };
+
+    /** getter方法列表，按类缓存 */
+    private static final ClassValue<Method[]> GETTER_METHODS = new ClassValue<Method[]>()
+    {
+        @Override
+        protected Method[] computeValue(Class<?> type)
+        {
+            return findMethods(type, GET_PATTERN, 0);
+        }
+    };
+
     /**
      * Bean属性复制工具方法。
+     * 复制的属性与 copyProperties 相同，属性匹配结果按类缓存，读写通过编译后的getter/setter完成。
      * 
      * @param dest 目标对象
      * @param src 源对象
      */
     public static void copyBeanProp(Object dest, Object src)
+    {
+        copyBeanProp(dest, src, (String[]) null);
+    }
+
+    /**
+     * Bean属性复制工具方法，跳过指定属性。
+     * 复制的属性与 copyProperties(src, dest, ignoreProperties) 相同。
+     * 
+     * @param dest 目标对象
+     * @param src 源对象
+     * @param ignoreProperties 不复制的属性名
+     */
+    public static void copyBeanProp(Object dest, Object src, String... ignoreProperties)
     {
         try
         {
-            copyProperties(src, dest);
+            Assert.notNull(src, "Source must not be null");
+            Assert.notNull(dest, "Target must not be null");
+            COPY_PLANS.get(dest.getClass()).get(src.getClass()).copy(src, dest, ignoreProperties);
         }
         catch (Exception e)
         {
@@ -48,24 +111,7 @@ public class BeanUtils extends org.springframework.beans.BeanUtils
      */
     public static List<Method> getSetterMethods(Object obj)
     {
-        // setter方法列表
-        List<Method> setterMethods = new ArrayList<Method>();
-
-        // 获取所有方法
-        Method[] methods = obj.getClass().getMethods();
-
-        // 查找setter方法
-
-        for (Method method : methods)
-        {
-            Matcher m = SET_PATTERN.matcher(method.getName());
-            if (m.matches() && (method.getParameterTypes().length == 1))
-            {
-                setterMethods.add(method);
-            }
-        }
-        // 返回setter方法列表
-        return setterMethods;
+        return new ArrayList<Method>(Arrays.asList(SETTER_METHODS.get(obj.getClass())));
     }
 
     /**
@@ -77,21 +123,7 @@ public class BeanUtils extends org.springframework.beans.BeanUtils
 
     public static List<Method> getGetterMethods(Object obj)
     {
-        // getter方法列表
-        List<Method> getterMethods = new ArrayList<Method>();
-        // 获取所有方法
-        Method[] methods = obj.getClass().getMethods();
-        // 查找getter方法
-        for (Method method : methods)
-        {
-            Matcher m = GET_PATTERN.matcher(method.getName());
-            if (m.matches() && (method.getParameterTypes().length == 0))
-            {
-                getterMethods.add(method);
-            }
-        }
-        // 返回getter方法列表
-        return getterMethods;
+        return new ArrayList<Method>(Arrays.asList(GETTER_METHODS.get(obj.getClass())));
     }
 
     /**
@@ -107,4 +139,103 @@ public class BeanUtils extends org.springframework.beans.BeanUtils
     {
         return m1.substring(BEAN_METHOD_PROP_INDEX).equals(m2.substring(BEAN_METHOD_PROP_INDEX));
     }
+
+    /**
+     * 查找名称匹配且参数个数一致的公共方法
+     */
+    private static Method[] findMethods(Class<?> type, Pattern pattern, int parameterCount)
+    {
+        List<Method> methods = new ArrayList<Method>();
+        for (Method method : type.getMethods())
+        {
+            Matcher m = pattern.matcher(method.getName());
+            if (m.matches() && method.getParameterCount() == parameterCount)
+            {
+                methods.add(method);
+            }
+        }
+        return methods.toArray(new Method[0]);
+    }
+
+    /**
+     * 从源类到目标类的属性复制计划
+     */
+    private static final class CopyPlan
+    {
+        private final String[] names;
+
+        private final Function<Object, Object>[] getters;
+
+        private final BiConsumer<Object, Object>[] setters;
+
+        @SuppressWarnings("unchecked")
+        private CopyPlan(Class<?> srcType, Class<?> destType)
+        {
+            List<String> names = new ArrayList<String>();
+            List<Function<Object, Object>> getters = new ArrayList<Function<Object, Object>>();
+            List<BiConsumer<Object, Object>> setters = new ArrayList<BiConsumer<Object, Object>>();
+            for (PropertyDescriptor targetPd : getPropertyDescriptors(destType))
+            {
+                Method writeMethod = targetPd.getWriteMethod();
+                if (writeMethod == null)
+                {
+                    continue;
+                }
+                PropertyDescriptor sourcePd = getPropertyDescriptor(srcType, targetPd.getName());
+                Method readMethod = sourcePd != null ? sourcePd.getReadMethod() : null;
+                if (readMethod != null && isAssignable(readMethod, writeMethod, srcType, destType))
+                {
+                    names.add(targetPd.getName());
+                    getters.add(MethodAccessors.getter(readMethod));
+                    setters.add(MethodAccessors.setter(writeMethod));
+                }
+            }
+            this.names = names.toArray(new String[0]);
+            this.getters = getters.toArray(new Function[0]);
+            this.setters = setters.toArray(new BiConsumer[0]);
+        }
+
+        /**
+         * 与 copyProperties 的判断一致，泛型属性按源类、目标类解析后比较
+         */
+        private static boolean isAssignable(Method readMethod, Method writeMethod, Class<?> srcType, Class<?> destType)
+        {
+            Type paramType = writeMethod.getGenericParameterTypes()[0];
+            if (paramType instanceof Class<?> clazz)
+            {
+                return ClassUtils.isAssignable(clazz, readMethod.getReturnType());
+            }
+            if (paramType.equals(readMethod.getGenericReturnType()))
+            {
+                return true;
+            }
+            ResolvableType sourceType = ResolvableType.forMethodReturnType(readMethod, srcType);
+            ResolvableType targetType = ResolvableType.forMethodParameter(writeMethod, 0, destType);
+            if (sourceType.hasUnresolvableGenerics() || targetType.hasUnresolvableGenerics())
+            {
+                return ClassUtils.isAssignable(writeMethod.getParameterTypes()[0], readMethod.getReturnType());
+            }
+            return targetType.isAssignableFrom(sourceType);
+        }
+
+        private void copy(Object src, Object dest, String[] ignoreProperties)
+        {
+            List<String> ignoreList = ignoreProperties != null && ignoreProperties.length > 0 ? Arrays.asList(ignoreProperties) : null;
+            for (int i = 0; i < names.length; i++)
+            {
+                if (ignoreList != null && ignoreList.contains(names[i]))
+                {
+                    continue;
+                }
+                try
+                {
+                    setters[i].accept(dest, getters[i].apply(src));
+                }
+                catch (Throwable ex)
+                {
+                    throw new FatalBeanException("Could not copy property '" + names[i] + "' from source to target", ex);
+                }
+            }
+        }
+    }
 }
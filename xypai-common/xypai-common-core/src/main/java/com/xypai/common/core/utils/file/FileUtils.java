@@ -1,16 +1,21 @@
 package com.xypai.common.core.utils.file;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.UnsupportedEncodingException;
 import java.net.URLEncoder;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.apache.commons.lang3.ArrayUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import com.xypai.common.core.utils.StringUtils;
 
 /**
@@ -28,8 +33,27 @@ public class FileUtils
 
     public static String FILENAME_PATTERN = "[a-zA-Z0-9_\\-\\|\\.\\u4e00-\\u9fa5]+";
 
+    /** Tomcat sendfile：请求属性声明连接器支持，设置文件名与区间后由连接器直接从文件发送到socket */
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    /** 小于该大小的文件直接写出，与Tomcat DefaultServlet的sendfileSize一致 */
+    private static final long SENDFILE_THRESHOLD = 48 * 1024;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /** Range不可满足 */
+    private static final long[] UNSATISFIABLE = new long[0];
+
     /**
      * 输出指定文件的byte数组
+     * <p>
+     * 输出流为文件时使用 FileChannel.transferTo（零拷贝），否则使用64KB缓冲复制；完成后关闭输出流。
      * 
      * @param filePath 文件路径
      * @param os 输出流
@@ -37,50 +61,217 @@ public class FileUtils
      */
     public static void writeBytes(String filePath, OutputStream os) throws IOException
     {
-        FileInputStream fis = null;
-        try
+        try (OutputStream out = os)
         {
             File file = new File(filePath);
             if (!file.exists())
             {
                 throw new FileNotFoundException(filePath);
             }
-            fis = new FileInputStream(file);
-            byte[] b = new byte[1024];
-            int length;
-            while ((length = fis.read(b)) > 0)
+            try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ))
             {
-                os.write(b, 0, length);
+                transfer(channel, 0, channel.size(), out);
             }
         }
-        catch (IOException e)
+    }
+
+    /**
+     * 下载文件，支持断点续传（单个Range区间）与缓存校验（ETag/Last-Modified）
+     * <p>
+     * 命中 If-None-Match/If-Modified-Since 时返回304；Range不可满足时返回416；If-Range不匹配或多区间请求时返回完整文件。
+     * 运行在支持sendfile的Tomcat连接器上且文件不小于48KB时，由连接器从文件直接发送到socket，不经过堆内存。
+     * 调用方需在此之前设置 Content-Disposition 等头，未设置 Content-Type 时按文件扩展名推断。
+     *
+     * @param request 请求对象
+     * @param response 响应对象
+     * @param file 文件
+     */
+    public static void writeFile(HttpServletRequest request, HttpServletResponse response, File file) throws IOException
+    {
+        if (!file.isFile())
+        {
+            throw new FileNotFoundException(file.getPath());
+        }
+        long length = file.length();
+        long lastModified = file.lastModified() / 1000 * 1000;
+        String etag = "\"" + Long.toHexString(lastModified) + "-" + Long.toHexString(length) + "\"";
+
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setDateHeader(HttpHeaders.LAST_MODIFIED, lastModified);
+        if (isNotModified(request, etag, lastModified))
         {
-            throw e;
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
         }
-        finally
+        if (response.getContentType() == null)
+        {
+            String mimeType = request.getServletContext().getMimeType(file.getName());
+            response.setContentType(mimeType != null ? mimeType : MediaType.APPLICATION_OCTET_STREAM_VALUE);
+        }
+
+        long start = 0;
+        long end = length - 1;
+        String range = request.getHeader(HttpHeaders.RANGE);
+        if (range != null && isRangeApplicable(request, etag, lastModified))
         {
-            if (os != null)
+            long[] bounds = parseRange(range, length);
+            if (bounds == UNSATISFIABLE)
             {
-                try
-                {
-                    os.close();
-                }
-                catch (IOException e1)
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                return;
+            }
+            if (bounds != null)
+            {
+                start = bounds[0];
+                end = bounds[1];
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+            }
+        }
+        long count = end - start + 1;
+        response.setContentLengthLong(count);
+        if ("HEAD".equals(request.getMethod()) || count == 0)
+        {
+            return;
+        }
+        if (count >= SENDFILE_THRESHOLD && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT)))
+        {
+            request.setAttribute(SENDFILE_FILENAME, file.getCanonicalPath());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ))
+        {
+            transfer(channel, start, count, response.getOutputStream());
+        }
+    }
+
+    /**
+     * 解析Range头，只支持单个区间
+     *
+     * @return [start, end]（含end）；null=忽略Range返回完整文件；UNSATISFIABLE=区间不可满足
+     */
+    private static long[] parseRange(String range, long length)
+    {
+        if (!range.startsWith("bytes=") || range.indexOf(',') >= 0)
+        {
+            return null;
+        }
+        String spec = range.substring(6).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0)
+        {
+            return null;
+        }
+        try
+        {
+            long start;
+            long end;
+            if (dash == 0)
+            {
+                // bytes=-n 表示最后n个字节
+                long suffix = Long.parseLong(spec.substring(1));
+                if (suffix <= 0 || length == 0)
                 {
-                    e1.printStackTrace();
+                    return UNSATISFIABLE;
                 }
+                start = Math.max(0, length - suffix);
+                end = length - 1;
             }
-            if (fis != null)
+            else
             {
-                try
+                start = Long.parseLong(spec.substring(0, dash));
+                end = dash == spec.length() - 1 ? Long.MAX_VALUE : Long.parseLong(spec.substring(dash + 1));
+                // end 小于 start 是无效的区间，按没有Range处理；end 超出文件时截到文件末尾
+                if (end < start)
                 {
-                    fis.close();
+                    return null;
                 }
-                catch (IOException e1)
+                end = Math.min(end, length - 1);
+            }
+            return start >= length ? UNSATISFIABLE : new long[] { start, end };
+        }
+        catch (NumberFormatException e)
+        {
+            return null;
+        }
+    }
+
+    private static boolean isNotModified(HttpServletRequest request, String etag, long lastModified)
+    {
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null)
+        {
+            return "*".equals(ifNoneMatch.trim()) || ifNoneMatch.contains(etag);
+        }
+        long ifModifiedSince = getDateHeader(request, HttpHeaders.IF_MODIFIED_SINCE);
+        return ifModifiedSince != -1 && lastModified <= ifModifiedSince;
+    }
+
+    /**
+     * If-Range 与当前文件一致时Range才生效，否则返回完整文件
+     */
+    private static boolean isRangeApplicable(HttpServletRequest request, String etag, long lastModified)
+    {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange == null)
+        {
+            return true;
+        }
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/"))
+        {
+            return etag.equals(ifRange.trim());
+        }
+        return getDateHeader(request, HttpHeaders.IF_RANGE) == lastModified;
+    }
+
+    private static long getDateHeader(HttpServletRequest request, String name)
+    {
+        try
+        {
+            return request.getDateHeader(name);
+        }
+        catch (IllegalArgumentException e)
+        {
+            return -1;
+        }
+    }
+
+    /**
+     * 将文件区间写入输出流，输出流为文件时使用 transferTo
+     */
+    private static void transfer(FileChannel channel, long position, long count, OutputStream os) throws IOException
+    {
+        if (os instanceof FileOutputStream fos)
+        {
+            FileChannel target = fos.getChannel();
+            while (count > 0)
+            {
+                long written = channel.transferTo(position, count, target);
+                if (written <= 0)
                 {
-                    e1.printStackTrace();
+                    break;
                 }
+                position += written;
+                count -= written;
+            }
+            return;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(BUFFER_SIZE, Math.max(count, 1)));
+        while (count > 0)
+        {
+            buffer.clear().limit((int) Math.min(buffer.capacity(), count));
+            int read = channel.read(buffer, position);
+            if (read < 0)
+            {
+                break;
             }
+            os.write(buffer.array(), 0, read);
+            position += read;
+            count -= read;
         }
     }
 
@@ -4,7 +4,6 @@ import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 import java.net.URL;
 import java.net.URLConnection;
-import java.util.Arrays;
 import org.apache.poi.util.IOUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -18,37 +17,18 @@ public class ImageUtils
 {
     private static final Logger log = LoggerFactory.getLogger(ImageUtils.class);
 
+    /**
+     * 读取图片
+     */
     public static byte[] getImage(String imagePath)
     {
-        InputStream is = getFile(imagePath);
-        try
-        {
-            return IOUtils.toByteArray(is);
-        }
-        catch (Exception e)
-        {
-            log.error("图片加载异常 {}", e);
-            return null;
-        }
-        finally
-        {
-            IOUtils.closeQuietly(is);
-        }
+        return readFile(imagePath);
     }
 
     public static InputStream getFile(String imagePath)
     {
-        try
-        {
-            byte[] result = readFile(imagePath);
-            result = Arrays.copyOf(result, result.length);
-            return new ByteArrayInputStream(result);
-        }
-        catch (Exception e)
-        {
-            log.error("获取图片异常 {}", e);
-        }
-        return null;
+        byte[] result = readFile(imagePath);
+        return result == null ? null : new ByteArrayInputStream(result);
     }
 
     /**
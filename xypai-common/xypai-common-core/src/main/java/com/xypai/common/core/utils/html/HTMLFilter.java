@@ -12,6 +12,9 @@ import java.util.regex.Pattern;
 
 /**
  * HTML过滤器，用于去除XSS漏洞隐患。
+ * <p>
+ * 基于多轮正则替换，每次过滤都会生成多个中间字符串；默认配置下请使用单次扫描的 {@link HTMLSanitizer}，
+ * 本类保留用于自定义配置与对照测试。
  *
  * @author ruoyi
  */
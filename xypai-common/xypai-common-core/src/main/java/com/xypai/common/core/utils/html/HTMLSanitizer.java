@@ -0,0 +1,759 @@
+package com.xypai.common.core.utils.html;
+
+import java.util.Arrays;
+
+/**
+ * HTML白名单过滤器，用于去除XSS漏洞隐患。
+ * <p>
+ * 输出与 {@link HTMLFilter} 默认配置一致，但只扫描一遍输入：第一个注释、孤立的尖括号与标签在同一次扫描中处理，
+ * 允许的标签直接写入输出缓冲区，最后再按原实现的顺序删除空的成对标签。
+ * 无状态、线程安全，扫描用的临时数组与缓冲区按线程复用；不含尖括号的输入原样返回，不产生新对象。
+ * <p>
+ * 与原实现的差异：属性中的十进制实体按十进制解析（原实现前导0按八进制），超出int范围的实体保持原样（原实现抛出异常）。
+ *
+ * @author xypai
+ */
+public final class HTMLSanitizer
+{
+    /**
+     * 允许的标签
+     */
+    private static final String[] TAGS = { "a", "img", "b", "strong", "i", "em" };
+
+    /**
+     * 各标签允许的属性
+     */
+    private static final String[][] TAG_ATTRIBUTES = { { "href", "target" }, { "src", "width", "height", "alt" }, {}, {}, {}, {} };
+
+    private static final int A = 0;
+
+    private static final int IMG = 1;
+
+    private static final int B = 2;
+
+    private static final int STRONG = 3;
+
+    private static final int I = 4;
+
+    private static final int EM = 5;
+
+    /**
+     * 内容为空时删除的标签，按删除的先后顺序
+     */
+    private static final int[] REMOVE_BLANKS = { A, B, STRONG, I, EM };
+
+    /**
+     * 末尾补全结束标签的顺序，与原实现 HashMap 的迭代顺序一致（b 与 strong 同桶，按首次出现先后）
+     */
+    private static final int[] CLOSE_ORDER = { A, B, STRONG, EM, I };
+
+    /**
+     * 需要检查协议的属性
+     */
+    private static final String[] PROTOCOL_ATTRIBUTES = { "src", "href" };
+
+    /**
+     * 允许的协议
+     */
+    private static final String[] ALLOWED_PROTOCOLS = { "http", "mailto", "https" };
+
+    /**
+     * 属性值中允许的实体
+     */
+    private static final String[] ALLOWED_ENTITIES = { "amp", "gt", "lt", "quot" };
+
+    /**
+     * 线程复用的输出缓冲区超过该长度时丢弃，避免大请求体长期占用内存
+     */
+    private static final int MAX_BUFFER_CAPACITY = 64 * 1024;
+
+    private static final ThreadLocal<Context> CONTEXT = ThreadLocal.withInitial(Context::new);
+
+    private HTMLSanitizer()
+    {
+    }
+
+    /**
+     * 过滤不在白名单中的标签与属性
+     *
+     * @param input 可能包含html的文本
+     * @return 过滤后的文本，不含尖括号时返回input本身
+     */
+    public static String sanitize(String input)
+    {
+        if (input == null || !containsAngleBracket(input))
+        {
+            return input;
+        }
+        Context context = CONTEXT.get();
+        StringBuilder out = context.buffer;
+        out.setLength(0);
+        sanitize(input, out, context);
+        String result = out.toString();
+        if (out.capacity() > MAX_BUFFER_CAPACITY)
+        {
+            context.buffer = new StringBuilder(256);
+        }
+        return result;
+    }
+
+    /**
+     * 过滤不在白名单中的标签与属性，结果追加到out
+     *
+     * @param input 可能包含html的文本
+     * @param out 输出缓冲区
+     */
+    public static void sanitize(CharSequence input, StringBuilder out)
+    {
+        sanitize(input, out, CONTEXT.get());
+    }
+
+    private static void sanitize(CharSequence input, StringBuilder out, Context context)
+    {
+        context.reset();
+        int length = input.length();
+        // 第一个注释整体删除，其中的尖括号不参与配对
+        int commentStart = indexOf(input, "<!--", 0);
+        int commentEnd = commentStart < 0 ? -1 : indexOf(input, "-->", commentStart + 4);
+        if (commentEnd < 0)
+        {
+            commentStart = -1;
+        }
+        int text = 0;
+        int i = 0;
+        // 原实现以 > 开头时正则在开头空匹配，其后第一个孤立的 > 不会被转义
+        boolean keepArrow = false;
+        while (i < length)
+        {
+            char c = input.charAt(i);
+            if (c == '>')
+            {
+                // 前面没有配对的 <
+                if (keepArrow)
+                {
+                    keepArrow = false;
+                    i++;
+                    continue;
+                }
+                keepArrow = i == 0;
+                out.append(input, text, i).append("&gt;");
+                text = ++i;
+            }
+            else if (c == '<')
+            {
+                keepArrow = false;
+                out.append(input, text, i);
+                if (i == commentStart)
+                {
+                    i = commentEnd + 3;
+                    text = i;
+                    continue;
+                }
+                int end = i + 1;
+                while (end < length && input.charAt(end) != '<' && input.charAt(end) != '>')
+                {
+                    end++;
+                }
+                if (end < length && input.charAt(end) == '>')
+                {
+                    tag(input, i + 1, end, out, context);
+                    text = i = end + 1;
+                }
+                else
+                {
+                    // 遇到下一个 < 或结尾前没有 >
+                    out.append("&lt;");
+                    text = i + 1;
+                    i = end;
+                }
+            }
+            else
+            {
+                i++;
+            }
+        }
+        out.append(input, text, length);
+        context.closeTags(out);
+        context.removeBlanks(out);
+    }
+
+    /**
+     * 处理 &lt; 与 &gt; 之间的内容
+     */
+    private static void tag(CharSequence input, int start, int end, StringBuilder out, Context context)
+    {
+        if (start < end && input.charAt(start) == '/')
+        {
+            int tag = tagOf(input, start + 1, alnumEnd(input, start + 1, end));
+            // 原实现只要出现过开始标签就输出结束标签，计数可以为负
+            if (tag >= 0 && tag != IMG && context.seen[tag] > 0)
+            {
+                context.counts[tag]--;
+                int tokenStart = out.length();
+                out.append("</").append(TAGS[tag]).append('>');
+                context.addToken(tokenStart, out.length(), -(tag + 1));
+            }
+            return;
+        }
+        int nameEnd = alnumEnd(input, start, end);
+        int tag = tagOf(input, start, nameEnd);
+        if (tag < 0)
+        {
+            return;
+        }
+        int tokenStart = out.length();
+        out.append('<').append(TAGS[tag]);
+        attributes(input, nameEnd, bodyEnd(input, nameEnd, end), tag, out, context);
+        if (tag == IMG)
+        {
+            out.append(" />");
+        }
+        else
+        {
+            out.append('>');
+            context.open(tag);
+            context.addToken(tokenStart, out.length(), tag + 1);
+        }
+    }
+
+    /**
+     * 标签名之后属性部分的结尾，去掉末尾的 / 与换行，与原实现 ^([a-z0-9]+)(.*?)(/?)$ 的分组一致
+     */
+    private static int bodyEnd(CharSequence input, int from, int end)
+    {
+        for (int k = Math.max(from, end - 3); k < end; k++)
+        {
+            if (input.charAt(k) == '/' && isEnd(input, k + 1, end))
+            {
+                return k;
+            }
+            if (isEnd(input, k, end))
+            {
+                return k;
+            }
+        }
+        return end;
+    }
+
+    /**
+     * 非多行模式下 $ 能否在 index 处匹配：结尾，或结尾换行符之前
+     */
+    private static boolean isEnd(CharSequence input, int index, int end)
+    {
+        if (index == end)
+        {
+            return true;
+        }
+        if (index == end - 2)
+        {
+            return input.charAt(index) == '\r' && input.charAt(index + 1) == '\n';
+        }
+        if (index == end - 1)
+        {
+            char c = input.charAt(index);
+            if (c == '\n')
+            {
+                return index == 0 || input.charAt(index - 1) != '\r';
+            }
+            return c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+        }
+        return false;
+    }
+
+    /**
+     * 与原实现相同：先取全部带引号的属性，再取全部不带引号的属性
+     */
+    private static void attributes(CharSequence input, int from, int to, int tag, StringBuilder out, Context context)
+    {
+        int i = from;
+        while (i < to)
+        {
+            if (!isAlnum(input.charAt(i)))
+            {
+                i++;
+                continue;
+            }
+            int nameEnd = alnumEnd(input, i, to);
+            if (nameEnd + 1 < to && input.charAt(nameEnd) == '=')
+            {
+                char quote = input.charAt(nameEnd + 1);
+                if (quote == '"' || quote == '\'')
+                {
+                    int close = nameEnd + 2;
+                    while (close < to && input.charAt(close) != quote)
+                    {
+                        close++;
+                    }
+                    if (close < to && input.charAt(close) == quote)
+                    {
+                        attribute(input, i, nameEnd, nameEnd + 2, close, tag, out, context);
+                        i = close + 1;
+                        continue;
+                    }
+                }
+            }
+            i = nameEnd;
+        }
+        i = from;
+        while (i < to)
+        {
+            if (!isAlnum(input.charAt(i)))
+            {
+                i++;
+                continue;
+            }
+            int nameEnd = alnumEnd(input, i, to);
+            if (nameEnd + 1 < to && input.charAt(nameEnd) == '=' && isUnquotedValue(input.charAt(nameEnd + 1)))
+            {
+                int valueEnd = nameEnd + 2;
+                while (valueEnd < to && isUnquotedValue(input.charAt(valueEnd)))
+                {
+                    valueEnd++;
+                }
+                attribute(input, i, nameEnd, nameEnd + 1, valueEnd, tag, out, context);
+                i = valueEnd;
+                continue;
+            }
+            i = nameEnd;
+        }
+    }
+
+    private static void attribute(CharSequence input, int nameStart, int nameEnd, int valueStart, int valueEnd, int tag,
+            StringBuilder out, Context context)
+    {
+        String name = find(TAG_ATTRIBUTES[tag], input, nameStart, nameEnd, true);
+        if (name == null)
+        {
+            return;
+        }
+        out.append(' ').append(name).append("=\\\"");
+        if (find(PROTOCOL_ATTRIBUTES, name, 0, name.length(), false) != null)
+        {
+            protocolValue(input, valueStart, valueEnd, out, context);
+        }
+        else
+        {
+            out.append(input, valueStart, valueEnd);
+        }
+        out.append("\\\"");
+    }
+
+    /**
+     * 解码实体后检查协议，不允许的协议改为页内锚点
+     */
+    private static void protocolValue(CharSequence input, int from, int to, StringBuilder out, Context context)
+    {
+        StringBuilder value = context.value;
+        StringBuilder scratch = context.scratch;
+        value.setLength(0);
+        decodeDecimal(input, from, to, value);
+        scratch.setLength(0);
+        decodeHex(value, scratch);
+        value.setLength(0);
+        decodePercent(scratch, value);
+        scratch.setLength(0);
+        validateEntities(value, scratch);
+
+        int colon = indexOf(scratch, ":", 0);
+        if (colon > 0 && find(ALLOWED_PROTOCOLS, scratch, 0, colon, false) == null)
+        {
+            int rest = colon + 1;
+            if (rest + 1 < scratch.length() && scratch.charAt(rest) == '/' && scratch.charAt(rest + 1) == '/')
+            {
+                rest += 2;
+            }
+            out.append('#').append(scratch, rest, scratch.length());
+        }
+        else
+        {
+            out.append(scratch);
+        }
+    }
+
+    /**
+     * &amp;#(\d+);?
+     */
+    private static void decodeDecimal(CharSequence s, int from, int to, StringBuilder out)
+    {
+        int i = from;
+        while (i < to)
+        {
+            char c = s.charAt(i);
+            if (c == '&' && i + 2 < to && s.charAt(i + 1) == '#' && isDigit(s.charAt(i + 2)))
+            {
+                int end = i + 2;
+                long value = 0;
+                while (end < to && isDigit(s.charAt(end)))
+                {
+                    value = Math.min(value * 10 + s.charAt(end) - '0', Long.MAX_VALUE / 16);
+                    end++;
+                }
+                if (value <= Integer.MAX_VALUE)
+                {
+                    out.append((char) value);
+                    i = end < to && s.charAt(end) == ';' ? end + 1 : end;
+                    continue;
+                }
+            }
+            out.append(c);
+            i++;
+        }
+    }
+
+    /**
+     * &amp;#x([0-9a-f]+);?
+     */
+    private static void decodeHex(CharSequence s, StringBuilder out)
+    {
+        int length = s.length();
+        int i = 0;
+        while (i < length)
+        {
+            char c = s.charAt(i);
+            if (c == '&' && i + 3 < length && s.charAt(i + 1) == '#' && s.charAt(i + 2) == 'x' && hexValue(s.charAt(i + 3)) >= 0)
+            {
+                int end = i + 3;
+                long value = 0;
+                while (end < length && hexValue(s.charAt(end)) >= 0)
+                {
+                    value = Math.min(value * 16 + hexValue(s.charAt(end)), Long.MAX_VALUE / 16);
+                    end++;
+                }
+                if (value <= Integer.MAX_VALUE)
+                {
+                    out.append((char) value);
+                    i = end < length && s.charAt(end) == ';' ? end + 1 : end;
+                    continue;
+                }
+            }
+            out.append(c);
+            i++;
+        }
+    }
+
+    /**
+     * %([0-9a-f]{2});?
+     */
+    private static void decodePercent(CharSequence s, StringBuilder out)
+    {
+        int length = s.length();
+        int i = 0;
+        while (i < length)
+        {
+            char c = s.charAt(i);
+            if (c == '%' && i + 2 < length && hexValue(s.charAt(i + 1)) >= 0 && hexValue(s.charAt(i + 2)) >= 0)
+            {
+                out.append((char) (hexValue(s.charAt(i + 1)) * 16 + hexValue(s.charAt(i + 2))));
+                i = i + 3 < length && s.charAt(i + 3) == ';' ? i + 4 : i + 3;
+                continue;
+            }
+            out.append(c);
+            i++;
+        }
+    }
+
+    /**
+     * 只保留白名单中的实体，其余 &amp; 转义
+     */
+    private static void validateEntities(CharSequence s, StringBuilder out)
+    {
+        int length = s.length();
+        for (int i = 0; i < length; i++)
+        {
+            char c = s.charAt(i);
+            if (c != '&')
+            {
+                out.append(c);
+                continue;
+            }
+            int end = i + 1;
+            while (end < length && s.charAt(end) != '&' && s.charAt(end) != ';')
+            {
+                end++;
+            }
+            boolean valid = end < length && s.charAt(end) == ';' && find(ALLOWED_ENTITIES, s, i + 1, end, false) != null;
+            out.append(valid ? "&" : "&amp;");
+        }
+    }
+
+    /**
+     * 在names中查找与 s[from, to) 相同的名称
+     */
+    private static String find(String[] names, CharSequence s, int from, int to, boolean ignoreCase)
+    {
+        for (String name : names)
+        {
+            if (regionMatches(name, s, from, to, ignoreCase))
+            {
+                return name;
+            }
+        }
+        return null;
+    }
+
+    private static int tagOf(CharSequence s, int from, int to)
+    {
+        for (int tag = 0; tag < TAGS.length; tag++)
+        {
+            if (regionMatches(TAGS[tag], s, from, to, true))
+            {
+                return tag;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean regionMatches(String name, CharSequence s, int from, int to, boolean ignoreCase)
+    {
+        if (name.length() != to - from)
+        {
+            return false;
+        }
+        for (int i = 0; i < name.length(); i++)
+        {
+            char c = s.charAt(from + i);
+            if (ignoreCase && c >= 'A' && c <= 'Z')
+            {
+                c += 'a' - 'A';
+            }
+            if (c != name.charAt(i))
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int indexOf(CharSequence s, String target, int from)
+    {
+        int last = s.length() - target.length();
+        char first = target.charAt(0);
+        for (int i = from; i <= last; i++)
+        {
+            if (s.charAt(i) == first && regionMatches(target, s, i, i + target.length(), false))
+            {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean containsAngleBracket(String s)
+    {
+        for (int i = 0; i < s.length(); i++)
+        {
+            char c = s.charAt(i);
+            if (c == '<' || c == '>')
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int alnumEnd(CharSequence s, int from, int to)
+    {
+        int i = from;
+        while (i < to && isAlnum(s.charAt(i)))
+        {
+            i++;
+        }
+        return i;
+    }
+
+    private static boolean isAlnum(char c)
+    {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || isDigit(c);
+    }
+
+    private static boolean isDigit(char c)
+    {
+        return c >= '0' && c <= '9';
+    }
+
+    private static int hexValue(char c)
+    {
+        if (isDigit(c))
+        {
+            return c - '0';
+        }
+        return c >= 'a' && c <= 'f' ? c - 'a' + 10 : -1;
+    }
+
+    /**
+     * [^"\s']
+     */
+    private static boolean isUnquotedValue(char c)
+    {
+        return c != '"' && c != '\'' && c != ' ' && c != '\t' && c != '\n' && c != '\u000B' && c != '\f' && c != '\r';
+    }
+
+    /**
+     * 单次过滤的状态，按线程复用
+     */
+    private static final class Context
+    {
+        private StringBuilder buffer = new StringBuilder(256);
+
+        private final StringBuilder value = new StringBuilder(64);
+
+        private final StringBuilder scratch = new StringBuilder(64);
+
+        /**
+         * 各标签未闭合的数量
+         */
+        private final int[] counts = new int[TAGS.length];
+
+        /**
+         * 各标签第一次出现的次序，0为未出现
+         */
+        private final int[] seen = new int[TAGS.length];
+
+        private int seenCount;
+
+        /**
+         * 已输出的可删除标签在out中的位置，code为 标签+1（开始）或 -(标签+1)（结束），0为已删除
+         */
+        private int[] tokenStart = new int[16];
+
+        private int[] tokenEnd = new int[16];
+
+        private int[] tokenCode = new int[16];
+
+        private int tokenCount;
+
+        private void reset()
+        {
+            Arrays.fill(counts, 0);
+            Arrays.fill(seen, 0);
+            seenCount = 0;
+            tokenCount = 0;
+        }
+
+        private void open(int tag)
+        {
+            if (seen[tag] == 0)
+            {
+                seen[tag] = ++seenCount;
+            }
+            counts[tag]++;
+        }
+
+        private void addToken(int start, int end, int code)
+        {
+            if (tokenCount == tokenCode.length)
+            {
+                tokenStart = Arrays.copyOf(tokenStart, tokenCount * 2);
+                tokenEnd = Arrays.copyOf(tokenEnd, tokenCount * 2);
+                tokenCode = Arrays.copyOf(tokenCode, tokenCount * 2);
+            }
+            tokenStart[tokenCount] = start;
+            tokenEnd[tokenCount] = end;
+            tokenCode[tokenCount] = code;
+            tokenCount++;
+        }
+
+        /**
+         * 补全未闭合的标签
+         */
+        private void closeTags(StringBuilder out)
+        {
+            boolean strongFirst = seen[STRONG] > 0 && (seen[B] == 0 || seen[STRONG] < seen[B]);
+            for (int tag : CLOSE_ORDER)
+            {
+                if (strongFirst && (tag == B || tag == STRONG))
+                {
+                    tag = tag == B ? STRONG : B;
+                }
+                for (int n = counts[tag]; n > 0; n--)
+                {
+                    int start = out.length();
+                    out.append("</").append(TAGS[tag]).append('>');
+                    addToken(start, out.length(), -(tag + 1));
+                }
+            }
+        }
+
+        /**
+         * 依次删除各标签紧邻的开始、结束标签对，每个标签只删除一轮，与原实现逐个正则替换的结果一致
+         */
+        private void removeBlanks(StringBuilder out)
+        {
+            boolean removed = false;
+            for (int tag : REMOVE_BLANKS)
+            {
+                for (int k = 0; k < tokenCount; k++)
+                {
+                    if (tokenCode[k] != tag + 1)
+                    {
+                        continue;
+                    }
+                    int next = nextAdjacent(k);
+                    if (next > 0 && tokenCode[next] == -(tag + 1))
+                    {
+                        tokenCode[k] = 0;
+                        tokenCode[next] = 0;
+                        removed = true;
+                        k = next;
+                    }
+                }
+            }
+            if (removed)
+            {
+                compact(out);
+            }
+        }
+
+        /**
+         * k之后第一个未删除的标签，与k之间有其他内容时返回-1
+         */
+        private int nextAdjacent(int k)
+        {
+            for (int j = k + 1; j < tokenCount; j++)
+            {
+                if (tokenStart[j] != tokenEnd[j - 1])
+                {
+                    return -1;
+                }
+                if (tokenCode[j] != 0)
+                {
+                    return j;
+                }
+            }
+            return -1;
+        }
+
+        private void compact(StringBuilder out)
+        {
+            int write = -1;
+            int read = 0;
+            for (int k = 0; k < tokenCount; k++)
+            {
+                if (tokenCode[k] != 0)
+                {
+                    continue;
+                }
+                if (write < 0)
+                {
+                    write = tokenStart[k];
+                }
+                else
+                {
+                    write = move(out, read, tokenStart[k], write);
+                }
+                read = tokenEnd[k];
+            }
+            write = move(out, read, out.length(), write);
+            out.setLength(write);
+        }
+
+        private static int move(StringBuilder out, int from, int to, int write)
+        {
+            for (int i = from; i < to; i++)
+            {
+                out.setCharAt(write++, out.charAt(i));
+            }
+            return write;
+        }
+    }
+}
@@ -0,0 +1,453 @@
+package com.xypai.common.core.utils.poi;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import org.apache.commons.lang3.reflect.FieldUtils;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.Workbook;
+import com.xypai.common.core.annotation.Excel;
+import com.xypai.common.core.annotation.Excels;
+import com.xypai.common.core.exception.UtilException;
+import com.xypai.common.core.utils.StringUtils;
+import com.xypai.common.core.utils.reflect.MethodAccessors;
+
+/**
+ * Excel列的预编译信息
+ * <p>
+ * 每个类的 @Excel/@Excels 字段只解析一次并按类缓存：字段读取编译为 LambdaMetafactory 生成的 getter 调用
+ * （没有同名同类型的公共 getter 时退回 MethodHandle），targetAttr 逐级解析为访问器，readConverterExp 预先拆分为映射表，
+ * 样式键与 handler 实例一并缓存，导出时每个单元格不再反射读取字段、注解属性和拆分转换表达式。
+ *
+ * @author xypai
+ */
+public final class ExcelColumn
+{
+    private static final ClassValue<List<ExcelColumn>> COLUMNS = new ClassValue<List<ExcelColumn>>()
+    {
+        @Override
+        protected List<ExcelColumn> computeValue(Class<?> type)
+        {
+            return createColumns(type);
+        }
+    };
+
+    private static final ClassValue<Handler> HANDLERS = new ClassValue<Handler>()
+    {
+        @Override
+        protected Handler computeValue(Class<?> type)
+        {
+            return new Handler(type);
+        }
+    };
+
+    private final Field field;
+
+    private final Excel excel;
+
+    /** 是否来自 @Excels */
+    private final boolean multiple;
+
+    private final boolean collection;
+
+    private final Function<Object, Object> accessor;
+
+    /** targetAttr 各级属性名，为空表示直接取字段值 */
+    private final String[] targetNames;
+
+    /** targetAttr 各级访问器，无法按声明类型解析时为null，运行时按实际类型反射读取 */
+    private final List<Function<Object, Object>> targetAccessors;
+
+    private final Map<String, String> converter;
+
+    private final Map<String, String> reverseConverter;
+
+    private final String styleKey;
+
+    private final String headerStyleKey;
+
+    private final String dateStyleKey;
+
+    private final List<ExcelColumn> subColumns;
+
+    ExcelColumn(Field field, Excel excel, boolean multiple)
+    {
+        this(field, excel, multiple, true);
+    }
+
+    /**
+     * @param nested 是否解析集合字段的子列，子列只解析一级，避免自引用的类型无限递归
+     */
+    private ExcelColumn(Field field, Excel excel, boolean multiple, boolean nested)
+    {
+        this.field = field;
+        this.excel = excel;
+        this.multiple = multiple;
+        this.collection = Collection.class.isAssignableFrom(field.getType());
+        this.accessor = accessor(field);
+        this.targetNames = StringUtils.isNotEmpty(excel.targetAttr()) ? excel.targetAttr().split("[.]") : new String[0];
+        this.targetAccessors = targetAccessors(field.getType(), targetNames);
+        this.converter = parseExp(excel.readConverterExp(), false);
+        this.reverseConverter = parseExp(excel.readConverterExp(), true);
+        this.styleKey = StringUtils.format("data_{}_{}_{}_{}_{}", excel.align(), excel.color(), excel.backgroundColor(), excel.cellType(), excel.wrapText());
+        this.headerStyleKey = StringUtils.format("header_{}_{}", excel.headerColor(), excel.headerBackgroundColor());
+        this.dateStyleKey = StringUtils.isNotEmpty(excel.dateFormat()) ? styleKey + "_" + excel.dateFormat() : null;
+        this.subColumns = nested && collection && !multiple ? subColumns(field) : Collections.emptyList();
+    }
+
+    /**
+     * 获取类（及其直接父类）中所有带 @Excel/@Excels 注解的列，按字段声明顺序，结果按类缓存
+     *
+     * @param clazz 实体类
+     * @return 列信息，不可修改
+     */
+    public static List<ExcelColumn> forClass(Class<?> clazz)
+    {
+        return COLUMNS.get(clazz);
+    }
+
+    /**
+     * 获取字段与注解对应的列，优先使用缓存
+     *
+     * @param field 字段
+     * @param excel 注解
+     * @return 列信息
+     */
+    public static ExcelColumn of(Field field, Excel excel)
+    {
+        for (ExcelColumn column : forClass(field.getDeclaringClass()))
+        {
+            if (column.field.equals(field) && column.excel.equals(excel))
+            {
+                return column;
+            }
+        }
+        return new ExcelColumn(field, excel, false);
+    }
+
+    /**
+     * 调用数据处理器，处理器实例按类缓存并在多次导入导出间复用
+     *
+     * @param handler 处理器类
+     * @param value 数据值
+     * @param args excel注解args参数组
+     * @param cell 单元格对象
+     * @param wb 工作簿对象
+     * @return 处理后的值
+     */
+    public static Object format(Class<?> handler, Object value, String[] args, Cell cell, Workbook wb) throws Exception
+    {
+        Handler h = HANDLERS.get(handler);
+        if (h.instance instanceof ExcelHandlerAdapter)
+        {
+            return ((ExcelHandlerAdapter) h.instance).format(value, args, cell, wb);
+        }
+        return h.method.invoke(h.instance, value, args, cell, wb);
+    }
+
+    /**
+     * 读取对象中该列的值，包含 targetAttr 指定的下级属性
+     *
+     * @param vo 实体对象
+     * @return 列值
+     */
+    public Object getValue(Object vo) throws ReflectiveOperationException
+    {
+        Object o = accessor.apply(vo);
+        if (targetAccessors != null)
+        {
+            for (int i = 0; i < targetAccessors.size() && o != null; i++)
+            {
+                o = targetAccessors.get(i).apply(o);
+            }
+            return o;
+        }
+        for (String name : targetNames)
+        {
+            if (o == null)
+            {
+                break;
+            }
+            Field target = o.getClass().getDeclaredField(name);
+            target.setAccessible(true);
+            o = target.get(o);
+        }
+        return o;
+    }
+
+    /**
+     * 按 readConverterExp 翻译导出值，与 {@link ExcelUtil#convertByExp} 结果一致
+     *
+     * @param propertyValue 参数值
+     * @return 解析后值
+     */
+    public String convert(String propertyValue)
+    {
+        return translate(converter, propertyValue, excel.separator());
+    }
+
+    /**
+     * 按 readConverterExp 反向翻译导入值，与 {@link ExcelUtil#reverseByExp} 结果一致
+     *
+     * @param propertyValue 参数值
+     * @return 解析后值
+     */
+    public String reverse(String propertyValue)
+    {
+        return translate(reverseConverter, propertyValue, excel.separator());
+    }
+
+    public Field getField()
+    {
+        return field;
+    }
+
+    public Excel getExcel()
+    {
+        return excel;
+    }
+
+    public boolean isMultiple()
+    {
+        return multiple;
+    }
+
+    public boolean isCollection()
+    {
+        return collection;
+    }
+
+    public String getStyleKey()
+    {
+        return styleKey;
+    }
+
+    public String getHeaderStyleKey()
+    {
+        return headerStyleKey;
+    }
+
+    /**
+     * 带日期格式的数据样式键，未设置 dateFormat 时为null
+     */
+    public String getDateStyleKey()
+    {
+        return dateStyleKey;
+    }
+
+    /**
+     * 集合字段元素类型中的列
+     */
+    public List<ExcelColumn> getSubColumns()
+    {
+        return subColumns;
+    }
+
+    private static List<ExcelColumn> createColumns(Class<?> clazz)
+    {
+        List<Field> tempFields = new ArrayList<>();
+        if (clazz.getSuperclass() != null)
+        {
+            tempFields.addAll(Arrays.asList(clazz.getSuperclass().getDeclaredFields()));
+        }
+        tempFields.addAll(Arrays.asList(clazz.getDeclaredFields()));
+        List<ExcelColumn> columns = new ArrayList<>();
+        for (Field field : tempFields)
+        {
+            Excel attr = field.getAnnotation(Excel.class);
+            if (attr != null)
+            {
+                columns.add(new ExcelColumn(field, attr, false));
+            }
+            Excels attrs = field.getAnnotation(Excels.class);
+            if (attrs != null)
+            {
+                for (Excel excel : attrs.value())
+                {
+                    columns.add(new ExcelColumn(field, excel, true));
+                }
+            }
+        }
+        return Collections.unmodifiableList(columns);
+    }
+
+    private static List<ExcelColumn> subColumns(Field field)
+    {
+        ParameterizedType pt = (ParameterizedType) field.getGenericType();
+        Class<?> subClass = (Class<?>) pt.getActualTypeArguments()[0];
+        List<ExcelColumn> columns = new ArrayList<>();
+        for (Field subField : FieldUtils.getFieldsListWithAnnotation(subClass, Excel.class))
+        {
+            columns.add(new ExcelColumn(subField, subField.getAnnotation(Excel.class), false, false));
+        }
+        return Collections.unmodifiableList(columns);
+    }
+
+    private static List<Function<Object, Object>> targetAccessors(Class<?> type, String[] names)
+    {
+        List<Function<Object, Object>> accessors = new ArrayList<>(names.length);
+        for (String name : names)
+        {
+            Field target;
+            try
+            {
+                target = type.getDeclaredField(name);
+            }
+            catch (NoSuchFieldException e)
+            {
+                return null;
+            }
+            accessors.add(accessor(target));
+            type = target.getType();
+        }
+        return accessors;
+    }
+
+    /**
+     * 编译字段读取：存在同名同类型的公共 getter 时生成直接调用 getter 的 Function，否则使用字段的 MethodHandle
+     */
+    private static Function<Object, Object> accessor(Field field)
+    {
+        Class<?> type = field.getDeclaringClass();
+        Method getter = getter(type, field);
+        if (getter != null)
+        {
+            return MethodAccessors.getter(getter);
+        }
+        try
+        {
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+            MethodHandle handle = lookup.unreflectGetter(field).asType(MethodType.methodType(Object.class, Object.class));
+            return o -> {
+                try
+                {
+                    return handle.invokeExact(o);
+                }
+                catch (Throwable e)
+                {
+                    throw new UtilException(e);
+                }
+            };
+        }
+        catch (Throwable e)
+        {
+            field.setAccessible(true);
+            return o -> {
+                try
+                {
+                    return field.get(o);
+                }
+                catch (IllegalAccessException ex)
+                {
+                    throw new UtilException(ex);
+                }
+            };
+        }
+    }
+
+    private static Method getter(Class<?> type, Field field)
+    {
+        String name = StringUtils.capitalize(field.getName());
+        for (String prefix : new String[] { "get", "is" })
+        {
+            try
+            {
+                Method method = type.getMethod(prefix + name);
+                if (method.getReturnType() == field.getType() && !Modifier.isStatic(method.getModifiers()))
+                {
+                    return method;
+                }
+            }
+            catch (NoSuchMethodException e)
+            {
+                // 尝试下一个前缀
+            }
+        }
+        return null;
+    }
+
+    private static Map<String, String> parseExp(String converterExp, boolean reverse)
+    {
+        if (StringUtils.isEmpty(converterExp))
+        {
+            return Collections.emptyMap();
+        }
+        Map<String, String> map = new LinkedHashMap<>();
+        for (String item : converterExp.split(ExcelUtil.SEPARATOR))
+        {
+            String[] itemArray = item.split("=");
+            if (itemArray.length < 2)
+            {
+                continue;
+            }
+            if (reverse)
+            {
+                map.putIfAbsent(itemArray[1], itemArray[0]);
+            }
+            else
+            {
+                map.putIfAbsent(itemArray[0], itemArray[1]);
+            }
+        }
+        return map;
+    }
+
+    /**
+     * 多值时按表达式中的顺序输出匹配项并以分隔符连接，单值时返回对应值，无匹配返回空字符串
+     */
+    private static String translate(Map<String, String> map, String propertyValue, String separator)
+    {
+        if (StringUtils.containsAny(propertyValue, separator))
+        {
+            Set<String> values = new HashSet<>(Arrays.asList(propertyValue.split(separator)));
+            StringBuilder propertyString = new StringBuilder();
+            for (Map.Entry<String, String> entry : map.entrySet())
+            {
+                if (values.contains(entry.getKey()))
+                {
+                    propertyString.append(entry.getValue()).append(separator);
+                }
+            }
+            return StringUtils.stripEnd(propertyString.toString(), separator);
+        }
+        String value = map.get(propertyValue);
+        return value != null ? value : StringUtils.EMPTY;
+    }
+
+    /**
+     * 数据处理器实例与 format 方法
+     */
+    private static final class Handler
+    {
+        private final Object instance;
+
+        private final Method method;
+
+        Handler(Class<?> type)
+        {
+            try
+            {
+                this.instance = type.getDeclaredConstructor().newInstance();
+                this.method = type.getMethod("format", Object.class, String[].class, Cell.class, Workbook.class);
+            }
+            catch (ReflectiveOperationException e)
+            {
+                throw new UtilException(e);
+            }
+        }
+    }
+}
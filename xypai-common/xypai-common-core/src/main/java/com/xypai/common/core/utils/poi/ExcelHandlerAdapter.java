@@ -5,6 +5,8 @@ import org.apache.poi.ss.usermodel.Workbook;
 
 /**
  * Excel数据格式处理适配器
+ * <p>
+ * 实现类需提供无参构造方法，实例按类缓存并在多次导入导出间共用，不应保存单次导出的状态。
  * 
  * @author ruoyi
  */
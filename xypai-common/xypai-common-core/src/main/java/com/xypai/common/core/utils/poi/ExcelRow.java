@@ -0,0 +1,57 @@
+package com.xypai.common.core.utils.poi;
+
+/**
+ * 流式导入的一行数据
+ * <p>
+ * 单元格转换失败时 data 中已转换的字段保留，错误信息记录在 error 中；业务校验失败也可通过 {@link #setError} 记录。
+ *
+ * @author xypai
+ */
+public class ExcelRow<T>
+{
+    /**
+     * Excel中的行号，从1开始
+     */
+    private final int rowNum;
+
+    /**
+     * 行数据
+     */
+    private final T data;
+
+    /**
+     * 错误信息
+     */
+    private String error;
+
+    public ExcelRow(int rowNum, T data)
+    {
+        this.rowNum = rowNum;
+        this.data = data;
+    }
+
+    public int getRowNum()
+    {
+        return rowNum;
+    }
+
+    public T getData()
+    {
+        return data;
+    }
+
+    public String getError()
+    {
+        return error;
+    }
+
+    public void setError(String error)
+    {
+        this.error = error;
+    }
+
+    public boolean hasError()
+    {
+        return error != null;
+    }
+}
@@ -1,11 +1,16 @@
 package com.xypai.common.core.utils.poi;
 
+import java.io.BufferedInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.lang.reflect.ParameterizedType;
 import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.text.DecimalFormat;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -15,14 +20,17 @@ import java.util.Collection;
 import java.util.Comparator;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import jakarta.servlet.http.HttpServletResponse;
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.RegExUtils;
 import org.apache.commons.lang3.reflect.FieldUtils;
+import org.apache.poi.poifs.filesystem.FileMagic;
 import org.apache.poi.ss.usermodel.BorderStyle;
 import org.apache.poi.ss.usermodel.Cell;
 import org.apache.poi.ss.usermodel.CellStyle;
@@ -56,6 +64,7 @@ import com.xypai.common.core.annotation.Excel;
 import com.xypai.common.core.annotation.Excel.ColumnType;
 import com.xypai.common.core.annotation.Excel.Type;
 import com.xypai.common.core.annotation.Excels;
+import com.xypai.common.core.exception.ServiceException;
 import com.xypai.common.core.exception.UtilException;
 import com.xypai.common.core.text.Convert;
 import com.xypai.common.core.utils.DateUtils;
@@ -119,6 +128,11 @@ public class ExcelUtil<T>
      */
     private List<Object[]> fields;
 
+    /**
+     * 导出列（与 fields 顺序一致）
+     */
+    private List<ExcelColumn> columns;
+
     /**
      * 当前行号
      */
@@ -154,6 +168,11 @@ public class ExcelUtil<T>
      */
     private List<Field> subFields;
 
+    /**
+     * 对象的子列表列
+     */
+    private List<ExcelColumn> subColumns;
+
     /**
      * 统计列表
      */
@@ -352,15 +371,14 @@ public class ExcelUtil<T>
                 }
             }
             // 有数据时才处理 得到类的所有field.
-            List<Object[]> fields = this.getFields();
-            Map<Integer, Object[]> fieldsMap = new HashMap<Integer, Object[]>();
-            for (Object[] objects : fields)
+            List<ExcelColumn> columns = this.getColumns();
+            Map<Integer, ExcelColumn> fieldsMap = new HashMap<Integer, ExcelColumn>();
+            for (ExcelColumn excelColumn : columns)
             {
-                Excel attr = (Excel) objects[1];
-                Integer column = cellMap.get(attr.name());
+                Integer column = cellMap.get(excelColumn.getExcel().name());
                 if (column != null)
                 {
-                    fieldsMap.put(column, objects);
+                    fieldsMap.put(column, excelColumn);
                 }
             }
             for (int i = titleNum + 1; i <= rows; i++)
@@ -373,89 +391,14 @@ public class ExcelUtil<T>
                     continue;
                 }
                 T entity = null;
-                for (Map.Entry<Integer, Object[]> entry : fieldsMap.entrySet())
+                for (Map.Entry<Integer, ExcelColumn> entry : fieldsMap.entrySet())
                 {
                     Object val = this.getCellValue(row, entry.getKey());
 
                     // 如果不存在实例则新建.
                     entity = (entity == null ? clazz.getDeclaredConstructor().newInstance() : entity);
                     // 从map中得到对应列的field.
-                    Field field = (Field) entry.getValue()[0];
-                    Excel attr = (Excel) entry.getValue()[1];
-                    // 取得类型,并根据对象类型设置值.
-                    Class<?> fieldType = field.getType();
-                    if (String.class == fieldType)
-                    {
-                        String s = Convert.toStr(val);
-                        if (s.matches("^\\d+\\.0$"))
-                        {
-                            val = StringUtils.substringBefore(s, ".0");
-                        }
-                        else
-                        {
-                            String dateFormat = field.getAnnotation(Excel.class).dateFormat();
-                            if (StringUtils.isNotEmpty(dateFormat))
-                            {
-                                val = parseDateToStr(dateFormat, val);
-                            }
-                            else
-                            {
-                                val = Convert.toStr(val);
-                            }
-                        }
-                    }
-                    else if ((Integer.TYPE == fieldType || Integer.class == fieldType) && StringUtils.isNumeric(Convert.toStr(val)))
-                    {
-                        val = Convert.toInt(val);
-                    }
-                    else if ((Long.TYPE == fieldType || Long.class == fieldType) && StringUtils.isNumeric(Convert.toStr(val)))
-                    {
-                        val = Convert.toLong(val);
-                    }
-                    else if (Double.TYPE == fieldType || Double.class == fieldType)
-                    {
-                        val = Convert.toDouble(val);
-                    }
-                    else if (Float.TYPE == fieldType || Float.class == fieldType)
-                    {
-                        val = Convert.toFloat(val);
-                    }
-                    else if (BigDecimal.class == fieldType)
-                    {
-                        val = Convert.toBigDecimal(val);
-                    }
-                    else if (Date.class == fieldType)
-                    {
-                        if (val instanceof String)
-                        {
-                            val = DateUtils.parseDate(val);
-                        }
-                        else if (val instanceof Double)
-                        {
-                            val = DateUtil.getJavaDate((Double) val);
-                        }
-                    }
-                    else if (Boolean.TYPE == fieldType || Boolean.class == fieldType)
-                    {
-                        val = Convert.toBool(val, false);
-                    }
-                    if (StringUtils.isNotNull(fieldType))
-                    {
-                        String propertyName = field.getName();
-                        if (StringUtils.isNotEmpty(attr.targetAttr()))
-                        {
-                            propertyName = field.getName() + "." + attr.targetAttr();
-                        }
-                        if (StringUtils.isNotEmpty(attr.readConverterExp()))
-                        {
-                            val = reverseByExp(Convert.toStr(val), attr.readConverterExp(), attr.separator());
-                        }
-                        else if (!attr.handler().equals(ExcelHandlerAdapter.class))
-                        {
-                            val = dataFormatHandlerAdapter(val, attr, null);
-                        }
-                        ReflectUtils.invokeSetter(entity, propertyName, val);
-                    }
+                    setFieldValue(entity, entry.getValue(), val);
                 }
                 list.add(entity);
             }
@@ -463,6 +406,168 @@ public class ExcelUtil<T>
         return list;
     }
 
+    /**
+     * 以事件模式逐行读取第一个sheet，每满 batchSize 行回调一次，不在内存中构建整个工作簿
+     * <p>
+     * 输入流先写入临时文件再解析，内存占用只与共享字符串表和批大小有关；xls 格式不支持事件模式，仍读取整个文件后分批回调。
+     * 单行数据转换失败记录在 {@link ExcelRow#getError()} 中，不影响其它行。
+     *
+     * @param is 输入流
+     * @param titleNum 标题占用行数
+     * @param batchSize 每批行数
+     * @param consumer 每批数据的处理，返回后该批数据不再被引用
+     */
+    public void importExcel(InputStream is, int titleNum, int batchSize, Consumer<List<ExcelRow<T>>> consumer)
+    {
+        this.type = Type.IMPORT;
+        Path file = null;
+        try
+        {
+            file = Files.createTempFile("excel-import", ".tmp");
+            Files.copy(is, file, StandardCopyOption.REPLACE_EXISTING);
+            FileMagic magic;
+            try (InputStream in = new BufferedInputStream(Files.newInputStream(file)))
+            {
+                magic = FileMagic.valueOf(in);
+            }
+            RowCollector collector = new RowCollector(titleNum, batchSize, consumer);
+            if (magic == FileMagic.OOXML)
+            {
+                XlsxRowReader.read(file.toFile(), StringUtils.EMPTY, collector);
+            }
+            else
+            {
+                readRows(file, collector);
+            }
+            collector.flush();
+        }
+        catch (ServiceException e)
+        {
+            throw e;
+        }
+        catch (Exception e)
+        {
+            log.error("导入Excel异常{}", e.getMessage());
+            throw new UtilException(e.getMessage());
+        }
+        finally
+        {
+            IOUtils.closeQuietly(is);
+            if (file != null)
+            {
+                file.toFile().delete();
+            }
+        }
+    }
+
+    /**
+     * 以 usermodel 方式读取非 xlsx 文件的第一个sheet
+     */
+    private void readRows(Path file, XlsxRowReader.RowHandler handler) throws Exception
+    {
+        try (Workbook workbook = WorkbookFactory.create(file.toFile(), null, true))
+        {
+            List<Object> cells = new ArrayList<Object>();
+            for (Row row : workbook.getSheetAt(0))
+            {
+                cells.clear();
+                for (int i = 0; i < row.getLastCellNum(); i++)
+                {
+                    Cell cell = row.getCell(i);
+                    cells.add(cell == null || cell.getCellType() == CellType.BLANK ? null : getCellValue(row, i));
+                }
+                handler.row(row.getRowNum(), cells);
+            }
+        }
+    }
+
+    /**
+     * 按字段类型转换单元格值并设置到对象中
+     *
+     * @param entity 实体对象
+     * @param excelColumn 列信息
+     * @param val 单元格值
+     */
+    private void setFieldValue(T entity, ExcelColumn excelColumn, Object val) throws Exception
+    {
+        Field field = excelColumn.getField();
+        Excel attr = excelColumn.getExcel();
+        // 取得类型,并根据对象类型设置值.
+        Class<?> fieldType = field.getType();
+        if (String.class == fieldType)
+        {
+            String s = Convert.toStr(val);
+            if (s.matches("^\\d+\\.0$"))
+            {
+                val = StringUtils.substringBefore(s, ".0");
+            }
+            else
+            {
+                String dateFormat = field.getAnnotation(Excel.class).dateFormat();
+                if (StringUtils.isNotEmpty(dateFormat))
+                {
+                    val = parseDateToStr(dateFormat, val);
+                }
+                else
+                {
+                    val = Convert.toStr(val);
+                }
+            }
+        }
+        else if ((Integer.TYPE == fieldType || Integer.class == fieldType) && StringUtils.isNumeric(Convert.toStr(val)))
+        {
+            val = Convert.toInt(val);
+        }
+        else if ((Long.TYPE == fieldType || Long.class == fieldType) && StringUtils.isNumeric(Convert.toStr(val)))
+        {
+            val = Convert.toLong(val);
+        }
+        else if (Double.TYPE == fieldType || Double.class == fieldType)
+        {
+            val = Convert.toDouble(val);
+        }
+        else if (Float.TYPE == fieldType || Float.class == fieldType)
+        {
+            val = Convert.toFloat(val);
+        }
+        else if (BigDecimal.class == fieldType)
+        {
+            val = Convert.toBigDecimal(val);
+        }
+        else if (Date.class == fieldType)
+        {
+            if (val instanceof String)
+            {
+                val = DateUtils.parseDate(val);
+            }
+            else if (val instanceof Double)
+            {
+                val = DateUtil.getJavaDate((Double) val);
+            }
+        }
+        else if (Boolean.TYPE == fieldType || Boolean.class == fieldType)
+        {
+            val = Convert.toBool(val, false);
+        }
+        if (StringUtils.isNotNull(fieldType))
+        {
+            String propertyName = field.getName();
+            if (StringUtils.isNotEmpty(attr.targetAttr()))
+            {
+                propertyName = field.getName() + "." + attr.targetAttr();
+            }
+            if (StringUtils.isNotEmpty(attr.readConverterExp()))
+            {
+                val = excelColumn.reverse(Convert.toStr(val));
+            }
+            else if (!attr.handler().equals(ExcelHandlerAdapter.class))
+            {
+                val = dataFormatHandlerAdapter(val, attr, null);
+            }
+            ReflectUtils.invokeSetter(entity, propertyName, val);
+        }
+    }
+
     /**
      * 对list数据源将其里面的数据导入到excel表单
      *
@@ -493,6 +598,67 @@ public class ExcelUtil<T>
         exportExcel(response);
     }
 
+    /**
+     * 对数据源逐行读取并导出到excel表单，适用于 MyBatis Cursor 等无法一次载入内存的大结果集
+     *
+     * @param response 返回数据
+     * @param rows 导出数据，如 MyBatis Cursor
+     * @param sheetName 工作表的名称
+     * @return 结果
+     */
+    public void exportExcel(HttpServletResponse response, Iterable<T> rows, String sheetName)
+    {
+        exportExcel(response, rows, sheetName, StringUtils.EMPTY);
+    }
+
+    /**
+     * 对数据源逐行读取并导出到excel表单，适用于 MyBatis Cursor 等无法一次载入内存的大结果集
+     * <p>
+     * 工作簿内存中只保留最近500行，其余行写入临时文件，每 sheetSize 条数据换一个sheet，
+     * 内存占用与数据量无关；数据源在写出过程中被逐条消费，调用方需保证其在此期间可用（如 Cursor 所在事务未结束）。
+     *
+     * @param response 返回数据
+     * @param rows 导出数据，如 MyBatis Cursor
+     * @param sheetName 工作表的名称
+     * @param title 标题
+     * @return 结果
+     */
+    public void exportExcel(HttpServletResponse response, Iterable<T> rows, String sheetName, String title)
+    {
+        response.setContentType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet");
+        response.setCharacterEncoding("utf-8");
+        try
+        {
+            exportExcel(response.getOutputStream(), rows, sheetName, title);
+        }
+        catch (Exception e)
+        {
+            log.error("导出Excel异常{}", e.getMessage());
+        }
+    }
+
+    /**
+     * 对数据源逐行读取并导出到输出流
+     *
+     * @param os 输出流
+     * @param rows 导出数据
+     * @param sheetName 工作表的名称
+     * @param title 标题
+     */
+    public void exportExcel(OutputStream os, Iterable<T> rows, String sheetName, String title) throws IOException
+    {
+        this.init(null, sheetName, title, Type.EXPORT);
+        try
+        {
+            writeSheet(rows.iterator());
+            wb.write(os);
+        }
+        finally
+        {
+            closeWorkbook();
+        }
+    }
+
     /**
      * 对list数据源将其里面的数据导入到excel表单
      *
@@ -537,10 +703,22 @@ public class ExcelUtil<T>
         }
         finally
         {
-            IOUtils.closeQuietly(wb);
+            closeWorkbook();
         }
     }
 
+    /**
+     * 关闭工作簿并删除SXSSF写出行时产生的临时文件
+     */
+    private void closeWorkbook()
+    {
+        if (wb instanceof SXSSFWorkbook)
+        {
+            ((SXSSFWorkbook) wb).dispose();
+        }
+        IOUtils.closeQuietly(wb);
+    }
+
     /**
      * 创建写入数据到Sheet
      */
@@ -553,32 +731,65 @@ public class ExcelUtil<T>
             createSheet(sheetNo, index);
 
             // 产生一行
-            Row row = sheet.createRow(rownum);
-            int column = 0;
-            // 写入各个字段的列头名称
-            for (Object[] os : fields)
+            Row row = createHeadRow();
+            if (Type.EXPORT.equals(type))
             {
-                Field field = (Field) os[0];
-                Excel excel = (Excel) os[1];
-                if (Collection.class.isAssignableFrom(field.getType()))
-                {
-                    for (Field subField : subFields)
-                    {
-                        Excel subExcel = subField.getAnnotation(Excel.class);
-                        this.createHeadCell(subExcel, row, column++);
-                    }
-                }
-                else
+                fillExcelData(index, row);
+                addStatisticsRow();
+            }
+        }
+    }
+
+    /**
+     * 逐条读取数据写入Sheet，每 sheetSize 条数据换一个sheet
+     *
+     * @param rows 导出数据
+     */
+    public void writeSheet(Iterator<T> rows)
+    {
+        int index = 0;
+        int count = 0;
+        int currentRowNum = createHeadRow().getRowNum() + 1;
+        while (rows.hasNext())
+        {
+            if (count == sheetSize)
+            {
+                addStatisticsRow();
+                index++;
+                createSheet(index + 1, index);
+                currentRowNum = createHeadRow().getRowNum() + 1;
+                count = 0;
+            }
+            currentRowNum += fillRow(rows.next(), currentRowNum);
+            count++;
+        }
+        addStatisticsRow();
+    }
+
+    /**
+     * 写入各个字段的列头名称
+     *
+     * @return 列头行
+     */
+    private Row createHeadRow()
+    {
+        Row row = sheet.createRow(rownum);
+        int column = 0;
+        for (ExcelColumn excelColumn : columns)
+        {
+            if (excelColumn.isCollection())
+            {
+                for (ExcelColumn subColumn : subColumns)
                 {
-                    this.createHeadCell(excel, row, column++);
+                    this.createHeadCell(subColumn.getExcel(), row, column++);
                 }
             }
-            if (Type.EXPORT.equals(type))
+            else
             {
-                fillExcelData(index, row);
-                addStatisticsRow();
+                this.createHeadCell(excelColumn.getExcel(), row, column++);
             }
         }
+        return row;
     }
 
     /**
@@ -587,7 +798,6 @@ public class ExcelUtil<T>
      * @param index 序号
      * @param row 单元格行
      */
-    @SuppressWarnings("unchecked")
     public void fillExcelData(int index, Row row)
     {
         int startNo = index * sheetSize;
@@ -596,59 +806,67 @@ public class ExcelUtil<T>
 
         for (int i = startNo; i < endNo; i++)
         {
-            row = sheet.createRow(currentRowNum);
-            T vo = (T) list.get(i);
-            int column = 0;
-            int maxSubListSize = getCurrentMaxSubListSize(vo);
-            for (Object[] os : fields)
+            currentRowNum += fillRow(list.get(i), currentRowNum);
+        }
+    }
+
+    /**
+     * 填充一条数据，包含子列表时占用多行
+     *
+     * @param vo 数据
+     * @param currentRowNum 起始行号
+     * @return 占用的行数
+     */
+    private int fillRow(T vo, int currentRowNum)
+    {
+        Row row = sheet.createRow(currentRowNum);
+        int column = 0;
+        int maxSubListSize = getCurrentMaxSubListSize(vo);
+        for (ExcelColumn excelColumn : columns)
+        {
+            if (excelColumn.isCollection())
             {
-                Field field = (Field) os[0];
-                Excel excel = (Excel) os[1];
-                if (Collection.class.isAssignableFrom(field.getType()))
+                try
                 {
-                    try
+                    Collection<?> subList = (Collection<?>) excelColumn.getValue(vo);
+                    if (subList != null && !subList.isEmpty())
                     {
-                        Collection<?> subList = (Collection<?>) getTargetValue(vo, field, excel);
-                        if (subList != null && !subList.isEmpty())
+                        int subIndex = 0;
+                        for (Object subVo : subList)
                         {
-                            int subIndex = 0;
-                            for (Object subVo : subList)
+                            Row subRow = sheet.getRow(currentRowNum + subIndex);
+                            if (subRow == null)
+                            {
+                                subRow = sheet.createRow(currentRowNum + subIndex);
+                            }
+
+                            int subColumn = column;
+                            for (ExcelColumn subExcelColumn : subColumns)
                             {
-                                Row subRow = sheet.getRow(currentRowNum + subIndex);
-                                if (subRow == null)
-                                {
-                                    subRow = sheet.createRow(currentRowNum + subIndex);
-                                }
-
-                                int subColumn = column;
-                                for (Field subField : subFields)
-                                {
-                                    Excel subExcel = subField.getAnnotation(Excel.class);
-                                    addCell(subExcel, subRow, (T) subVo, subField, subColumn++);
-                                }
-                                subIndex++;
+                                addCell(subExcelColumn, subRow, subVo, subColumn++);
                             }
-                            column += subFields.size();
+                            subIndex++;
                         }
-                    }
-                    catch (Exception e)
-                    {
-                        log.error("填充集合数据失败", e);
+                        column += subColumns.size();
                     }
                 }
-                else
+                catch (Exception e)
                 {
-                    // 创建单元格并设置值
-                    addCell(excel, row, vo, field, column);
-                    if (maxSubListSize > 1 && excel.needMerge())
-                    {
-                        sheet.addMergedRegion(new CellRangeAddress(currentRowNum, currentRowNum + maxSubListSize - 1, column, column));
-                    }
-                    column++;
+                    log.error("填充集合数据失败", e);
                 }
             }
-            currentRowNum += maxSubListSize;
+            else
+            {
+                // 创建单元格并设置值
+                addCell(excelColumn, row, vo, column);
+                if (maxSubListSize > 1 && excelColumn.getExcel().needMerge())
+                {
+                    sheet.addMergedRegion(new CellRangeAddress(currentRowNum, currentRowNum + maxSubListSize - 1, column, column));
+                }
+                column++;
+            }
         }
+        return maxSubListSize;
     }
 
     /**
@@ -657,14 +875,13 @@ public class ExcelUtil<T>
     private int getCurrentMaxSubListSize(T vo)
     {
         int maxSubListSize = 1;
-        for (Object[] os : fields)
+        for (ExcelColumn excelColumn : columns)
         {
-            Field field = (Field) os[0];
-            if (Collection.class.isAssignableFrom(field.getType()))
+            if (excelColumn.isCollection())
             {
                 try
                 {
-                    Collection<?> subList = (Collection<?>) getTargetValue(vo, field, (Excel) os[1]);
+                    Collection<?> subList = (Collection<?>) excelColumn.getValue(vo);
                     if (subList != null && !subList.isEmpty())
                     {
                         maxSubListSize = Math.max(maxSubListSize, subList.size());
@@ -970,9 +1187,24 @@ public class ExcelUtil<T>
     /**
      * 添加单元格
      */
-    @SuppressWarnings("deprecation")
-	public Cell addCell(Excel attr, Row row, T vo, Field field, int column)
+    public Cell addCell(Excel attr, Row row, T vo, Field field, int column)
+    {
+        return addCell(ExcelColumn.of(field, attr), row, vo, column);
+    }
+
+    /**
+     * 添加单元格
+     *
+     * @param excelColumn 列信息
+     * @param row 单元格行
+     * @param vo 实体对象，子列表列为子列表元素
+     * @param column 列号
+     * @return 单元格
+     */
+    @SuppressWarnings({ "unchecked", "deprecation" })
+    private Cell addCell(ExcelColumn excelColumn, Row row, Object vo, int column)
     {
+        Excel attr = excelColumn.getExcel();
         Cell cell = null;
         try
         {
@@ -983,28 +1215,23 @@ public class ExcelUtil<T>
             {
                 // 创建cell
                 cell = row.createCell(column);
-                if (isSubListValue(vo) && getListCellValue(vo).size() > 1 && attr.needMerge())
+                if (attr.needMerge() && subMergedLastRowNum >= subMergedFirstRowNum && isSubListValue((T) vo) && getListCellValue(vo).size() > 1)
                 {
-                    if (subMergedLastRowNum >= subMergedFirstRowNum)
-                    {
-                        sheet.addMergedRegion(new CellRangeAddress(subMergedFirstRowNum, subMergedLastRowNum, column, column));
-                    }
+                    sheet.addMergedRegion(new CellRangeAddress(subMergedFirstRowNum, subMergedLastRowNum, column, column));
                 }
-                cell.setCellStyle(styles.get(StringUtils.format("data_{}_{}_{}_{}_{}", attr.align(), attr.color(), attr.backgroundColor(), attr.cellType(), attr.wrapText())));
+                cell.setCellStyle(styles.get(excelColumn.getStyleKey()));
 
                 // 用于读取对象中的属性
-                Object value = getTargetValue(vo, field, attr);
+                Object value = excelColumn.getValue(vo);
                 String dateFormat = attr.dateFormat();
-                String readConverterExp = attr.readConverterExp();
-                String separator = attr.separator();
                 if (StringUtils.isNotEmpty(dateFormat) && StringUtils.isNotNull(value))
                 {
-                    cell.getCellStyle().setDataFormat(this.wb.getCreationHelper().createDataFormat().getFormat(dateFormat));
+                    cell.setCellStyle(getDateStyle(excelColumn));
                     cell.setCellValue(parseDateToStr(dateFormat, value));
                 }
-                else if (StringUtils.isNotEmpty(readConverterExp) && StringUtils.isNotNull(value))
+                else if (StringUtils.isNotEmpty(attr.readConverterExp()) && StringUtils.isNotNull(value))
                 {
-                    cell.setCellValue(convertByExp(Convert.toStr(value), readConverterExp, separator));
+                    cell.setCellValue(excelColumn.convert(Convert.toStr(value)));
                 }
                 else if (value instanceof BigDecimal && -1 != attr.scale())
                 {
@@ -1019,7 +1246,10 @@ public class ExcelUtil<T>
                     // 设置列类型
                     setCellVo(value, attr, cell);
                 }
-                addStatisticsData(column, Convert.toStr(value), attr);
+                if (attr.isStatistics())
+                {
+                    addStatisticsData(column, Convert.toStr(value), attr);
+                }
             }
         }
         catch (Exception e)
@@ -1029,6 +1259,25 @@ public class ExcelUtil<T>
         return cell;
     }
 
+    /**
+     * 获取带日期格式的数据样式，每个工作簿按列样式与格式只创建一次，不修改共用的数据样式
+     *
+     * @param excelColumn 列信息
+     * @return 单元格样式
+     */
+    private CellStyle getDateStyle(ExcelColumn excelColumn)
+    {
+        CellStyle style = styles.get(excelColumn.getDateStyleKey());
+        if (style == null)
+        {
+            style = wb.createCellStyle();
+            style.cloneStyleFrom(styles.get(excelColumn.getStyleKey()));
+            style.setDataFormat(wb.getCreationHelper().createDataFormat().getFormat(excelColumn.getExcel().dateFormat()));
+            styles.put(excelColumn.getDateStyleKey(), style);
+        }
+        return style;
+    }
+
     /**
      * 设置 POI XSSFSheet 单元格提示或选择框
      * 
@@ -1203,9 +1452,7 @@ public class ExcelUtil<T>
     {
         try
         {
-            Object instance = excel.handler().getDeclaredConstructor().newInstance();
-            Method formatMethod = excel.handler().getMethod("format", new Class[] { Object.class, String[].class, Cell.class, Workbook.class });
-            value = formatMethod.invoke(instance, value, excel.args(), cell, this.wb);
+            value = ExcelColumn.format(excel.handler(), value, excel.args(), cell, this.wb);
         }
         catch (Exception e)
         {
@@ -1260,65 +1507,13 @@ public class ExcelUtil<T>
         }
     }
 
-    /**
-     * 获取bean中的属性值
-     *
-     * @param vo 实体对象
-     * @param field 字段
-     * @param excel 注解
-     * @return 最终的属性值
-     * @throws Exception
-     */
-    private Object getTargetValue(T vo, Field field, Excel excel) throws Exception
-    {
-        field.setAccessible(true);
-        Object o = field.get(vo);
-        if (StringUtils.isNotEmpty(excel.targetAttr()))
-        {
-            String target = excel.targetAttr();
-            if (target.contains("."))
-            {
-                String[] targets = target.split("[.]");
-                for (String name : targets)
-                {
-                    o = getValue(o, name);
-                }
-            }
-            else
-            {
-                o = getValue(o, target);
-            }
-        }
-        return o;
-    }
-
-    /**
-     * 以类的属性的get方法方法形式获取值
-     *
-     * @param o
-     * @param name
-     * @return value
-     * @throws Exception
-     */
-    private Object getValue(Object o, String name) throws Exception
-    {
-        if (StringUtils.isNotNull(o) && StringUtils.isNotEmpty(name))
-        {
-            Class<?> clazz = o.getClass();
-            Field field = clazz.getDeclaredField(name);
-            field.setAccessible(true);
-            o = field.get(o);
-        }
-        return o;
-    }
-
     /**
      * 得到所有定义字段
      */
     private void createExcelField()
     {
-        this.fields = getFields();
-        this.fields = this.fields.stream().sorted(Comparator.comparing(objects -> ((Excel) objects[1]).sort())).collect(Collectors.toList());
+        this.columns = getColumns().stream().sorted(Comparator.comparing(column -> column.getExcel().sort())).collect(Collectors.toList());
+        this.fields = this.columns.stream().map(column -> new Object[] { column.getField(), column.getExcel() }).collect(Collectors.toList());
         this.maxHeight = getRowHeight();
     }
 
@@ -1327,87 +1522,51 @@ public class ExcelUtil<T>
      */
     public List<Object[]> getFields()
     {
-        List<Object[]> fields = new ArrayList<Object[]>();
-        List<Field> tempFields = new ArrayList<>();
-        tempFields.addAll(Arrays.asList(clazz.getSuperclass().getDeclaredFields()));
-        tempFields.addAll(Arrays.asList(clazz.getDeclaredFields()));
-        if (StringUtils.isNotEmpty(includeFields))
-        {
-            for (Field field : tempFields)
-            {
-                if (ArrayUtils.contains(this.includeFields, field.getName()) || field.isAnnotationPresent(Excels.class))
-                {
-                    addField(fields, field);
-                }
-            }
-        }
-        else if (StringUtils.isNotEmpty(excludeFields))
-        {
-            for (Field field : tempFields)
-            {
-                if (!ArrayUtils.contains(this.excludeFields, field.getName()))
-                {
-                    addField(fields, field);
-                }
-            }
-        }
-        else
-        {
-            for (Field field : tempFields)
-            {
-                addField(fields, field);
-            }
-        }
-        return fields;
+        return getColumns().stream().map(column -> new Object[] { column.getField(), column.getExcel() }).collect(Collectors.toList());
     }
 
     /**
-     * 添加字段信息
+     * 按显示/隐藏列与导入导出类型筛选类中缓存的列
      */
-    public void addField(List<Object[]> fields, Field field)
+    private List<ExcelColumn> getColumns()
     {
-        // 单注解
-        if (field.isAnnotationPresent(Excel.class))
+        List<ExcelColumn> columns = new ArrayList<ExcelColumn>();
+        for (ExcelColumn column : ExcelColumn.forClass(clazz))
         {
-            Excel attr = field.getAnnotation(Excel.class);
-            if (attr != null && (attr.type() == Type.ALL || attr.type() == type))
+            Field field = column.getField();
+            Excel attr = column.getExcel();
+            if (StringUtils.isNotEmpty(includeFields))
             {
-                fields.add(new Object[] { field, attr });
+                if (!ArrayUtils.contains(this.includeFields, field.getName()) && !field.isAnnotationPresent(Excels.class))
+                {
+                    continue;
+                }
             }
-            if (Collection.class.isAssignableFrom(field.getType()))
+            else if (StringUtils.isNotEmpty(excludeFields) && ArrayUtils.contains(this.excludeFields, field.getName()))
             {
-                subMethod = getSubMethod(field.getName(), clazz);
-                ParameterizedType pt = (ParameterizedType) field.getGenericType();
-                Class<?> subClass = (Class<?>) pt.getActualTypeArguments()[0];
-                this.subFields = FieldUtils.getFieldsListWithAnnotation(subClass, Excel.class);
+                continue;
             }
-        }
-
-        // 多注解
-        if (field.isAnnotationPresent(Excels.class))
-        {
-            Excels attrs = field.getAnnotation(Excels.class);
-            Excel[] excels = attrs.value();
-            for (Excel attr : excels)
+            if (column.isMultiple())
             {
-                if (StringUtils.isNotEmpty(includeFields))
+                // 多注解按 字段名.targetAttr 匹配
+                String name = field.getName() + "." + attr.targetAttr();
+                if (StringUtils.isNotEmpty(includeFields) ? !ArrayUtils.contains(this.includeFields, name) : ArrayUtils.contains(this.excludeFields, name))
                 {
-                    if (ArrayUtils.contains(this.includeFields, field.getName() + "." + attr.targetAttr())
-                            && (attr != null && (attr.type() == Type.ALL || attr.type() == type)))
-                    {
-                        fields.add(new Object[] { field, attr });
-                    }
-                }
-                else
-                {
-                    if (!ArrayUtils.contains(this.excludeFields, field.getName() + "." + attr.targetAttr())
-                            && (attr != null && (attr.type() == Type.ALL || attr.type() == type)))
-                    {
-                        fields.add(new Object[] { field, attr });
-                    }
+                    continue;
                 }
             }
+            if (attr.type() == Type.ALL || attr.type() == type)
+            {
+                columns.add(column);
+            }
+            if (!column.isMultiple() && column.isCollection())
+            {
+                subMethod = getSubMethod(field.getName(), clazz);
+                this.subColumns = column.getSubColumns();
+                this.subFields = this.subColumns.stream().map(ExcelColumn::getField).collect(Collectors.toList());
+            }
         }
+        return columns;
     }
 
     /**
@@ -1624,4 +1783,105 @@ public class ExcelUtil<T>
         }
         return method;
     }
+
+    /**
+     * 将读取到的行按表头映射为对象并分批回调
+     */
+    private class RowCollector implements XlsxRowReader.RowHandler
+    {
+        private final int titleNum;
+
+        private final int batchSize;
+
+        private final Consumer<List<ExcelRow<T>>> consumer;
+
+        private Map<Integer, ExcelColumn> fieldsMap;
+
+        private List<ExcelRow<T>> batch;
+
+        RowCollector(int titleNum, int batchSize, Consumer<List<ExcelRow<T>>> consumer)
+        {
+            this.titleNum = titleNum;
+            this.batchSize = batchSize;
+            this.consumer = consumer;
+            this.batch = new ArrayList<ExcelRow<T>>(batchSize);
+        }
+
+        @Override
+        public void row(int rowNum, List<Object> cells)
+        {
+            if (rowNum == titleNum)
+            {
+                createFieldsMap(cells);
+                return;
+            }
+            if (rowNum < titleNum || fieldsMap == null || cells.stream().allMatch(StringUtils::isNull))
+            {
+                return;
+            }
+            T entity;
+            try
+            {
+                entity = clazz.getDeclaredConstructor().newInstance();
+            }
+            catch (ReflectiveOperationException e)
+            {
+                throw new UtilException(e);
+            }
+            ExcelRow<T> row = new ExcelRow<T>(rowNum + 1, entity);
+            for (Map.Entry<Integer, ExcelColumn> entry : fieldsMap.entrySet())
+            {
+                int column = entry.getKey();
+                Object val = column < cells.size() && cells.get(column) != null ? cells.get(column) : "";
+                try
+                {
+                    setFieldValue(entity, entry.getValue(), val);
+                }
+                catch (Exception e)
+                {
+                    row.setError(StringUtils.format("{}列数据格式不正确：{}", entry.getValue().getExcel().name(), e.getMessage()));
+                    break;
+                }
+            }
+            batch.add(row);
+            if (batch.size() >= batchSize)
+            {
+                flush();
+            }
+        }
+
+        /**
+         * 回调剩余的数据
+         */
+        void flush()
+        {
+            if (!batch.isEmpty())
+            {
+                List<ExcelRow<T>> rows = batch;
+                batch = new ArrayList<ExcelRow<T>>(batchSize);
+                consumer.accept(rows);
+            }
+        }
+
+        private void createFieldsMap(List<Object> cells)
+        {
+            Map<String, Integer> cellMap = new HashMap<String, Integer>();
+            for (int i = 0; i < cells.size(); i++)
+            {
+                if (cells.get(i) != null)
+                {
+                    cellMap.put(cells.get(i).toString(), i);
+                }
+            }
+            fieldsMap = new HashMap<Integer, ExcelColumn>();
+            for (ExcelColumn excelColumn : getColumns())
+            {
+                Integer column = cellMap.get(excelColumn.getExcel().name());
+                if (column != null)
+                {
+                    fieldsMap.put(column, excelColumn);
+                }
+            }
+        }
+    }
 }
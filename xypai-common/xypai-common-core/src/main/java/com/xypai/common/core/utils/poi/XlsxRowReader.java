@@ -0,0 +1,249 @@
+package com.xypai.common.core.utils.poi;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.text.DecimalFormat;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.xml.XMLConstants;
+import javax.xml.parsers.SAXParser;
+import javax.xml.parsers.SAXParserFactory;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFCellStyle;
+import org.xml.sax.Attributes;
+import org.xml.sax.helpers.DefaultHandler;
+import com.xypai.common.core.utils.StringUtils;
+
+/**
+ * 以SAX事件模式逐行读取xlsx工作表
+ * <p>
+ * 不构建工作簿对象，内存中只保留共享字符串表与当前行；单元格值的类型与 {@link ExcelUtil#getCellValue} 一致：
+ * 日期格式的数字为 Date，小数为 BigDecimal，整数为不带小数点的字符串，空单元格为null。
+ *
+ * @author xypai
+ */
+class XlsxRowReader extends DefaultHandler
+{
+    /**
+     * 行回调，cells 在回调返回后会被复用
+     */
+    interface RowHandler
+    {
+        void row(int rowNum, List<Object> cells);
+    }
+
+    private final ReadOnlySharedStringsTable strings;
+
+    private final StylesTable styles;
+
+    private final RowHandler handler;
+
+    private final Map<Integer, Boolean> dateStyles = new HashMap<>();
+
+    private final DecimalFormat integerFormat = new DecimalFormat("0");
+
+    private final List<Object> cells = new ArrayList<>();
+
+    private final StringBuilder text = new StringBuilder();
+
+    private boolean capture;
+
+    private int rowNum = -1;
+
+    private int column;
+
+    private int nextColumn;
+
+    private String cellType;
+
+    private int styleIndex;
+
+    private XlsxRowReader(ReadOnlySharedStringsTable strings, StylesTable styles, RowHandler handler)
+    {
+        this.strings = strings;
+        this.styles = styles;
+        this.handler = handler;
+    }
+
+    /**
+     * 读取工作表
+     *
+     * @param file xlsx文件
+     * @param sheetName 工作表名称，为空时读取第一个
+     * @param handler 行回调
+     */
+    static void read(File file, String sheetName, RowHandler handler) throws Exception
+    {
+        OPCPackage pkg = OPCPackage.open(file, PackageAccess.READ);
+        try
+        {
+            XSSFReader reader = new XSSFReader(pkg);
+            ReadOnlySharedStringsTable strings = new ReadOnlySharedStringsTable(pkg);
+            StylesTable styles = reader.getStylesTable();
+            XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) reader.getSheetsData();
+            while (sheets.hasNext())
+            {
+                try (InputStream sheet = sheets.next())
+                {
+                    if (StringUtils.isEmpty(sheetName) || sheetName.equals(sheets.getSheetName()))
+                    {
+                        newParser().parse(sheet, new XlsxRowReader(strings, styles, handler));
+                        return;
+                    }
+                }
+            }
+            throw new IOException("文件sheet不存在");
+        }
+        finally
+        {
+            // 只读打开，不能调用close()保存
+            pkg.revert();
+        }
+    }
+
+    private static SAXParser newParser() throws Exception
+    {
+        SAXParserFactory factory = SAXParserFactory.newInstance();
+        factory.setNamespaceAware(true);
+        factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+        factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+        return factory.newSAXParser();
+    }
+
+    @Override
+    public void startElement(String uri, String localName, String qName, Attributes attributes)
+    {
+        switch (localName)
+        {
+            case "row":
+                String r = attributes.getValue("r");
+                rowNum = r != null ? Integer.parseInt(r) - 1 : rowNum + 1;
+                cells.clear();
+                nextColumn = 0;
+                break;
+            case "c":
+                String ref = attributes.getValue("r");
+                column = ref != null ? columnIndex(ref) : nextColumn;
+                cellType = attributes.getValue("t");
+                String s = attributes.getValue("s");
+                styleIndex = s != null ? Integer.parseInt(s) : 0;
+                text.setLength(0);
+                break;
+            case "v":
+            case "t":
+                capture = true;
+                break;
+            default:
+                break;
+        }
+    }
+
+    @Override
+    public void endElement(String uri, String localName, String qName)
+    {
+        switch (localName)
+        {
+            case "v":
+            case "t":
+                capture = false;
+                break;
+            case "c":
+                Object value = value();
+                if (value != null)
+                {
+                    while (cells.size() <= column)
+                    {
+                        cells.add(null);
+                    }
+                    cells.set(column, value);
+                }
+                nextColumn = column + 1;
+                break;
+            case "row":
+                handler.row(rowNum, cells);
+                break;
+            default:
+                break;
+        }
+    }
+
+    @Override
+    public void characters(char[] ch, int start, int length)
+    {
+        if (capture)
+        {
+            text.append(ch, start, length);
+        }
+    }
+
+    private Object value()
+    {
+        if (text.length() == 0)
+        {
+            return null;
+        }
+        String raw = text.toString();
+        if (cellType == null || "n".equals(cellType))
+        {
+            double val = Double.parseDouble(raw);
+            if (isDateStyle(styleIndex) && DateUtil.isValidExcelDate(val))
+            {
+                return DateUtil.getJavaDate(val);
+            }
+            if (val % 1 != 0)
+            {
+                return new BigDecimal(Double.toString(val));
+            }
+            return integerFormat.format(val);
+        }
+        switch (cellType)
+        {
+            case "s":
+                return strings.getItemAt(Integer.parseInt(raw)).getString();
+            case "b":
+                return "1".equals(raw);
+            default:
+                // inlineStr、公式字符串str、错误值e
+                return raw;
+        }
+    }
+
+    private boolean isDateStyle(int index)
+    {
+        if (styles == null)
+        {
+            return false;
+        }
+        return dateStyles.computeIfAbsent(index, i -> {
+            XSSFCellStyle style = styles.getStyleAt(i);
+            return style != null && DateUtil.isADateFormat(style.getDataFormat(), style.getDataFormatString());
+        });
+    }
+
+    /**
+     * 单元格引用的列号，如 AB12 为 27
+     */
+    private static int columnIndex(String ref)
+    {
+        int column = 0;
+        for (int i = 0; i < ref.length(); i++)
+        {
+            char c = ref.charAt(i);
+            if (c < 'A' || c > 'Z')
+            {
+                break;
+            }
+            column = column * 26 + (c - 'A' + 1);
+        }
+        return column - 1;
+    }
+}
@@ -6,7 +6,15 @@ import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.Validate;
 import org.apache.poi.ss.usermodel.DateUtil;
@@ -31,6 +39,18 @@ public class ReflectUtils
 
     private static Logger logger = LoggerFactory.getLogger(ReflectUtils.class);
 
+    /**
+     * 按类缓存的方法表与编译后的getter，避免每次调用都沿父类逐级查找方法
+     */
+    private static final ClassValue<ClassMethods> CLASS_METHODS = new ClassValue<ClassMethods>()
+    {
+        @Override
+        protected ClassMethods computeValue(Class<?> type)
+        {
+            return new ClassMethods(type);
+        }
+    };
+
     /**
      * 调用Getter方法.
      * 支持多级，如：对象名.对象名.方法
@@ -38,15 +58,44 @@ public class ReflectUtils
     @SuppressWarnings("unchecked")
     public static <E> E invokeGetter(Object obj, String propertyName)
     {
+        if (propertyName.indexOf('.') < 0)
+        {
+            return (E) invokeGetterMethod(obj, propertyName);
+        }
         Object object = obj;
         for (String name : StringUtils.split(propertyName, "."))
         {
-            String getterMethodName = GETTER_PREFIX + StringUtils.capitalize(name);
-            object = invokeMethod(object, getterMethodName, new Class[] {}, new Object[] {});
+            object = invokeGetterMethod(object, name);
         }
         return (E) object;
     }
 
+    /**
+     * 调用单个属性的Getter方法，对象为空或没有该方法时返回null
+     */
+    private static Object invokeGetterMethod(Object obj, String name)
+    {
+        if (obj == null)
+        {
+            return null;
+        }
+        Getter getter = CLASS_METHODS.get(obj.getClass()).getter(name);
+        if (getter == null)
+        {
+            logger.debug("在 [" + obj.getClass() + "] 中，没有找到 [" + GETTER_PREFIX + StringUtils.capitalize(name) + "] 方法 ");
+            return null;
+        }
+        try
+        {
+            return getter.function.apply(obj);
+        }
+        catch (Exception e)
+        {
+            String msg = "method: " + getter.method + ", obj: " + obj + ", args: []";
+            throw convertReflectionExceptionToUnchecked(msg, e);
+        }
+    }
+
     /**
      * 调用Setter方法, 仅匹配方法名。
      * 支持多级，如：对象名.对象名.方法
@@ -59,8 +108,7 @@ public class ReflectUtils
         {
             if (i < names.length - 1)
             {
-                String getterMethodName = GETTER_PREFIX + StringUtils.capitalize(names[i]);
-                object = invokeMethod(object, getterMethodName, new Class[] {}, new Object[] {});
+                object = invokeGetterMethod(object, names[i]);
             }
             else
             {
@@ -262,20 +310,12 @@ public class ReflectUtils
             return null;
         }
         Validate.notBlank(methodName, "methodName can't be blank");
-        for (Class<?> searchType = obj.getClass(); searchType != Object.class; searchType = searchType.getSuperclass())
+        Method method = CLASS_METHODS.get(obj.getClass()).find(methodName, parameterTypes);
+        if (method != null)
         {
-            try
-            {
-                Method method = searchType.getDeclaredMethod(methodName, parameterTypes);
-                makeAccessible(method);
-                return method;
-            }
-            catch (NoSuchMethodException e)
-            {
-                continue;
-            }
+            makeAccessible(method);
         }
-        return null;
+        return method;
     }
 
     /**
@@ -292,16 +332,12 @@ public class ReflectUtils
             return null;
         }
         Validate.notBlank(methodName, "methodName can't be blank");
-        for (Class<?> searchType = obj.getClass(); searchType != Object.class; searchType = searchType.getSuperclass())
+        for (Method method : CLASS_METHODS.get(obj.getClass()).named(methodName))
         {
-            Method[] methods = searchType.getDeclaredMethods();
-            for (Method method : methods)
+            if (method.getParameterCount() == argsNum)
             {
-                if (method.getName().equals(methodName) && method.getParameterTypes().length == argsNum)
-                {
-                    makeAccessible(method);
-                    return method;
-                }
+                makeAccessible(method);
+                return method;
             }
         }
         return null;
@@ -409,4 +445,96 @@ public class ReflectUtils
         }
         return new RuntimeException(msg, e);
     }
+
+    /**
+     * 编译后的Getter
+     */
+    private static final class Getter
+    {
+        private final Method method;
+
+        private final Function<Object, Object> function;
+
+        private Getter(Method method, Function<Object, Object> function)
+        {
+            this.method = method;
+            this.function = function;
+        }
+    }
+
+    /**
+     * 一个类及其父类（不含Object）声明的全部方法
+     */
+    private static final class ClassMethods
+    {
+        private static final Method[] NONE = new Method[0];
+
+        private static final Getter MISSING = new Getter(null, null);
+
+        /**
+         * 方法名 → 同名方法，子类在前，同一类中按 getDeclaredMethods 的顺序
+         */
+        private final Map<String, Method[]> methods;
+
+        /**
+         * 属性名 → Getter，没有时为 MISSING
+         */
+        private final ConcurrentMap<String, Getter> getters = new ConcurrentHashMap<>();
+
+        private ClassMethods(Class<?> type)
+        {
+            Map<String, List<Method>> grouped = new HashMap<>();
+            for (Class<?> searchType = type; searchType != null && searchType != Object.class; searchType = searchType.getSuperclass())
+            {
+                for (Method method : searchType.getDeclaredMethods())
+                {
+                    grouped.computeIfAbsent(method.getName(), k -> new ArrayList<>()).add(method);
+                }
+            }
+            methods = new HashMap<>(grouped.size() * 4 / 3 + 1);
+            grouped.forEach((name, list) -> methods.put(name, list.toArray(NONE)));
+        }
+
+        private Method[] named(String methodName)
+        {
+            return methods.getOrDefault(methodName, NONE);
+        }
+
+        /**
+         * 与逐级调用 getDeclaredMethod 的结果一致：最先声明该签名的类中返回类型最具体的方法
+         */
+        private Method find(String methodName, Class<?>[] parameterTypes)
+        {
+            Class<?>[] types = parameterTypes == null ? new Class<?>[0] : parameterTypes;
+            Method result = null;
+            for (Method method : named(methodName))
+            {
+                if (result != null && method.getDeclaringClass() != result.getDeclaringClass())
+                {
+                    break;
+                }
+                if (method.getParameterCount() == types.length && Arrays.equals(method.getParameterTypes(), types)
+                        && (result == null || result.getReturnType().isAssignableFrom(method.getReturnType())))
+                {
+                    result = method;
+                }
+            }
+            return result;
+        }
+
+        private Getter getter(String name)
+        {
+            Getter getter = getters.get(name);
+            if (getter == null)
+            {
+                Method method = find(GETTER_PREFIX + StringUtils.capitalize(name), null);
+                if (method != null)
+                {
+                    makeAccessible(method);
+                }
+                getter = getters.computeIfAbsent(name, k -> method == null ? MISSING : new Getter(method, MethodAccessors.getter(method)));
+            }
+            return getter == MISSING ? null : getter;
+        }
+    }
 }
@@ -1,5 +1,7 @@
 package com.xypai.common.core.utils.uuid;
 
+import java.util.concurrent.ThreadLocalRandom;
+
 /**
  * ID生成器工具类
  * 
@@ -7,6 +9,54 @@ package com.xypai.common.core.utils.uuid;
  */
 public class IdUtils
 {
+    /**
+     * 雪花算法生成器，启动时由 IdGeneratorConfig 设置工作节点ID；未设置前使用随机工作节点ID，仅适用于单实例
+     */
+    private static volatile SnowflakeIdGenerator generator = new SnowflakeIdGenerator(
+            ThreadLocalRandom.current().nextInt(SnowflakeIdGenerator.MAX_WORKER_ID + 1));
+
+    /**
+     * 获取64位时间有序ID（雪花算法）
+     * 
+     * @return ID
+     */
+    public static long nextId()
+    {
+        return generator.nextId();
+    }
+
+    /**
+     * 获取带前缀的业务单号，如订单号、支付流水号，格式为 前缀 + 十进制ID
+     * 
+     * @param prefix 前缀
+     * @return 单号
+     */
+    public static String nextNo(String prefix)
+    {
+        return prefix + generator.nextId();
+    }
+
+    /**
+     * 获取当前工作节点ID
+     * 
+     * @return 工作节点ID
+     */
+    public static int getWorkerId()
+    {
+        return generator.getWorkerId();
+    }
+
+    /**
+     * 设置工作节点ID，新的生成器从已发出ID的下一毫秒开始，保证切换前后ID仍然递增
+     * 
+     * @param workerId 工作节点ID，0～1023
+     */
+    public static synchronized void setWorkerId(int workerId)
+    {
+        generator = new SnowflakeIdGenerator(workerId, generator.getLastTimestamp(),
+                SnowflakeIdGenerator.DEFAULT_MAX_BACKWARD_MILLIS);
+    }
+
     /**
      * 获取随机UUID
      * 
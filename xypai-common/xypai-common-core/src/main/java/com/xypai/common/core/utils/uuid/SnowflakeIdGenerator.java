@@ -0,0 +1,166 @@
+package com.xypai.common.core.utils.uuid;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * 雪花算法ID生成器
+ * <p>
+ * 64位ID = 1位符号(0) + 41位毫秒时间戳（自2024-01-01起，约69年） + 10位工作节点ID + 12位序号，
+ * 同一节点生成的ID严格递增，每毫秒4096个（单节点约400万/秒）。最后一次的 时间戳+序号 保存在一个 AtomicLong 中，CAS 推进，不加锁；
+ * 当前毫秒的序号用尽时自旋等待下一毫秒。
+ * <p>
+ * 时钟回拨时不等待，沿用已发出的时间戳继续递增（序号用尽时借用后续毫秒），保证不重复；
+ * 落后超过 maxBackwardMillis 时抛出 IllegalStateException，避免时钟大幅回拨后长时间借用。
+ *
+ * @author xypai
+ */
+public class SnowflakeIdGenerator
+{
+    /**
+     * 起始时间 2024-01-01T00:00:00Z
+     */
+    public static final long EPOCH = 1704067200000L;
+
+    /**
+     * 工作节点ID位数
+     */
+    public static final int WORKER_ID_BITS = 10;
+
+    /**
+     * 序号位数
+     */
+    public static final int SEQUENCE_BITS = 12;
+
+    /**
+     * 最大工作节点ID
+     */
+    public static final int MAX_WORKER_ID = (1 << WORKER_ID_BITS) - 1;
+
+    /**
+     * 默认允许借用的最大毫秒数
+     */
+    public static final long DEFAULT_MAX_BACKWARD_MILLIS = 3000;
+
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    private final int workerId;
+
+    private final long workerBits;
+
+    private final long maxBackwardMillis;
+
+    private final LongSupplier clock;
+
+    /**
+     * (时间戳 - EPOCH) << SEQUENCE_BITS | 序号
+     */
+    private final AtomicLong state;
+
+    public SnowflakeIdGenerator(int workerId)
+    {
+        this(workerId, 0, DEFAULT_MAX_BACKWARD_MILLIS, System::currentTimeMillis);
+    }
+
+    /**
+     * @param workerId 工作节点ID，0～1023
+     * @param startTimestamp 已发出ID的最大时间戳，新生成的ID从其下一毫秒开始；0表示不限制
+     * @param maxBackwardMillis 允许借用的最大毫秒数
+     */
+    public SnowflakeIdGenerator(int workerId, long startTimestamp, long maxBackwardMillis)
+    {
+        this(workerId, startTimestamp, maxBackwardMillis, System::currentTimeMillis);
+    }
+
+    SnowflakeIdGenerator(int workerId, long startTimestamp, long maxBackwardMillis, LongSupplier clock)
+    {
+        if (workerId < 0 || workerId > MAX_WORKER_ID)
+        {
+            throw new IllegalArgumentException("工作节点ID超出范围 0～" + MAX_WORKER_ID + "：" + workerId);
+        }
+        this.workerId = workerId;
+        this.workerBits = (long) workerId << SEQUENCE_BITS;
+        this.maxBackwardMillis = maxBackwardMillis;
+        this.clock = clock;
+        long elapsed = Math.max(0, startTimestamp - EPOCH);
+        this.state = new AtomicLong(elapsed << SEQUENCE_BITS | SEQUENCE_MASK);
+    }
+
+    /**
+     * 生成ID
+     *
+     * @return 64位ID
+     * @throws IllegalStateException 时钟回拨超过允许的毫秒数
+     */
+    public long nextId()
+    {
+        while (true)
+        {
+            long current = state.get();
+            long elapsed = clock.getAsLong() - EPOCH;
+            long last = current >>> SEQUENCE_BITS;
+            long next;
+            if (elapsed > last)
+            {
+                next = elapsed << SEQUENCE_BITS;
+            }
+            else if (elapsed == last && (current & SEQUENCE_MASK) == SEQUENCE_MASK)
+            {
+                // 当前毫秒序号用尽
+                Thread.onSpinWait();
+                continue;
+            }
+            else if (last - elapsed <= maxBackwardMillis)
+            {
+                // 同一毫秒递增；时钟回拨时序号溢出进位到时间戳
+                next = current + 1;
+            }
+            else
+            {
+                throw new IllegalStateException("时钟回拨 " + (last - elapsed) + " 毫秒，超过允许的 " + maxBackwardMillis + " 毫秒");
+            }
+            if (state.compareAndSet(current, next))
+            {
+                return (next >>> SEQUENCE_BITS) << (WORKER_ID_BITS + SEQUENCE_BITS) | workerBits | (next & SEQUENCE_MASK);
+            }
+        }
+    }
+
+    /**
+     * 获取工作节点ID
+     */
+    public int getWorkerId()
+    {
+        return workerId;
+    }
+
+    /**
+     * 获取已发出ID的最大时间戳
+     */
+    public long getLastTimestamp()
+    {
+        return (state.get() >>> SEQUENCE_BITS) + EPOCH;
+    }
+
+    /**
+     * 解析ID中的时间戳
+     *
+     * @param id ID
+     * @return 毫秒时间戳
+     */
+    public static long parseTimestamp(long id)
+    {
+        return (id >>> (WORKER_ID_BITS + SEQUENCE_BITS)) + EPOCH;
+    }
+
+    /**
+     * 解析ID中的工作节点ID
+     *
+     * @param id ID
+     * @return 工作节点ID
+     */
+    public static int parseWorkerId(long id)
+    {
+        return (int) (id >>> SEQUENCE_BITS) & MAX_WORKER_ID;
+    }
+}
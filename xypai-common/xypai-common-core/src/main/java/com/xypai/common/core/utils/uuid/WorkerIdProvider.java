@@ -0,0 +1,18 @@
+package com.xypai.common.core.utils.uuid;
+
+/**
+ * 雪花算法工作节点ID分配
+ * <p>
+ * 实现需保证同一时刻不同实例拿到的ID不同，如基于Redis租约分配。
+ *
+ * @author xypai
+ */
+public interface WorkerIdProvider
+{
+    /**
+     * 获取当前实例的工作节点ID
+     *
+     * @return 工作节点ID，0～1023
+     */
+    int getWorkerId();
+}
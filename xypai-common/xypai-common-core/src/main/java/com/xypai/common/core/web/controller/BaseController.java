@@ -12,7 +12,9 @@ import com.xypai.common.core.constant.HttpStatus;
 import com.xypai.common.core.utils.DateUtils;
 import com.xypai.common.core.utils.PageUtils;
 import com.xypai.common.core.web.domain.AjaxResult;
+import com.xypai.common.core.web.page.CursorRequest;
 import com.xypai.common.core.web.page.TableDataInfo;
+import com.xypai.common.core.web.page.TableSupport;
 
 /**
  * web层通用数据处理
@@ -48,6 +50,32 @@ public class BaseController
         PageUtils.startPage();
     }
 
+    /**
+     * 设置请求分页数据，不执行count查询
+     */
+    protected void startPageWithoutCount()
+    {
+        PageUtils.startPageWithoutCount();
+    }
+
+    /**
+     * 响应请求分页数据，总数由调用方提供（如大表的估算行数）
+     */
+    protected TableDataInfo getDataTable(List<?> list, long total)
+    {
+        TableDataInfo rspData = getDataTable(list);
+        rspData.setTotal(total);
+        return rspData;
+    }
+
+    /**
+     * 获取游标分页请求，配合 Keyset 或 CursorPage.of 使用，不执行count查询
+     */
+    protected CursorRequest getCursorRequest()
+    {
+        return TableSupport.buildCursorRequest();
+    }
+
     /**
      * 清理分页的线程变量
      */
@@ -0,0 +1,147 @@
+package com.xypai.common.core.web.page;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import com.xypai.common.core.constant.HttpStatus;
+
+/**
+ * 游标分页数据对象
+ * <p>
+ * 字段与 TableDataInfo 保持一致（rows、total、code、msg），另外返回 nextCursor 与 hasMore；
+ * 默认不执行count查询，total 为空，需要总数时由调用方通过 setTotal 提供。
+ *
+ * @author xypai
+ */
+public class CursorPage<T> implements Serializable
+{
+    private static final long serialVersionUID = 1L;
+
+    /** 总记录数，未统计时为空 */
+    private Long total;
+
+    /** 列表数据 */
+    private List<T> rows;
+
+    /** 下一页游标，没有下一页时为空 */
+    private String nextCursor;
+
+    /** 是否还有下一页 */
+    private boolean hasMore;
+
+    /** 消息状态码 */
+    private int code;
+
+    /** 消息内容 */
+    private String msg;
+
+    public CursorPage()
+    {
+    }
+
+    /**
+     * 由查询结果生成分页数据
+     *
+     * @param rows 按 request.getFetchSize() 查询的结果，多出的一条只用于判断是否还有下一页
+     * @param request 游标分页请求
+     * @param cursorKeys 取一行的排序列值，顺序与查询的排序列一致
+     * @return 分页数据
+     */
+    public static <T> CursorPage<T> of(List<T> rows, CursorRequest request, Function<T, Object[]> cursorKeys)
+    {
+        CursorPage<T> page = new CursorPage<T>();
+        page.setCode(HttpStatus.SUCCESS);
+        page.setMsg("查询成功");
+        if (rows.size() > request.getPageSize())
+        {
+            List<T> pageRows = new ArrayList<T>(rows.subList(0, request.getPageSize()));
+            page.setRows(pageRows);
+            page.setHasMore(true);
+            page.setNextCursor(CursorToken.encode(cursorKeys.apply(pageRows.get(pageRows.size() - 1))));
+        }
+        else
+        {
+            page.setRows(rows);
+        }
+        return page;
+    }
+
+    /**
+     * 转换列表数据，游标与总数不变
+     *
+     * @param converter 转换方法（如实体批量转VO）
+     * @return 新的分页数据
+     */
+    public <R> CursorPage<R> convert(Function<List<T>, List<R>> converter)
+    {
+        CursorPage<R> page = new CursorPage<R>();
+        page.setTotal(total);
+        page.setRows(converter.apply(rows));
+        page.setNextCursor(nextCursor);
+        page.setHasMore(hasMore);
+        page.setCode(code);
+        page.setMsg(msg);
+        return page;
+    }
+
+    public Long getTotal()
+    {
+        return total;
+    }
+
+    public void setTotal(Long total)
+    {
+        this.total = total;
+    }
+
+    public List<T> getRows()
+    {
+        return rows;
+    }
+
+    public void setRows(List<T> rows)
+    {
+        this.rows = rows;
+    }
+
+    public String getNextCursor()
+    {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor)
+    {
+        this.nextCursor = nextCursor;
+    }
+
+    public boolean isHasMore()
+    {
+        return hasMore;
+    }
+
+    public void setHasMore(boolean hasMore)
+    {
+        this.hasMore = hasMore;
+    }
+
+    public int getCode()
+    {
+        return code;
+    }
+
+    public void setCode(int code)
+    {
+        this.code = code;
+    }
+
+    public String getMsg()
+    {
+        return msg;
+    }
+
+    public void setMsg(String msg)
+    {
+        this.msg = msg;
+    }
+}
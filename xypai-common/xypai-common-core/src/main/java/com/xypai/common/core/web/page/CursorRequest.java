@@ -0,0 +1,63 @@
+package com.xypai.common.core.web.page;
+
+/**
+ * 游标分页请求
+ *
+ * @author xypai
+ */
+public class CursorRequest
+{
+    /**
+     * 默认每页条数
+     */
+    public static final int DEFAULT_PAGE_SIZE = 10;
+
+    /**
+     * 每页最大条数
+     */
+    public static final int MAX_PAGE_SIZE = 100;
+
+    /** 上一页最后一行的排序列值，第一页为null */
+    private final CursorToken cursor;
+
+    /** 每页条数 */
+    private final int pageSize;
+
+    public CursorRequest(CursorToken cursor, int pageSize)
+    {
+        this.cursor = cursor;
+        this.pageSize = Math.min(Math.max(pageSize, 1), MAX_PAGE_SIZE);
+    }
+
+    /**
+     * @param cursor 前端传回的游标，为空表示第一页
+     * @param pageSize 每页条数，超出 1～MAX_PAGE_SIZE 时取边界值
+     */
+    public static CursorRequest of(String cursor, int pageSize)
+    {
+        return new CursorRequest(CursorToken.decode(cursor), pageSize);
+    }
+
+    public CursorToken getCursor()
+    {
+        return cursor;
+    }
+
+    public boolean isFirstPage()
+    {
+        return cursor == null;
+    }
+
+    public int getPageSize()
+    {
+        return pageSize;
+    }
+
+    /**
+     * 查询条数，多取一条用于判断是否还有下一页，不需要count查询
+     */
+    public int getFetchSize()
+    {
+        return pageSize + 1;
+    }
+}
@@ -0,0 +1,166 @@
+package com.xypai.common.core.web.page;
+
+import java.math.BigDecimal;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Date;
+import com.xypai.common.core.exception.ServiceException;
+import com.xypai.common.core.utils.StringUtils;
+
+/**
+ * 分页游标
+ * <p>
+ * 保存上一页最后一行的排序列值，编码为URL安全的Base64字符串返回给前端，下一页请求原样传回。
+ * 每个值带类型标记（L整数、N小数、T LocalDateTime、D Date毫秒、S字符串），解码后类型与实体字段一致，可直接作为查询参数。
+ * 游标值只作为参数绑定，不拼接进SQL；格式错误或被篡改时抛出 ServiceException。
+ *
+ * @author xypai
+ */
+public final class CursorToken
+{
+    /**
+     * 游标最大长度
+     */
+    private static final int MAX_LENGTH = 512;
+
+    private static final char SEPARATOR = ',';
+
+    private final Object[] values;
+
+    private CursorToken(Object[] values)
+    {
+        this.values = values;
+    }
+
+    /**
+     * 编码游标
+     *
+     * @param values 排序列值，按排序列顺序
+     * @return 游标
+     */
+    public static String encode(Object... values)
+    {
+        StringBuilder sb = new StringBuilder(values.length * 16);
+        for (int i = 0; i < values.length; i++)
+        {
+            if (i > 0)
+            {
+                sb.append(SEPARATOR);
+            }
+            Object value = values[i];
+            if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte)
+            {
+                sb.append('L').append(value);
+            }
+            else if (value instanceof BigDecimal decimal)
+            {
+                sb.append('N').append(decimal.toPlainString());
+            }
+            else if (value instanceof LocalDateTime)
+            {
+                sb.append('T').append(value);
+            }
+            else if (value instanceof Date date)
+            {
+                sb.append('D').append(date.getTime());
+            }
+            else if (value instanceof String str)
+            {
+                sb.append('S').append(URLEncoder.encode(str, StandardCharsets.UTF_8));
+            }
+            else
+            {
+                throw new IllegalArgumentException("不支持的游标值：" + (value == null ? "null" : value.getClass().getName()));
+            }
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(sb.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 解码游标
+     *
+     * @param token 游标
+     * @return 游标，为空时返回null（第一页）
+     * @throws ServiceException 游标无效
+     */
+    public static CursorToken decode(String token)
+    {
+        if (StringUtils.isEmpty(token))
+        {
+            return null;
+        }
+        if (token.length() > MAX_LENGTH)
+        {
+            throw new ServiceException("分页游标无效");
+        }
+        try
+        {
+            String text = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = StringUtils.splitPreserveAllTokens(text, SEPARATOR);
+            Object[] values = new Object[parts.length];
+            for (int i = 0; i < parts.length; i++)
+            {
+                values[i] = parse(parts[i]);
+            }
+            return new CursorToken(values);
+        }
+        catch (RuntimeException e)
+        {
+            throw new ServiceException("分页游标无效");
+        }
+    }
+
+    private static Object parse(String part)
+    {
+        String value = part.substring(1);
+        switch (part.charAt(0))
+        {
+            case 'L':
+                return Long.valueOf(value);
+            case 'N':
+                return new BigDecimal(value);
+            case 'T':
+                return LocalDateTime.parse(value);
+            case 'D':
+                return new Date(Long.parseLong(value));
+            case 'S':
+                return URLDecoder.decode(value, StandardCharsets.UTF_8);
+            default:
+                throw new IllegalArgumentException(part);
+        }
+    }
+
+    /**
+     * 获取值的个数
+     */
+    public int size()
+    {
+        return values.length;
+    }
+
+    /**
+     * 获取第 index 个排序列的值
+     */
+    public Object get(int index)
+    {
+        return values[index];
+    }
+
+    /**
+     * 获取第 index 个排序列的值
+     *
+     * @throws ServiceException 类型不一致
+     */
+    public <T> T get(int index, Class<T> type)
+    {
+        Object value = values[index];
+        if (!type.isInstance(value))
+        {
+            throw new ServiceException("分页游标无效");
+        }
+        return type.cast(value);
+    }
+}
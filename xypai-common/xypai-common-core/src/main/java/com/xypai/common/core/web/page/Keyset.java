@@ -0,0 +1,151 @@
+package com.xypai.common.core.web.page;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.enums.SqlKeyword;
+import com.baomidou.mybatisplus.core.toolkit.support.SFunction;
+import com.xypai.common.core.exception.ServiceException;
+
+/**
+ * MyBatis-Plus 游标分页（keyset）
+ * <p>
+ * 按排序列 (c1, c2, ...) 从上一页最后一行之后读取：倒序时条件为
+ * c1 &lt; v1 OR (c1 = v1 AND c2 &lt; v2) ...，配合 (c1, c2, ...) 上的索引，深翻页与第一页耗时相同，也不需要count查询。
+ * 最后一列须唯一（通常为主键），各列不能为空；传入的条件构造器中不能再有其它排序，
+ * 其中的 or 须放在 and/nested 内，否则游标条件只会约束 or 的最后一个分支。
+ * <pre>
+ * Keyset&lt;Content&gt; keyset = Keyset.desc(Content::getCreatedAt, Content::getId);
+ * List&lt;Content&gt; rows = contentMapper.selectList(keyset.apply(wrapper, request));
+ * return keyset.page(rows, request).convert(this::convertToListVOs);
+ * </pre>
+ *
+ * @author xypai
+ */
+public final class Keyset<T>
+{
+    private final List<SFunction<T, ?>> columns;
+
+    private final boolean asc;
+
+    private Keyset(List<SFunction<T, ?>> columns, boolean asc)
+    {
+        if (columns.isEmpty())
+        {
+            throw new IllegalArgumentException("游标分页至少需要一个排序列");
+        }
+        this.columns = columns;
+        this.asc = asc;
+    }
+
+    /**
+     * 按排序列倒序
+     */
+    @SafeVarargs
+    public static <T> Keyset<T> desc(SFunction<T, ?>... columns)
+    {
+        return new Keyset<T>(Arrays.asList(columns), false);
+    }
+
+    /**
+     * 按排序列正序
+     */
+    @SafeVarargs
+    public static <T> Keyset<T> asc(SFunction<T, ?>... columns)
+    {
+        return new Keyset<T>(Arrays.asList(columns), true);
+    }
+
+    /**
+     * 追加游标条件、排序与 limit（多取一条用于判断是否还有下一页）
+     *
+     * @param wrapper 查询条件
+     * @param request 游标分页请求
+     * @return 传入的查询条件
+     * @throws ServiceException 游标与排序列不匹配
+     * @throws IllegalArgumentException 查询条件的最外层含有 or
+     */
+    public LambdaQueryWrapper<T> apply(LambdaQueryWrapper<T> wrapper, CursorRequest request)
+    {
+        if (wrapper.getExpression().getNormal().contains(SqlKeyword.OR))
+        {
+            throw new IllegalArgumentException("游标分页的查询条件中 or 须放在 and/nested 内");
+        }
+        CursorToken cursor = request.getCursor();
+        if (cursor != null)
+        {
+            if (cursor.size() != columns.size())
+            {
+                throw new ServiceException("分页游标无效");
+            }
+            wrapper.and(w -> {
+                for (int i = 0; i < columns.size(); i++)
+                {
+                    Consumer<LambdaQueryWrapper<T>> branch = after(cursor, i);
+                    if (i == 0)
+                    {
+                        w.nested(branch);
+                    }
+                    else
+                    {
+                        w.or(branch);
+                    }
+                }
+            });
+        }
+        for (SFunction<T, ?> column : columns)
+        {
+            if (asc)
+            {
+                wrapper.orderByAsc(column);
+            }
+            else
+            {
+                wrapper.orderByDesc(column);
+            }
+        }
+        wrapper.last("limit " + request.getFetchSize());
+        return wrapper;
+    }
+
+    /**
+     * 由查询结果生成分页数据，游标取最后一行的排序列值
+     *
+     * @param rows apply 后查询的结果
+     * @param request 游标分页请求
+     * @return 分页数据
+     */
+    public CursorPage<T> page(List<T> rows, CursorRequest request)
+    {
+        return CursorPage.of(rows, request, row -> {
+            Object[] keys = new Object[columns.size()];
+            for (int i = 0; i < keys.length; i++)
+            {
+                keys[i] = columns.get(i).apply(row);
+            }
+            return keys;
+        });
+    }
+
+    /**
+     * 前 n 列等于游标值且第 n 列在游标值之后
+     */
+    private Consumer<LambdaQueryWrapper<T>> after(CursorToken cursor, int n)
+    {
+        return w -> {
+            for (int j = 0; j < n; j++)
+            {
+                w.eq(columns.get(j), cursor.get(j));
+            }
+            if (asc)
+            {
+                w.gt(columns.get(n), cursor.get(n));
+            }
+            else
+            {
+                w.lt(columns.get(n), cursor.get(n));
+            }
+        };
+    }
+}
@@ -35,6 +35,11 @@ public class TableSupport
      */
     public static final String REASONABLE = "reasonable";
 
+    /**
+     * 分页游标
+     */
+    public static final String CURSOR = "cursor";
+
     /**
      * 封装分页对象
      */
@@ -53,4 +58,13 @@ public class TableSupport
     {
         return getPageDomain();
     }
+
+    /**
+     * 封装游标分页请求（cursor、pageSize 参数）
+     */
+    public static CursorRequest buildCursorRequest()
+    {
+        return CursorRequest.of(ServletUtils.getParameter(CURSOR),
+                Convert.toInt(ServletUtils.getParameter(PAGE_SIZE), CursorRequest.DEFAULT_PAGE_SIZE));
+    }
 }
@@ -13,7 +13,7 @@ import com.xypai.common.core.utils.StringUtils;
  */
 public class XssValidator implements ConstraintValidator<Xss, String>
 {
-    private static final String HTML_PATTERN = "<(\\S*?)[^>]*>.*?|<.*? />";
+    private static final Pattern HTML_PATTERN = Pattern.compile("<(\\S*?)[^>]*>.*?|<.*? />");
 
     @Override
     public boolean isValid(String value, ConstraintValidatorContext constraintValidatorContext)
@@ -27,13 +27,16 @@ public class XssValidator implements ConstraintValidator<Xss, String>
 
     public static boolean containsHtml(String value)
     {
+        if (value.indexOf('<') < 0)
+        {
+            return false;
+        }
         StringBuilder sHtml = new StringBuilder();
-        Pattern pattern = Pattern.compile(HTML_PATTERN);
-        Matcher matcher = pattern.matcher(value);
+        Matcher matcher = HTML_PATTERN.matcher(value);
         while (matcher.find())
         {
             sHtml.append(matcher.group());
         }
-        return pattern.matcher(sHtml).matches();
+        return HTML_PATTERN.matcher(sHtml).matches();
     }
 }
\ No newline at end of file
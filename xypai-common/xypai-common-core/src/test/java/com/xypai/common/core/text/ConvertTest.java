@@ -0,0 +1,61 @@
+package com.xypai.common.core.text;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 类型转换测试类，字符串解析以原实现（BigDecimal / Integer.parseInt）为准
+ *
+ * @author xypai
+ */
+class ConvertTest {
+
+    private static final String[] SAMPLES = {"0", "7", "-7", "+7", "007", " 1024 ", "\t1024\n", "-0", "1234567890123",
+            "999999999999999999", "-999999999999999999", "1000000000000000000", "9223372036854775807",
+            "-9223372036854775808", "9223372036854775808", "2147483647", "2147483648", "-2147483648", "-2147483649",
+            "1.5", "-1.9", "1e3", "1E+3", "", " ", "-", "+", "--1", "1-", "abc", "12a", "１２", "0x10", "1_000",
+            "00000000000000000001"};
+
+    @Test
+    void testToLongMatchesBigDecimal() {
+        for (String sample : SAMPLES) {
+            assertEquals(toLongBigDecimal(sample), Convert.toLong(sample, -1L), sample);
+            assertEquals(toLongBigDecimal(sample), Convert.toLong(new StringBuilder(sample), -1L), sample);
+        }
+    }
+
+    @Test
+    void testToIntMatchesParseInt() {
+        for (String sample : SAMPLES) {
+            assertEquals(toIntParseInt(sample), Convert.toInt(sample, -1), sample);
+        }
+    }
+
+    @Test
+    void testCommonIdsAreCached() {
+        assertSame(Convert.toLong("1023"), Convert.toLong(1023));
+        assertSame(Convert.toLong(" 500 "), Convert.toLong(500L));
+        assertEquals(Long.valueOf(1024L), Convert.toLong("1024"));
+        assertNull(Convert.toLong(null));
+        assertNull(Convert.toInt("abc"));
+    }
+
+    private static Long toLongBigDecimal(String value) {
+        try {
+            return value.isEmpty() ? -1L : new BigDecimal(value.trim()).longValue();
+        } catch (Exception e) {
+            return -1L;
+        }
+    }
+
+    private static Integer toIntParseInt(String value) {
+        try {
+            return value.isEmpty() ? -1 : Integer.parseInt(value.trim());
+        } catch (Exception e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,413 @@
+package com.xypai.common.core.utils.bean;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.FatalBeanException;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Bean属性复制测试类
+ * <p>
+ * 每个用例分别用 Spring 的 copyProperties 与 copyBeanProp 复制到新对象，比较两个目标对象的全部字段。
+ *
+ * @author xypai
+ */
+class BeanUtilsTest {
+
+    @Test
+    void testSameType() {
+        Person source = new Person();
+        source.setName("张三");
+        source.setAge(30);
+        source.setScore(98.5);
+        source.setTags(List.of("a", "b"));
+
+        Person copy = assertSameCopy(source, Person::new);
+
+        assertEquals("张三", copy.getName());
+        assertEquals(30, copy.getAge());
+        assertEquals(List.of("a", "b"), copy.getTags());
+    }
+
+    @Test
+    void testGenericAndBridgeMethods() {
+        StringHolder source = new StringHolder();
+        source.setValue("text");
+
+        // 子类重写泛型方法后存在桥接方法，按解析后的类型复制
+        assertEquals("text", assertSameCopy(source, StringHolder::new).getValue());
+        assertEquals("text", assertSameCopy(source, RawHolder::new).getValue());
+        // 泛型参数解析为 Integer，String 不能赋值
+        assertNull(assertSameCopy(source, IntegerHolder::new).getValue());
+
+        IntegerHolder integers = new IntegerHolder();
+        integers.setValue(7);
+        assertNull(assertSameCopy(integers, StringHolder::new).getValue());
+        assertEquals(7, assertSameCopy(integers, NumberHolder::new).getValue());
+    }
+
+    @Test
+    void testGenericCollections() {
+        Person source = new Person();
+        source.setTags(List.of("a"));
+
+        // List<String> 不能复制到 List<Integer>
+        assertNull(assertSameCopy(source, IntegerTags::new).getTags());
+        assertEquals(List.of("a"), assertSameCopy(source, ObjectTags::new).getTags());
+    }
+
+    @Test
+    void testBoxedAndPrimitive() {
+        Person source = new Person();
+        source.setName("张三");
+        source.setAge(30);
+        source.setScore(98.5);
+
+        BoxedPerson boxed = assertSameCopy(source, BoxedPerson::new);
+        assertEquals(30, boxed.getAge());
+        assertEquals(98.5, boxed.getScore());
+
+        boxed.setAge(41);
+        boxed.setScore(null);
+        Person back = new Person();
+        back.setScore(1.5);
+        assertSameCopy(boxed, () -> back);
+    }
+
+    @Test
+    void testNullIntoPrimitiveStopsLikeSpring() {
+        BoxedPerson source = new BoxedPerson();
+        source.setName("张三");
+        source.setAge(null);
+        source.setScore(12.5);
+
+        // 按属性名顺序复制，age 为 null 时抛出异常，之后的属性不再复制
+        Person copy = assertSameCopy(source, Person::new);
+        assertEquals(0, copy.getAge());
+        assertNull(copy.getName());
+        assertEquals(0.0, copy.getScore());
+    }
+
+    @Test
+    void testInheritedAndNonPublicClasses() {
+        Employee source = new Employee();
+        source.setId(9L);
+        source.setName("李四");
+        source.setDept("研发");
+
+        Employee copy = assertSameCopy(source, Employee::new);
+        assertEquals(9L, copy.getId());
+        assertEquals("研发", copy.getDept());
+
+        HiddenEmployee hidden = assertSameCopy(source, HiddenEmployee::new);
+        assertEquals(9L, hidden.getId());
+        assertEquals("李四", hidden.getName());
+        assertEquals(9L, assertSameCopy(hidden, Employee::new).getId());
+    }
+
+    @Test
+    void testIgnoreProperties() {
+        Employee source = new Employee();
+        source.setId(9L);
+        source.setName("李四");
+        source.setDept("研发");
+
+        Employee spring = new Employee();
+        org.springframework.beans.BeanUtils.copyProperties(source, spring, "id", "dept", "missing");
+        Employee copy = new Employee();
+        BeanUtils.copyBeanProp(copy, source, "id", "dept", "missing");
+
+        assertFields(spring, copy);
+        assertNull(copy.getId());
+        assertEquals("李四", copy.getName());
+        assertNull(copy.getDept());
+        // 相同类型对的复制计划是共用的，忽略的属性只影响本次复制
+        BeanUtils.copyBeanProp(copy, source);
+        assertEquals(9L, copy.getId());
+    }
+
+    @Test
+    void testReadOnlyAndWriteOnlyProperties() {
+        AccessSource source = new AccessSource();
+        source.setBoth("both");
+        source.setWriteOnly("secret");
+
+        AccessTarget copy = assertSameCopy(source, AccessTarget::new);
+        assertEquals("both", copy.both);
+        // 源只读、目标可写的属性被复制；源只写或目标只读的属性不复制
+        assertEquals("computed", copy.readOnly);
+        assertNull(copy.writeOnly);
+        assertEquals("fixed", copy.getTargetReadOnly());
+    }
+
+    @Test
+    void testFluentSetter() {
+        Person source = new Person();
+        source.setName("张三");
+
+        assertEquals("张三", assertSameCopy(source, FluentPerson::new).getName());
+    }
+
+    /**
+     * 分别复制后比较全部字段；Spring 抛出异常时 copyBeanProp 只打印异常，中断的位置须相同
+     */
+    private static <T> T assertSameCopy(Object source, Supplier<T> factory) {
+        T spring = factory.get();
+        try {
+            org.springframework.beans.BeanUtils.copyProperties(source, spring);
+        } catch (FatalBeanException ignored) {
+        }
+        T copy = factory.get();
+        BeanUtils.copyBeanProp(copy, source);
+        assertFields(spring, copy);
+        return copy;
+    }
+
+    private static void assertFields(Object expected, Object actual) {
+        assertSame(expected.getClass(), actual.getClass());
+        for (Class<?> type = expected.getClass(); type != Object.class; type = type.getSuperclass()) {
+            for (Field field : type.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers())) {
+                    continue;
+                }
+                field.setAccessible(true);
+                try {
+                    assertEquals(field.get(expected), field.get(actual), type.getSimpleName() + "." + field.getName());
+                } catch (IllegalAccessException e) {
+                    throw new AssertionError(e);
+                }
+            }
+        }
+    }
+
+    public static class Person {
+        private String name;
+        private int age;
+        private double score;
+        private List<String> tags;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public int getAge() {
+            return age;
+        }
+
+        public void setAge(int age) {
+            this.age = age;
+        }
+
+        public double getScore() {
+            return score;
+        }
+
+        public void setScore(double score) {
+            this.score = score;
+        }
+
+        public List<String> getTags() {
+            return tags;
+        }
+
+        public void setTags(List<String> tags) {
+            this.tags = tags;
+        }
+    }
+
+    public static class BoxedPerson {
+        private String name;
+        private Integer age;
+        private Double score;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public Integer getAge() {
+            return age;
+        }
+
+        public void setAge(Integer age) {
+            this.age = age;
+        }
+
+        public Double getScore() {
+            return score;
+        }
+
+        public void setScore(Double score) {
+            this.score = score;
+        }
+    }
+
+    public static class FluentPerson {
+        private String name;
+
+        public String getName() {
+            return name;
+        }
+
+        public FluentPerson setName(String name) {
+            this.name = name;
+            return this;
+        }
+    }
+
+    public static class IntegerTags {
+        private List<Integer> tags;
+
+        public List<Integer> getTags() {
+            return tags;
+        }
+
+        public void setTags(List<Integer> tags) {
+            this.tags = tags;
+        }
+    }
+
+    public static class ObjectTags {
+        private List<?> tags;
+
+        public List<?> getTags() {
+            return tags;
+        }
+
+        public void setTags(List<?> tags) {
+            this.tags = tags;
+        }
+    }
+
+    public static class Holder<T> {
+        private T value;
+
+        public T getValue() {
+            return value;
+        }
+
+        public void setValue(T value) {
+            this.value = value;
+        }
+    }
+
+    public static class StringHolder extends Holder<String> {
+        @Override
+        public String getValue() {
+            return super.getValue();
+        }
+
+        @Override
+        public void setValue(String value) {
+            super.setValue(value);
+        }
+    }
+
+    public static class IntegerHolder extends Holder<Integer> {
+    }
+
+    public static class NumberHolder extends Holder<Number> {
+    }
+
+    @SuppressWarnings("rawtypes")
+    public static class RawHolder extends Holder {
+    }
+
+    /**
+     * 非公共的父类，公共方法的声明类不可访问
+     */
+    static class BaseEntity {
+        private Long id;
+        private String name;
+
+        public Long getId() {
+            return id;
+        }
+
+        public void setId(Long id) {
+            this.id = id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+    }
+
+    public static class Employee extends BaseEntity {
+        private String dept;
+
+        public String getDept() {
+            return dept;
+        }
+
+        public void setDept(String dept) {
+            this.dept = dept;
+        }
+    }
+
+    private static class HiddenEmployee extends BaseEntity {
+    }
+
+    public static class AccessSource {
+        private String both;
+        private String writeOnly;
+
+        public String getBoth() {
+            return both;
+        }
+
+        public void setBoth(String both) {
+            this.both = both;
+        }
+
+        public String getReadOnly() {
+            return "computed";
+        }
+
+        public void setWriteOnly(String writeOnly) {
+            this.writeOnly = writeOnly;
+        }
+
+        public String getTargetReadOnly() {
+            return "from source";
+        }
+    }
+
+    public static class AccessTarget {
+        private String both;
+        private String readOnly;
+        private String writeOnly;
+
+        public void setBoth(String both) {
+            this.both = both;
+        }
+
+        public void setReadOnly(String readOnly) {
+            this.readOnly = readOnly;
+        }
+
+        public void setWriteOnly(String writeOnly) {
+            this.writeOnly = writeOnly;
+        }
+
+        public String getTargetReadOnly() {
+            return "fixed";
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package com.xypai.common.core.utils.file;
+
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 文件下载（Range/ETag）测试类
+ *
+ * @author xypai
+ */
+class FileUtilsTest {
+
+    private static final int LENGTH = 100;
+
+    @TempDir
+    Path dir;
+
+    private File file;
+
+    private byte[] content;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        content = new byte[LENGTH];
+        for (int i = 0; i < LENGTH; i++) {
+            content[i] = (byte) i;
+        }
+        file = Files.write(dir.resolve("data.bin"), content).toFile();
+    }
+
+    @Test
+    void testWithoutRange() throws IOException {
+        MockHttpServletResponse response = download(request());
+
+        assertEquals(HttpServletResponse.SC_OK, response.getStatus());
+        assertEquals("bytes", response.getHeader(HttpHeaders.ACCEPT_RANGES));
+        assertNotNull(response.getHeader(HttpHeaders.ETAG));
+        assertArrayEquals(content, response.getContentAsByteArray());
+    }
+
+    @Test
+    void testOpenEndedRange() throws IOException {
+        assertPartial(download(range("bytes=0-")), 0, LENGTH - 1);
+        assertPartial(download(range("bytes=90-")), 90, LENGTH - 1);
+    }
+
+    @Test
+    void testClosedRange() throws IOException {
+        assertPartial(download(range("bytes=10-19")), 10, 19);
+        assertPartial(download(range("bytes=99-99")), 99, 99);
+    }
+
+    @Test
+    void testSuffixRange() throws IOException {
+        assertPartial(download(range("bytes=-10")), 90, LENGTH - 1);
+        // 后缀长度超过文件时返回整个文件
+        assertPartial(download(range("bytes=-1000")), 0, LENGTH - 1);
+        assertUnsatisfiable(download(range("bytes=-0")));
+    }
+
+    @Test
+    void testEndBeyondLengthIsClamped() throws IOException {
+        assertPartial(download(range("bytes=50-100")), 50, LENGTH - 1);
+        assertPartial(download(range("bytes=50-100000")), 50, LENGTH - 1);
+    }
+
+    @Test
+    void testStartBeyondLengthIsUnsatisfiable() throws IOException {
+        assertUnsatisfiable(download(range("bytes=100-")));
+        assertUnsatisfiable(download(range("bytes=150-200")));
+    }
+
+    @Test
+    void testStartAfterEndIsIgnored() throws IOException {
+        assertFull(download(range("bytes=20-10")));
+        // 无效区间即使超出文件也按没有Range处理，而不是416
+        assertFull(download(range("bytes=200-100")));
+    }
+
+    @Test
+    void testMalformedRangeIsIgnored() throws IOException {
+        assertFull(download(range("bytes=abc")));
+        assertFull(download(range("bytes=a-b")));
+        assertFull(download(range("items=0-10")));
+    }
+
+    @Test
+    void testMultipleRangesFallBackToFullFile() throws IOException {
+        assertFull(download(range("bytes=0-9,20-29")));
+        assertFull(download(range("bytes=0-9, -5")));
+    }
+
+    @Test
+    void testEmptyFile() throws IOException {
+        file = Files.write(dir.resolve("empty.bin"), new byte[0]).toFile();
+
+        MockHttpServletResponse full = download(request());
+        assertEquals(HttpServletResponse.SC_OK, full.getStatus());
+        assertEquals(0, full.getContentLengthLong());
+        assertUnsatisfiable(download(range("bytes=0-")), 0);
+        assertUnsatisfiable(download(range("bytes=-5")), 0);
+    }
+
+    @Test
+    void testIfRangeWithMatchingETag() throws IOException {
+        String etag = download(request()).getHeader(HttpHeaders.ETAG);
+        MockHttpServletRequest request = range("bytes=10-19");
+        request.addHeader(HttpHeaders.IF_RANGE, etag);
+
+        assertPartial(download(request), 10, 19);
+    }
+
+    @Test
+    void testIfRangeWithMismatchedETag() throws IOException {
+        MockHttpServletRequest request = range("bytes=10-19");
+        request.addHeader(HttpHeaders.IF_RANGE, "\"stale\"");
+        assertFull(download(request));
+
+        MockHttpServletRequest weak = range("bytes=10-19");
+        weak.addHeader(HttpHeaders.IF_RANGE, "W/" + download(request()).getHeader(HttpHeaders.ETAG));
+        assertFull(download(weak));
+    }
+
+    @Test
+    void testIfRangeWithDate() throws IOException {
+        long lastModified = download(request()).getDateHeader(HttpHeaders.LAST_MODIFIED);
+
+        MockHttpServletRequest current = range("bytes=10-19");
+        current.addHeader(HttpHeaders.IF_RANGE, lastModified);
+        assertPartial(download(current), 10, 19);
+
+        MockHttpServletRequest stale = range("bytes=10-19");
+        stale.addHeader(HttpHeaders.IF_RANGE, lastModified - 60000);
+        assertFull(download(stale));
+    }
+
+    @Test
+    void testNotModified() throws IOException {
+        MockHttpServletResponse first = download(request());
+
+        MockHttpServletRequest byETag = request();
+        byETag.addHeader(HttpHeaders.IF_NONE_MATCH, first.getHeader(HttpHeaders.ETAG));
+        MockHttpServletResponse response = download(byETag);
+        assertEquals(HttpServletResponse.SC_NOT_MODIFIED, response.getStatus());
+        assertEquals(0, response.getContentAsByteArray().length);
+
+        MockHttpServletRequest byDate = request();
+        byDate.addHeader(HttpHeaders.IF_MODIFIED_SINCE, first.getDateHeader(HttpHeaders.LAST_MODIFIED));
+        assertEquals(HttpServletResponse.SC_NOT_MODIFIED, download(byDate).getStatus());
+    }
+
+    @Test
+    void testHeadWritesNoBody() throws IOException {
+        MockHttpServletRequest request = range("bytes=10-19");
+        request.setMethod("HEAD");
+        MockHttpServletResponse response = download(request);
+
+        assertEquals(HttpServletResponse.SC_PARTIAL_CONTENT, response.getStatus());
+        assertEquals(10, response.getContentLengthLong());
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    void testSendfileForLargeFiles() throws IOException {
+        file = Files.write(dir.resolve("large.bin"), new byte[64 * 1024]).toFile();
+        MockHttpServletRequest request = range("bytes=1024-");
+        request.setAttribute("org.apache.tomcat.sendfile.support", Boolean.TRUE);
+        MockHttpServletResponse response = download(request);
+
+        assertEquals(HttpServletResponse.SC_PARTIAL_CONTENT, response.getStatus());
+        assertEquals(file.getCanonicalPath(), request.getAttribute("org.apache.tomcat.sendfile.filename"));
+        assertEquals(1024L, request.getAttribute("org.apache.tomcat.sendfile.start"));
+        // sendfile 的 end 不含在区间内
+        assertEquals(64 * 1024L, request.getAttribute("org.apache.tomcat.sendfile.end"));
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    private MockHttpServletResponse download(MockHttpServletRequest request) throws IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FileUtils.writeFile(request, response, file);
+        return response;
+    }
+
+    private static MockHttpServletRequest request() {
+        return new MockHttpServletRequest("GET", "/data.bin");
+    }
+
+    private static MockHttpServletRequest range(String range) {
+        MockHttpServletRequest request = request();
+        request.addHeader(HttpHeaders.RANGE, range);
+        return request;
+    }
+
+    private void assertPartial(MockHttpServletResponse response, int start, int end) {
+        assertEquals(HttpServletResponse.SC_PARTIAL_CONTENT, response.getStatus());
+        assertEquals("bytes " + start + "-" + end + "/" + LENGTH, response.getHeader(HttpHeaders.CONTENT_RANGE));
+        assertEquals(end - start + 1, response.getContentLengthLong());
+        assertArrayEquals(Arrays.copyOfRange(content, start, end + 1), response.getContentAsByteArray());
+    }
+
+    private void assertFull(MockHttpServletResponse response) {
+        assertEquals(HttpServletResponse.SC_OK, response.getStatus());
+        assertNull(response.getHeader(HttpHeaders.CONTENT_RANGE));
+        assertEquals(LENGTH, response.getContentLengthLong());
+        assertArrayEquals(content, response.getContentAsByteArray());
+    }
+
+    private static void assertUnsatisfiable(MockHttpServletResponse response) {
+        assertUnsatisfiable(response, LENGTH);
+    }
+
+    private static void assertUnsatisfiable(MockHttpServletResponse response, long length) {
+        assertEquals(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE, response.getStatus());
+        assertEquals("bytes */" + length, response.getHeader(HttpHeaders.CONTENT_RANGE));
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+}
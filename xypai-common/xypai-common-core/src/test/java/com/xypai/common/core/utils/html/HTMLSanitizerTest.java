@@ -0,0 +1,148 @@
+package com.xypai.common.core.utils.html;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * HTML过滤器测试类，以 HTMLFilter 的输出为准做差分比较
+ *
+ * @author xypai
+ */
+class HTMLSanitizerTest {
+
+    /**
+     * 随机拼接用的片段。不含前导0或超出int范围的数字实体、解码为尖括号的实体，这几处与原实现有意不同
+     */
+    private static final String[] FRAGMENTS = {"<", ">", "/", "a", "b", "i", "em", "strong", "img", "script", "B", "IMG",
+            " ", "\n", "\r", "\r\n", "\t", "\u2028", "\u0085", "=", "\"", "'", "\\\"", "\\", "href", "src", "target", "alt",
+            "width", "onclick", "javascript:", "http:", "https:", "HTTP:", "mailto:", "//", "&#106;", "&#x6a;", "%6a",
+            "&#38;", "&#x26;", "%26", "&#34;", "&#58;", "&amp;", "&lt;", "&", "#", ";", ":", "<!--", "-->", "x", "中文",
+            "%", "&#", "&#x", "1", "f", "-", "!"};
+
+    private static final String[] TAG_NAMES = {"a", "A", "img", "b", "strong", "STRONG", "i", "em", "script", "div", "p",
+            "br", "abbr", "b2"};
+
+    private static final String[] ATTRIBUTE_NAMES = {"href", "HREF", "src", "target", "alt", "width", "height", "onclick",
+            "style"};
+
+    private static final String[] VALUES = {"http://x.com/a?b=c", "https:", "javascript:alert(1)", "JaVaScRiPt:",
+            "&#106;avascript:", "&#x6a;avascript:", "%6aavascript:", "mailto:a@b", "//evil", "data:text", "&amp;", "&lt;",
+            "&foo;", "&", "&#38;#106;", "a=b", "href=javascript:x", " ", "\n", "'", "\"", "/", "中", ";", ":", "%26"};
+
+    private static final String[] TEXTS = {"hello", " ", "中文", "&amp;", "&", "\n", ">", "<", "\"", "<>",
+            "<!-- c <b> -->", "-->", "<!--"};
+
+    @Test
+    void testSamples() {
+        String[] samples = {
+                "",
+                "今天天气不错，一起去打球吧！",
+                "{\"title\":\"周末<b>篮球</b>局\",\"content\":\"<script>alert(1)</script>\"}",
+                "<p>周末<b>篮球</b>局，<a href=\"https://www.xypai.vip/activity/1024\" target=\"_blank\">报名链接</a></p>",
+                "<img src=\"https://cdn.xypai.vip/a.png\" onerror=\"alert(1)\"/>地点：体育馆 &amp; 二号场",
+                "<a href=\"javascript:alert(1)\">x</a>",
+                "<a href=\"&#106;avascript:alert(1)\">x</a>",
+                "<a href='java&#x73;cript://evil'>x</a><a href=%6aavascript:x>y</a>",
+                "<a href=\"?href=javascript:alert(1)\">x</a>",
+                "<scr<script>ipt>alert(\"XSS\")</scr<script>ipt>",
+                "<123", "123>", "a > b < c", ">x>y>z", "<<>>", "<>",
+                "<!-- <b>注释</b> --><b>x</b><!-- y -->",
+                "<b><i>x", "<i><b></b></i>", "<b><i></i></b>", "<b></b></b><b>", "</b>x", "<b/>", "<img>",
+                "<STRONG>x</strong><B>y"
+        };
+        for (String sample : samples) {
+            assertEquals(new HTMLFilter().filter(sample), HTMLSanitizer.sanitize(sample), sample);
+        }
+    }
+
+    @Test
+    void testRandomFragments() {
+        Random random = new Random(20241019L);
+        for (int n = 0; n < 50000; n++) {
+            StringBuilder sb = new StringBuilder();
+            int count = random.nextInt(40);
+            for (int i = 0; i < count; i++) {
+                sb.append(FRAGMENTS[random.nextInt(FRAGMENTS.length)]);
+            }
+            assertSameAsFilter(sb.toString());
+        }
+    }
+
+    @Test
+    void testRandomTags() {
+        Random random = new Random(20241020L);
+        for (int n = 0; n < 50000; n++) {
+            StringBuilder sb = new StringBuilder();
+            int count = random.nextInt(20);
+            for (int i = 0; i < count; i++) {
+                if (random.nextBoolean()) {
+                    appendTag(sb, random);
+                } else {
+                    sb.append(TEXTS[random.nextInt(TEXTS.length)]);
+                }
+            }
+            assertSameAsFilter(sb.toString());
+        }
+    }
+
+    @Test
+    void testPlainTextIsNotCopied() {
+        String json = "{\"nickName\":\"xypai\",\"remark\":\"a & b\"}";
+        assertSame(json, HTMLSanitizer.sanitize(json));
+        assertNull(HTMLSanitizer.sanitize(null));
+    }
+
+    @Test
+    void testAppendToBuilder() {
+        StringBuilder out = new StringBuilder("prefix:");
+        HTMLSanitizer.sanitize("<b></b><i>x<script>y", out);
+        assertEquals("prefix:<i>xy</i>", out.toString());
+    }
+
+    @Test
+    void testNumericEntityOutOfRange() {
+        // 原实现 Integer.decode 溢出时抛出异常
+        assertEquals("<a href=\\\"&amp;#99999999999;x\\\">y</a>", HTMLSanitizer.sanitize("<a href=\"&#99999999999;x\">y</a>"));
+    }
+
+    private static void assertSameAsFilter(String input) {
+        String expected = new HTMLFilter().filter(input);
+        assertEquals(expected, HTMLSanitizer.sanitize(input), input);
+    }
+
+    private static void appendTag(StringBuilder sb, Random random) {
+        sb.append('<');
+        if (random.nextInt(3) == 0) {
+            sb.append('/');
+        }
+        sb.append(TAG_NAMES[random.nextInt(TAG_NAMES.length)]);
+        int attributes = random.nextInt(4);
+        for (int i = 0; i < attributes; i++) {
+            sb.append(random.nextBoolean() ? " " : "\t").append(ATTRIBUTE_NAMES[random.nextInt(ATTRIBUTE_NAMES.length)]).append('=');
+            StringBuilder value = new StringBuilder();
+            int parts = random.nextInt(4);
+            for (int j = 0; j < parts; j++) {
+                value.append(VALUES[random.nextInt(VALUES.length)]);
+            }
+            switch (random.nextInt(4)) {
+                case 0 -> sb.append('"').append(value).append('"');
+                case 1 -> sb.append('\'').append(value).append('\'');
+                case 2 -> sb.append(value);
+                default -> sb.append("\\\"").append(value).append("\\\"");
+            }
+        }
+        switch (random.nextInt(5)) {
+            case 0 -> sb.append(" /");
+            case 1 -> sb.append('/');
+            case 2 -> sb.append('\n');
+            default -> {
+            }
+        }
+        if (random.nextInt(20) > 0) {
+            sb.append('>');
+        }
+    }
+}
@@ -0,0 +1,287 @@
+package com.xypai.common.core.utils.poi;
+
+import com.xypai.common.core.annotation.Excel;
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ExcelUtil 流式导入测试类
+ *
+ * @author xypai
+ */
+class ExcelUtilImportTest {
+
+    private static final Date BIRTHDAY = Date.from(LocalDateTime.of(1990, 5, 17, 0, 0).atZone(ZoneId.systemDefault()).toInstant());
+
+    @Test
+    void testStreamingMatchesUsermodel() throws IOException {
+        byte[] xlsx = write(XSSFWorkbook::new, 0);
+
+        List<Person> expected = new ExcelUtil<>(Person.class).importExcel(new ByteArrayInputStream(xlsx));
+        List<ExcelRow<Person>> rows = stream(xlsx, 0, 100);
+
+        assertEquals(4, expected.size());
+        assertEquals(expected.size(), rows.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertFalse(rows.get(i).hasError(), rows.get(i).getError());
+            assertPerson(expected.get(i), rows.get(i).getData());
+        }
+        // 行号为Excel中的行号，空行被跳过
+        assertEquals(List.of(2, 3, 4, 6), rows.stream().map(ExcelRow::getRowNum).collect(Collectors.toList()));
+
+        Person first = rows.get(0).getData();
+        assertEquals(1L, first.getId());
+        assertEquals("张三", first.getName());
+        assertEquals(30, first.getAge());
+        assertEquals(new BigDecimal("1234.5"), first.getBalance());
+        assertEquals(BIRTHDAY, first.getBirthday());
+        assertEquals("1", first.getSex());
+        assertEquals(Boolean.TRUE, first.getEnabled());
+
+        // 缺少的单元格按空值处理
+        Person sparse = rows.get(2).getData();
+        assertEquals("王五", sparse.getName());
+        assertNull(sparse.getBalance());
+        assertNull(sparse.getBirthday());
+    }
+
+    @Test
+    void testTitleRowOffset() throws IOException {
+        byte[] xlsx = write(XSSFWorkbook::new, 1);
+
+        List<Person> expected = new ExcelUtil<>(Person.class).importExcel(new ByteArrayInputStream(xlsx), 1);
+        List<ExcelRow<Person>> rows = stream(xlsx, 1, 100);
+
+        assertEquals(4, rows.size());
+        assertEquals(List.of(3, 4, 5, 7), rows.stream().map(ExcelRow::getRowNum).collect(Collectors.toList()));
+        for (int i = 0; i < expected.size(); i++) {
+            assertPerson(expected.get(i), rows.get(i).getData());
+        }
+    }
+
+    @Test
+    void testXlsFallsBackToUsermodel() throws IOException {
+        byte[] xls = write(HSSFWorkbook::new, 0);
+
+        List<Person> expected = new ExcelUtil<>(Person.class).importExcel(new ByteArrayInputStream(xls));
+        List<ExcelRow<Person>> rows = stream(xls, 0, 100);
+
+        assertEquals(expected.size(), rows.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertPerson(expected.get(i), rows.get(i).getData());
+        }
+    }
+
+    @Test
+    void testBatches() throws IOException {
+        byte[] xlsx = write(XSSFWorkbook::new, 0);
+
+        List<List<ExcelRow<Person>>> batches = new ArrayList<>();
+        new ExcelUtil<>(Person.class).importExcel(new ByteArrayInputStream(xlsx), 0, 3, batches::add);
+
+        assertEquals(List.of(3, 1), batches.stream().map(List::size).collect(Collectors.toList()));
+        assertEquals("赵六", batches.get(1).get(0).getData().getName());
+    }
+
+    @Test
+    void testConversionErrorOnlyAffectsRow() throws IOException {
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+        try (Workbook wb = new XSSFWorkbook()) {
+            Sheet sheet = wb.createSheet();
+            header(sheet.createRow(0));
+            person(wb, sheet.createRow(1), 1, "张三", 30);
+            Row bad = sheet.createRow(2);
+            bad.createCell(0).setCellValue(2);
+            bad.createCell(1).setCellValue("李四");
+            bad.createCell(2).setCellValue("三十");
+            person(wb, sheet.createRow(3), 3, "王五", 40);
+            wb.write(os);
+        }
+
+        List<ExcelRow<Person>> rows = stream(os.toByteArray(), 0, 100);
+
+        assertEquals(3, rows.size());
+        assertFalse(rows.get(0).hasError());
+        assertFalse(rows.get(2).hasError());
+        assertEquals(40, rows.get(2).getData().getAge());
+
+        ExcelRow<Person> row = rows.get(1);
+        assertEquals(3, row.getRowNum());
+        assertTrue(row.hasError());
+        assertTrue(row.getError().startsWith("年龄列数据格式不正确"), row.getError());
+        // 出错前已转换的字段保留，便于在错误信息中定位
+        assertEquals(2L, row.getData().getId());
+        assertEquals("李四", row.getData().getName());
+    }
+
+    @Test
+    void testEmptySheet() throws IOException {
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+        try (Workbook wb = new XSSFWorkbook()) {
+            header(wb.createSheet().createRow(0));
+            wb.write(os);
+        }
+
+        new ExcelUtil<>(Person.class).importExcel(new ByteArrayInputStream(os.toByteArray()), 0, 100,
+                batch -> fail("没有数据行时不应回调"));
+    }
+
+    private static List<ExcelRow<Person>> stream(byte[] data, int titleNum, int batchSize) {
+        List<ExcelRow<Person>> rows = new ArrayList<>();
+        new ExcelUtil<>(Person.class).importExcel(new ByteArrayInputStream(data), titleNum, batchSize, rows::addAll);
+        return rows;
+    }
+
+    /**
+     * 表头之后依次为完整行、另一完整行、缺少余额和生日的行、空行、完整行
+     */
+    private static byte[] write(Supplier<Workbook> factory, int titleNum) throws IOException {
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+        try (Workbook wb = factory.get()) {
+            Sheet sheet = wb.createSheet("人员");
+            if (titleNum > 0) {
+                sheet.createRow(0).createCell(0).setCellValue("人员名单");
+            }
+            header(sheet.createRow(titleNum));
+            person(wb, sheet.createRow(titleNum + 1), 1, "张三", 30);
+            person(wb, sheet.createRow(titleNum + 2), 2, "李四", 25);
+            Row sparse = sheet.createRow(titleNum + 3);
+            sparse.createCell(0).setCellValue(3);
+            sparse.createCell(1).setCellValue("王五");
+            sparse.createCell(2).setCellValue(41);
+            sparse.createCell(5).setCellValue("男");
+            sheet.createRow(titleNum + 4).createCell(1);
+            person(wb, sheet.createRow(titleNum + 5), 4, "赵六", 52);
+            wb.write(os);
+        }
+        return os.toByteArray();
+    }
+
+    private static void header(Row row) {
+        String[] names = { "编号", "姓名", "年龄", "余额", "生日", "性别", "启用" };
+        for (int i = 0; i < names.length; i++) {
+            row.createCell(i).setCellValue(names[i]);
+        }
+    }
+
+    private static void person(Workbook wb, Row row, long id, String name, int age) {
+        CellStyle dateStyle = wb.createCellStyle();
+        dateStyle.setDataFormat(wb.createDataFormat().getFormat("yyyy-MM-dd"));
+        row.createCell(0).setCellValue(id);
+        row.createCell(1).setCellValue(name);
+        row.createCell(2).setCellValue(age);
+        row.createCell(3).setCellValue(1234.5);
+        row.createCell(4).setCellValue(BIRTHDAY);
+        row.getCell(4).setCellStyle(dateStyle);
+        row.createCell(5).setCellValue("女");
+        row.createCell(6).setCellValue(true);
+    }
+
+    private static void assertPerson(Person expected, Person actual) {
+        assertEquals(expected.getId(), actual.getId());
+        assertEquals(expected.getName(), actual.getName());
+        assertEquals(expected.getAge(), actual.getAge());
+        assertEquals(expected.getBalance(), actual.getBalance());
+        assertEquals(expected.getBirthday(), actual.getBirthday());
+        assertEquals(expected.getSex(), actual.getSex());
+        assertEquals(expected.getEnabled(), actual.getEnabled());
+    }
+
+    public static class Person {
+        @Excel(name = "编号")
+        private Long id;
+
+        @Excel(name = "姓名")
+        private String name;
+
+        @Excel(name = "年龄")
+        private int age;
+
+        @Excel(name = "余额")
+        private BigDecimal balance;
+
+        @Excel(name = "生日", dateFormat = "yyyy-MM-dd")
+        private Date birthday;
+
+        @Excel(name = "性别", readConverterExp = "0=男,1=女")
+        private String sex;
+
+        @Excel(name = "启用")
+        private Boolean enabled;
+
+        public Long getId() {
+            return id;
+        }
+
+        public void setId(Long id) {
+            this.id = id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public int getAge() {
+            return age;
+        }
+
+        public void setAge(int age) {
+            this.age = age;
+        }
+
+        public BigDecimal getBalance() {
+            return balance;
+        }
+
+        public void setBalance(BigDecimal balance) {
+            this.balance = balance;
+        }
+
+        public Date getBirthday() {
+            return birthday;
+        }
+
+        public void setBirthday(Date birthday) {
+            this.birthday = birthday;
+        }
+
+        public String getSex() {
+            return sex;
+        }
+
+        public void setSex(String sex) {
+            this.sex = sex;
+        }
+
+        public Boolean getEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(Boolean enabled) {
+            this.enabled = enabled;
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package com.xypai.common.core.utils.poi;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * xlsx事件模式行读取测试类
+ * <p>
+ * 工作表XML手工编写，覆盖POI写出的文件中不会出现的内联字符串、省略 r 属性的行与单元格等情况。
+ *
+ * @author xypai
+ */
+class XlsxRowReaderTest {
+
+    private static final String MAIN_NS = "http://schemas.openxmlformats.org/spreadsheetml/2006/main";
+
+    private static final String REL_NS = "http://schemas.openxmlformats.org/officeDocument/2006/relationships";
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void testSharedAndInlineStrings() throws Exception {
+        File file = xlsx("<row r=\"1\">"
+                + "<c r=\"A1\" t=\"s\"><v>0</v></c>"
+                + "<c r=\"B1\" t=\"s\"><v>1</v></c>"
+                + "<c r=\"C1\" t=\"inlineStr\"><is><t>内联</t></is></c>"
+                + "<c r=\"D1\" t=\"inlineStr\"><is><r><t>富</t></r><r><t>文本</t></r></is></c>"
+                + "<c r=\"E1\" t=\"str\"><f>A1&amp;B1</f><v>姓名富文本</v></c>"
+                + "</row>");
+
+        Map<Integer, List<Object>> rows = read(file);
+
+        assertEquals(List.of("姓名", "富文本", "内联", "富文本", "姓名富文本"), rows.get(0));
+    }
+
+    @Test
+    void testNumericDateAndBoolean() throws Exception {
+        File file = xlsx("<row r=\"1\">"
+                + "<c r=\"A1\"><v>42</v></c>"
+                + "<c r=\"B1\" t=\"n\"><v>3.25</v></c>"
+                + "<c r=\"C1\" s=\"1\"><v>45292</v></c>"
+                + "<c r=\"D1\" s=\"2\"><v>45292.5</v></c>"
+                + "<c r=\"E1\" t=\"b\"><v>1</v></c>"
+                + "<c r=\"F1\" t=\"b\"><v>0</v></c>"
+                + "<c r=\"G1\" s=\"3\"><v>0.125</v></c>"
+                + "<c r=\"H1\"><v>1.0E10</v></c>"
+                + "</row>");
+
+        List<Object> cells = read(file).get(0);
+
+        // 整数不带小数点，小数为BigDecimal，与 ExcelUtil.getCellValue 一致
+        assertEquals("42", cells.get(0));
+        assertEquals(new BigDecimal("3.25"), cells.get(1));
+        // 内置日期格式14与自定义日期格式都按日期读取
+        assertEquals(date(LocalDateTime.of(2024, 1, 1, 0, 0)), cells.get(2));
+        assertEquals(date(LocalDateTime.of(2024, 1, 1, 12, 0)), cells.get(3));
+        assertEquals(Boolean.TRUE, cells.get(4));
+        assertEquals(Boolean.FALSE, cells.get(5));
+        // 百分比等非日期格式仍是数字
+        assertEquals(new BigDecimal("0.125"), cells.get(6));
+        assertEquals("10000000000", cells.get(7));
+    }
+
+    @Test
+    void testSparseCellsUseReferenceColumn() throws Exception {
+        File file = xlsx("<row r=\"1\"><c r=\"B1\" t=\"inlineStr\"><is><t>b</t></is></c><c r=\"D1\"><v>7</v></c></row>"
+                + "<row r=\"2\"><c r=\"A2\"><v>1</v></c><c r=\"C2\"/><c r=\"AB2\"><v>2</v></c></row>");
+
+        Map<Integer, List<Object>> rows = read(file);
+
+        assertEquals(Arrays.asList(null, "b", null, "7"), rows.get(0));
+        List<Object> second = rows.get(1);
+        assertEquals(28, second.size());
+        assertEquals("1", second.get(0));
+        assertTrue(second.subList(1, 27).stream().allMatch(cell -> cell == null), "空单元格与跳过的列为null");
+        assertEquals("2", second.get(27));
+    }
+
+    @Test
+    void testRowNumFromReference() throws Exception {
+        // 跳过的行不回调；缺少 r 属性的行与单元格顺延上一个
+        File file = xlsx("<row r=\"1\"><c r=\"A1\"><v>1</v></c></row>"
+                + "<row r=\"5\"><c r=\"C5\"><v>5</v></c></row>"
+                + "<row><c><v>6</v></c><c t=\"inlineStr\"><is><t>x</t></is></c><c r=\"E6\"><v>8</v></c><c><v>9</v></c></row>"
+                + "<row r=\"8\"/>");
+
+        Map<Integer, List<Object>> rows = read(file);
+
+        assertEquals(List.of(0, 4, 5, 7), List.copyOf(rows.keySet()));
+        assertEquals(Arrays.asList(null, null, "5"), rows.get(4));
+        assertEquals(Arrays.asList("6", "x", null, null, "8", "9"), rows.get(5));
+        assertTrue(rows.get(7).isEmpty());
+    }
+
+    @Test
+    void testCellsReusedBetweenRows() throws Exception {
+        File file = xlsx("<row r=\"1\"><c r=\"A1\"><v>1</v></c><c r=\"B1\"><v>2</v></c></row>"
+                + "<row r=\"2\"><c r=\"B2\"><v>3</v></c></row>");
+
+        Map<Integer, List<Object>> rows = read(file);
+
+        // 上一行的值不会残留到下一行
+        assertEquals(Arrays.asList(null, "3"), rows.get(1));
+    }
+
+    @Test
+    void testSheetByName() throws Exception {
+        File file = xlsx("<row r=\"1\"><c r=\"A1\"><v>1</v></c></row>");
+
+        List<Integer> rowNums = new ArrayList<>();
+        XlsxRowReader.read(file, "Sheet1", (rowNum, cells) -> rowNums.add(rowNum));
+        assertEquals(List.of(0), rowNums);
+
+        assertThrows(IOException.class, () -> XlsxRowReader.read(file, "不存在", (rowNum, cells) -> fail("不应读取任何行")));
+    }
+
+    private static Map<Integer, List<Object>> read(File file) throws Exception {
+        Map<Integer, List<Object>> rows = new LinkedHashMap<>();
+        XlsxRowReader.read(file, null, (rowNum, cells) -> rows.put(rowNum, new ArrayList<>(cells)));
+        return rows;
+    }
+
+    private static Date date(LocalDateTime time) {
+        return Date.from(time.atZone(ZoneId.systemDefault()).toInstant());
+    }
+
+    /**
+     * 生成只有一个工作表的最小xlsx，共享字符串为“姓名”和由两段组成的“富文本”，
+     * 样式1为内置日期格式14，样式2为自定义日期时间格式，样式3为百分比
+     */
+    private File xlsx(String sheetData) throws IOException {
+        Path file = dir.resolve("test.xlsx");
+        try (OutputStream os = Files.newOutputStream(file); ZipOutputStream zip = new ZipOutputStream(os)) {
+            entry(zip, "[Content_Types].xml", "<Types xmlns=\"http://schemas.openxmlformats.org/package/2006/content-types\">"
+                    + "<Default Extension=\"rels\" ContentType=\"application/vnd.openxmlformats-package.relationships+xml\"/>"
+                    + "<Default Extension=\"xml\" ContentType=\"application/xml\"/>"
+                    + "<Override PartName=\"/xl/workbook.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.sheet.main+xml\"/>"
+                    + "<Override PartName=\"/xl/worksheets/sheet1.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.worksheet+xml\"/>"
+                    + "<Override PartName=\"/xl/sharedStrings.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.sharedStrings+xml\"/>"
+                    + "<Override PartName=\"/xl/styles.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.styles+xml\"/>"
+                    + "</Types>");
+            entry(zip, "_rels/.rels", "<Relationships xmlns=\"http://schemas.openxmlformats.org/package/2006/relationships\">"
+                    + "<Relationship Id=\"rId1\" Type=\"" + REL_NS + "/officeDocument\" Target=\"xl/workbook.xml\"/>"
+                    + "</Relationships>");
+            entry(zip, "xl/workbook.xml", "<workbook xmlns=\"" + MAIN_NS + "\" xmlns:r=\"" + REL_NS + "\">"
+                    + "<sheets><sheet name=\"Sheet1\" sheetId=\"1\" r:id=\"rId1\"/></sheets></workbook>");
+            entry(zip, "xl/_rels/workbook.xml.rels", "<Relationships xmlns=\"http://schemas.openxmlformats.org/package/2006/relationships\">"
+                    + "<Relationship Id=\"rId1\" Type=\"" + REL_NS + "/worksheet\" Target=\"worksheets/sheet1.xml\"/>"
+                    + "<Relationship Id=\"rId2\" Type=\"" + REL_NS + "/sharedStrings\" Target=\"sharedStrings.xml\"/>"
+                    + "<Relationship Id=\"rId3\" Type=\"" + REL_NS + "/styles\" Target=\"styles.xml\"/>"
+                    + "</Relationships>");
+            entry(zip, "xl/sharedStrings.xml", "<sst xmlns=\"" + MAIN_NS + "\" count=\"2\" uniqueCount=\"2\">"
+                    + "<si><t>姓名</t></si><si><r><t>富</t></r><r><t>文本</t></r></si></sst>");
+            entry(zip, "xl/styles.xml", "<styleSheet xmlns=\"" + MAIN_NS + "\">"
+                    + "<numFmts count=\"1\"><numFmt numFmtId=\"164\" formatCode=\"yyyy-mm-dd hh:mm\"/></numFmts>"
+                    + "<fonts count=\"1\"><font/></fonts><fills count=\"1\"><fill/></fills><borders count=\"1\"><border/></borders>"
+                    + "<cellStyleXfs count=\"1\"><xf numFmtId=\"0\"/></cellStyleXfs>"
+                    + "<cellXfs count=\"4\"><xf numFmtId=\"0\" xfId=\"0\"/><xf numFmtId=\"14\" xfId=\"0\"/>"
+                    + "<xf numFmtId=\"164\" xfId=\"0\"/><xf numFmtId=\"10\" xfId=\"0\"/></cellXfs>"
+                    + "</styleSheet>");
+            entry(zip, "xl/worksheets/sheet1.xml", "<worksheet xmlns=\"" + MAIN_NS + "\"><sheetData>" + sheetData + "</sheetData></worksheet>");
+        }
+        return file.toFile();
+    }
+
+    private static void entry(ZipOutputStream zip, String name, String xml) throws IOException {
+        zip.putNextEntry(new ZipEntry(name));
+        zip.write(("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>" + xml).getBytes(StandardCharsets.UTF_8));
+        zip.closeEntry();
+    }
+}
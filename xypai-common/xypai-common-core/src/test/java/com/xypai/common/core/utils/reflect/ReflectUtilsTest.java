@@ -0,0 +1,288 @@
+package com.xypai.common.core.utils.reflect;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 反射工具测试类
+ * <p>
+ * 方法查找与逐级调用 getDeclaredMethod/getDeclaredMethods 的原实现比较，getter 与 Method.invoke 比较。
+ *
+ * @author xypai
+ */
+class ReflectUtilsTest {
+
+    private static final List<Object> TARGETS = List.of(new Child(), new Base(), new Hidden(), new StringBox());
+
+    @Test
+    void testGetAccessibleMethodSameAsDeclaredWalk() {
+        Class<?>[][] signatures = { {}, { String.class }, { int.class }, { Integer.class }, { Object.class }, { String.class, int.class } };
+        String[] names = { "getName", "setName", "overloaded", "inherited", "privateBase", "getValue", "setValue", "missing" };
+        for (Object target : TARGETS) {
+            for (String name : names) {
+                for (Class<?>[] types : signatures) {
+                    assertEquals(declaredWalk(target, name, types), ReflectUtils.getAccessibleMethod(target, name, types),
+                            target.getClass().getSimpleName() + "." + name);
+                }
+            }
+            assertEquals(declaredWalk(target, "getName", new Class<?>[0]), ReflectUtils.getAccessibleMethod(target, "getName", (Class<?>[]) null));
+        }
+        assertNull(ReflectUtils.getAccessibleMethod(null, "getName"));
+    }
+
+    @Test
+    void testCovariantAndBridgeReturnTypes() {
+        // 重写时收窄了返回类型，取返回类型最具体的方法而不是桥接方法
+        Method child = ReflectUtils.getAccessibleMethod(new Child(), "getValue");
+        assertEquals(Child.class, child.getDeclaringClass());
+        assertEquals(String.class, child.getReturnType());
+        assertFalse(child.isBridge());
+
+        Method box = ReflectUtils.getAccessibleMethod(new StringBox(), "getValue");
+        assertEquals(String.class, box.getReturnType());
+        assertFalse(box.isBridge());
+    }
+
+    @Test
+    void testGetAccessibleMethodByNameSameAsDeclaredWalk() {
+        String[] names = { "getName", "setName", "overloaded", "inherited", "privateBase", "getValue", "setValue", "missing" };
+        for (Object target : TARGETS) {
+            for (String name : names) {
+                for (int argsNum = 0; argsNum < 3; argsNum++) {
+                    assertEquals(declaredWalkByName(target, name, argsNum), ReflectUtils.getAccessibleMethodByName(target, name, argsNum),
+                            target.getClass().getSimpleName() + "." + name + "/" + argsNum);
+                }
+            }
+        }
+        assertNull(ReflectUtils.getAccessibleMethodByName(null, "getName", 0));
+    }
+
+    @Test
+    void testPrivateSuperclassMethodAccessible() throws Exception {
+        Method method = ReflectUtils.getAccessibleMethod(new Child(), "privateBase");
+        assertEquals(Base.class, method.getDeclaringClass());
+        assertEquals("base", method.invoke(new Child()));
+    }
+
+    @Test
+    void testInvokeGetterSameAsMethodInvoke() throws Exception {
+        Child child = new Child();
+        child.setName("子");
+        child.setCount(3);
+        child.setParent(new Child());
+        child.getParent().setName("父");
+
+        for (String name : new String[] { "name", "count", "active", "value", "parent" }) {
+            Method method = declaredWalk(child, "get" + Character.toUpperCase(name.charAt(0)) + name.substring(1), new Class<?>[0]);
+            assertEquals(method.invoke(child), ReflectUtils.invokeGetter(child, name), name);
+        }
+        // 非公共类中声明的 getter
+        Hidden hidden = new Hidden();
+        assertEquals("hidden", ReflectUtils.invokeGetter(hidden, "name"));
+        assertEquals(7L, (Long) ReflectUtils.invokeGetter(hidden, "id"));
+    }
+
+    @Test
+    void testInvokeGetterNested() {
+        Child child = new Child();
+        child.setParent(new Child());
+        child.getParent().setName("父");
+
+        assertEquals("父", ReflectUtils.invokeGetter(child, "parent.name"));
+        // 中间对象为null或没有该属性时返回null
+        assertNull(ReflectUtils.invokeGetter(new Child(), "parent.name"));
+        assertNull(ReflectUtils.invokeGetter(child, "missing"));
+        assertNull(ReflectUtils.invokeGetter(child, "missing.name"));
+    }
+
+    @Test
+    void testInvokeGetterPropagatesException() {
+        RuntimeException e = assertThrows(RuntimeException.class, () -> ReflectUtils.invokeGetter(new Child(), "failing"));
+        assertTrue(e.getMessage().startsWith("method: "), e.getMessage());
+        assertInstanceOf(IllegalStateException.class, e.getCause());
+    }
+
+    @Test
+    void testInvokeSetter() {
+        Child child = new Child();
+        child.setParent(new Child());
+
+        ReflectUtils.invokeSetter(child, "name", "子");
+        ReflectUtils.invokeSetter(child, "parent.name", "父");
+
+        assertEquals("子", child.getName());
+        assertEquals("父", child.getParent().getName());
+    }
+
+    @Test
+    void testMethodAccessors() throws Exception {
+        Method getter = Hidden.class.getDeclaredMethod("getId");
+        Method setter = Child.class.getMethod("setCount", int.class);
+        Function<Object, Object> get = MethodAccessors.getter(getter);
+        BiConsumer<Object, Object> set = MethodAccessors.setter(setter);
+        Child child = new Child();
+
+        assertEquals(getter.invoke(new Hidden()), get.apply(new Hidden()));
+        set.accept(child, 5);
+        assertEquals(5, child.getCount());
+        // 基本类型参数传入null
+        assertThrows(NullPointerException.class, () -> set.accept(child, null));
+        // 静态方法退回 Method.invoke
+        Function<Object, Object> staticGetter = MethodAccessors.getter(Child.class.getMethod("staticName"));
+        assertEquals("static", staticGetter.apply(null));
+        // 目标方法的异常原样抛出
+        Function<Object, Object> failing = MethodAccessors.getter(Child.class.getMethod("getFailing"));
+        assertThrows(IllegalStateException.class, () -> failing.apply(child));
+    }
+
+    /**
+     * 原 getAccessibleMethod：逐级调用 getDeclaredMethod
+     */
+    private static Method declaredWalk(Object obj, String methodName, Class<?>[] parameterTypes) {
+        for (Class<?> searchType = obj.getClass(); searchType != Object.class; searchType = searchType.getSuperclass()) {
+            try {
+                return searchType.getDeclaredMethod(methodName, parameterTypes);
+            } catch (NoSuchMethodException e) {
+                continue;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 原 getAccessibleMethodByName：逐级取 getDeclaredMethods 中第一个名称与参数个数相同的方法
+     */
+    private static Method declaredWalkByName(Object obj, String methodName, int argsNum) {
+        for (Class<?> searchType = obj.getClass(); searchType != Object.class; searchType = searchType.getSuperclass()) {
+            for (Method method : searchType.getDeclaredMethods()) {
+                if (method.getName().equals(methodName) && method.getParameterTypes().length == argsNum) {
+                    return method;
+                }
+            }
+        }
+        return null;
+    }
+
+    public static class Base {
+        private String name;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public Object getValue() {
+            return "base";
+        }
+
+        public String inherited(String value) {
+            return value;
+        }
+
+        public String overloaded(Object value) {
+            return "object";
+        }
+
+        private String privateBase() {
+            return "base";
+        }
+    }
+
+    public static class Child extends Base {
+        private int count;
+        private boolean active;
+        private Child parent;
+
+        public static String staticName() {
+            return "static";
+        }
+
+        @Override
+        public String getValue() {
+            return "child";
+        }
+
+        public String overloaded(String value) {
+            return "string";
+        }
+
+        public String overloaded(int value) {
+            return "int";
+        }
+
+        public String overloaded(Integer value) {
+            return "integer";
+        }
+
+        public String overloaded(String value, int times) {
+            return "two";
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public void setCount(int count) {
+            this.count = count;
+        }
+
+        public boolean getActive() {
+            return active;
+        }
+
+        public Child getParent() {
+            return parent;
+        }
+
+        public void setParent(Child parent) {
+            this.parent = parent;
+        }
+
+        public String getFailing() {
+            throw new IllegalStateException("failing");
+        }
+    }
+
+    private static class Hidden extends Base {
+        private Hidden() {
+            setName("hidden");
+        }
+
+        private Long getId() {
+            return 7L;
+        }
+    }
+
+    public static class Box<T> {
+        private T value;
+
+        public T getValue() {
+            return value;
+        }
+
+        public void setValue(T value) {
+            this.value = value;
+        }
+    }
+
+    public static class StringBox extends Box<String> {
+        @Override
+        public String getValue() {
+            return "box";
+        }
+
+        @Override
+        public void setValue(String value) {
+            super.setValue(value);
+        }
+    }
+}
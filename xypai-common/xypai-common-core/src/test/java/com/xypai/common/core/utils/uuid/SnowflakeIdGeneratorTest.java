@@ -0,0 +1,118 @@
+package com.xypai.common.core.utils.uuid;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 雪花算法ID生成器测试类
+ *
+ * @author xypai
+ */
+class SnowflakeIdGeneratorTest {
+
+    private static final long NOW = 1760000000000L;
+
+    @Test
+    void testLayout() {
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(513, 0, 1000, () -> NOW);
+        long first = generator.nextId();
+        long second = generator.nextId();
+        assertEquals(NOW, SnowflakeIdGenerator.parseTimestamp(first));
+        assertEquals(513, SnowflakeIdGenerator.parseWorkerId(first));
+        assertEquals(first + 1, second);
+        assertTrue(first > 0);
+    }
+
+    @Test
+    void testSequenceOverflowWaitsForNextMillisecond() {
+        // 每调用10000次时钟前进1毫秒
+        AtomicLong calls = new AtomicLong();
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(1, 0, 1000, () -> NOW + calls.incrementAndGet() / 10000);
+        long previous = 0;
+        int[] perMillis = new int[8];
+        for (int i = 0; i < 4096 * 3; i++) {
+            long id = generator.nextId();
+            assertTrue(id > previous);
+            assertEquals(1, SnowflakeIdGenerator.parseWorkerId(id));
+            perMillis[(int) (SnowflakeIdGenerator.parseTimestamp(id) - NOW)]++;
+            previous = id;
+        }
+        for (int count : perMillis) {
+            assertTrue(count <= 4096);
+        }
+    }
+
+    @Test
+    void testClockRollbackBorrowsFollowingMilliseconds() {
+        AtomicLong clock = new AtomicLong(NOW);
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(1, 0, 1000, clock::get);
+        generator.nextId();
+        clock.set(NOW - 500);
+        long previous = 0;
+        for (int i = 0; i < 4096 * 2; i++) {
+            long id = generator.nextId();
+            assertTrue(id > previous);
+            previous = id;
+        }
+        assertEquals(NOW + 2, SnowflakeIdGenerator.parseTimestamp(previous));
+    }
+
+    @Test
+    void testClockRollback() {
+        AtomicLong clock = new AtomicLong(NOW);
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(1, 0, 1000, clock::get);
+        long before = generator.nextId();
+
+        clock.set(NOW - 500);
+        long during = generator.nextId();
+        assertTrue(during > before);
+        assertEquals(NOW, SnowflakeIdGenerator.parseTimestamp(during));
+
+        clock.set(NOW + 1);
+        assertEquals(NOW + 1, SnowflakeIdGenerator.parseTimestamp(generator.nextId()));
+
+        clock.set(NOW - 5000);
+        assertThrows(IllegalStateException.class, generator::nextId);
+    }
+
+    @Test
+    void testStartTimestamp() {
+        // 切换工作节点后时钟落后于已发出的ID
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(2, NOW, 1000, () -> NOW - 100);
+        assertEquals(NOW + 1, SnowflakeIdGenerator.parseTimestamp(generator.nextId()));
+        assertThrows(IllegalArgumentException.class, () -> new SnowflakeIdGenerator(1024));
+    }
+
+    @Test
+    void testConcurrentIdsAreUnique() throws Exception {
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(7);
+        int threads = 8;
+        int perThread = 100000;
+        ConcurrentHashMap<Long, Boolean> ids = new ConcurrentHashMap<>(threads * perThread * 2);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            executor.execute(() -> {
+                long previous = 0;
+                for (int i = 0; i < perThread; i++) {
+                    long id = generator.nextId();
+                    assertTrue(id > previous);
+                    previous = id;
+                    ids.put(id, Boolean.TRUE);
+                }
+                done.countDown();
+            });
+        }
+        assertTrue(done.await(60, TimeUnit.SECONDS));
+        executor.shutdown();
+        assertEquals(threads * perThread, ids.size());
+    }
+}
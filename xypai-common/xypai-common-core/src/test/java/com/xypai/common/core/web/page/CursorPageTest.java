@@ -0,0 +1,74 @@
+package com.xypai.common.core.web.page;
+
+import com.xypai.common.core.exception.ServiceException;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 游标分页测试类
+ *
+ * @author xypai
+ */
+class CursorPageTest {
+
+    @Test
+    void testTokenRoundTrip() {
+        LocalDateTime time = LocalDateTime.of(2025, 6, 1, 12, 30, 45, 123000000);
+        Date date = new Date(1748752245123L);
+        String token = CursorToken.encode(time, 1930000000000000001L, date, new BigDecimal("-12.50"), "a,b=c 中文", 7);
+
+        assertFalse(token.contains("=") || token.contains("+") || token.contains("/"));
+        CursorToken cursor = CursorToken.decode(token);
+        assertEquals(6, cursor.size());
+        assertEquals(time, cursor.get(0, LocalDateTime.class));
+        assertEquals(1930000000000000001L, cursor.get(1, Long.class));
+        assertEquals(date, cursor.get(2));
+        assertEquals(new BigDecimal("-12.50"), cursor.get(3));
+        assertEquals("a,b=c 中文", cursor.get(4));
+        assertEquals(7L, cursor.get(5));
+    }
+
+    @Test
+    void testInvalidToken() {
+        assertNull(CursorToken.decode(null));
+        assertNull(CursorToken.decode(""));
+        assertThrows(ServiceException.class, () -> CursorToken.decode("not base64!"));
+        assertThrows(ServiceException.class, () -> CursorToken.decode("WDEyMw"));
+        assertThrows(ServiceException.class, () -> CursorToken.decode("x".repeat(600)));
+        CursorToken cursor = CursorToken.decode(CursorToken.encode(1L));
+        assertThrows(ServiceException.class, () -> cursor.get(0, LocalDateTime.class));
+        assertThrows(IllegalArgumentException.class, () -> CursorToken.encode((Object) null));
+    }
+
+    @Test
+    void testPageTrimsExtraRow() {
+        CursorRequest request = CursorRequest.of(null, 3);
+        assertTrue(request.isFirstPage());
+        assertEquals(4, request.getFetchSize());
+
+        CursorPage<Long> page = CursorPage.of(List.of(10L, 9L, 8L, 7L), request, id -> new Object[] { id });
+        assertEquals(List.of(10L, 9L, 8L), page.getRows());
+        assertTrue(page.isHasMore());
+        assertNull(page.getTotal());
+        assertEquals(8L, CursorToken.decode(page.getNextCursor()).get(0));
+
+        CursorPage<String> last = CursorPage.of(List.of(2L, 1L), request, id -> new Object[] { id }).convert(
+                rows -> rows.stream().map(String::valueOf).toList());
+        assertEquals(List.of("2", "1"), last.getRows());
+        assertFalse(last.isHasMore());
+        assertNull(last.getNextCursor());
+        assertEquals(200, last.getCode());
+    }
+
+    @Test
+    void testPageSizeBounds() {
+        assertEquals(1, CursorRequest.of(null, 0).getPageSize());
+        assertEquals(CursorRequest.MAX_PAGE_SIZE, CursorRequest.of(null, 100000).getPageSize());
+    }
+}
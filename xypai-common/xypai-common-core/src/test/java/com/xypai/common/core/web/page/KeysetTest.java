@@ -0,0 +1,153 @@
+package com.xypai.common.core.web.page;
+
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
+import com.xypai.common.core.exception.ServiceException;
+import org.apache.ibatis.builder.MapperBuilderAssistant;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 游标分页条件构造测试类
+ *
+ * @author xypai
+ */
+class KeysetTest {
+
+    private static final LocalDateTime TIME = LocalDateTime.of(2025, 6, 1, 12, 0);
+
+    @BeforeAll
+    static void initTableInfo() {
+        TableInfoHelper.initTableInfo(new MapperBuilderAssistant(new MybatisConfiguration(), ""), Item.class);
+    }
+
+    @Test
+    void testFirstPageOnlyOrdersAndLimits() {
+        LambdaQueryWrapper<Item> wrapper = new LambdaQueryWrapper<Item>().eq(Item::getUserId, 7L);
+        Keyset.desc(Item::getCreatedAt, Item::getId).apply(wrapper, CursorRequest.of(null, 10));
+
+        assertEquals("(user_id = #{ew.paramNameValuePairs.MPGENVAL1}) ORDER BY created_at DESC,id DESC limit 11",
+                wrapper.getSqlSegment());
+        assertEquals(Map.of("MPGENVAL1", 7L), wrapper.getParamNameValuePairs());
+    }
+
+    @Test
+    void testSingleColumnAsc() {
+        LambdaQueryWrapper<Item> wrapper = new LambdaQueryWrapper<>();
+        Keyset.asc(Item::getId).apply(wrapper, CursorRequest.of(CursorToken.encode(5L), 2));
+
+        assertEquals("(((id > #{ew.paramNameValuePairs.MPGENVAL1}))) ORDER BY id ASC limit 3", wrapper.getSqlSegment());
+        assertEquals(Map.of("MPGENVAL1", 5L), wrapper.getParamNameValuePairs());
+    }
+
+    @Test
+    void testSingleColumnDescWithEq() {
+        LambdaQueryWrapper<Item> wrapper = new LambdaQueryWrapper<Item>().eq(Item::getUserId, 7L);
+        Keyset.desc(Item::getId).apply(wrapper, CursorRequest.of(CursorToken.encode(100L), 20));
+
+        assertEquals("(user_id = #{ew.paramNameValuePairs.MPGENVAL1} AND ((id < #{ew.paramNameValuePairs.MPGENVAL2})))"
+                + " ORDER BY id DESC limit 21", wrapper.getSqlSegment());
+        assertEquals(Map.of("MPGENVAL1", 7L, "MPGENVAL2", 100L), wrapper.getParamNameValuePairs());
+    }
+
+    @Test
+    void testTwoColumnsDescNestedWithEqAndBetween() {
+        LambdaQueryWrapper<Item> wrapper = new LambdaQueryWrapper<Item>().eq(Item::getUserId, 7L)
+                .between(Item::getCreatedAt, TIME.minusDays(7), TIME);
+        Keyset.desc(Item::getCreatedAt, Item::getId).apply(wrapper, CursorRequest.of(CursorToken.encode(TIME, 42L), 10));
+
+        // 游标条件的 or 整体放在括号内，不会与已有的 eq/between 条件混在一起
+        assertEquals("(user_id = #{ew.paramNameValuePairs.MPGENVAL1}"
+                + " AND created_at BETWEEN #{ew.paramNameValuePairs.MPGENVAL2} AND #{ew.paramNameValuePairs.MPGENVAL3}"
+                + " AND ((created_at < #{ew.paramNameValuePairs.MPGENVAL4})"
+                + " OR (created_at = #{ew.paramNameValuePairs.MPGENVAL5} AND id < #{ew.paramNameValuePairs.MPGENVAL6})))"
+                + " ORDER BY created_at DESC,id DESC limit 11", wrapper.getSqlSegment());
+        assertEquals(Map.of("MPGENVAL1", 7L, "MPGENVAL2", TIME.minusDays(7), "MPGENVAL3", TIME,
+                "MPGENVAL4", TIME, "MPGENVAL5", TIME, "MPGENVAL6", 42L), wrapper.getParamNameValuePairs());
+    }
+
+    @Test
+    void testTwoColumnsAscWithNestedOr() {
+        LambdaQueryWrapper<Item> wrapper = new LambdaQueryWrapper<Item>()
+                .and(w -> w.eq(Item::getUserId, 7L).or().eq(Item::getUserId, 8L));
+        Keyset.asc(Item::getCreatedAt, Item::getId).apply(wrapper, CursorRequest.of(CursorToken.encode(TIME, 42L), 5));
+
+        assertEquals("((user_id = #{ew.paramNameValuePairs.MPGENVAL1} OR user_id = #{ew.paramNameValuePairs.MPGENVAL2})"
+                + " AND ((created_at > #{ew.paramNameValuePairs.MPGENVAL3})"
+                + " OR (created_at = #{ew.paramNameValuePairs.MPGENVAL4} AND id > #{ew.paramNameValuePairs.MPGENVAL5})))"
+                + " ORDER BY created_at ASC,id ASC limit 6", wrapper.getSqlSegment());
+        assertEquals(Map.of("MPGENVAL1", 7L, "MPGENVAL2", 8L, "MPGENVAL3", TIME, "MPGENVAL4", TIME, "MPGENVAL5", 42L),
+                wrapper.getParamNameValuePairs());
+    }
+
+    @Test
+    void testTopLevelOrIsRejected() {
+        LambdaQueryWrapper<Item> wrapper = new LambdaQueryWrapper<Item>().eq(Item::getUserId, 7L).or().eq(Item::getUserId, 8L);
+        assertThrows(IllegalArgumentException.class,
+                () -> Keyset.asc(Item::getId).apply(wrapper, CursorRequest.of(CursorToken.encode(5L), 2)));
+    }
+
+    @Test
+    void testCursorColumnMismatch() {
+        Keyset<Item> keyset = Keyset.desc(Item::getCreatedAt, Item::getId);
+        CursorRequest request = CursorRequest.of(CursorToken.encode(42L), 10);
+        assertThrows(ServiceException.class, () -> keyset.apply(new LambdaQueryWrapper<>(), request));
+    }
+
+    @Test
+    void testPageUsesLastRowKeys() {
+        Keyset<Item> keyset = Keyset.desc(Item::getCreatedAt, Item::getId);
+        CursorRequest request = CursorRequest.of(null, 2);
+        CursorPage<Item> page = keyset.page(List.of(new Item(3L, TIME), new Item(2L, TIME), new Item(1L, TIME)), request);
+
+        assertEquals(2, page.getRows().size());
+        CursorToken next = CursorToken.decode(page.getNextCursor());
+        assertEquals(TIME, next.get(0, LocalDateTime.class));
+        assertEquals(2L, next.get(1));
+    }
+
+    public static class Item {
+        private Long id;
+        private Long userId;
+        private LocalDateTime createdAt;
+
+        public Item() {
+        }
+
+        Item(Long id, LocalDateTime createdAt) {
+            this.id = id;
+            this.createdAt = createdAt;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public void setId(Long id) {
+            this.id = id;
+        }
+
+        public Long getUserId() {
+            return userId;
+        }
+
+        public void setUserId(Long userId) {
+            this.userId = userId;
+        }
+
+        public LocalDateTime getCreatedAt() {
+            return createdAt;
+        }
+
+        public void setCreatedAt(LocalDateTime createdAt) {
+            this.createdAt = createdAt;
+        }
+    }
+}
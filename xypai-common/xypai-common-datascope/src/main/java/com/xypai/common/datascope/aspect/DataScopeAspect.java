@@ -1,10 +1,15 @@
 package com.xypai.common.datascope.aspect;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Before;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import com.xypai.common.core.constant.UserConstants;
 import com.xypai.common.core.context.SecurityContextHolder;
@@ -12,6 +17,7 @@ import com.xypai.common.core.text.Convert;
 import com.xypai.common.core.utils.StringUtils;
 import com.xypai.common.core.web.domain.BaseEntity;
 import com.xypai.common.datascope.annotation.DataScope;
+import com.xypai.common.datascope.service.DataScopeDeptCache;
 import com.xypai.common.security.utils.SecurityUtils;
 import com.xypai.system.api.domain.SysRole;
 import com.xypai.system.api.domain.SysUser;
@@ -56,6 +62,25 @@ public class DataScopeAspect
      */
     public static final String DATA_SCOPE = "dataScope";
 
+    /**
+     * SQL片段缓存的最大条数，超过后整体清空
+     */
+    private static final int MAX_CACHED_FRAGMENTS = 4096;
+
+    /**
+     * SQL片段缓存，键由用户部门、别名及各角色的数据范围组成，相同组合生成的SQL相同
+     */
+    private static final Map<String, String> FRAGMENT_CACHE = new ConcurrentHashMap<String, String>();
+
+    @Autowired(required = false)
+    private DataScopeDeptCache deptCache;
+
+    /**
+     * 是否预先查出部门ID集合，以 dept_id IN (...) 代替 sys_role_dept、sys_dept 子查询
+     */
+    @Value("${xypai.datascope.resolve-dept-ids:false}")
+    private boolean resolveDeptIds;
+
     @Before("@annotation(controllerDataScope)")
     public void doBefore(JoinPoint point, DataScope controllerDataScope) throws Throwable
     {
@@ -74,7 +99,8 @@ public class DataScopeAspect
             if (StringUtils.isNotNull(currentUser) && !currentUser.isAdmin())
             {
                 String permission = StringUtils.defaultIfEmpty(controllerDataScope.permission(), SecurityContextHolder.getPermission());
-                dataScopeFilter(joinPoint, currentUser, controllerDataScope.deptAlias(), controllerDataScope.userAlias(), permission);
+                DataScopeDeptCache resolver = resolveDeptIds && deptCache != null && deptCache.isAvailable() ? deptCache : null;
+                dataScopeFilter(joinPoint, currentUser, controllerDataScope.deptAlias(), controllerDataScope.userAlias(), permission, resolver);
             }
         }
     }
@@ -89,14 +115,66 @@ public class DataScopeAspect
      * @param permission 权限字符
      */
     public static void dataScopeFilter(JoinPoint joinPoint, SysUser user, String deptAlias, String userAlias, String permission)
+    {
+        dataScopeFilter(joinPoint, user, deptAlias, userAlias, permission, null);
+    }
+
+    /**
+     * 数据范围过滤
+     * 
+     * @param deptCache 部门集合缓存，为空时使用子查询
+     */
+    private static void dataScopeFilter(JoinPoint joinPoint, SysUser user, String deptAlias, String userAlias, String permission,
+            DataScopeDeptCache deptCache)
+    {
+        Object params = joinPoint.getArgs()[0];
+        if (!(params instanceof BaseEntity))
+        {
+            return;
+        }
+        String[] permissions = Convert.toStrArray(permission);
+        // 部门集合变更时版本号递增，缓存键随之改变；使用子查询时为-1
+        long version = deptCache == null ? -1 : deptCache.getVersion();
+        StringBuilder key = new StringBuilder(64);
+        key.append(version).append('|').append(user.getUserId()).append('|').append(user.getDeptId())
+                .append('|').append(deptAlias).append('|').append(userAlias);
+        for (SysRole role : user.getRoles())
+        {
+            key.append('|').append(role.getRoleId()).append(',').append(role.getDataScope()).append(',').append(role.getStatus())
+                    .append(',').append(StringUtils.containsAny(role.getPermissions(), permissions) ? '1' : '0');
+        }
+        String cacheKey = key.toString();
+        String sql = FRAGMENT_CACHE.get(cacheKey);
+        if (sql == null)
+        {
+            sql = buildDataScope(user, deptAlias, userAlias, permissions, deptCache, version);
+            if (FRAGMENT_CACHE.size() >= MAX_CACHED_FRAGMENTS)
+            {
+                FRAGMENT_CACHE.clear();
+            }
+            FRAGMENT_CACHE.put(cacheKey, sql);
+        }
+        if (StringUtils.isNotEmpty(sql))
+        {
+            ((BaseEntity) params).getParams().put(DATA_SCOPE, sql);
+        }
+    }
+
+    /**
+     * 生成数据范围SQL
+     * 
+     * @return 以 AND 开头的SQL片段，不限制时为空字符串
+     */
+    private static String buildDataScope(SysUser user, String deptAlias, String userAlias, String[] permissions,
+            DataScopeDeptCache deptCache, long version)
     {
         StringBuilder sqlString = new StringBuilder();
         List<String> conditions = new ArrayList<String>();
-        List<String> scopeCustomIds = new ArrayList<String>();
+        List<Long> scopeCustomIds = new ArrayList<Long>();
         user.getRoles().forEach(role -> {
-            if (DATA_SCOPE_CUSTOM.equals(role.getDataScope()) && StringUtils.equals(role.getStatus(), UserConstants.ROLE_NORMAL) && StringUtils.containsAny(role.getPermissions(), Convert.toStrArray(permission)))
+            if (DATA_SCOPE_CUSTOM.equals(role.getDataScope()) && StringUtils.equals(role.getStatus(), UserConstants.ROLE_NORMAL) && StringUtils.containsAny(role.getPermissions(), permissions))
             {
-                scopeCustomIds.add(Convert.toStr(role.getRoleId()));
+                scopeCustomIds.add(role.getRoleId());
             }
         });
 
@@ -107,7 +185,7 @@ public class DataScopeAspect
             {
                 continue;
             }
-            if (!StringUtils.containsAny(role.getPermissions(), Convert.toStrArray(permission)))
+            if (!StringUtils.containsAny(role.getPermissions(), permissions))
             {
                 continue;
             }
@@ -119,10 +197,15 @@ public class DataScopeAspect
             }
             else if (DATA_SCOPE_CUSTOM.equals(dataScope))
             {
-                if (scopeCustomIds.size() > 1)
+                // 多个自定数据权限使用in查询，避免多次拼接。
+                List<Long> roleIds = scopeCustomIds.size() > 1 ? scopeCustomIds : Collections.singletonList(role.getRoleId());
+                if (deptCache != null)
+                {
+                    appendDeptIds(sqlString, deptAlias, deptCache.getCustomDeptIds(version, roleIds));
+                }
+                else if (roleIds.size() > 1)
                 {
-                    // 多个自定数据权限使用in查询，避免多次拼接。
-                    sqlString.append(StringUtils.format(" OR {}.dept_id IN ( SELECT dept_id FROM sys_role_dept WHERE role_id in ({}) ) ", deptAlias, String.join(",", scopeCustomIds)));
+                    sqlString.append(StringUtils.format(" OR {}.dept_id IN ( SELECT dept_id FROM sys_role_dept WHERE role_id in ({}) ) ", deptAlias, StringUtils.join(roleIds, ",")));
                 }
                 else
                 {
@@ -135,7 +218,14 @@ public class DataScopeAspect
             }
             else if (DATA_SCOPE_DEPT_AND_CHILD.equals(dataScope))
             {
-                sqlString.append(StringUtils.format(" OR {}.dept_id IN ( SELECT dept_id FROM sys_dept WHERE dept_id = {} or find_in_set( {} , ancestors ) )", deptAlias, user.getDeptId(), user.getDeptId()));
+                if (deptCache != null)
+                {
+                    appendDeptIds(sqlString, deptAlias, deptCache.getDeptAndChildIds(version, user.getDeptId()));
+                }
+                else
+                {
+                    sqlString.append(StringUtils.format(" OR {}.dept_id IN ( SELECT dept_id FROM sys_dept WHERE dept_id = {} or find_in_set( {} , ancestors ) )", deptAlias, user.getDeptId(), user.getDeptId()));
+                }
             }
             else if (DATA_SCOPE_SELF.equals(dataScope))
             {
@@ -160,12 +250,23 @@ public class DataScopeAspect
 
         if (StringUtils.isNotBlank(sqlString.toString()))
         {
-            Object params = joinPoint.getArgs()[0];
-            if (StringUtils.isNotNull(params) && params instanceof BaseEntity)
-            {
-                BaseEntity baseEntity = (BaseEntity) params;
-                baseEntity.getParams().put(DATA_SCOPE, " AND (" + sqlString.substring(4) + ")");
-            }
+            return " AND (" + sqlString.substring(4) + ")";
+        }
+        return "";
+    }
+
+    /**
+     * 拼接已查出的部门ID，没有部门时不查询任何数据
+     */
+    private static void appendDeptIds(StringBuilder sqlString, String deptAlias, String deptIds)
+    {
+        if (StringUtils.isEmpty(deptIds))
+        {
+            sqlString.append(StringUtils.format(" OR {}.dept_id = 0 ", deptAlias));
+        }
+        else
+        {
+            sqlString.append(StringUtils.format(" OR {}.dept_id IN ({}) ", deptAlias, deptIds));
         }
     }
 
@@ -0,0 +1,155 @@
+package com.xypai.common.datascope.service;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import com.xypai.common.core.constant.CacheConstants;
+import com.xypai.common.core.text.Convert;
+import com.xypai.common.core.utils.StringUtils;
+import com.xypai.common.redis.service.RedisService;
+
+/**
+ * 数据权限部门集合缓存
+ * <p>
+ * 部门集合以逗号分隔的字符串缓存在 data_scope_dept:{版本号}:... 中，键里带版本号，
+ * 部门或角色数据权限变更时只需递增 data_scope_version，各节点下次读取时即切换到新键，旧键自然过期。
+ * 版本号在本地缓存 xypai.datascope.version-cache-millis 毫秒（默认1000），避免每次数据权限过滤都读取一次Redis；
+ * 本节点变更后立即切换，其它节点的变更最多延迟该时间生效。
+ *
+ * @author xypai
+ */
+@Component
+public class DataScopeDeptCache
+{
+    /**
+     * 部门集合缓存时间（分钟）
+     */
+    private static final long EXPIRATION = 30;
+
+    /**
+     * 版本号本地缓存时间（毫秒），为0时每次读取Redis
+     */
+    @Value("${xypai.datascope.version-cache-millis:1000}")
+    private long versionCacheMillis;
+
+    /**
+     * 本地缓存的版本号
+     */
+    private volatile CachedVersion cachedVersion;
+
+    @Autowired
+    private RedisService redisService;
+
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Autowired(required = false)
+    private DataScopeDeptProvider deptProvider;
+
+    /**
+     * 当前服务是否能查询部门，没有 DataScopeDeptProvider 时只能使用子查询
+     */
+    public boolean isAvailable()
+    {
+        return deptProvider != null;
+    }
+
+    /**
+     * 获取当前版本号
+     */
+    public long getVersion()
+    {
+        CachedVersion cached = cachedVersion;
+        long now = System.nanoTime();
+        if (cached != null && now - cached.expireAt < 0)
+        {
+            return cached.value;
+        }
+        long version = Convert.toLong(stringRedisTemplate.opsForValue().get(CacheConstants.DATA_SCOPE_VERSION_KEY), 0L);
+        cachedVersion = new CachedVersion(version, now + TimeUnit.MILLISECONDS.toNanos(versionCacheMillis));
+        return version;
+    }
+
+    /**
+     * 获取角色自定数据权限的部门
+     *
+     * @param version 版本号
+     * @param roleIds 角色ID
+     * @return 逗号分隔的部门ID，没有时为空字符串
+     */
+    public String getCustomDeptIds(long version, List<Long> roleIds)
+    {
+        String key = CacheConstants.DATA_SCOPE_DEPT_KEY + version + ":role:" + StringUtils.join(roleIds, ",");
+        return redisService.getOrLoad(key, EXPIRATION, TimeUnit.MINUTES, () -> join(deptProvider.selectDeptIdsByRoleIds(roleIds)));
+    }
+
+    /**
+     * 获取部门及其全部下级部门
+     *
+     * @param version 版本号
+     * @param deptId 部门ID
+     * @return 逗号分隔的部门ID，没有时为空字符串
+     */
+    public String getDeptAndChildIds(long version, Long deptId)
+    {
+        String key = CacheConstants.DATA_SCOPE_DEPT_KEY + version + ":dept:" + deptId;
+        return redisService.getOrLoad(key, EXPIRATION, TimeUnit.MINUTES, () -> join(deptProvider.selectDeptAndChildIds(deptId)));
+    }
+
+    /**
+     * 部门或角色数据权限变更后调用；在事务中时于提交后生效，避免其它节点按新版本号读到未提交前的数据
+     */
+    public void clear()
+    {
+        if (TransactionSynchronizationManager.isSynchronizationActive())
+        {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization()
+            {
+                @Override
+                public void afterCommit()
+                {
+                    incrementVersion();
+                }
+            });
+        }
+        else
+        {
+            incrementVersion();
+        }
+    }
+
+    private void incrementVersion()
+    {
+        Long version = stringRedisTemplate.opsForValue().increment(CacheConstants.DATA_SCOPE_VERSION_KEY);
+        // 本节点立即使用新版本号，不等本地缓存过期
+        cachedVersion = version == null ? null
+                : new CachedVersion(version, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(versionCacheMillis));
+    }
+
+    private static String join(Collection<Long> deptIds)
+    {
+        return deptIds == null ? "" : StringUtils.join(deptIds, ",");
+    }
+
+    private static final class CachedVersion
+    {
+        private final long value;
+
+        /**
+         * 过期时间（System.nanoTime）
+         */
+        private final long expireAt;
+
+        private CachedVersion(long value, long expireAt)
+        {
+            this.value = value;
+            this.expireAt = expireAt;
+        }
+    }
+}
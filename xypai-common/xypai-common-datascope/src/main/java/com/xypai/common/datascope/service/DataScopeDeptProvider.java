@@ -0,0 +1,30 @@
+package com.xypai.common.datascope.service;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 数据权限部门查询，由持有部门表的服务实现
+ * <p>
+ * 返回结果须与 DataScopeAspect 中对应子查询的结果一致。
+ *
+ * @author xypai
+ */
+public interface DataScopeDeptProvider
+{
+    /**
+     * 查询角色自定数据权限的部门，对应 SELECT dept_id FROM sys_role_dept WHERE role_id IN (...)
+     *
+     * @param roleIds 角色ID
+     * @return 部门ID
+     */
+    List<Long> selectDeptIdsByRoleIds(Collection<Long> roleIds);
+
+    /**
+     * 查询部门及其全部下级部门，对应 SELECT dept_id FROM sys_dept WHERE dept_id = ? or find_in_set(?, ancestors)
+     *
+     * @param deptId 部门ID
+     * @return 部门ID
+     */
+    List<Long> selectDeptAndChildIds(Long deptId);
+}
@@ -0,0 +1,235 @@
+package com.xypai.common.datascope.aspect;
+
+import com.xypai.common.core.constant.SecurityConstants;
+import com.xypai.common.core.context.SecurityContextHolder;
+import com.xypai.common.datascope.annotation.DataScope;
+import com.xypai.common.datascope.service.DataScopeDeptCache;
+import com.xypai.system.api.domain.SysRole;
+import com.xypai.system.api.domain.SysUser;
+import com.xypai.system.api.model.LoginUser;
+import org.aspectj.lang.JoinPoint;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 数据权限SQL片段缓存测试类
+ *
+ * @author xypai
+ */
+@ExtendWith(MockitoExtension.class)
+class DataScopeAspectTest {
+
+    private static final String PERMISSION = "system:user:list";
+
+    @Mock
+    private DataScopeDeptCache deptCache;
+
+    private DataScopeAspect aspect;
+
+    @BeforeEach
+    void setUp() {
+        aspect = new DataScopeAspect();
+        ((Map<?, ?>) ReflectionTestUtils.getField(DataScopeAspect.class, "FRAGMENT_CACHE")).clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.remove();
+    }
+
+    @Test
+    void testFragmentPerUser() {
+        SysUser first = user(100L, 200L, role(2L, DataScopeAspect.DATA_SCOPE_SELF));
+        SysUser second = user(101L, 200L, role(2L, DataScopeAspect.DATA_SCOPE_SELF));
+
+        assertEquals(" AND (u.user_id = 100 )", filter(first, "d", "u", PERMISSION));
+        assertEquals(" AND (u.user_id = 101 )", filter(second, "d", "u", PERMISSION));
+        // 缓存命中后仍是各自的片段
+        assertEquals(" AND (u.user_id = 100 )", filter(first, "d", "u", PERMISSION));
+    }
+
+    @Test
+    void testFragmentPerDept() {
+        SysUser first = user(100L, 200L, role(2L, DataScopeAspect.DATA_SCOPE_DEPT));
+        SysUser moved = user(100L, 201L, role(2L, DataScopeAspect.DATA_SCOPE_DEPT));
+
+        assertEquals(" AND (d.dept_id = 200 )", filter(first, "d", "u", PERMISSION));
+        assertEquals(" AND (d.dept_id = 201 )", filter(moved, "d", "u", PERMISSION));
+    }
+
+    @Test
+    void testFragmentPerRoleSet() {
+        SysUser dept = user(100L, 200L, role(2L, DataScopeAspect.DATA_SCOPE_DEPT));
+        SysUser deptAndSelf = user(100L, 200L, role(2L, DataScopeAspect.DATA_SCOPE_DEPT), role(3L, DataScopeAspect.DATA_SCOPE_SELF));
+        SysUser all = user(100L, 200L, role(2L, DataScopeAspect.DATA_SCOPE_DEPT), role(4L, DataScopeAspect.DATA_SCOPE_ALL));
+        SysRole disabled = role(3L, DataScopeAspect.DATA_SCOPE_SELF);
+        disabled.setStatus("1");
+        SysUser deptAndDisabled = user(100L, 200L, role(2L, DataScopeAspect.DATA_SCOPE_DEPT), disabled);
+
+        assertEquals(" AND (d.dept_id = 200 )", filter(dept, "d", "u", PERMISSION));
+        assertEquals(" AND (d.dept_id = 200  OR u.user_id = 100 )", filter(deptAndSelf, "d", "u", PERMISSION));
+        assertNull(filter(all, "d", "u", PERMISSION));
+        // 停用的角色不参与过滤
+        assertEquals(" AND (d.dept_id = 200 )", filter(deptAndDisabled, "d", "u", PERMISSION));
+    }
+
+    @Test
+    void testFragmentPerPermission() {
+        SysUser user = user(100L, 200L, role(2L, DataScopeAspect.DATA_SCOPE_DEPT));
+
+        assertEquals(" AND (d.dept_id = 200 )", filter(user, "d", "u", PERMISSION));
+        // 角色没有该权限字符时不查询任何数据
+        assertEquals(" AND (d.dept_id = 0 )", filter(user, "d", "u", "system:dept:list"));
+        assertEquals(" AND (d.dept_id = 200 )", filter(user, "d", "u", "system:dept:list," + PERMISSION));
+    }
+
+    @Test
+    void testFragmentPerAlias() {
+        SysUser user = user(100L, 200L, role(2L, DataScopeAspect.DATA_SCOPE_DEPT), role(3L, DataScopeAspect.DATA_SCOPE_SELF));
+
+        assertEquals(" AND (d.dept_id = 200  OR u.user_id = 100 )", filter(user, "d", "u", PERMISSION));
+        assertEquals(" AND (t.dept_id = 200  OR u.user_id = 100 )", filter(user, "t", "u", PERMISSION));
+        assertEquals(" AND (d.dept_id = 200  OR s.user_id = 100 )", filter(user, "d", "s", PERMISSION));
+        // 没有用户别名时仅本人权限不查询任何数据
+        assertEquals(" AND (d.dept_id = 200  OR d.dept_id = 0 )", filter(user, "d", "", PERMISSION));
+    }
+
+    @Test
+    void testResolvedFragmentsChangeAfterVersionBump() {
+        enableResolve();
+        SysUser custom = user(100L, 200L, role(2L, DataScopeAspect.DATA_SCOPE_CUSTOM));
+        SysUser child = user(101L, 200L, role(3L, DataScopeAspect.DATA_SCOPE_DEPT_AND_CHILD));
+        when(deptCache.getVersion()).thenReturn(1L, 1L, 1L, 1L, 2L, 2L);
+        when(deptCache.getCustomDeptIds(1L, List.of(2L))).thenReturn("200,201");
+        when(deptCache.getCustomDeptIds(2L, List.of(2L))).thenReturn("200,202");
+        when(deptCache.getDeptAndChildIds(1L, 200L)).thenReturn("200,210");
+        when(deptCache.getDeptAndChildIds(2L, 200L)).thenReturn("200,210,211");
+
+        assertEquals(" AND (d.dept_id IN (200,201) )", handle(custom));
+        assertEquals(" AND (d.dept_id IN (200,210) )", handle(child));
+        // 同一版本号直接使用缓存的片段
+        assertEquals(" AND (d.dept_id IN (200,201) )", handle(custom));
+        assertEquals(" AND (d.dept_id IN (200,210) )", handle(child));
+        verify(deptCache, times(1)).getCustomDeptIds(1L, List.of(2L));
+        verify(deptCache, times(1)).getDeptAndChildIds(1L, 200L);
+
+        // 版本号递增后重新取部门集合
+        assertEquals(" AND (d.dept_id IN (200,202) )", handle(custom));
+        assertEquals(" AND (d.dept_id IN (200,210,211) )", handle(child));
+    }
+
+    @Test
+    void testStaleVersionNeverServesOtherUsersDepts() {
+        enableResolve();
+        // 版本号一直未变，不同用户的部门集合仍按各自的部门与角色缓存
+        when(deptCache.getVersion()).thenReturn(5L);
+        when(deptCache.getDeptAndChildIds(5L, 200L)).thenReturn("200,210");
+        when(deptCache.getDeptAndChildIds(5L, 300L)).thenReturn("300");
+        when(deptCache.getCustomDeptIds(5L, List.of(2L))).thenReturn("400");
+        when(deptCache.getCustomDeptIds(5L, List.of(3L))).thenReturn("500");
+
+        SysUser first = user(100L, 200L, role(9L, DataScopeAspect.DATA_SCOPE_DEPT_AND_CHILD));
+        SysUser second = user(101L, 300L, role(9L, DataScopeAspect.DATA_SCOPE_DEPT_AND_CHILD));
+        SysUser customFirst = user(102L, 200L, role(2L, DataScopeAspect.DATA_SCOPE_CUSTOM));
+        SysUser customSecond = user(103L, 200L, role(3L, DataScopeAspect.DATA_SCOPE_CUSTOM));
+
+        for (int i = 0; i < 2; i++) {
+            assertEquals(" AND (d.dept_id IN (200,210) )", handle(first));
+            assertEquals(" AND (d.dept_id IN (300) )", handle(second));
+            assertEquals(" AND (d.dept_id IN (400) )", handle(customFirst));
+            assertEquals(" AND (d.dept_id IN (500) )", handle(customSecond));
+        }
+    }
+
+    @Test
+    void testResolvedAndSubqueryFragmentsNotMixed() {
+        SysUser user = user(100L, 200L, role(2L, DataScopeAspect.DATA_SCOPE_CUSTOM));
+        String subquery = " AND (d.dept_id IN ( SELECT dept_id FROM sys_role_dept WHERE role_id = 2 ) )";
+
+        assertEquals(subquery, handle(user));
+        enableResolve();
+        when(deptCache.getVersion()).thenReturn(0L);
+        when(deptCache.getCustomDeptIds(0L, List.of(2L))).thenReturn("");
+        // 没有部门时不查询任何数据
+        assertEquals(" AND (d.dept_id = 0 )", handle(user));
+    }
+
+    @Test
+    void testAdminNotFiltered() {
+        SysUser admin = user(1L, 200L, role(1L, DataScopeAspect.DATA_SCOPE_DEPT));
+
+        assertEquals("", handleParams(admin));
+    }
+
+    private void enableResolve() {
+        ReflectionTestUtils.setField(aspect, "deptCache", deptCache);
+        ReflectionTestUtils.setField(aspect, "resolveDeptIds", true);
+        lenient().when(deptCache.isAvailable()).thenReturn(true);
+    }
+
+    private static String filter(SysUser user, String deptAlias, String userAlias, String permission) {
+        SysUser params = new SysUser();
+        DataScopeAspect.dataScopeFilter(joinPoint(params), user, deptAlias, userAlias, permission);
+        return (String) params.getParams().get(DataScopeAspect.DATA_SCOPE);
+    }
+
+    private String handle(SysUser user) {
+        String sql = handleParams(user);
+        assertNotNull(sql);
+        return sql;
+    }
+
+    /**
+     * 以登录用户身份经过切面，返回写入查询参数的SQL片段
+     */
+    private String handleParams(SysUser user) {
+        LoginUser loginUser = new LoginUser();
+        loginUser.setSysUser(user);
+        SecurityContextHolder.set(SecurityConstants.LOGIN_USER, loginUser);
+        DataScope dataScope = mock(DataScope.class);
+        lenient().when(dataScope.deptAlias()).thenReturn("d");
+        lenient().when(dataScope.userAlias()).thenReturn("u");
+        lenient().when(dataScope.permission()).thenReturn(PERMISSION);
+        SysUser params = new SysUser();
+        try {
+            aspect.doBefore(joinPoint(params), dataScope);
+        } catch (Throwable e) {
+            throw new AssertionError(e);
+        }
+        return (String) params.getParams().get(DataScopeAspect.DATA_SCOPE);
+    }
+
+    private static JoinPoint joinPoint(Object params) {
+        JoinPoint joinPoint = mock(JoinPoint.class);
+        when(joinPoint.getArgs()).thenReturn(new Object[] { params });
+        return joinPoint;
+    }
+
+    private static SysUser user(Long userId, Long deptId, SysRole... roles) {
+        SysUser user = new SysUser(userId);
+        user.setDeptId(deptId);
+        user.setRoles(Arrays.asList(roles));
+        return user;
+    }
+
+    private static SysRole role(Long roleId, String dataScope) {
+        SysRole role = new SysRole(roleId);
+        role.setDataScope(dataScope);
+        role.setStatus("0");
+        role.setPermissions(Set.of(PERMISSION));
+        return role;
+    }
+}
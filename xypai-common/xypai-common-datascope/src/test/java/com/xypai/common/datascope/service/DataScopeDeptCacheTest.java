@@ -0,0 +1,137 @@
+package com.xypai.common.datascope.service;
+
+import com.xypai.common.core.constant.CacheConstants;
+import com.xypai.common.redis.service.RedisService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 数据权限部门集合缓存测试类
+ *
+ * @author xypai
+ */
+@ExtendWith(MockitoExtension.class)
+class DataScopeDeptCacheTest {
+
+    @Mock
+    private RedisService redisService;
+
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    @Mock
+    private DataScopeDeptProvider deptProvider;
+
+    @InjectMocks
+    private DataScopeDeptCache deptCache;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(deptCache, "versionCacheMillis", 60000L);
+        lenient().when(stringRedisTemplate.opsForValue()).thenReturn(valueOperations);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void testVersionCachedLocally() {
+        when(valueOperations.get(CacheConstants.DATA_SCOPE_VERSION_KEY)).thenReturn("3");
+
+        assertEquals(3L, deptCache.getVersion());
+        assertEquals(3L, deptCache.getVersion());
+        assertEquals(3L, deptCache.getVersion());
+        verify(valueOperations, times(1)).get(CacheConstants.DATA_SCOPE_VERSION_KEY);
+    }
+
+    @Test
+    void testVersionReadEachTimeWithoutLocalCache() {
+        ReflectionTestUtils.setField(deptCache, "versionCacheMillis", 0L);
+        when(valueOperations.get(CacheConstants.DATA_SCOPE_VERSION_KEY)).thenReturn(null, "1", "2");
+
+        // 没有版本号时为0
+        assertEquals(0L, deptCache.getVersion());
+        assertEquals(1L, deptCache.getVersion());
+        assertEquals(2L, deptCache.getVersion());
+    }
+
+    @Test
+    void testClearSwitchesLocalVersionImmediately() {
+        when(valueOperations.get(CacheConstants.DATA_SCOPE_VERSION_KEY)).thenReturn("3");
+        when(valueOperations.increment(CacheConstants.DATA_SCOPE_VERSION_KEY)).thenReturn(4L);
+
+        assertEquals(3L, deptCache.getVersion());
+        deptCache.clear();
+
+        // 本节点不等本地缓存过期
+        assertEquals(4L, deptCache.getVersion());
+        verify(valueOperations, times(1)).get(CacheConstants.DATA_SCOPE_VERSION_KEY);
+    }
+
+    @Test
+    void testClearInTransactionAfterCommit() {
+        when(valueOperations.increment(CacheConstants.DATA_SCOPE_VERSION_KEY)).thenReturn(1L);
+        TransactionSynchronizationManager.initSynchronization();
+
+        deptCache.clear();
+        verify(valueOperations, never()).increment(anyString());
+
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        assertEquals(1, synchronizations.size());
+        synchronizations.get(0).afterCommit();
+        verify(valueOperations).increment(CacheConstants.DATA_SCOPE_VERSION_KEY);
+    }
+
+    @Test
+    void testKeysIncludeVersionAndIds() {
+        List<String> keys = new ArrayList<>();
+        when(redisService.getOrLoad(anyString(), eq(30L), eq(TimeUnit.MINUTES), any())).thenAnswer(invocation -> {
+            keys.add(invocation.getArgument(0));
+            Supplier<?> loader = invocation.getArgument(3);
+            return loader.get();
+        });
+        when(deptProvider.selectDeptIdsByRoleIds(List.of(2L, 3L))).thenReturn(List.of(100L, 101L));
+        when(deptProvider.selectDeptAndChildIds(200L)).thenReturn(List.of(200L, 210L));
+        when(deptProvider.selectDeptAndChildIds(300L)).thenReturn(null);
+
+        assertEquals("100,101", deptCache.getCustomDeptIds(7L, List.of(2L, 3L)));
+        assertEquals("200,210", deptCache.getDeptAndChildIds(7L, 200L));
+        assertEquals("", deptCache.getDeptAndChildIds(8L, 300L));
+
+        // 键中带版本号与部门或角色，旧版本号与其它用户的部门集合不会共用同一个键
+        assertEquals(List.of("data_scope_dept:7:role:2,3", "data_scope_dept:7:dept:200", "data_scope_dept:8:dept:300"), keys);
+    }
+
+    @Test
+    void testUnavailableWithoutProvider() {
+        assertTrue(deptCache.isAvailable());
+        ReflectionTestUtils.setField(deptCache, "deptProvider", null);
+        assertFalse(deptCache.isAvailable());
+    }
+}
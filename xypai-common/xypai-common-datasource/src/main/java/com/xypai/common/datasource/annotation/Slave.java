@@ -9,6 +9,8 @@ import com.baomidou.dynamic.datasource.annotation.DS;
 
 /**
  * 从库数据源
+ * <p>
+ * 配置了从库时由 ReadWriteRoutingAspect 在可用从库间轮询，没有可用从库或当前请求刚写过主库时走主库
  * 
  * @author ruoyi
  */
@@ -0,0 +1,143 @@
+package com.xypai.common.datasource.aspect;
+
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.MethodClassKey;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.annotation.Order;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import com.baomidou.dynamic.datasource.toolkit.DynamicDataSourceContextHolder;
+import com.xypai.common.core.utils.StringUtils;
+import com.xypai.common.datasource.annotation.Master;
+import com.xypai.common.datasource.annotation.Slave;
+import com.xypai.common.datasource.routing.PrimaryStickiness;
+import com.xypai.common.datasource.routing.ReplicaSelector;
+
+/**
+ * 读写分离切面
+ * <p>
+ * {@link Slave} 与 {@code @Transactional(readOnly = true)} 的方法路由到可用从库（轮询），以下情况走主库：
+ * 当前请求或用户刚写过主库、没有可用从库（连接失败或复制延迟超过阈值）。
+ * 已在事务中时连接已经确定，不做处理；外层已通过 @DS 指定了从库以外的数据源时保持不变。
+ * 优先级低于 dynamic-datasource 的 @DS 切面（覆盖 @Slave 上的 @DS("slave")），高于事务切面（在取连接前确定数据源）。
+ *
+ * @author xypai
+ */
+@Aspect
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class ReadWriteRoutingAspect
+{
+    /**
+     * 方法是否只读，按方法与目标类缓存
+     */
+    private final Map<MethodClassKey, Boolean> readOnlyCache = new ConcurrentHashMap<>();
+
+    private final ReplicaSelector replicaSelector;
+
+    private final PrimaryStickiness stickiness;
+
+    private final String primary;
+
+    public ReadWriteRoutingAspect(ReplicaSelector replicaSelector, PrimaryStickiness stickiness, String primary)
+    {
+        this.replicaSelector = replicaSelector;
+        this.stickiness = stickiness;
+        this.primary = primary;
+    }
+
+    @Pointcut("@annotation(com.xypai.common.datasource.annotation.Slave) || @within(com.xypai.common.datasource.annotation.Slave) || "
+            + "@annotation(org.springframework.transaction.annotation.Transactional) || @within(org.springframework.transaction.annotation.Transactional)")
+    public void pointcut()
+    {
+    }
+
+    @Around("pointcut()")
+    public Object around(ProceedingJoinPoint point) throws Throwable
+    {
+        String key = determineKey(point);
+        if (key == null)
+        {
+            return point.proceed();
+        }
+        DynamicDataSourceContextHolder.push(key);
+        try
+        {
+            return point.proceed();
+        }
+        finally
+        {
+            DynamicDataSourceContextHolder.poll();
+        }
+    }
+
+    /**
+     * 确定数据源
+     *
+     * @return 数据源名称，null表示不切换
+     */
+    private String determineKey(ProceedingJoinPoint point)
+    {
+        if (TransactionSynchronizationManager.isActualTransactionActive())
+        {
+            return null;
+        }
+        String current = DynamicDataSourceContextHolder.peek();
+        boolean onReplica = replicaSelector.isReplica(current);
+        if (StringUtils.isNotEmpty(current) && !onReplica)
+        {
+            return null;
+        }
+        String fallback = onReplica ? primary : null;
+        if (!isReadOnly(point) || stickiness.isPrimaryRequired())
+        {
+            return fallback;
+        }
+        String replica = replicaSelector.select();
+        return replica != null ? replica : fallback;
+    }
+
+    private boolean isReadOnly(ProceedingJoinPoint point)
+    {
+        Method method = ((MethodSignature) point.getSignature()).getMethod();
+        Class<?> targetClass = AopUtils.getTargetClass(point.getTarget());
+        return readOnlyCache.computeIfAbsent(new MethodClassKey(method, targetClass),
+                key -> isReadOnly(AopUtils.getMostSpecificMethod(method, targetClass), targetClass));
+    }
+
+    /**
+     * 方法上的注解优先于类上的注解，@Master 优先于 @Slave 与只读事务
+     */
+    private static boolean isReadOnly(Method method, Class<?> targetClass)
+    {
+        Boolean readOnly = readOnly(method);
+        if (readOnly == null)
+        {
+            readOnly = readOnly(targetClass);
+        }
+        return Boolean.TRUE.equals(readOnly);
+    }
+
+    private static Boolean readOnly(AnnotatedElement element)
+    {
+        if (AnnotatedElementUtils.hasAnnotation(element, Master.class))
+        {
+            return Boolean.FALSE;
+        }
+        if (AnnotatedElementUtils.hasAnnotation(element, Slave.class))
+        {
+            return Boolean.TRUE;
+        }
+        Transactional transactional = AnnotatedElementUtils.findMergedAnnotation(element, Transactional.class);
+        return transactional == null ? null : transactional.readOnly();
+    }
+}
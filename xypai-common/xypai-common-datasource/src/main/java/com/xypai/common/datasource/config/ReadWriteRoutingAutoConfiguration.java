@@ -0,0 +1,92 @@
+package com.xypai.common.datasource.config;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.apache.ibatis.plugin.Interceptor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import com.baomidou.dynamic.datasource.DynamicRoutingDataSource;
+import com.xypai.common.datasource.aspect.ReadWriteRoutingAspect;
+import com.xypai.common.datasource.routing.PrimaryStickiness;
+import com.xypai.common.datasource.routing.ReadWriteRoutingInterceptor;
+import com.xypai.common.datasource.routing.ReplicaSelector;
+
+/**
+ * 读写分离配置，关闭：xypai.datasource.routing.enabled=false
+ * <p>
+ * 从库按 dynamic-datasource 的分组约定配置（spring.datasource.dynamic.datasource.slave_1、slave_2 ...），
+ * 没有配置从库时只读方法仍走主库，行为与未开启时一致。
+ *
+ * @author xypai
+ */
+@AutoConfiguration(afterName = "com.baomidou.dynamic.datasource.spring.boot.autoconfigure.DynamicDataSourceAutoConfiguration")
+@ConditionalOnClass(DynamicRoutingDataSource.class)
+@EnableConfigurationProperties(ReadWriteRoutingProperties.class)
+@ConditionalOnProperty(name = "xypai.datasource.routing.enabled", havingValue = "true", matchIfMissing = true)
+public class ReadWriteRoutingAutoConfiguration
+{
+    private static final Logger log = LoggerFactory.getLogger(ReadWriteRoutingAutoConfiguration.class);
+
+    /**
+     * 主库数据源名称
+     */
+    @Value("${spring.datasource.dynamic.primary:master}")
+    private String primary;
+
+    @Bean(destroyMethod = "destroy")
+    public ReplicaSelector replicaSelector(ObjectProvider<DataSource> dataSourceProvider, ReadWriteRoutingProperties properties)
+    {
+        String group = properties.getReplicaGroup();
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        if (dataSourceProvider.getIfAvailable() instanceof DynamicRoutingDataSource routingDataSource)
+        {
+            routingDataSource.getDataSources().forEach((name, dataSource) -> {
+                if (name.equals(group) || name.startsWith(group + "_"))
+                {
+                    replicas.put(name, dataSource);
+                }
+            });
+        }
+        ReplicaSelector selector = new ReplicaSelector(group, replicas, properties.getLagQuery(), properties.getMaxLag(),
+                properties.getValidationTimeout());
+        selector.start(properties.getHealthCheckInterval());
+        log.info("读写分离从库：{}", replicas.isEmpty() ? "未配置，读写均走主库" : selector.getLags());
+        return selector;
+    }
+
+    @Bean
+    public PrimaryStickiness primaryStickiness(ReadWriteRoutingProperties properties)
+    {
+        return new PrimaryStickiness(properties.getStickyTime());
+    }
+
+    @Bean
+    public ReadWriteRoutingAspect readWriteRoutingAspect(ReplicaSelector replicaSelector, PrimaryStickiness primaryStickiness)
+    {
+        return new ReadWriteRoutingAspect(replicaSelector, primaryStickiness, primary);
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(Interceptor.class)
+    static class MybatisRoutingConfig
+    {
+        /**
+         * 写语句路由，MyBatis-Plus 自动配置会收集容器中的 Interceptor
+         */
+        @Bean
+        public ReadWriteRoutingInterceptor readWriteRoutingInterceptor(ReplicaSelector replicaSelector,
+                PrimaryStickiness primaryStickiness, @Value("${spring.datasource.dynamic.primary:master}") String primary)
+        {
+            return new ReadWriteRoutingInterceptor(replicaSelector, primaryStickiness, primary);
+        }
+    }
+}
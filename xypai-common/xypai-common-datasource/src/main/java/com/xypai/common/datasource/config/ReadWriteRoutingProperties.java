@@ -0,0 +1,106 @@
+package com.xypai.common.datasource.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 读写分离配置
+ *
+ * @author xypai
+ */
+@ConfigurationProperties(prefix = "xypai.datasource.routing")
+public class ReadWriteRoutingProperties
+{
+    /** 是否开启 */
+    private boolean enabled = true;
+
+    /** 从库分组名，名称为该值或以“该值_”开头的数据源视为从库（如 slave_1、slave_2） */
+    private String replicaGroup = "slave";
+
+    /** 允许的最大复制延迟（毫秒），超过后该从库不参与路由 */
+    private long maxLag = 1000;
+
+    /** 健康检查间隔（毫秒） */
+    private long healthCheckInterval = 5000;
+
+    /** 连接校验与延迟查询超时（秒） */
+    private int validationTimeout = 3;
+
+    /**
+     * 延迟查询：结果含 Seconds_Behind_Master / Seconds_Behind_Source 列时按秒取值，否则取第一列为毫秒；
+     * 无结果或值为空（复制未运行）视为不可用，为空时只校验连接
+     */
+    private String lagQuery = "SHOW SLAVE STATUS";
+
+    /** 用户写入后在该时间（毫秒）内的读请求仍走主库，0表示只在同一请求内生效 */
+    private long stickyTime = 1000;
+
+    public boolean isEnabled()
+    {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled)
+    {
+        this.enabled = enabled;
+    }
+
+    public String getReplicaGroup()
+    {
+        return replicaGroup;
+    }
+
+    public void setReplicaGroup(String replicaGroup)
+    {
+        this.replicaGroup = replicaGroup;
+    }
+
+    public long getMaxLag()
+    {
+        return maxLag;
+    }
+
+    public void setMaxLag(long maxLag)
+    {
+        this.maxLag = maxLag;
+    }
+
+    public long getHealthCheckInterval()
+    {
+        return healthCheckInterval;
+    }
+
+    public void setHealthCheckInterval(long healthCheckInterval)
+    {
+        this.healthCheckInterval = healthCheckInterval;
+    }
+
+    public int getValidationTimeout()
+    {
+        return validationTimeout;
+    }
+
+    public void setValidationTimeout(int validationTimeout)
+    {
+        this.validationTimeout = validationTimeout;
+    }
+
+    public String getLagQuery()
+    {
+        return lagQuery;
+    }
+
+    public void setLagQuery(String lagQuery)
+    {
+        this.lagQuery = lagQuery;
+    }
+
+    public long getStickyTime()
+    {
+        return stickyTime;
+    }
+
+    public void setStickyTime(long stickyTime)
+    {
+        this.stickyTime = stickyTime;
+    }
+}
@@ -0,0 +1,102 @@
+package com.xypai.common.datasource.routing;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+import com.xypai.common.core.constant.SecurityConstants;
+import com.xypai.common.core.context.SecurityContextHolder;
+import com.xypai.common.core.text.Convert;
+
+/**
+ * 写后读主库
+ * <p>
+ * 请求内写过主库后，同一请求的后续读取都走主库（标记存放在 SecurityContextHolder 中，随请求结束清除）；
+ * 同一用户在 stickyTime 内的后续请求也走主库，以覆盖从库追上之前的窗口。用户维度的记录只在本实例内有效。
+ * 不在请求中（定时任务、消息消费等）时不记录，这类场景需要读到刚写入的数据时应放在同一事务中。
+ *
+ * @author xypai
+ */
+public class PrimaryStickiness
+{
+    /**
+     * 请求内已写主库标记
+     */
+    private static final String PRIMARY_WRITTEN = "primary_written";
+
+    /**
+     * 记录的用户数上限，超过后整体清空
+     */
+    private static final int MAX_TRACKED_USERS = 10000;
+
+    private final long stickyTime;
+
+    private final LongSupplier clock;
+
+    /**
+     * 用户ID -> 读主库截止时间
+     */
+    private final Map<Long, Long> stickyUntil = new ConcurrentHashMap<>();
+
+    /**
+     * @param stickyTime 用户写入后读主库的时间（毫秒），0表示只在同一请求内生效
+     */
+    public PrimaryStickiness(long stickyTime)
+    {
+        this(stickyTime, System::currentTimeMillis);
+    }
+
+    PrimaryStickiness(long stickyTime, LongSupplier clock)
+    {
+        this.stickyTime = stickyTime;
+        this.clock = clock;
+    }
+
+    /**
+     * 记录一次主库写入
+     */
+    public void markWrite()
+    {
+        Object userId = SecurityContextHolder.peek(SecurityConstants.DETAILS_USER_ID);
+        if (userId == null)
+        {
+            return;
+        }
+        SecurityContextHolder.set(PRIMARY_WRITTEN, Boolean.TRUE);
+        long id = Convert.toLong(userId, 0L);
+        if (stickyTime > 0 && id != 0L)
+        {
+            if (stickyUntil.size() >= MAX_TRACKED_USERS)
+            {
+                stickyUntil.clear();
+            }
+            stickyUntil.put(id, clock.getAsLong() + stickyTime);
+        }
+    }
+
+    /**
+     * 当前读取是否必须走主库
+     */
+    public boolean isPrimaryRequired()
+    {
+        if (SecurityContextHolder.peek(PRIMARY_WRITTEN) != null)
+        {
+            return true;
+        }
+        if (stickyUntil.isEmpty())
+        {
+            return false;
+        }
+        Long id = Convert.toLong(SecurityContextHolder.peek(SecurityConstants.DETAILS_USER_ID), 0L);
+        Long until = stickyUntil.get(id);
+        if (until == null)
+        {
+            return false;
+        }
+        if (until < clock.getAsLong())
+        {
+            stickyUntil.remove(id, until);
+            return false;
+        }
+        return true;
+    }
+}
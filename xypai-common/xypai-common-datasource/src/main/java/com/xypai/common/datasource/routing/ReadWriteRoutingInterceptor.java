@@ -0,0 +1,57 @@
+package com.xypai.common.datasource.routing;
+
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import com.baomidou.dynamic.datasource.toolkit.DynamicDataSourceContextHolder;
+
+/**
+ * 写语句路由
+ * <p>
+ * 记录主库写入供写后读主库使用；不在事务中且当前路由到从库时（如 @Slave 方法内顺带写入），把这条写语句改走主库。
+ * 事务中的连接在开启事务时已经确定，不做处理。
+ *
+ * @author xypai
+ */
+@Intercepts({
+        @Signature(type = Executor.class, method = "update", args = { MappedStatement.class, Object.class })
+})
+public class ReadWriteRoutingInterceptor implements Interceptor
+{
+    private final ReplicaSelector replicaSelector;
+
+    private final PrimaryStickiness stickiness;
+
+    private final String primary;
+
+    public ReadWriteRoutingInterceptor(ReplicaSelector replicaSelector, PrimaryStickiness stickiness, String primary)
+    {
+        this.replicaSelector = replicaSelector;
+        this.stickiness = stickiness;
+        this.primary = primary;
+    }
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable
+    {
+        stickiness.markWrite();
+        if (TransactionSynchronizationManager.isActualTransactionActive()
+                || !replicaSelector.isReplica(DynamicDataSourceContextHolder.peek()))
+        {
+            return invocation.proceed();
+        }
+        DynamicDataSourceContextHolder.push(primary);
+        try
+        {
+            return invocation.proceed();
+        }
+        finally
+        {
+            DynamicDataSourceContextHolder.poll();
+        }
+    }
+}
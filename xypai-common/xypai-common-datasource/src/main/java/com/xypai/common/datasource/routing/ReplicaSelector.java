@@ -0,0 +1,248 @@
+package com.xypai.common.datasource.routing;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import com.xypai.common.core.utils.StringUtils;
+
+/**
+ * 从库选择
+ * <p>
+ * 在连接可用且复制延迟不超过阈值的从库间轮询；健康检查按固定间隔执行，结果以数组快照发布，选择时不加锁。
+ * 没有可用从库时返回null，由调用方回落到主库。
+ *
+ * @author xypai
+ */
+public class ReplicaSelector
+{
+    private static final Logger log = LoggerFactory.getLogger(ReplicaSelector.class);
+
+    private static final String[] NONE = new String[0];
+
+    /**
+     * 复制延迟列名（MySQL 8.0.22 起为 Seconds_Behind_Source）
+     */
+    private static final String[] LAG_SECONDS_COLUMNS = { "Seconds_Behind_Master", "Seconds_Behind_Source" };
+
+    private final String group;
+
+    private final Map<String, DataSource> replicas;
+
+    private final Set<String> replicaNames;
+
+    private final String lagQuery;
+
+    private final long maxLag;
+
+    private final int validationTimeout;
+
+    private final Map<String, Long> lags = new LinkedHashMap<>();
+
+    private final AtomicInteger counter = new AtomicInteger();
+
+    private volatile String[] available = NONE;
+
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * @param group 从库分组名
+     * @param replicas 从库数据源，按名称
+     * @param lagQuery 延迟查询，为空时只校验连接
+     * @param maxLag 允许的最大复制延迟（毫秒）
+     * @param validationTimeout 连接校验与延迟查询超时（秒）
+     */
+    public ReplicaSelector(String group, Map<String, DataSource> replicas, String lagQuery, long maxLag, int validationTimeout)
+    {
+        this.group = group;
+        this.replicas = new LinkedHashMap<>(replicas);
+        this.replicaNames = new HashSet<>(replicas.keySet());
+        this.replicaNames.add(group);
+        this.lagQuery = lagQuery;
+        this.maxLag = maxLag;
+        this.validationTimeout = validationTimeout;
+    }
+
+    /**
+     * 轮询选择可用从库
+     *
+     * @return 从库数据源名称，没有可用从库时返回null
+     */
+    public String select()
+    {
+        String[] names = available;
+        if (names.length == 0)
+        {
+            return null;
+        }
+        return names[(counter.getAndIncrement() & Integer.MAX_VALUE) % names.length];
+    }
+
+    /**
+     * 是否为从库或从库分组
+     *
+     * @param name 数据源名称
+     */
+    public boolean isReplica(String name)
+    {
+        return name != null && replicaNames.contains(name);
+    }
+
+    /**
+     * 是否配置了从库
+     */
+    public boolean hasReplicas()
+    {
+        return !replicas.isEmpty();
+    }
+
+    /**
+     * 获取最近一次检查的复制延迟（毫秒），-1表示不可用
+     */
+    public synchronized Map<String, Long> getLags()
+    {
+        return new LinkedHashMap<>(lags);
+    }
+
+    /**
+     * 检查全部从库的连接与复制延迟，更新可用从库
+     */
+    public synchronized void check()
+    {
+        List<String> healthy = new ArrayList<>(replicas.size());
+        for (Map.Entry<String, DataSource> entry : replicas.entrySet())
+        {
+            String name = entry.getKey();
+            long lag = measureLag(name, entry.getValue());
+            boolean usable = lag >= 0 && lag <= maxLag;
+            Long previous = lags.put(name, lag);
+            boolean wasUsable = previous != null && previous >= 0 && previous <= maxLag;
+            if (usable != wasUsable && (previous != null || !usable))
+            {
+                if (usable)
+                {
+                    log.info("从库 {} 恢复可用，复制延迟 {} 毫秒", name, lag);
+                }
+                else
+                {
+                    log.warn("从库 {} 不可用（复制延迟 {} 毫秒，阈值 {} 毫秒，-1表示连接失败或复制未运行），读请求回落到主库", name, lag, maxLag);
+                }
+            }
+            if (usable)
+            {
+                healthy.add(name);
+            }
+        }
+        available = healthy.toArray(NONE);
+    }
+
+    /**
+     * 立即检查一次，之后按间隔定时检查
+     *
+     * @param interval 检查间隔（毫秒）
+     */
+    public synchronized void start(long interval)
+    {
+        check();
+        if (scheduler != null || replicas.isEmpty())
+        {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "replica-health-check-" + group);
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(() -> {
+            try
+            {
+                check();
+            }
+            catch (Exception e)
+            {
+                log.warn("从库健康检查失败", e);
+            }
+        }, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    public synchronized void destroy()
+    {
+        if (scheduler != null)
+        {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    /**
+     * 查询复制延迟
+     *
+     * @return 毫秒，-1表示不可用
+     */
+    private long measureLag(String name, DataSource dataSource)
+    {
+        try (Connection connection = dataSource.getConnection())
+        {
+            if (!connection.isValid(validationTimeout))
+            {
+                return -1;
+            }
+            if (StringUtils.isEmpty(lagQuery))
+            {
+                return 0;
+            }
+            try (Statement statement = connection.createStatement())
+            {
+                statement.setQueryTimeout(validationTimeout);
+                try (ResultSet rs = statement.executeQuery(lagQuery))
+                {
+                    if (!rs.next())
+                    {
+                        return -1;
+                    }
+                    int column = lagSecondsColumn(rs.getMetaData());
+                    long value = rs.getLong(column > 0 ? column : 1);
+                    if (rs.wasNull())
+                    {
+                        return -1;
+                    }
+                    return column > 0 ? value * 1000 : value;
+                }
+            }
+        }
+        catch (SQLException e)
+        {
+            log.debug("从库 {} 健康检查失败：{}", name, e.getMessage());
+            return -1;
+        }
+    }
+
+    private static int lagSecondsColumn(ResultSetMetaData meta) throws SQLException
+    {
+        for (int i = 1; i <= meta.getColumnCount(); i++)
+        {
+            for (String label : LAG_SECONDS_COLUMNS)
+            {
+                if (label.equalsIgnoreCase(meta.getColumnLabel(i)))
+                {
+                    return i;
+                }
+            }
+        }
+        return 0;
+    }
+}
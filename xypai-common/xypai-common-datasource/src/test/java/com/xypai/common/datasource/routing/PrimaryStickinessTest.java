@@ -0,0 +1,73 @@
+package com.xypai.common.datasource.routing;
+
+import com.xypai.common.core.context.SecurityContextHolder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 写后读主库测试类
+ *
+ * @author xypai
+ */
+class PrimaryStickinessTest {
+
+    private final AtomicLong clock = new AtomicLong(1000000);
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.remove();
+    }
+
+    @Test
+    void testStickyWithinRequest() {
+        PrimaryStickiness stickiness = new PrimaryStickiness(0, clock::get);
+        beginRequest("");
+        assertFalse(stickiness.isPrimaryRequired());
+        stickiness.markWrite();
+        assertTrue(stickiness.isPrimaryRequired());
+
+        SecurityContextHolder.remove();
+        beginRequest("");
+        assertFalse(stickiness.isPrimaryRequired());
+    }
+
+    @Test
+    void testStickyForUserAcrossRequests() {
+        PrimaryStickiness stickiness = new PrimaryStickiness(1000, clock::get);
+        beginRequest("42");
+        stickiness.markWrite();
+
+        SecurityContextHolder.remove();
+        beginRequest("42");
+        clock.addAndGet(999);
+        assertTrue(stickiness.isPrimaryRequired());
+
+        SecurityContextHolder.remove();
+        beginRequest("7");
+        assertFalse(stickiness.isPrimaryRequired());
+
+        SecurityContextHolder.remove();
+        beginRequest("42");
+        clock.addAndGet(2);
+        assertFalse(stickiness.isPrimaryRequired());
+    }
+
+    @Test
+    void testOutsideRequestNotRecorded() {
+        PrimaryStickiness stickiness = new PrimaryStickiness(1000, clock::get);
+        stickiness.markWrite();
+        assertFalse(stickiness.isPrimaryRequired());
+        assertNull(SecurityContextHolder.peek("primary_written"));
+    }
+
+    /**
+     * 模拟 HeaderInterceptor 设置请求上下文
+     */
+    private static void beginRequest(String userId) {
+        SecurityContextHolder.setUserId(userId);
+    }
+}
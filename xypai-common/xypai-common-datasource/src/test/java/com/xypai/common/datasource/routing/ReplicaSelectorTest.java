@@ -0,0 +1,140 @@
+package com.xypai.common.datasource.routing;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 从库选择测试类，以两个H2内存库模拟从库，复制延迟由 replica_lag 表给出
+ *
+ * @author xypai
+ */
+class ReplicaSelectorTest {
+
+    private static final String LAG_QUERY = "SELECT lag_millis FROM replica_lag";
+
+    private JdbcDataSource slave1;
+
+    private JdbcDataSource slave2;
+
+    private ReplicaSelector selector;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        slave1 = replica("slave_1");
+        slave2 = replica("slave_2");
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("slave_1", slave1);
+        replicas.put("slave_2", slave2);
+        selector = new ReplicaSelector("slave", replicas, LAG_QUERY, 1000, 1);
+        selector.check();
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        selector.destroy();
+        execute(slave1, "DROP ALL OBJECTS");
+        execute(slave2, "DROP ALL OBJECTS");
+    }
+
+    @Test
+    void testRoundRobin() {
+        Map<String, Integer> counts = new HashMap<>();
+        for (int i = 0; i < 100; i++) {
+            counts.merge(selector.select(), 1, Integer::sum);
+        }
+        assertEquals(50, counts.get("slave_1"));
+        assertEquals(50, counts.get("slave_2"));
+        assertTrue(selector.isReplica("slave"));
+        assertTrue(selector.isReplica("slave_2"));
+        assertFalse(selector.isReplica("master"));
+        assertFalse(selector.isReplica(null));
+    }
+
+    @Test
+    void testLaggingReplicaExcluded() throws SQLException {
+        setLag(slave2, 5000);
+        selector.check();
+        for (int i = 0; i < 10; i++) {
+            assertEquals("slave_1", selector.select());
+        }
+        assertEquals(5000L, selector.getLags().get("slave_2"));
+
+        setLag(slave1, 1500);
+        selector.check();
+        assertNull(selector.select());
+
+        setLag(slave2, 0);
+        selector.check();
+        assertEquals("slave_2", selector.select());
+    }
+
+    @Test
+    void testStoppedReplicationExcluded() throws SQLException {
+        // 复制未运行时延迟为空
+        execute(slave1, "UPDATE replica_lag SET lag_millis = NULL");
+        // 查询失败视为不可用
+        execute(slave2, "DROP TABLE replica_lag");
+        selector.check();
+        assertNull(selector.select());
+        assertEquals(-1L, selector.getLags().get("slave_1"));
+        assertEquals(-1L, selector.getLags().get("slave_2"));
+
+        setLag(slave1, 10);
+        selector.check();
+        assertEquals("slave_1", selector.select());
+    }
+
+    @Test
+    void testSecondsBehindMasterColumn() throws SQLException {
+        execute(slave1, "CREATE TABLE replica_status (Slave_IO_Running VARCHAR(8), Seconds_Behind_Master BIGINT)");
+        execute(slave1, "INSERT INTO replica_status VALUES ('Yes', 2)");
+        Map<String, DataSource> replicas = Map.of("slave", slave1);
+        ReplicaSelector mysqlStyle = new ReplicaSelector("slave", replicas, "SELECT * FROM replica_status", 1000, 1);
+        mysqlStyle.check();
+        assertEquals(2000L, mysqlStyle.getLags().get("slave"));
+        assertNull(mysqlStyle.select());
+
+        execute(slave1, "UPDATE replica_status SET Seconds_Behind_Master = 0");
+        mysqlStyle.check();
+        assertEquals("slave", mysqlStyle.select());
+    }
+
+    @Test
+    void testNoReplicas() {
+        ReplicaSelector empty = new ReplicaSelector("slave", Map.of(), LAG_QUERY, 1000, 1);
+        empty.start(1000);
+        assertFalse(empty.hasReplicas());
+        assertNull(empty.select());
+        empty.destroy();
+    }
+
+    private static JdbcDataSource replica(String name) throws SQLException {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + name + ";MODE=MySQL;DB_CLOSE_DELAY=-1");
+        execute(dataSource, "CREATE TABLE replica_lag (lag_millis BIGINT)");
+        execute(dataSource, "INSERT INTO replica_lag VALUES (0)");
+        return dataSource;
+    }
+
+    private static void setLag(DataSource dataSource, long lag) throws SQLException {
+        execute(dataSource, "UPDATE replica_lag SET lag_millis = " + lag);
+    }
+
+    private static void execute(DataSource dataSource, String sql) throws SQLException {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+}
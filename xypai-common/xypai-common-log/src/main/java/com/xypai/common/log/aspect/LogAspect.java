@@ -1,9 +1,12 @@
 package com.xypai.common.log.aspect;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Date;
+import java.util.List;
 import java.util.Map;
-import jakarta.servlet.http.HttpServletRequest;
-import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
 import org.apache.commons.lang3.ArrayUtils;
 import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.annotation.AfterReturning;
@@ -14,11 +17,11 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.NamedThreadLocal;
+import org.springframework.core.io.InputStreamSource;
 import org.springframework.http.HttpMethod;
 import org.springframework.stereotype.Component;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.multipart.MultipartFile;
-import com.alibaba.fastjson2.JSON;
 import com.xypai.common.core.text.Convert;
 import com.xypai.common.core.utils.ExceptionUtil;
 import com.xypai.common.core.utils.ServletUtils;
@@ -28,6 +31,7 @@ import com.xypai.common.log.annotation.Log;
 import com.xypai.common.log.enums.BusinessStatus;
 import com.xypai.common.log.filter.PropertyPreExcludeFilter;
 import com.xypai.common.log.service.AsyncLogService;
+import com.xypai.common.log.utils.BoundedJsonWriter;
 import com.xypai.common.security.utils.SecurityUtils;
 import com.xypai.system.api.domain.SysOperLog;
 
@@ -45,6 +49,9 @@ public class LogAspect
     /** 排除敏感属性字段 */
     public static final String[] EXCLUDE_PROPERTIES = { "password", "oldPassword", "newPassword", "confirmPassword" };
 
+    /** 请求参数、返回结果等字段的最大保存长度 */
+    public static final int MAX_LENGTH = 2000;
+
     /** 计算操作消耗时间 */
     private static final ThreadLocal<Long> TIME_THREADLOCAL = new NamedThreadLocal<Long>("Cost Time");
 
@@ -90,6 +97,8 @@ public class LogAspect
             // *========数据库日志=========*//
             SysOperLog operLog = new SysOperLog();
             operLog.setStatus(BusinessStatus.SUCCESS.ordinal());
+            // 批量入库存在延迟，操作时间以此刻为准
+            operLog.setOperTime(new Date());
             // 请求的地址
             String ip = IpUtils.getIpAddr();
             operLog.setOperIp(ip);
@@ -111,7 +120,7 @@ public class LogAspect
             operLog.setMethod(className + "." + methodName + "()");
             // 设置请求方式
             operLog.setRequestMethod(ServletUtils.getRequest().getMethod());
-            // 处理设置注解上的参数
+            // 处理设置注解上的参数，请求参数与返回结果在入队前按长度上限序列化，队列不持有原对象
             getControllerMethodDescription(joinPoint, controllerLog, operLog, jsonResult);
             // 设置消耗时间
             operLog.setCostTime(System.currentTimeMillis() - TIME_THREADLOCAL.get());
@@ -154,7 +163,7 @@ public class LogAspect
         // 是否需要保存response，参数和值
         if (log.isSaveResponseData() && StringUtils.isNotNull(jsonResult))
         {
-            operLog.setJsonResult(StringUtils.substring(JSON.toJSONString(jsonResult), 0, 2000));
+            operLog.setJsonResult(BoundedJsonWriter.toJSONString(jsonResult, MAX_LENGTH));
         }
     }
 
@@ -168,41 +177,59 @@ public class LogAspect
     {
         Map<?, ?> paramsMap = ServletUtils.getParamMap(ServletUtils.getRequest());
         String requestMethod = operLog.getRequestMethod();
+        String[] excludes = ArrayUtils.addAll(EXCLUDE_PROPERTIES, excludeParamNames);
         if (StringUtils.isEmpty(paramsMap) && StringUtils.equalsAny(requestMethod, HttpMethod.PUT.name(), HttpMethod.POST.name(), HttpMethod.DELETE.name()))
         {
-            String params = argsArrayToString(joinPoint.getArgs(), excludeParamNames);
-            operLog.setOperParam(StringUtils.substring(params, 0, 2000));
+            operLog.setOperParam(argsArrayToString(filterArgs(joinPoint.getArgs()), excludes));
         }
         else
         {
-            operLog.setOperParam(StringUtils.substring(JSON.toJSONString(paramsMap, excludePropertyPreFilter(excludeParamNames)), 0, 2000));
+            operLog.setOperParam(BoundedJsonWriter.toJSONString(paramsMap, MAX_LENGTH, excludes));
+        }
+    }
+
+    /**
+     * 过滤文件、请求/响应等不可序列化的参数
+     */
+    private Object[] filterArgs(Object[] paramsArray)
+    {
+        if (paramsArray == null || paramsArray.length == 0)
+        {
+            return ArrayUtils.EMPTY_OBJECT_ARRAY;
+        }
+        List<Object> args = new ArrayList<>(paramsArray.length);
+        for (Object o : paramsArray)
+        {
+            if (StringUtils.isNotNull(o) && !isFilterObject(o))
+            {
+                args.add(o);
+            }
         }
+        return args.toArray();
     }
 
     /**
      * 参数拼装
      */
-    private String argsArrayToString(Object[] paramsArray, String[] excludeParamNames)
+    private String argsArrayToString(Object[] args, String[] excludes)
     {
-        String params = "";
-        if (paramsArray != null && paramsArray.length > 0)
+        StringBuilder params = new StringBuilder();
+        for (Object o : args)
         {
-            for (Object o : paramsArray)
+            int remaining = MAX_LENGTH - params.length();
+            if (remaining <= 0)
+            {
+                break;
+            }
+            try
+            {
+                params.append(BoundedJsonWriter.toJSONString(o, remaining, excludes)).append(' ');
+            }
+            catch (Exception e)
             {
-                if (StringUtils.isNotNull(o) && !isFilterObject(o))
-                {
-                    try
-                    {
-                        String jsonObj = JSON.toJSONString(o, excludePropertyPreFilter(excludeParamNames));
-                        params += jsonObj.toString() + " ";
-                    }
-                    catch (Exception e)
-                    {
-                    }
-                }
             }
         }
-        return params.trim();
+        return StringUtils.substring(params.toString().trim(), 0, MAX_LENGTH);
     }
 
     /**
@@ -219,32 +246,21 @@ public class LogAspect
      * @param o 对象信息。
      * @return 如果是需要过滤的对象，则返回true；否则返回false。
      */
-    @SuppressWarnings("rawtypes")
     public boolean isFilterObject(final Object o)
     {
-        Class<?> clazz = o.getClass();
-        if (clazz.isArray())
+        if (o instanceof MultipartFile || o instanceof MultipartFile[] || o instanceof ServletRequest
+                || o instanceof ServletResponse || o instanceof BindingResult || o instanceof InputStreamSource)
         {
-            return clazz.getComponentType().isAssignableFrom(MultipartFile.class);
+            return true;
         }
-        else if (Collection.class.isAssignableFrom(clazz))
+        if (o instanceof Collection<?> collection)
         {
-            Collection collection = (Collection) o;
-            for (Object value : collection)
-            {
-                return value instanceof MultipartFile;
-            }
+            return !collection.isEmpty() && collection.iterator().next() instanceof MultipartFile;
         }
-        else if (Map.class.isAssignableFrom(clazz))
+        if (o instanceof Map<?, ?> map)
         {
-            Map map = (Map) o;
-            for (Object value : map.entrySet())
-            {
-                Map.Entry entry = (Map.Entry) value;
-                return entry.getValue() instanceof MultipartFile;
-            }
+            return !map.isEmpty() && map.values().iterator().next() instanceof MultipartFile;
         }
-        return o instanceof MultipartFile || o instanceof HttpServletRequest || o instanceof HttpServletResponse
-                || o instanceof BindingResult;
+        return false;
     }
 }
@@ -0,0 +1,149 @@
+package com.xypai.common.log.logback;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.IThrowableProxy;
+import ch.qos.logback.classic.spi.ThrowableProxyUtil;
+import ch.qos.logback.core.encoder.EncoderBase;
+
+/**
+ * 结构化日志编码器，每个事件输出一行JSON
+ * <p>
+ * 字段：@timestamp、level、thread、logger、app、MDC中的全部字段（如 traceId、userId）、message、stackTrace。
+ * 不输出调用方类名/行号，因此无需在业务线程上采集调用栈。
+ *
+ * @author xypai
+ */
+public class JsonLogEncoder extends EncoderBase<ILoggingEvent>
+{
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final ZoneId zone = ZoneId.systemDefault();
+
+    /** 服务名，输出为 app 字段 */
+    private String app;
+
+    /** 异常堆栈最大长度 */
+    private int maxStackTraceLength = 16384;
+
+    @Override
+    public byte[] headerBytes()
+    {
+        return null;
+    }
+
+    @Override
+    public byte[] footerBytes()
+    {
+        return null;
+    }
+
+    @Override
+    public byte[] encode(ILoggingEvent event)
+    {
+        StringBuilder buf = new StringBuilder(256);
+        buf.append('{');
+        field(buf, "@timestamp", DateTimeFormatter.ISO_OFFSET_DATE_TIME.format(Instant.ofEpochMilli(event.getTimeStamp()).atZone(zone)));
+        field(buf, "level", event.getLevel().toString());
+        field(buf, "thread", event.getThreadName());
+        field(buf, "logger", event.getLoggerName());
+        field(buf, "app", app);
+        Map<String, String> mdc = event.getMDCPropertyMap();
+        if (mdc != null)
+        {
+            for (Map.Entry<String, String> entry : mdc.entrySet())
+            {
+                field(buf, entry.getKey(), entry.getValue());
+            }
+        }
+        field(buf, "message", event.getFormattedMessage());
+        IThrowableProxy throwable = event.getThrowableProxy();
+        if (throwable != null)
+        {
+            String stackTrace = ThrowableProxyUtil.asString(throwable);
+            if (stackTrace.length() > maxStackTraceLength)
+            {
+                stackTrace = stackTrace.substring(0, maxStackTraceLength);
+            }
+            field(buf, "stackTrace", stackTrace);
+        }
+        buf.setCharAt(buf.length() - 1, '}');
+        buf.append('\n');
+        return buf.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 追加 "name":"value", 值为null时跳过
+     */
+    private static void field(StringBuilder buf, String name, String value)
+    {
+        if (value == null)
+        {
+            return;
+        }
+        buf.append('"');
+        escape(buf, name);
+        buf.append("\":\"");
+        escape(buf, value);
+        buf.append("\",");
+    }
+
+    static void escape(StringBuilder buf, String value)
+    {
+        for (int i = 0; i < value.length(); i++)
+        {
+            char c = value.charAt(i);
+            switch (c)
+            {
+                case '"':
+                    buf.append("\\\"");
+                    break;
+                case '\\':
+                    buf.append("\\\\");
+                    break;
+                case '\n':
+                    buf.append("\\n");
+                    break;
+                case '\r':
+                    buf.append("\\r");
+                    break;
+                case '\t':
+                    buf.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20)
+                    {
+                        buf.append("\\u00").append(HEX[c >> 4]).append(HEX[c & 0xF]);
+                    }
+                    else
+                    {
+                        buf.append(c);
+                    }
+            }
+        }
+    }
+
+    public String getApp()
+    {
+        return app;
+    }
+
+    public void setApp(String app)
+    {
+        this.app = app;
+    }
+
+    public int getMaxStackTraceLength()
+    {
+        return maxStackTraceLength;
+    }
+
+    public void setMaxStackTraceLength(int maxStackTraceLength)
+    {
+        this.maxStackTraceLength = maxStackTraceLength;
+    }
+}
@@ -0,0 +1,107 @@
+package com.xypai.common.log.logback;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import org.slf4j.Marker;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+
+/**
+ * 按logger采样INFO及以下级别的日志，用于高频业务日志（如每条消息发送都会打印的INFO）
+ * <p>
+ * 配置示例：
+ * <pre>
+ * &lt;turboFilter class="com.xypai.common.log.logback.SamplingTurboFilter"&gt;
+ *     &lt;sample&gt;com.xypai.chat.service.impl.ChatMessageServiceImpl=0.1&lt;/sample&gt;
+ * &lt;/turboFilter&gt;
+ * </pre>
+ * logger名称按前缀匹配（取最长的配置），WARN、ERROR以及带异常的日志不采样。
+ * isInfoEnabled() 等判断（format为null）不参与采样，否则先判断再打印的写法会被采样两次，
+ * 实际保留比例变为采样率的平方。
+ *
+ * @author xypai
+ */
+public class SamplingTurboFilter extends TurboFilter
+{
+    /** 未配置采样的logger */
+    private static final Double NONE = -1D;
+
+    /** logger名称前缀 -> 采样率 */
+    private final Map<String, Double> samples = new LinkedHashMap<>();
+
+    /** logger名称 -> 采样率，首次访问时解析 */
+    private final Map<String, Double> resolved = new ConcurrentHashMap<>();
+
+    private final LongAdder dropped = new LongAdder();
+
+    /**
+     * 添加采样配置
+     *
+     * @param sample 格式 logger名称或前缀=采样率(0~1)
+     */
+    public void addSample(String sample)
+    {
+        int index = sample.lastIndexOf('=');
+        if (index <= 0)
+        {
+            addError("采样配置格式应为 logger=rate: " + sample);
+            return;
+        }
+        try
+        {
+            double rate = Double.parseDouble(sample.substring(index + 1).trim());
+            samples.put(sample.substring(0, index).trim(), Math.max(0D, Math.min(1D, rate)));
+            resolved.clear();
+        }
+        catch (NumberFormatException e)
+        {
+            addError("采样率不合法: " + sample);
+        }
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t)
+    {
+        if (!isStarted() || format == null || level == null || level.levelInt > Level.INFO_INT || t != null)
+        {
+            return FilterReply.NEUTRAL;
+        }
+        double rate = resolved.computeIfAbsent(logger.getName(), this::resolve);
+        if (rate < 0D || ThreadLocalRandom.current().nextDouble() < rate)
+        {
+            return FilterReply.NEUTRAL;
+        }
+        dropped.increment();
+        return FilterReply.DENY;
+    }
+
+    /**
+     * 因采样丢弃的日志条数
+     */
+    public long getDropped()
+    {
+        return dropped.sum();
+    }
+
+    private Double resolve(String name)
+    {
+        Double rate = NONE;
+        int matched = -1;
+        for (Map.Entry<String, Double> entry : samples.entrySet())
+        {
+            String prefix = entry.getKey();
+            boolean match = name.equals(prefix) || (name.startsWith(prefix) && name.charAt(prefix.length()) == '.');
+            if (match && prefix.length() > matched)
+            {
+                matched = prefix.length();
+                rate = entry.getValue();
+            }
+        }
+        return rate >= 1D ? NONE : rate;
+    }
+}
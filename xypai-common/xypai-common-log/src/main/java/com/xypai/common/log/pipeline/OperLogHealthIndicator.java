@@ -0,0 +1,49 @@
+package com.xypai.common.log.pipeline;
+
+import java.util.Date;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.AbstractHealthIndicator;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.stereotype.Component;
+
+/**
+ * 操作日志管道健康检查 /actuator/health/operLog
+ * <p>
+ * 日志服务不可用时返回 DEGRADED（HTTP状态仍为200，不影响服务注册与探活），并给出本地缓冲的积压情况。
+ *
+ * @author xypai
+ */
+@Component("operLogHealthIndicator")
+public class OperLogHealthIndicator extends AbstractHealthIndicator
+{
+    public static final Status DEGRADED = new Status("DEGRADED", "日志服务不可用，操作日志写入本地缓冲");
+
+    @Autowired
+    private OperLogPipeline operLogPipeline;
+
+    @Override
+    protected void doHealthCheck(Health.Builder builder)
+    {
+        if (operLogPipeline.isRemoteHealthy())
+        {
+            builder.up();
+        }
+        else
+        {
+            builder.status(DEGRADED).withDetail("unhealthySince", new Date(operLogPipeline.getUnhealthySince()));
+        }
+        builder.withDetail("bufferSize", operLogPipeline.getBufferSize());
+        builder.withDetail("bufferCapacity", operLogPipeline.getBufferCapacity());
+        OperLogSpool spool = operLogPipeline.getSpool();
+        if (spool == null)
+        {
+            builder.withDetail("spool", "disabled");
+            return;
+        }
+        builder.withDetail("spoolDir", spool.getDir().toString());
+        builder.withDetail("spoolPending", spool.getPendingRecords());
+        builder.withDetail("spoolBytes", spool.getDiskUsage());
+        builder.withDetail("spoolDropped", spool.getDroppedRecords());
+    }
+}
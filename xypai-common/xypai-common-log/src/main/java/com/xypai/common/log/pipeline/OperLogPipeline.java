@@ -0,0 +1,477 @@
+package com.xypai.common.log.pipeline;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import com.alibaba.fastjson2.JSON;
+import com.xypai.common.core.constant.SecurityConstants;
+import com.xypai.common.core.domain.R;
+import com.xypai.common.log.aspect.LogAspect;
+import com.xypai.common.log.enums.BusinessStatus;
+import com.xypai.system.api.RemoteLogService;
+import com.xypai.system.api.domain.SysOperLog;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * 操作日志批量投递管道
+ * <p>
+ * 业务线程只把日志放入有界环形队列，由单个后台线程按条数（batch-size）或等待时长（linger）凑批，
+ * 通过 /operlog/batch 一次写入。入队的日志只含已截断的字符串，队列不引用请求参数、返回结果等原始对象，
+ * 占用内存上限约为 capacity * 单条日志上限。队列满时丢弃新日志；采用 sample 策略时，队列超过水位线后
+ * 成功日志按采样率保留，失败日志始终尝试入队。
+ * <p>
+ * 投递失败（含Feign降级）时标记日志服务不可用，此后的批次直接写入本地缓冲文件 {@link OperLogSpool}，
+ * 不再等待远程超时；每隔 retry-interval 用缓冲中最旧的一批探测，成功后恢复并持续回放。
+ * <p>
+ * 指标：xypai.operlog.buffer.depth（队列深度）、xypai.operlog.dropped（按原因统计的丢弃条数）、
+ * xypai.operlog.sent（已投递条数）、xypai.operlog.batch（批量投递耗时）、
+ * xypai.operlog.spool.records / bytes（本地缓冲）、xypai.operlog.spooled / replayed（写入/回放条数）。
+ *
+ * @author xypai
+ */
+@Component
+public class OperLogPipeline
+{
+    private static final Logger log = LoggerFactory.getLogger(OperLogPipeline.class);
+
+    /** 队列满时丢弃 */
+    public static final String POLICY_DROP = "drop";
+
+    /** 超过水位线后采样保留 */
+    public static final String POLICY_SAMPLE = "sample";
+
+    @Value("${xypai.log.oper.capacity:8192}")
+    private int capacity;
+
+    @Value("${xypai.log.oper.batch-size:200}")
+    private int batchSize;
+
+    /**
+     * 凑批最长等待时间（毫秒）
+     */
+    @Value("${xypai.log.oper.linger:1000}")
+    private long linger;
+
+    @Value("${xypai.log.oper.overflow-policy:drop}")
+    private String overflowPolicy;
+
+    /**
+     * 采样策略的水位线，占容量的比例
+     */
+    @Value("${xypai.log.oper.sample-watermark:0.8}")
+    private double sampleWatermark;
+
+    /**
+     * 超过水位线后成功日志的保留比例
+     */
+    @Value("${xypai.log.oper.sample-rate:0.1}")
+    private double sampleRate;
+
+    @Value("${xypai.log.oper.spool.enabled:true}")
+    private boolean spoolEnabled;
+
+    @Value("${xypai.log.oper.spool.dir:${user.home}/xypai/spool/${spring.application.name:xypai}}")
+    private String spoolDir;
+
+    /**
+     * 缓冲段文件大小（字节）
+     */
+    @Value("${xypai.log.oper.spool.segment-size:16777216}")
+    private int spoolSegmentSize;
+
+    /**
+     * 最多保留的缓冲段个数，磁盘占用上限为 segment-size * max-segments
+     */
+    @Value("${xypai.log.oper.spool.max-segments:8}")
+    private int spoolMaxSegments;
+
+    /**
+     * 日志服务不可用时的探测间隔（毫秒）
+     */
+    @Value("${xypai.log.oper.spool.retry-interval:5000}")
+    private long retryInterval;
+
+    @Autowired
+    private RemoteLogService remoteLogService;
+
+    private final MeterRegistry registry;
+
+    private RingBuffer<SysOperLog> buffer;
+
+    private Counter droppedFull;
+
+    private Counter droppedSampled;
+
+    private Counter droppedFailed;
+
+    private Counter sent;
+
+    private Timer batchTimer;
+
+    private Counter spooled;
+
+    private Counter replayed;
+
+    private OperLogSpool spool;
+
+    private volatile boolean remoteHealthy = true;
+
+    private volatile long unhealthySince;
+
+    private long nextRetryAt;
+
+    private volatile boolean running;
+
+    private Thread worker;
+
+    public OperLogPipeline(ObjectProvider<MeterRegistry> registryProvider)
+    {
+        this.registry = registryProvider.getIfAvailable(() -> Metrics.globalRegistry);
+    }
+
+    @PostConstruct
+    public void start()
+    {
+        buffer = new RingBuffer<>(capacity);
+        Gauge.builder("xypai.operlog.buffer.depth", buffer, RingBuffer::size)
+                .description("操作日志队列深度")
+                .register(registry);
+        Gauge.builder("xypai.operlog.buffer.capacity", buffer, RingBuffer::capacity)
+                .description("操作日志队列容量")
+                .register(registry);
+        droppedFull = droppedCounter("full");
+        droppedSampled = droppedCounter("sampled");
+        droppedFailed = droppedCounter("send_failed");
+        sent = Counter.builder("xypai.operlog.sent").description("已投递的操作日志条数").register(registry);
+        batchTimer = Timer.builder("xypai.operlog.batch").description("操作日志批量投递耗时").register(registry);
+        openSpool();
+
+        running = true;
+        worker = new Thread(this::run, "oper-log-pipeline");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * 提交操作日志，不阻塞调用线程；请求参数、返回结果等字段超过 {@link LogAspect#MAX_LENGTH} 的部分在入队前截断
+     *
+     * @return false=日志被丢弃
+     */
+    public boolean submit(SysOperLog operLog)
+    {
+        if (POLICY_SAMPLE.equals(overflowPolicy) && !isFailure(operLog)
+                && buffer.size() >= buffer.capacity() * sampleWatermark
+                && ThreadLocalRandom.current().nextDouble() >= sampleRate)
+        {
+            droppedSampled.increment();
+            return false;
+        }
+        truncate(operLog);
+        if (!buffer.offer(operLog))
+        {
+            droppedFull.increment();
+            return false;
+        }
+        if (buffer.size() >= batchSize)
+        {
+            LockSupport.unpark(worker);
+        }
+        return true;
+    }
+
+    @PreDestroy
+    public void stop()
+    {
+        running = false;
+        LockSupport.unpark(worker);
+        try
+        {
+            worker.join(TimeUnit.SECONDS.toMillis(10));
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run()
+    {
+        List<SysOperLog> batch = new ArrayList<>(batchSize);
+        long lingerNanos = TimeUnit.MILLISECONDS.toNanos(linger);
+        long firstAt = 0;
+        while (running || buffer.size() > 0)
+        {
+            if (batch.isEmpty())
+            {
+                firstAt = System.nanoTime();
+            }
+            SysOperLog operLog;
+            while (batch.size() < batchSize && (operLog = buffer.poll()) != null)
+            {
+                batch.add(operLog);
+            }
+            long waited = System.nanoTime() - firstAt;
+            if (batch.size() >= batchSize || (!batch.isEmpty() && (waited >= lingerNanos || !running)))
+            {
+                flush(batch);
+                batch = new ArrayList<>(batchSize);
+                continue;
+            }
+            if (running && replay())
+            {
+                continue;
+            }
+            LockSupport.parkNanos(this, batch.isEmpty() ? lingerNanos : lingerNanos - waited);
+        }
+        if (!batch.isEmpty())
+        {
+            flush(batch);
+        }
+        closeSpool();
+    }
+
+    /**
+     * 投递一批日志，日志服务不可用时写入本地缓冲
+     */
+    private void flush(List<SysOperLog> batch)
+    {
+        if (!remoteHealthy && spool != null)
+        {
+            spool(batch);
+            return;
+        }
+        if (send(batch))
+        {
+            sent.increment(batch.size());
+            markHealthy();
+            return;
+        }
+        markUnhealthy();
+        if (spool != null)
+        {
+            spool(batch);
+        }
+        else
+        {
+            droppedFailed.increment(batch.size());
+        }
+    }
+
+    /**
+     * 回放一批本地缓冲的日志
+     *
+     * @return true=回放成功且缓冲中仍可能有数据
+     */
+    private boolean replay()
+    {
+        if (spool == null || spool.isEmpty() || (!remoteHealthy && System.currentTimeMillis() < nextRetryAt))
+        {
+            return false;
+        }
+        try
+        {
+            List<SysOperLog> logs = new ArrayList<>();
+            for (byte[] record : spool.read(batchSize))
+            {
+                try
+                {
+                    logs.add(JSON.parseObject(record, SysOperLog.class));
+                }
+                catch (Exception e)
+                {
+                    log.warn("操作日志缓冲记录无法解析，已跳过", e);
+                }
+            }
+            if (!logs.isEmpty() && !send(logs))
+            {
+                markUnhealthy();
+                return false;
+            }
+            spool.commit();
+            replayed.increment(logs.size());
+            markHealthy();
+            return true;
+        }
+        catch (IOException e)
+        {
+            log.error("回放操作日志缓冲失败", e);
+            return false;
+        }
+    }
+
+    private boolean send(List<SysOperLog> batch)
+    {
+        long start = System.nanoTime();
+        try
+        {
+            R<Boolean> result = remoteLogService.saveLogBatch(batch, SecurityConstants.INNER);
+            if (result == null || R.isError(result))
+            {
+                log.error("批量保存操作日志失败 size={} msg={}", batch.size(), result == null ? null : result.getMsg());
+                return false;
+            }
+            return true;
+        }
+        catch (Exception e)
+        {
+            log.error("批量保存操作日志异常 size={}", batch.size(), e);
+            return false;
+        }
+        finally
+        {
+            batchTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void spool(List<SysOperLog> batch)
+    {
+        try
+        {
+            for (SysOperLog operLog : batch)
+            {
+                spool.append(JSON.toJSONBytes(operLog));
+            }
+            spool.force();
+            spooled.increment(batch.size());
+        }
+        catch (IOException e)
+        {
+            droppedFailed.increment(batch.size());
+            log.error("写入操作日志缓冲失败 size={}", batch.size(), e);
+        }
+    }
+
+    private void markHealthy()
+    {
+        if (!remoteHealthy)
+        {
+            log.info("日志服务已恢复，开始回放本地缓冲 pending={}", spool == null ? 0 : spool.getPendingRecords());
+            remoteHealthy = true;
+        }
+    }
+
+    private void markUnhealthy()
+    {
+        if (remoteHealthy)
+        {
+            log.warn("日志服务不可用，操作日志写入本地缓冲 dir={}", spool == null ? null : spool.getDir());
+            remoteHealthy = false;
+            unhealthySince = System.currentTimeMillis();
+        }
+        nextRetryAt = System.currentTimeMillis() + retryInterval;
+    }
+
+    private void openSpool()
+    {
+        spooled = Counter.builder("xypai.operlog.spooled").description("写入本地缓冲的操作日志条数").register(registry);
+        replayed = Counter.builder("xypai.operlog.replayed").description("从本地缓冲回放的操作日志条数").register(registry);
+        if (!spoolEnabled)
+        {
+            return;
+        }
+        try
+        {
+            spool = OperLogSpool.open(Paths.get(spoolDir), spoolSegmentSize, spoolMaxSegments);
+            Gauge.builder("xypai.operlog.spool.records", spool, OperLogSpool::getPendingRecords)
+                    .description("本地缓冲中待回放的操作日志条数")
+                    .register(registry);
+            Gauge.builder("xypai.operlog.spool.bytes", spool, OperLogSpool::getDiskUsage)
+                    .description("本地缓冲占用的磁盘空间")
+                    .baseUnit("bytes")
+                    .register(registry);
+            FunctionCounter.builder("xypai.operlog.dropped", spool, OperLogSpool::getDroppedRecords)
+                    .description("丢弃的操作日志条数")
+                    .tag("reason", "spool_full")
+                    .register(registry);
+        }
+        catch (IOException | RuntimeException e)
+        {
+            log.warn("操作日志本地缓冲不可用，日志服务故障期间的日志将被丢弃 dir={}", spoolDir, e);
+        }
+    }
+
+    private void closeSpool()
+    {
+        if (spool != null)
+        {
+            try
+            {
+                spool.close();
+            }
+            catch (IOException e)
+            {
+                log.warn("关闭操作日志缓冲失败", e);
+            }
+        }
+    }
+
+    public boolean isRemoteHealthy()
+    {
+        return remoteHealthy;
+    }
+
+    public long getUnhealthySince()
+    {
+        return unhealthySince;
+    }
+
+    /**
+     * 本地缓冲，未启用或不可用时返回null
+     */
+    public OperLogSpool getSpool()
+    {
+        return spool;
+    }
+
+    public int getBufferSize()
+    {
+        return buffer.size();
+    }
+
+    public int getBufferCapacity()
+    {
+        return buffer.capacity();
+    }
+
+    private Counter droppedCounter(String reason)
+    {
+        return Counter.builder("xypai.operlog.dropped")
+                .description("丢弃的操作日志条数")
+                .tag("reason", reason)
+                .register(registry);
+    }
+
+    private static void truncate(SysOperLog operLog)
+    {
+        operLog.setOperParam(truncate(operLog.getOperParam()));
+        operLog.setJsonResult(truncate(operLog.getJsonResult()));
+        operLog.setErrorMsg(truncate(operLog.getErrorMsg()));
+    }
+
+    private static String truncate(String value)
+    {
+        return value == null || value.length() <= LogAspect.MAX_LENGTH ? value : value.substring(0, LogAspect.MAX_LENGTH);
+    }
+
+    private static boolean isFailure(SysOperLog operLog)
+    {
+        return operLog.getStatus() != null && operLog.getStatus() == BusinessStatus.FAIL.ordinal();
+    }
+}
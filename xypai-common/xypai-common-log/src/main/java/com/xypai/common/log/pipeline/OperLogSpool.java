@@ -0,0 +1,421 @@
+package com.xypai.common.log.pipeline;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * 操作日志本地缓冲文件（内存映射、只追加）
+ * <p>
+ * 由若干固定大小的段文件组成，段头为 [magic:int][readPos:int]，记录为 [length:int][crc32:int][data]，
+ * 写入时最后写length，因此进程崩溃只会丢失未写完的最后一条；重启时从段头扫描到第一条长度为0或校验失败的记录。
+ * 段数超过上限时删除最旧的段（其中未回放的记录计为丢弃），磁盘占用不超过 segmentSize * maxSegments。
+ * <p>
+ * 非线程安全，只能由操作日志管道线程访问；统计字段可被其它线程读取。
+ *
+ * @author xypai
+ */
+public class OperLogSpool implements Closeable
+{
+    private static final Logger log = LoggerFactory.getLogger(OperLogSpool.class);
+
+    private static final int MAGIC = 0x58594C47;
+
+    private static final int SEGMENT_HEADER = 8;
+
+    private static final int RECORD_HEADER = 8;
+
+    private static final String SUFFIX = ".spool";
+
+    private static final String LOCK_FILE = "spool.lock";
+
+    private final Path dir;
+
+    private final int segmentSize;
+
+    private final int maxSegments;
+
+    private final Deque<Segment> segments = new ArrayDeque<>();
+
+    private final FileChannel lockChannel;
+
+    private final FileLock lock;
+
+    private final CRC32 crc = new CRC32();
+
+    private long nextSegmentId;
+
+    /** 上次read()读取到的位置，commit()时生效 */
+    private Segment readingSegment;
+
+    private int readingPos;
+
+    private int readingCount;
+
+    private volatile long pendingRecords;
+
+    private volatile long droppedRecords;
+
+    private OperLogSpool(Path dir, int segmentSize, int maxSegments, FileChannel lockChannel, FileLock lock)
+    {
+        this.dir = dir;
+        this.segmentSize = segmentSize;
+        this.maxSegments = maxSegments;
+        this.lockChannel = lockChannel;
+        this.lock = lock;
+    }
+
+    /**
+     * 打开缓冲目录并恢复未回放的记录
+     *
+     * @param dir 目录，同一目录只允许一个进程使用
+     * @param segmentSize 段文件大小（字节）
+     * @param maxSegments 最多保留的段数
+     * @return 缓冲文件
+     * @throws IOException 目录不可用或已被其它进程占用
+     */
+    public static OperLogSpool open(Path dir, int segmentSize, int maxSegments) throws IOException
+    {
+        if (segmentSize <= SEGMENT_HEADER + RECORD_HEADER || maxSegments <= 0)
+        {
+            throw new IllegalArgumentException("segmentSize或maxSegments不合法");
+        }
+        Files.createDirectories(dir);
+        FileChannel lockChannel = FileChannel.open(dir.resolve(LOCK_FILE), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        FileLock lock;
+        try
+        {
+            lock = lockChannel.tryLock();
+        }
+        catch (OverlappingFileLockException e)
+        {
+            lock = null;
+        }
+        if (lock == null)
+        {
+            lockChannel.close();
+            throw new IOException("缓冲目录已被其它进程占用: " + dir);
+        }
+        OperLogSpool spool = new OperLogSpool(dir, segmentSize, maxSegments, lockChannel, lock);
+        spool.recover();
+        return spool;
+    }
+
+    /**
+     * 追加一条记录
+     *
+     * @param data 记录内容
+     * @return false=记录超过单段容量被丢弃
+     */
+    public boolean append(byte[] data) throws IOException
+    {
+        if (data.length > segmentSize - SEGMENT_HEADER - RECORD_HEADER)
+        {
+            droppedRecords++;
+            return false;
+        }
+        Segment segment = segments.peekLast();
+        if (segment == null || segment.writePos + RECORD_HEADER + data.length > segmentSize)
+        {
+            segment = roll();
+        }
+        crc.reset();
+        crc.update(data);
+        MappedByteBuffer buffer = segment.buffer;
+        int pos = segment.writePos;
+        buffer.putInt(pos + 4, (int) crc.getValue());
+        buffer.put(pos + RECORD_HEADER, data);
+        buffer.putInt(pos, data.length);
+        segment.writePos = pos + RECORD_HEADER + data.length;
+        segment.records++;
+        pendingRecords++;
+        return true;
+    }
+
+    /**
+     * 将当前写入段刷到磁盘
+     */
+    public void force()
+    {
+        Segment segment = segments.peekLast();
+        if (segment != null)
+        {
+            segment.buffer.force();
+        }
+    }
+
+    /**
+     * 从最旧的段读取记录，调用 {@link #commit()} 后才真正移除
+     *
+     * @param max 最多读取条数
+     * @return 记录列表
+     */
+    public List<byte[]> read(int max) throws IOException
+    {
+        List<byte[]> records = new ArrayList<>();
+        Segment segment = segments.peekFirst();
+        while (segment != null && segment.readPos >= segment.writePos && segment != segments.peekLast())
+        {
+            delete(segments.pollFirst());
+            segment = segments.peekFirst();
+        }
+        readingSegment = segment;
+        readingCount = 0;
+        if (segment == null)
+        {
+            return records;
+        }
+        int pos = segment.readPos;
+        while (records.size() < max && pos < segment.writePos)
+        {
+            int length = segment.buffer.getInt(pos);
+            byte[] data = new byte[length];
+            segment.buffer.get(pos + RECORD_HEADER, data);
+            records.add(data);
+            pos += RECORD_HEADER + length;
+        }
+        readingPos = pos;
+        readingCount = records.size();
+        return records;
+    }
+
+    /**
+     * 确认上次 {@link #read(int)} 读取的记录已处理
+     */
+    public void commit() throws IOException
+    {
+        Segment segment = readingSegment;
+        if (segment == null || readingCount == 0 || !segments.contains(segment))
+        {
+            return;
+        }
+        segment.readPos = readingPos;
+        segment.buffer.putInt(4, readingPos);
+        segment.records -= readingCount;
+        pendingRecords -= readingCount;
+        readingSegment = null;
+        readingCount = 0;
+        if (segment.readPos >= segment.writePos && segment != segments.peekLast())
+        {
+            segments.remove(segment);
+            delete(segment);
+        }
+    }
+
+    public boolean isEmpty()
+    {
+        return pendingRecords <= 0;
+    }
+
+    /**
+     * 待回放的记录数
+     */
+    public long getPendingRecords()
+    {
+        return pendingRecords;
+    }
+
+    /**
+     * 因超出磁盘上限或单条过大而丢弃的记录数
+     */
+    public long getDroppedRecords()
+    {
+        return droppedRecords;
+    }
+
+    /**
+     * 段文件占用的磁盘空间（字节）
+     */
+    public long getDiskUsage()
+    {
+        return (long) segments.size() * segmentSize;
+    }
+
+    public Path getDir()
+    {
+        return dir;
+    }
+
+    @Override
+    public void close() throws IOException
+    {
+        for (Segment segment : segments)
+        {
+            segment.buffer.force();
+            segment.channel.close();
+        }
+        segments.clear();
+        lock.release();
+        lockChannel.close();
+    }
+
+    private void recover() throws IOException
+    {
+        List<Path> files;
+        try (Stream<Path> stream = Files.list(dir))
+        {
+            files = stream.filter(p -> p.getFileName().toString().endsWith(SUFFIX)).sorted().toList();
+        }
+        for (Path file : files)
+        {
+            long id = Long.parseLong(file.getFileName().toString().replace(SUFFIX, ""));
+            nextSegmentId = Math.max(nextSegmentId, id + 1);
+            if (Files.size(file) != segmentSize)
+            {
+                log.warn("操作日志缓冲段大小与配置不一致，已丢弃 file={}", file);
+                Files.deleteIfExists(file);
+                continue;
+            }
+            Segment segment = map(file);
+            if (segment.buffer.getInt(0) != MAGIC)
+            {
+                delete(segment);
+                continue;
+            }
+            scan(segment);
+            if (segment.records > 0)
+            {
+                segments.addLast(segment);
+                pendingRecords += segment.records;
+            }
+            else
+            {
+                delete(segment);
+            }
+        }
+        while (segments.size() > maxSegments)
+        {
+            evictOldest();
+        }
+        if (pendingRecords > 0)
+        {
+            log.info("恢复操作日志缓冲 dir={} records={}", dir, pendingRecords);
+        }
+    }
+
+    /**
+     * 扫描段内有效记录，遇到长度为0或校验失败的记录即视为末尾
+     */
+    private void scan(Segment segment)
+    {
+        MappedByteBuffer buffer = segment.buffer;
+        int readPos = Math.max(SEGMENT_HEADER, buffer.getInt(4));
+        int pos = SEGMENT_HEADER;
+        while (pos + RECORD_HEADER <= segmentSize)
+        {
+            int length = buffer.getInt(pos);
+            if (length <= 0 || pos + RECORD_HEADER + length > segmentSize)
+            {
+                break;
+            }
+            byte[] data = new byte[length];
+            buffer.get(pos + RECORD_HEADER, data);
+            crc.reset();
+            crc.update(data);
+            if ((int) crc.getValue() != buffer.getInt(pos + 4))
+            {
+                log.warn("操作日志缓冲记录校验失败，截断 segment={} pos={}", segment.path, pos);
+                break;
+            }
+            pos += RECORD_HEADER + length;
+            if (pos > readPos)
+            {
+                segment.records++;
+            }
+        }
+        segment.writePos = pos;
+        segment.readPos = Math.min(readPos, pos);
+        // 截断点之后清零，避免旧数据被误认为有效记录
+        if (pos + 4 <= segmentSize)
+        {
+            buffer.putInt(pos, 0);
+        }
+    }
+
+    private Segment roll() throws IOException
+    {
+        if (segments.size() >= maxSegments)
+        {
+            evictOldest();
+        }
+        long id = nextSegmentId++;
+        Segment segment = map(dir.resolve(String.format("%020d%s", id, SUFFIX)));
+        segment.buffer.putInt(0, MAGIC);
+        segment.buffer.putInt(4, SEGMENT_HEADER);
+        segment.readPos = SEGMENT_HEADER;
+        segment.writePos = SEGMENT_HEADER;
+        segments.addLast(segment);
+        return segment;
+    }
+
+    private void evictOldest() throws IOException
+    {
+        Segment oldest = segments.pollFirst();
+        if (oldest == null)
+        {
+            return;
+        }
+        droppedRecords += oldest.records;
+        pendingRecords -= oldest.records;
+        if (oldest == readingSegment)
+        {
+            readingSegment = null;
+            readingCount = 0;
+        }
+        log.warn("操作日志缓冲超出磁盘上限，丢弃最旧的段 segment={} records={}", oldest.path, oldest.records);
+        delete(oldest);
+    }
+
+    private Segment map(Path file) throws IOException
+    {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        return new Segment(file, channel, buffer);
+    }
+
+    /**
+     * 删除段文件；映射在GC后释放，Linux下删除已映射文件是安全的
+     */
+    private void delete(Segment segment) throws IOException
+    {
+        segment.channel.close();
+        Files.deleteIfExists(segment.path);
+    }
+
+    private static final class Segment
+    {
+        private final Path path;
+
+        private final FileChannel channel;
+
+        private final MappedByteBuffer buffer;
+
+        private int readPos;
+
+        private int writePos;
+
+        /** 未回放的记录数 */
+        private int records;
+
+        Segment(Path path, FileChannel channel, MappedByteBuffer buffer)
+        {
+            this.path = path;
+            this.channel = channel;
+            this.buffer = buffer;
+        }
+    }
+}
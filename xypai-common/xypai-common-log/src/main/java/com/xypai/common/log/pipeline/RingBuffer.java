@@ -0,0 +1,132 @@
+package com.xypai.common.log.pipeline;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 有界无锁环形队列，多生产者单消费者
+ * <p>
+ * 每个槽位带序号：槽位序号等于生产者游标时可写入，等于消费者游标+1时可读取。
+ * 队列满时 {@link #offer(Object)} 立即返回false，不阻塞业务线程。
+ *
+ * @author xypai
+ */
+public class RingBuffer<E>
+{
+    private final int mask;
+
+    private final AtomicReferenceArray<E> buffer;
+
+    private final AtomicLongArray sequences;
+
+    /** 生产者游标 */
+    private final AtomicLong tail = new AtomicLong();
+
+    /** 消费者游标，仅消费线程修改 */
+    private volatile long head;
+
+    /**
+     * @param capacity 容量，向上取整为2的幂
+     */
+    public RingBuffer(int capacity)
+    {
+        if (capacity <= 0)
+        {
+            throw new IllegalArgumentException("capacity必须大于0");
+        }
+        int size = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        this.mask = size - 1;
+        this.buffer = new AtomicReferenceArray<>(size);
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++)
+        {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * 入队，可被多个线程并发调用
+     *
+     * @return false=队列已满
+     */
+    public boolean offer(E e)
+    {
+        long t;
+        int index;
+        while (true)
+        {
+            t = tail.get();
+            index = (int) (t & mask);
+            long diff = sequences.get(index) - t;
+            if (diff == 0)
+            {
+                if (tail.compareAndSet(t, t + 1))
+                {
+                    break;
+                }
+            }
+            else if (diff < 0)
+            {
+                return false;
+            }
+        }
+        buffer.lazySet(index, e);
+        sequences.set(index, t + 1);
+        return true;
+    }
+
+    /**
+     * 出队，只能由单个消费线程调用
+     *
+     * @return 队首元素，队列为空时返回null
+     */
+    public E poll()
+    {
+        long h = head;
+        int index = (int) (h & mask);
+        if (sequences.get(index) != h + 1)
+        {
+            return null;
+        }
+        E e = buffer.get(index);
+        buffer.lazySet(index, null);
+        sequences.set(index, h + mask + 1);
+        head = h + 1;
+        return e;
+    }
+
+    /**
+     * 批量出队，只能由单个消费线程调用
+     *
+     * @param target 接收元素的集合
+     * @param max 最多出队个数
+     * @return 实际出队个数
+     */
+    public int drainTo(Collection<? super E> target, int max)
+    {
+        int count = 0;
+        E e;
+        while (count < max && (e = poll()) != null)
+        {
+            target.add(e);
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * 当前元素个数（近似值）
+     */
+    public int size()
+    {
+        long size = tail.get() - head;
+        return (int) Math.max(0, Math.min(size, capacity()));
+    }
+
+    public int capacity()
+    {
+        return mask + 1;
+    }
+}
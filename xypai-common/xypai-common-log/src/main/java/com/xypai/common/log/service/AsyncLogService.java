@@ -1,10 +1,8 @@
 package com.xypai.common.log.service;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
-import com.xypai.common.core.constant.SecurityConstants;
-import com.xypai.system.api.RemoteLogService;
+import com.xypai.common.log.pipeline.OperLogPipeline;
 import com.xypai.system.api.domain.SysOperLog;
 
 /**
@@ -16,14 +14,13 @@ import com.xypai.system.api.domain.SysOperLog;
 public class AsyncLogService
 {
     @Autowired
-    private RemoteLogService remoteLogService;
+    private OperLogPipeline operLogPipeline;
 
     /**
-     * 保存系统日志记录
+     * 保存系统日志记录，放入批量投递管道后立即返回
      */
-    @Async
     public void saveSysLog(SysOperLog sysOperLog) throws Exception
     {
-        remoteLogService.saveLog(sysOperLog, SecurityConstants.INNER);
+        operLogPipeline.submit(sysOperLog);
     }
 }
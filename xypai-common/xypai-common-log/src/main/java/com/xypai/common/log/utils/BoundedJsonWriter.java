@@ -0,0 +1,194 @@
+package com.xypai.common.log.utils;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import com.alibaba.fastjson2.JSONFactory;
+import com.alibaba.fastjson2.JSONWriter;
+import com.alibaba.fastjson2.filter.ValueFilter;
+import com.xypai.common.core.utils.StringUtils;
+import com.xypai.common.log.filter.PropertyPreExcludeFilter;
+
+/**
+ * 限长JSON序列化
+ * <p>
+ * 每写一个属性前检查已输出的长度，达到上限后立即中止序列化并返回已写出的前缀，
+ * 避免为了截取前几千个字符而完整序列化大对象。单个属性值也按剩余长度裁剪：字符串截断，
+ * 集合、数组只保留预算内的元素，byte[] 只记录长度，因此输出过程中的缓冲区不会超过上限太多。
+ *
+ * @author xypai
+ */
+public class BoundedJsonWriter
+{
+    /**
+     * 序列化对象，结果最多 maxLength 个字符
+     *
+     * @param object 待序列化对象
+     * @param maxLength 最大长度
+     * @param excludes 排除的属性名
+     * @return JSON字符串，超长时为截断后的前缀
+     */
+    public static String toJSONString(Object object, int maxLength, String... excludes)
+    {
+        BoundedPropertyPreFilter filter = new BoundedPropertyPreFilter(maxLength);
+        filter.addExcludes(excludes);
+        JSONWriter.Context context = new JSONWriter.Context(JSONFactory.getDefaultObjectWriterProvider());
+        context.configFilter(filter);
+        try (JSONWriter writer = JSONWriter.of(context))
+        {
+            filter.writer = writer;
+            try
+            {
+                writer.writeAny(shrink(object, maxLength));
+            }
+            catch (RuntimeException e)
+            {
+                if (!isLimitExceeded(e))
+                {
+                    throw e;
+                }
+            }
+            return StringUtils.substring(writer.toString(), 0, maxLength);
+        }
+    }
+
+    /**
+     * 把值裁剪到 budget 个字符以内：字符串截断，集合、数组保留预算内的前若干个元素，byte[] 替换为长度描述；
+     * 对象和Map原样返回，写出时由属性过滤器限长
+     */
+    static Object shrink(Object value, int budget)
+    {
+        if (value instanceof String str)
+        {
+            // 截断后至少还有开头的引号，输出一定会超过预算，结果仍是完整JSON的前缀
+            return str.length() > budget ? str.substring(0, budget) : str;
+        }
+        if (value instanceof byte[] bytes)
+        {
+            return "byte[" + bytes.length + "]";
+        }
+        if (value instanceof char[] chars)
+        {
+            return new String(chars, 0, Math.min(chars.length, budget));
+        }
+        if (value instanceof Collection<?> collection)
+        {
+            return shrinkElements(collection.iterator(), budget);
+        }
+        if (value != null && value.getClass().isArray())
+        {
+            int length = Array.getLength(value);
+            return shrinkElements(new Iterator<Object>()
+            {
+                private int index;
+
+                @Override
+                public boolean hasNext()
+                {
+                    return index < length;
+                }
+
+                @Override
+                public Object next()
+                {
+                    return Array.get(value, index++);
+                }
+            }, budget);
+        }
+        return value;
+    }
+
+    private static List<Object> shrinkElements(Iterator<?> iterator, int budget)
+    {
+        List<Object> elements = new ArrayList<>();
+        int used = 1;
+        while (used < budget && iterator.hasNext())
+        {
+            Object element = shrink(iterator.next(), budget - used);
+            elements.add(element);
+            used += minLength(element) + 1;
+        }
+        return elements;
+    }
+
+    /**
+     * 元素序列化后的最小长度，只会低估，保证裁剪后的输出不短于上限
+     */
+    private static int minLength(Object value)
+    {
+        if (value instanceof String str)
+        {
+            return str.length() + 2;
+        }
+        if (value instanceof List<?> list)
+        {
+            int length = 2;
+            for (Object element : list)
+            {
+                length += minLength(element) + 1;
+            }
+            return length;
+        }
+        return 1;
+    }
+
+    private static boolean isLimitExceeded(Throwable e)
+    {
+        for (Throwable t = e; t != null; t = t.getCause())
+        {
+            if (t == LimitExceededException.INSTANCE)
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 输出长度达到上限时中止序列化，并按剩余长度裁剪属性值
+     */
+    private static class BoundedPropertyPreFilter extends PropertyPreExcludeFilter implements ValueFilter
+    {
+        private final int maxLength;
+
+        private JSONWriter writer;
+
+        BoundedPropertyPreFilter(int maxLength)
+        {
+            this.maxLength = maxLength;
+        }
+
+        @Override
+        public boolean process(JSONWriter writer, Object source, String name)
+        {
+            if (writer.size() >= maxLength)
+            {
+                throw LimitExceededException.INSTANCE;
+            }
+            return super.process(writer, source, name);
+        }
+
+        @Override
+        public Object apply(Object object, String name, Object value)
+        {
+            return shrink(value, Math.max(maxLength - writer.size(), 0));
+        }
+    }
+
+    /**
+     * 中止信号，不记录堆栈
+     */
+    private static class LimitExceededException extends RuntimeException
+    {
+        private static final long serialVersionUID = 1L;
+
+        static final LimitExceededException INSTANCE = new LimitExceededException();
+
+        private LimitExceededException()
+        {
+            super("JSON长度超出上限", null, false, false);
+        }
+    }
+}
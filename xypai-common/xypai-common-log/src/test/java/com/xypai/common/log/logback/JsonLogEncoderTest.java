@@ -0,0 +1,73 @@
+package com.xypai.common.log.logback;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import com.alibaba.fastjson2.JSON;
+import com.alibaba.fastjson2.JSONObject;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 结构化日志编码器测试类
+ *
+ * @author xypai
+ */
+class JsonLogEncoderTest {
+
+    private final LoggerContext context = new LoggerContext();
+
+    private final Logger logger = context.getLogger("com.xypai.chat.service.impl.ChatMessageServiceImpl");
+
+    @Test
+    void testEncodeFieldsAndMdc() {
+        LoggingEvent event = new LoggingEvent(Logger.class.getName(), logger, Level.INFO,
+                "发送消息成功，消息ID：{}，会话ID：{}", null, new Object[]{1L, 2L});
+        event.setMDCPropertyMap(Map.of("traceId", "abc123", "userId", "10001"));
+
+        JSONObject json = encode(event);
+
+        assertEquals("INFO", json.getString("level"));
+        assertEquals("xypai-chat", json.getString("app"));
+        assertEquals("com.xypai.chat.service.impl.ChatMessageServiceImpl", json.getString("logger"));
+        assertEquals("发送消息成功，消息ID：1，会话ID：2", json.getString("message"));
+        assertEquals("abc123", json.getString("traceId"));
+        assertEquals("10001", json.getString("userId"));
+        assertNotNull(json.getString("@timestamp"));
+    }
+
+    @Test
+    void testEscapeAndStackTrace() {
+        LoggingEvent event = new LoggingEvent(Logger.class.getName(), logger, Level.ERROR,
+                "quote\" backslash\\ newline\n tab\t ctrl\u0001", new IllegalStateException("boom"), null);
+        // 测试用的 LoggerContext 没有 MDCAdapter，显式给空的MDC
+        event.setMDCPropertyMap(Collections.emptyMap());
+
+        byte[] bytes = encoder().encode(event);
+        String line = new String(bytes, StandardCharsets.UTF_8);
+
+        // 每个事件一行
+        assertEquals(line.length() - 1, line.indexOf('\n'));
+        JSONObject json = JSON.parseObject(line);
+        assertEquals("quote\" backslash\\ newline\n tab\t ctrl\u0001", json.getString("message"));
+        assertTrue(json.getString("stackTrace").contains("IllegalStateException: boom"));
+    }
+
+    private JSONObject encode(LoggingEvent event) {
+        return JSON.parseObject(new String(encoder().encode(event), StandardCharsets.UTF_8));
+    }
+
+    private JsonLogEncoder encoder() {
+        JsonLogEncoder encoder = new JsonLogEncoder();
+        encoder.setContext(context);
+        encoder.setApp("xypai-chat");
+        encoder.start();
+        return encoder;
+    }
+}
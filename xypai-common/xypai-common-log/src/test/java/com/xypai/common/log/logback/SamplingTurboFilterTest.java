@@ -0,0 +1,101 @@
+package com.xypai.common.log.logback;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 日志采样过滤器测试类
+ *
+ * @author xypai
+ */
+class SamplingTurboFilterTest {
+
+    private static final String CHAT = "com.xypai.chat.service.impl.ChatMessageServiceImpl";
+
+    @Test
+    void testSampleInfoOnly() {
+        LoggerContext context = new LoggerContext();
+        SamplingTurboFilter filter = filter(context, "com.xypai.chat=0", CHAT + "=1", "com.xypai.content=0");
+        ListAppender<ILoggingEvent> list = new ListAppender<>();
+        list.setContext(context);
+        list.start();
+        context.getLogger(Logger.ROOT_LOGGER_NAME).addAppender(list);
+
+        Logger chat = context.getLogger(CHAT);
+        Logger conversation = context.getLogger("com.xypai.chat.service.impl.ChatConversationServiceImpl");
+        Logger content = context.getLogger("com.xypai.content.service.impl.ContentActionServiceImpl");
+        Logger other = context.getLogger("com.xypai.contents.Other");
+
+        for (int i = 0; i < 100; i++) {
+            // 最长前缀的配置优先：rate=1 等于不采样
+            chat.info("message {}", i);
+            conversation.info("dropped {}", i);
+            content.info("dropped {}", i);
+            // 前缀按包名匹配，com.xypai.content 不匹配 com.xypai.contents
+            other.info("kept {}", i);
+        }
+        content.warn("warn kept");
+        content.info("info with exception kept", new IllegalStateException());
+
+        assertEquals(100 + 100 + 2, list.list.size());
+        // 级别判断不参与采样
+        assertTrue(content.isInfoEnabled());
+        assertTrue(content.isWarnEnabled());
+        assertEquals(200, filter.getDropped());
+        context.stop();
+    }
+
+    @Test
+    void testSampleRate() {
+        LoggerContext context = new LoggerContext();
+        filter(context, CHAT + "=0.1");
+        ListAppender<ILoggingEvent> list = new ListAppender<>();
+        list.setContext(context);
+        list.start();
+        context.getLogger(Logger.ROOT_LOGGER_NAME).addAppender(list);
+
+        Logger chat = context.getLogger(CHAT);
+        for (int i = 0; i < 100000; i++) {
+            chat.info("message {}", i);
+        }
+        assertTrue(list.list.size() > 8000 && list.list.size() < 12000, "sampled " + list.list.size());
+        context.stop();
+    }
+
+    @Test
+    void testGuardedLoggingIsSampledOnce() {
+        LoggerContext context = new LoggerContext();
+        SamplingTurboFilter filter = filter(context, CHAT + "=0.1");
+        ListAppender<ILoggingEvent> list = new ListAppender<>();
+        list.setContext(context);
+        list.start();
+        context.getLogger(Logger.ROOT_LOGGER_NAME).addAppender(list);
+
+        Logger chat = context.getLogger(CHAT);
+        for (int i = 0; i < 100000; i++) {
+            if (chat.isInfoEnabled()) {
+                chat.info("message {}", i);
+            }
+        }
+        // 先判断再打印仍保留约10%，而不是1%
+        assertTrue(list.list.size() > 8000 && list.list.size() < 12000, "sampled " + list.list.size());
+        assertEquals(100000 - list.list.size(), filter.getDropped());
+        context.stop();
+    }
+
+    private static SamplingTurboFilter filter(LoggerContext context, String... samples) {
+        SamplingTurboFilter filter = new SamplingTurboFilter();
+        filter.setContext(context);
+        for (String sample : samples) {
+            filter.addSample(sample);
+        }
+        filter.start();
+        context.addTurboFilter(filter);
+        return filter;
+    }
+}
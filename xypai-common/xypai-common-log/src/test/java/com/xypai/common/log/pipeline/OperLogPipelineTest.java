@@ -0,0 +1,263 @@
+package com.xypai.common.log.pipeline;
+
+import com.xypai.common.core.constant.SecurityConstants;
+import com.xypai.common.core.domain.R;
+import com.xypai.common.log.aspect.LogAspect;
+import com.xypai.common.log.enums.BusinessStatus;
+import com.xypai.system.api.RemoteLogService;
+import com.xypai.system.api.domain.SysOperLog;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 操作日志投递管道测试类
+ *
+ * @author xypai
+ */
+@SuppressWarnings("unchecked")
+class OperLogPipelineTest {
+
+    @TempDir
+    Path dir;
+
+    private final RemoteLogService remoteLogService = mock(RemoteLogService.class);
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+
+    private OperLogPipeline pipeline;
+
+    @AfterEach
+    void tearDown() {
+        if (pipeline != null) {
+            pipeline.stop();
+        }
+    }
+
+    @Test
+    void testLargeFieldsAreTruncatedBeforeEnqueue() {
+        when(remoteLogService.saveLogBatch(anyList(), eq(SecurityConstants.INNER))).thenReturn(R.ok(true));
+        pipeline = pipeline(16, false);
+
+        SysOperLog operLog = new SysOperLog();
+        operLog.setOperParam("p".repeat(1024 * 1024));
+        operLog.setJsonResult("r".repeat(1024 * 1024));
+        operLog.setErrorMsg("e".repeat(LogAspect.MAX_LENGTH));
+        assertTrue(pipeline.submit(operLog));
+        // 入队时已截断，队列中不再引用原始大字符串
+        assertEquals(LogAspect.MAX_LENGTH, operLog.getOperParam().length());
+        assertEquals(LogAspect.MAX_LENGTH, operLog.getJsonResult().length());
+        pipeline.stop();
+
+        ArgumentCaptor<List<SysOperLog>> captor = ArgumentCaptor.forClass(List.class);
+        verify(remoteLogService).saveLogBatch(captor.capture(), eq(SecurityConstants.INNER));
+        SysOperLog sent = captor.getValue().get(0);
+        assertEquals("p".repeat(LogAspect.MAX_LENGTH), sent.getOperParam());
+        assertEquals("r".repeat(LogAspect.MAX_LENGTH), sent.getJsonResult());
+        assertEquals(LogAspect.MAX_LENGTH, sent.getErrorMsg().length());
+        // 未设置的字段保持null
+        assertNull(sent.getTitle());
+    }
+
+    @Test
+    void testFullBufferDropsNewLogs() throws Exception {
+        CountDownLatch sending = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> delivered = blockFirstSend(sending, release);
+        pipeline = pipeline(4, false);
+
+        // 第一批被后台线程取走并阻塞在投递中，之后入队的日志只能留在队列里
+        submit(0, 4);
+        assertTrue(sending.await(5, TimeUnit.SECONDS));
+        assertEquals(4, submit(4, 4));
+        assertEquals(0, submit(8, 3));
+        assertEquals(4, pipeline.getBufferSize());
+        assertEquals(3, dropped("full"));
+
+        release.countDown();
+        pipeline.stop();
+        assertEquals(List.of("t0", "t1", "t2", "t3", "t4", "t5", "t6", "t7"), delivered);
+        assertEquals(8, registry.get("xypai.operlog.sent").counter().count());
+    }
+
+    @Test
+    void testSamplePolicyKeepsFailures() throws Exception {
+        CountDownLatch sending = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> delivered = blockFirstSend(sending, release);
+        pipeline = pipeline(8, false);
+        ReflectionTestUtils.setField(pipeline, "overflowPolicy", OperLogPipeline.POLICY_SAMPLE);
+        ReflectionTestUtils.setField(pipeline, "sampleWatermark", 0.5D);
+        ReflectionTestUtils.setField(pipeline, "sampleRate", 0D);
+
+        submit(0, 4);
+        assertTrue(sending.await(5, TimeUnit.SECONDS));
+        // 低于水位线（4条）时全部保留，超过后成功日志按0%采样，失败日志照常入队直到队列满
+        assertEquals(4, submit(4, 4));
+        assertEquals(0, submit(8, 2));
+        assertTrue(pipeline.submit(operLog("f0", true)));
+        assertTrue(pipeline.submit(operLog("f1", true)));
+        assertTrue(pipeline.submit(operLog("f2", true)));
+        assertTrue(pipeline.submit(operLog("f3", true)));
+        assertFalse(pipeline.submit(operLog("f4", true)));
+        assertEquals(2, dropped("sampled"));
+        assertEquals(1, dropped("full"));
+
+        release.countDown();
+        pipeline.stop();
+        assertEquals(List.of("t0", "t1", "t2", "t3", "t4", "t5", "t6", "t7", "f0", "f1", "f2", "f3"), delivered);
+    }
+
+    @Test
+    void testFailedBatchWithoutSpoolIsDroppedAlone() {
+        List<List<String>> calls = new CopyOnWriteArrayList<>();
+        when(remoteLogService.saveLogBatch(anyList(), eq(SecurityConstants.INNER))).thenAnswer(invocation -> {
+            calls.add(titles(invocation.getArgument(0)));
+            return calls.size() == 2 ? R.fail("日志服务不可用") : R.ok(true);
+        });
+        pipeline = pipeline(16, false);
+
+        // 中间一批投递失败，前后两批不受影响
+        for (int batch = 0; batch < 3; batch++) {
+            assertEquals(4, submit(batch * 4, 4));
+            verify(remoteLogService, timeout(5000).times(batch + 1)).saveLogBatch(anyList(), eq(SecurityConstants.INNER));
+        }
+        pipeline.stop();
+
+        assertEquals(List.of(List.of("t0", "t1", "t2", "t3"), List.of("t4", "t5", "t6", "t7"),
+                List.of("t8", "t9", "t10", "t11")), calls);
+        assertEquals(8, registry.get("xypai.operlog.sent").counter().count());
+        assertEquals(4, dropped("send_failed"));
+        assertEquals(0, dropped("full"));
+    }
+
+    @Test
+    void testFailedBatchIsSpooledAndReplayed() throws Exception {
+        List<String> delivered = new CopyOnWriteArrayList<>();
+        List<Integer> calls = new CopyOnWriteArrayList<>();
+        when(remoteLogService.saveLogBatch(anyList(), eq(SecurityConstants.INNER))).thenAnswer(invocation -> {
+            calls.add(calls.size());
+            if (calls.size() == 2) {
+                throw new IllegalStateException("connect timed out");
+            }
+            delivered.addAll(titles(invocation.getArgument(0)));
+            return R.ok(true);
+        });
+        pipeline = pipeline(16, true);
+        ReflectionTestUtils.setField(pipeline, "retryInterval", 300L);
+
+        assertEquals(4, submit(0, 4));
+        verify(remoteLogService, timeout(5000).times(1)).saveLogBatch(anyList(), eq(SecurityConstants.INNER));
+        assertEquals(4, submit(4, 4));
+        await(() -> !pipeline.isRemoteHealthy());
+
+        // 不可用期间的批次直接写入缓冲，不再调用远程服务
+        assertEquals(4, submit(8, 4));
+        Thread.sleep(100);
+        assertEquals(2, calls.size());
+
+        // 探测成功后按原顺序回放缓冲中的日志
+        await(() -> delivered.size() >= 12);
+        assertEquals(List.of("t0", "t1", "t2", "t3", "t4", "t5", "t6", "t7", "t8", "t9", "t10", "t11"), delivered);
+        assertTrue(pipeline.isRemoteHealthy());
+        assertTrue(pipeline.getSpool().isEmpty());
+        assertEquals(8, registry.get("xypai.operlog.spooled").counter().count());
+        assertEquals(8, registry.get("xypai.operlog.replayed").counter().count());
+        assertEquals(0, dropped("send_failed"));
+    }
+
+    /**
+     * 第一次投递阻塞到 release 放行，用于让后续日志积压在队列中；返回按投递顺序记录的标题
+     */
+    private List<String> blockFirstSend(CountDownLatch sending, CountDownLatch release) {
+        List<String> delivered = new CopyOnWriteArrayList<>();
+        when(remoteLogService.saveLogBatch(anyList(), eq(SecurityConstants.INNER))).thenAnswer(invocation -> {
+            if (sending.getCount() > 0) {
+                sending.countDown();
+                assertTrue(release.await(10, TimeUnit.SECONDS));
+            }
+            delivered.addAll(titles(invocation.getArgument(0)));
+            return R.ok(true);
+        });
+        return delivered;
+    }
+
+    /**
+     * 依次提交标题为 t{from}..t{from+count-1} 的成功日志
+     *
+     * @return 入队成功的条数
+     */
+    private int submit(int from, int count) {
+        int accepted = 0;
+        for (int i = from; i < from + count; i++) {
+            if (pipeline.submit(operLog("t" + i, false))) {
+                accepted++;
+            }
+        }
+        return accepted;
+    }
+
+    private static SysOperLog operLog(String title, boolean failure) {
+        SysOperLog operLog = new SysOperLog();
+        operLog.setTitle(title);
+        operLog.setStatus((failure ? BusinessStatus.FAIL : BusinessStatus.SUCCESS).ordinal());
+        return operLog;
+    }
+
+    private static List<String> titles(List<SysOperLog> batch) {
+        List<String> titles = new ArrayList<>();
+        for (SysOperLog operLog : batch) {
+            titles.add(operLog.getTitle());
+        }
+        return titles;
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "等待超时");
+            Thread.sleep(10);
+        }
+    }
+
+    private double dropped(String reason) {
+        return registry.get("xypai.operlog.dropped").tag("reason", reason).counter().count();
+    }
+
+    private OperLogPipeline pipeline(int capacity, boolean spoolEnabled) {
+        ObjectProvider<MeterRegistry> provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable(any())).thenReturn(registry);
+        OperLogPipeline pipeline = new OperLogPipeline(provider);
+        ReflectionTestUtils.setField(pipeline, "capacity", capacity);
+        ReflectionTestUtils.setField(pipeline, "batchSize", 4);
+        ReflectionTestUtils.setField(pipeline, "linger", 50L);
+        ReflectionTestUtils.setField(pipeline, "overflowPolicy", OperLogPipeline.POLICY_DROP);
+        ReflectionTestUtils.setField(pipeline, "sampleWatermark", 0.8D);
+        ReflectionTestUtils.setField(pipeline, "sampleRate", 0.1D);
+        ReflectionTestUtils.setField(pipeline, "spoolEnabled", spoolEnabled);
+        ReflectionTestUtils.setField(pipeline, "spoolDir", dir.toString());
+        ReflectionTestUtils.setField(pipeline, "spoolSegmentSize", 4096);
+        ReflectionTestUtils.setField(pipeline, "spoolMaxSegments", 4);
+        ReflectionTestUtils.setField(pipeline, "retryInterval", 60000L);
+        ReflectionTestUtils.setField(pipeline, "remoteLogService", remoteLogService);
+        pipeline.start();
+        return pipeline;
+    }
+}
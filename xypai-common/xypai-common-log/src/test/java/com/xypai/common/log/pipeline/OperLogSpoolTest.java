@@ -0,0 +1,123 @@
+package com.xypai.common.log.pipeline;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 操作日志本地缓冲测试类
+ *
+ * @author xypai
+ */
+class OperLogSpoolTest {
+
+    private static final int SEGMENT_SIZE = 4096;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void testAppendReadCommit() throws IOException {
+        try (OperLogSpool spool = OperLogSpool.open(dir, SEGMENT_SIZE, 4)) {
+            for (int i = 0; i < 10; i++) {
+                assertTrue(spool.append(bytes("log-" + i)));
+            }
+            assertEquals(10, spool.getPendingRecords());
+
+            List<byte[]> first = spool.read(4);
+            assertEquals(4, first.size());
+            assertEquals("log-0", text(first.get(0)));
+            // 未提交时再次读取返回相同记录
+            assertEquals("log-0", text(spool.read(4).get(0)));
+            spool.commit();
+
+            List<byte[]> rest = spool.read(100);
+            assertEquals(6, rest.size());
+            assertEquals("log-4", text(rest.get(0)));
+            spool.commit();
+            assertTrue(spool.isEmpty());
+        }
+    }
+
+    @Test
+    void testRecoverAfterReopen() throws IOException {
+        try (OperLogSpool spool = OperLogSpool.open(dir, SEGMENT_SIZE, 4)) {
+            for (int i = 0; i < 5; i++) {
+                spool.append(bytes("log-" + i));
+            }
+            spool.read(2);
+            spool.commit();
+        }
+        try (OperLogSpool spool = OperLogSpool.open(dir, SEGMENT_SIZE, 4)) {
+            assertEquals(3, spool.getPendingRecords());
+            assertEquals("log-2", text(spool.read(1).get(0)));
+            spool.append(bytes("log-5"));
+            assertEquals(4, spool.getPendingRecords());
+        }
+    }
+
+    @Test
+    void testCorruptedRecordTruncated() throws IOException {
+        try (OperLogSpool spool = OperLogSpool.open(dir, SEGMENT_SIZE, 4)) {
+            spool.append(bytes("log-0"));
+            spool.append(bytes("log-1"));
+            spool.append(bytes("log-2"));
+        }
+        // 破坏第二条记录的数据，校验失败后其后的记录都不可信
+        Path segment = segments().get(0);
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{'X'}), 8 + 8 + 5 + 8);
+        }
+        try (OperLogSpool spool = OperLogSpool.open(dir, SEGMENT_SIZE, 4)) {
+            assertEquals(1, spool.getPendingRecords());
+            assertEquals("log-0", text(spool.read(10).get(0)));
+        }
+    }
+
+    @Test
+    void testDiskUsageBounded() throws IOException {
+        byte[] record = new byte[1000];
+        try (OperLogSpool spool = OperLogSpool.open(dir, SEGMENT_SIZE, 2)) {
+            for (int i = 0; i < 20; i++) {
+                spool.append(record);
+            }
+            assertTrue(segments().size() <= 2);
+            assertTrue(spool.getDiskUsage() <= 2L * SEGMENT_SIZE);
+            assertTrue(spool.getDroppedRecords() > 0);
+            assertEquals(20, spool.getPendingRecords() + spool.getDroppedRecords());
+            assertFalse(spool.append(new byte[SEGMENT_SIZE]));
+        }
+    }
+
+    @Test
+    void testDirectoryLockedByOneProcess() throws IOException {
+        try (OperLogSpool ignored = OperLogSpool.open(dir, SEGMENT_SIZE, 2)) {
+            assertThrows(IOException.class, () -> OperLogSpool.open(dir, SEGMENT_SIZE, 2));
+        }
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> stream = Files.list(dir)) {
+            return stream.filter(p -> p.toString().endsWith(".spool")).sorted().toList();
+        }
+    }
+
+    private static byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String text(byte[] bytes) {
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,171 @@
+package com.xypai.common.log.pipeline;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 环形队列测试类
+ *
+ * @author xypai
+ */
+class RingBufferTest {
+
+    @Test
+    void testCapacityRoundsUpToPowerOfTwo() {
+        assertEquals(1, new RingBuffer<>(1).capacity());
+        assertEquals(2, new RingBuffer<>(2).capacity());
+        assertEquals(4, new RingBuffer<>(3).capacity());
+        assertEquals(8, new RingBuffer<>(8).capacity());
+        assertEquals(16, new RingBuffer<>(9).capacity());
+        assertThrows(IllegalArgumentException.class, () -> new RingBuffer<>(0));
+    }
+
+    @Test
+    void testOfferFailsWhenFull() {
+        RingBuffer<Integer> buffer = new RingBuffer<>(4);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(buffer.offer(i));
+        }
+        assertFalse(buffer.offer(4));
+        assertFalse(buffer.offer(5));
+        assertEquals(4, buffer.size());
+
+        // 出队一个后腾出一个槽位，被拒绝的元素不会出现在队列中
+        assertEquals(0, buffer.poll());
+        assertTrue(buffer.offer(6));
+        assertFalse(buffer.offer(7));
+        List<Integer> drained = new ArrayList<>();
+        assertEquals(4, buffer.drainTo(drained, 10));
+        assertEquals(List.of(1, 2, 3, 6), drained);
+        assertNull(buffer.poll());
+        assertEquals(0, buffer.size());
+    }
+
+    @Test
+    void testWrapAround() {
+        RingBuffer<Integer> buffer = new RingBuffer<>(4);
+        int next = 0;
+        int expected = 0;
+        // 反复填满再取出一部分，游标多次绕过数组末尾
+        for (int round = 0; round < 1000; round++) {
+            while (buffer.offer(next)) {
+                next++;
+            }
+            assertEquals(4, buffer.size());
+            for (int i = 0; i < 3; i++) {
+                assertEquals(expected++, buffer.poll());
+            }
+        }
+        Integer e;
+        while ((e = buffer.poll()) != null) {
+            assertEquals(expected++, e);
+        }
+        assertEquals(next, expected);
+    }
+
+    @Test
+    void testDrainToRespectsMax() {
+        RingBuffer<Integer> buffer = new RingBuffer<>(8);
+        for (int i = 0; i < 5; i++) {
+            buffer.offer(i);
+        }
+        List<Integer> drained = new ArrayList<>();
+        assertEquals(3, buffer.drainTo(drained, 3));
+        assertEquals(List.of(0, 1, 2), drained);
+        assertEquals(2, buffer.size());
+        assertEquals(2, buffer.drainTo(drained, 3));
+        assertEquals(0, buffer.drainTo(drained, 3));
+    }
+
+    @Test
+    void testConcurrentProducersSingleConsumer() throws Exception {
+        int producers = 8;
+        int perProducer = 10000;
+        RingBuffer<long[]> buffer = new RingBuffer<>(64);
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int p = 0; p < producers; p++) {
+            long producer = p;
+            executor.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (long i = 0; i < perProducer; i++) {
+                    long[] element = {producer, i};
+                    while (!buffer.offer(element)) {
+                        Thread.yield();
+                    }
+                }
+            });
+        }
+        start.countDown();
+
+        // 每个生产者的元素各恰好收到一次，且保持该生产者的入队顺序
+        long[] nextSeq = new long[producers];
+        int received = 0;
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (received < producers * perProducer) {
+            long[] element = buffer.poll();
+            if (element == null) {
+                assertTrue(System.nanoTime() < deadline, "received " + received);
+                Thread.yield();
+                continue;
+            }
+            assertEquals(nextSeq[(int) element[0]]++, element[1]);
+            received++;
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        assertNull(buffer.poll());
+        for (long seq : nextSeq) {
+            assertEquals(perProducer, seq);
+        }
+    }
+
+    @Test
+    void testConcurrentOffersIntoFullBuffer() throws Exception {
+        int producers = 8;
+        int perProducer = 1000;
+        RingBuffer<Integer> buffer = new RingBuffer<>(128);
+        AtomicInteger accepted = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int p = 0; p < producers; p++) {
+            executor.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < perProducer; i++) {
+                    if (buffer.offer(i)) {
+                        accepted.incrementAndGet();
+                    } else {
+                        rejected.incrementAndGet();
+                    }
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        // 没有消费者时恰好写满容量，其余全部被拒绝
+        assertEquals(128, accepted.get());
+        assertEquals(producers * perProducer - 128, rejected.get());
+        assertEquals(128, buffer.size());
+        assertEquals(128, buffer.drainTo(new ArrayList<>(), Integer.MAX_VALUE));
+    }
+}
@@ -0,0 +1,158 @@
+package com.xypai.common.log.utils;
+
+import com.alibaba.fastjson2.JSON;
+import com.xypai.common.log.aspect.LogAspect;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 限长JSON序列化测试类
+ *
+ * @author xypai
+ */
+class BoundedJsonWriterTest {
+
+    @Test
+    void testOutputIsPrefixOfFullJson() {
+        List<Row> rows = rows(10000);
+        String full = JSON.toJSONString(rows);
+
+        String bounded = BoundedJsonWriter.toJSONString(rows, LogAspect.MAX_LENGTH);
+
+        assertEquals(LogAspect.MAX_LENGTH, bounded.length());
+        assertEquals(full.substring(0, LogAspect.MAX_LENGTH), bounded);
+    }
+
+    @Test
+    void testSmallObjectIsComplete() {
+        Row row = new Row(1L, "xypai", "remark", "secret");
+        assertEquals(JSON.toJSONString(row), BoundedJsonWriter.toJSONString(row, LogAspect.MAX_LENGTH));
+
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("time", new Date(0));
+        map.put("ids", new long[]{1L, 2L});
+        map.put("tags", Set.of("a"));
+        map.put("row", row);
+        assertEquals(JSON.toJSONString(map), BoundedJsonWriter.toJSONString(map, LogAspect.MAX_LENGTH));
+    }
+
+    @Test
+    void testExcludesSensitiveProperties() {
+        Row row = new Row(1L, "xypai", "remark", "secret");
+        String json = BoundedJsonWriter.toJSONString(row, LogAspect.MAX_LENGTH, LogAspect.EXCLUDE_PROPERTIES);
+        assertFalse(json.contains("secret"));
+        assertTrue(json.contains("xypai"));
+
+        String mapJson = BoundedJsonWriter.toJSONString(Map.of("password", "secret", "userName", "xypai"),
+                LogAspect.MAX_LENGTH, LogAspect.EXCLUDE_PROPERTIES);
+        assertFalse(mapJson.contains("secret"));
+    }
+
+    @Test
+    void testHugeStringPropertyIsTruncated() {
+        Row row = new Row(1L, "xypai", "x".repeat(10 * 1024 * 1024), "secret");
+        String full = JSON.toJSONString(row);
+
+        String bounded = BoundedJsonWriter.toJSONString(row, LogAspect.MAX_LENGTH);
+
+        assertEquals(LogAspect.MAX_LENGTH, bounded.length());
+        assertEquals(full.substring(0, LogAspect.MAX_LENGTH), bounded);
+    }
+
+    @Test
+    void testHugeTopLevelValues() {
+        String text = "中".repeat(1024 * 1024);
+        assertEquals(JSON.toJSONString(text).substring(0, 100), BoundedJsonWriter.toJSONString(text, 100));
+
+        int[] numbers = new int[1024 * 1024];
+        assertEquals(JSON.toJSONString(numbers).substring(0, 100), BoundedJsonWriter.toJSONString(numbers, 100));
+
+        // 完整序列化约1亿字符，超出 fastjson 的缓冲上限
+        List<String> texts = Collections.nCopies(1000, "y".repeat(100000));
+        assertEquals("[\"" + "y".repeat(98), BoundedJsonWriter.toJSONString(texts, 100));
+
+        List<List<String>> nested = List.of(List.of("a", "b"), Collections.nCopies(1000, "z".repeat(1000)));
+        assertEquals(JSON.toJSONString(nested).substring(0, 100), BoundedJsonWriter.toJSONString(nested, 100));
+    }
+
+    @Test
+    void testByteArrayIsSummarized() {
+        byte[] bytes = new byte[5 * 1024 * 1024];
+        assertEquals("\"byte[5242880]\"", BoundedJsonWriter.toJSONString(bytes, LogAspect.MAX_LENGTH));
+
+        String json = BoundedJsonWriter.toJSONString(Map.of("file", bytes), LogAspect.MAX_LENGTH);
+        assertEquals("{\"file\":\"byte[5242880]\"}", json);
+    }
+
+    @Test
+    void testHugeMapValueIsTruncated() {
+        Map<String, Object> map = Map.of("content", "m".repeat(1024 * 1024));
+        String bounded = BoundedJsonWriter.toJSONString(map, LogAspect.MAX_LENGTH);
+
+        assertEquals(LogAspect.MAX_LENGTH, bounded.length());
+        assertEquals(JSON.toJSONString(map).substring(0, LogAspect.MAX_LENGTH), bounded);
+    }
+
+    @Test
+    void testFilterObject() {
+        LogAspect aspect = new LogAspect();
+        MockMultipartFile file = new MockMultipartFile("file", new byte[0]);
+        assertTrue(aspect.isFilterObject(file));
+        assertTrue(aspect.isFilterObject(new MockMultipartFile[]{file}));
+        assertTrue(aspect.isFilterObject(Collections.singletonList(file)));
+        assertTrue(aspect.isFilterObject(Map.of("file", file)));
+        assertTrue(aspect.isFilterObject(new MockHttpServletRequest()));
+        assertFalse(aspect.isFilterObject(new Object[]{"a"}));
+        assertFalse(aspect.isFilterObject(Collections.emptyList()));
+        assertFalse(aspect.isFilterObject(new Row(1L, "a", "b", "c")));
+    }
+
+    private static List<Row> rows(int count) {
+        List<Row> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            rows.add(new Row((long) i, "user" + i, "这是第" + i + "行的备注信息", "pwd" + i));
+        }
+        return rows;
+    }
+
+    public static class Row {
+        private final Long id;
+        private final String name;
+        private final String remark;
+        private final String password;
+
+        Row(Long id, String name, String remark, String password) {
+            this.id = id;
+            this.name = name;
+            this.remark = remark;
+            this.password = password;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getRemark() {
+            return remark;
+        }
+
+        public String getPassword() {
+            return password;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.xypai.common.redis.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 分布式锁注解，方法执行期间持有锁，先于事务切面执行
+ *
+ * @author xypai
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface DistributedLock
+{
+    /**
+     * 锁名称，支持SpEL表达式，如 "'wallet:' + #userId"
+     */
+    public String key();
+
+    /**
+     * 最长等待时间，0表示不等待
+     */
+    public long waitTime() default 3000;
+
+    /**
+     * 租期，小于等于0表示由看门狗自动续期
+     */
+    public long leaseTime() default -1;
+
+    /**
+     * 时间单位
+     */
+    public TimeUnit unit() default TimeUnit.MILLISECONDS;
+
+    /**
+     * 获取锁失败时的提示信息
+     */
+    public String message() default "操作太频繁，请稍后再试";
+}
@@ -0,0 +1,96 @@
+package com.xypai.common.redis.aspect;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.expression.MethodBasedEvaluationContext;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.Ordered;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.core.annotation.Order;
+import org.springframework.expression.Expression;
+import org.springframework.expression.ExpressionParser;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.stereotype.Component;
+import com.xypai.common.core.exception.ServiceException;
+import com.xypai.common.redis.annotation.DistributedLock;
+import com.xypai.common.redis.lock.RedisLock;
+import com.xypai.common.redis.service.RedisLockService;
+
+/**
+ * 分布式锁切面，优先级高于事务切面，保证锁在事务提交后才释放
+ *
+ * @author xypai
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class DistributedLockAspect
+{
+    private static final Logger log = LoggerFactory.getLogger(DistributedLockAspect.class);
+
+    private static final ExpressionParser PARSER = new SpelExpressionParser();
+
+    private static final ParameterNameDiscoverer NAME_DISCOVERER = new DefaultParameterNameDiscoverer();
+
+    /** 已解析的锁名称表达式 */
+    private final Map<String, Expression> expressionCache = new ConcurrentHashMap<>();
+
+    @Autowired
+    private RedisLockService redisLockService;
+
+    @Around("@annotation(distributedLock)")
+    public Object around(ProceedingJoinPoint point, DistributedLock distributedLock) throws Throwable
+    {
+        Method method = ((MethodSignature) point.getSignature()).getMethod();
+        String name = parseKey(distributedLock.key(), method, point.getArgs(), point.getTarget());
+        RedisLock lock = redisLockService.getLock(name);
+        boolean locked;
+        try
+        {
+            locked = lock.tryLock(distributedLock.waitTime(), distributedLock.leaseTime(), distributedLock.unit());
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new ServiceException(distributedLock.message());
+        }
+        if (!locked)
+        {
+            throw new ServiceException(distributedLock.message());
+        }
+        try
+        {
+            return point.proceed();
+        }
+        finally
+        {
+            try
+            {
+                lock.unlock();
+            }
+            catch (IllegalMonitorStateException e)
+            {
+                log.warn("分布式锁在方法执行期间已过期 key={} method={}", name, method.getName());
+            }
+        }
+    }
+
+    private String parseKey(String key, Method method, Object[] args, Object target)
+    {
+        if (!key.contains("#") && !key.contains("'"))
+        {
+            return key;
+        }
+        Expression expression = expressionCache.computeIfAbsent(key, PARSER::parseExpression);
+        MethodBasedEvaluationContext context = new MethodBasedEvaluationContext(target, method, args, NAME_DISCOVERER);
+        return String.valueOf(expression.getValue(context));
+    }
+}
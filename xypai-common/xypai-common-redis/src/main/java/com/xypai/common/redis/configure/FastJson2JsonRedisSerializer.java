@@ -8,6 +8,7 @@ import com.alibaba.fastjson2.JSONReader;
 import com.alibaba.fastjson2.JSONWriter;
 import com.alibaba.fastjson2.filter.Filter;
 import com.xypai.common.core.constant.Constants;
+import com.xypai.common.redis.metrics.RedisMetrics;
 
 /**
  * Redis使用FastJson序列化
@@ -22,12 +23,23 @@ public class FastJson2JsonRedisSerializer<T> implements RedisSerializer<T>
 
     private Class<T> clazz;
 
+    private RedisMetrics metrics;
+
     public FastJson2JsonRedisSerializer(Class<T> clazz)
     {
         super();
         this.clazz = clazz;
     }
 
+    /**
+     * @param metrics 记录序列化字节数，可为null
+     */
+    public FastJson2JsonRedisSerializer(Class<T> clazz, RedisMetrics metrics)
+    {
+        this(clazz);
+        this.metrics = metrics;
+    }
+
     @Override
     public byte[] serialize(T t) throws SerializationException
     {
@@ -35,7 +47,12 @@ public class FastJson2JsonRedisSerializer<T> implements RedisSerializer<T>
         {
             return new byte[0];
         }
-        return JSON.toJSONString(t, JSONWriter.Feature.WriteClassName).getBytes(DEFAULT_CHARSET);
+        byte[] bytes = JSON.toJSONString(t, JSONWriter.Feature.WriteClassName).getBytes(DEFAULT_CHARSET);
+        if (metrics != null)
+        {
+            metrics.recordPayload(true, bytes.length);
+        }
+        return bytes;
     }
 
     @Override
@@ -45,6 +62,10 @@ public class FastJson2JsonRedisSerializer<T> implements RedisSerializer<T>
         {
             return null;
         }
+        if (metrics != null)
+        {
+            metrics.recordPayload(false, bytes.length);
+        }
         String str = new String(bytes, DEFAULT_CHARSET);
 
         return JSON.parseObject(str, clazz, AUTO_TYPE_FILTER);
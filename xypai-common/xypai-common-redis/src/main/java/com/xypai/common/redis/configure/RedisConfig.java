@@ -6,9 +6,12 @@ import org.springframework.cache.annotation.CachingConfigurerSupport;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnection;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
+import com.xypai.common.redis.metrics.RedisMetrics;
 
 /**
  * redis配置
@@ -23,12 +26,19 @@ public class RedisConfig extends CachingConfigurerSupport
 {
     @Bean
     @SuppressWarnings(value = { "unchecked", "rawtypes" })
-    public RedisTemplate<Object, Object> redisTemplate(RedisConnectionFactory connectionFactory)
+    public RedisTemplate<Object, Object> redisTemplate(RedisConnectionFactory connectionFactory, RedisMetrics redisMetrics)
     {
-        RedisTemplate<Object, Object> template = new RedisTemplate<>();
+        RedisTemplate<Object, Object> template = new RedisTemplate<>()
+        {
+            @Override
+            protected RedisConnection preProcessConnection(RedisConnection connection, boolean existingConnection)
+            {
+                return redisMetrics.wrap(connection);
+            }
+        };
         template.setConnectionFactory(connectionFactory);
 
-        FastJson2JsonRedisSerializer serializer = new FastJson2JsonRedisSerializer(Object.class);
+        FastJson2JsonRedisSerializer serializer = new FastJson2JsonRedisSerializer(Object.class, redisMetrics);
 
         // 使用StringRedisSerializer来序列化和反序列化redis的key值
         template.setKeySerializer(new StringRedisSerializer());
@@ -41,4 +51,23 @@ public class RedisConfig extends CachingConfigurerSupport
         template.afterPropertiesSet();
         return template;
     }
+
+    /**
+     * 替换自动配置的StringRedisTemplate，使计数器、分布式锁等命令同样计入指标
+     */
+    @Bean
+    public StringRedisTemplate stringRedisTemplate(RedisConnectionFactory connectionFactory, RedisMetrics redisMetrics)
+    {
+        StringRedisTemplate template = new StringRedisTemplate()
+        {
+            @Override
+            protected RedisConnection preProcessConnection(RedisConnection connection, boolean existingConnection)
+            {
+                return super.preProcessConnection(redisMetrics.wrap(connection), existingConnection);
+            }
+        };
+        template.setConnectionFactory(connectionFactory);
+        template.afterPropertiesSet();
+        return template;
+    }
 }
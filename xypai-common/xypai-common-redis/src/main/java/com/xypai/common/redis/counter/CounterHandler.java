@@ -0,0 +1,54 @@
+package com.xypai.common.redis.counter;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * 计数器数据源，由业务模块实现并注册为Spring Bean
+ *
+ * @author xypai
+ */
+public interface CounterHandler
+{
+    /**
+     * 计数器命名空间，同一命名空间下的计数以实体ID区分
+     *
+     * @return 命名空间
+     */
+    String namespace();
+
+    /**
+     * 从数据库批量加载计数，用于缓存冷加载与定期对账
+     * <p>
+     * 每个实体应返回全部计数字段，无数据的字段返回0
+     *
+     * @param ids 实体ID集合
+     * @return key为实体ID，value为字段与计数
+     */
+    Map<Long, Map<String, Long>> load(Collection<Long> ids);
+
+    /**
+     * 是否需要将增量回写数据库
+     * <p>
+     * 计数由明细行统计得出时（如点赞记录数）无需回写，返回false
+     *
+     * @return true=定期批量回写增量
+     */
+    default boolean writeBehind()
+    {
+        return false;
+    }
+
+    /**
+     * 批量回写增量，仅在 {@link #writeBehind()} 为true时调用
+     * <p>
+     * 抛出异常或提交后服务崩溃时，同一批次会以相同的批次号重新投递，
+     * 实现应在回写增量的同一事务中记录批次号，并跳过已记录的批次
+     *
+     * @param batchId 批次号
+     * @param deltas key为实体ID，value为字段与增量
+     */
+    default void flush(String batchId, Map<Long, Map<String, Long>> deltas)
+    {
+    }
+}
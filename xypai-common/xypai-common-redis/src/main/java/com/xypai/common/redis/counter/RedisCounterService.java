@@ -0,0 +1,480 @@
+package com.xypai.common.redis.counter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import com.xypai.common.core.constant.CacheConstants;
+import com.xypai.common.core.exception.ServiceException;
+import com.xypai.common.core.utils.uuid.IdUtils;
+import com.xypai.common.redis.lock.RedisLock;
+import com.xypai.common.redis.service.RedisLockService;
+
+/**
+ * 基于Redis Hash的高并发计数器
+ * <p>
+ * 每个实体的计数保存在 counter:{namespace}:{id} 中，使用HINCRBY原子累加；
+ * 需要回写数据库的命名空间同时把增量记入 counter_delta:{namespace}，由后台线程定期批量落库。
+ * 落库前用脚本把增量表原子地RENAME为待落库表 counter_delta:{namespace}:pending 并写入批次号，
+ * 落库成功后才删除待落库表；落库失败或服务崩溃时遗留的批次在下次落库时以原批次号重新投递，
+ * 由 {@link CounterHandler#flush(String, Map)} 在同一事务中记录批次号实现幂等。
+ * 缓存值定期按数据库对账，修正因事务回滚、过期等造成的偏差。
+ *
+ * @author xypai
+ */
+@Component
+public class RedisCounterService
+{
+    private static final Logger log = LoggerFactory.getLogger(RedisCounterService.class);
+
+    /**
+     * 对账每批处理的实体数量
+     */
+    private static final int RECONCILE_BATCH_SIZE = 200;
+
+    /**
+     * 待落库表后缀
+     */
+    private static final String PENDING_SUFFIX = ":pending";
+
+    /**
+     * 待落库表中保存批次号的字段，增量字段均为 id:field 形式，不会冲突
+     */
+    private static final String BATCH_FIELD = "batch";
+
+    /**
+     * 缓存存在时累加计数；需要回写时同时累加增量
+     */
+    private static final RedisScript<Long> INCREMENT_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('exists', KEYS[1]) == 1 then\n"
+            + "    redis.call('hincrby', KEYS[1], ARGV[1], ARGV[2])\n"
+            + "    redis.call('expire', KEYS[1], ARGV[4])\n"
+            + "end\n"
+            + "if ARGV[5] == '1' then\n"
+            + "    redis.call('hincrby', KEYS[2], ARGV[3], ARGV[2])\n"
+            + "end\n"
+            + "return 1", Long.class);
+
+    /**
+     * 以数据库计数加上增量表与待落库表中的增量计算最终计数；
+     * 待落库表存在时无法确定该批次是否已提交，只返回计数不写缓存
+     */
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> FILL_SCRIPT = new DefaultRedisScript<>(
+            "local flushing = redis.call('exists', KEYS[3]) == 1\n"
+            + "if not flushing then redis.call('del', KEYS[1]) end\n"
+            + "local result = {}\n"
+            + "for i = 3, #ARGV, 2 do\n"
+            + "    local field = ARGV[i]\n"
+            + "    local value = tonumber(ARGV[i + 1])\n"
+            + "    for k = 2, 3 do\n"
+            + "        local pending = redis.call('hget', KEYS[k], ARGV[2] .. ':' .. field)\n"
+            + "        if pending then value = value + tonumber(pending) end\n"
+            + "    end\n"
+            + "    if not flushing then redis.call('hset', KEYS[1], field, value) end\n"
+            + "    table.insert(result, field)\n"
+            + "    table.insert(result, tostring(value))\n"
+            + "end\n"
+            + "if not flushing and #result > 0 then redis.call('expire', KEYS[1], ARGV[1]) end\n"
+            + "return result", List.class);
+
+    /**
+     * 存在遗留的待落库表时原样返回，否则将增量表转为待落库表并写入新批次号
+     */
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> PREPARE_FLUSH_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('exists', KEYS[2]) == 0 then\n"
+            + "    if redis.call('exists', KEYS[1]) == 0 then return {} end\n"
+            + "    redis.call('rename', KEYS[1], KEYS[2])\n"
+            + "    redis.call('hset', KEYS[2], '" + BATCH_FIELD + "', ARGV[1])\n"
+            + "end\n"
+            + "return redis.call('hgetall', KEYS[2])", List.class);
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    @Autowired
+    private RedisLockService redisLockService;
+
+    @Autowired(required = false)
+    private List<CounterHandler> counterHandlers = Collections.emptyList();
+
+    /**
+     * 增量落库间隔（毫秒）
+     */
+    @Value("${xypai.counter.flush-interval:5000}")
+    private long flushInterval;
+
+    /**
+     * 缓存对账间隔（毫秒）
+     */
+    @Value("${xypai.counter.reconcile-interval:3600000}")
+    private long reconcileInterval;
+
+    /**
+     * 计数缓存有效期（秒）
+     */
+    @Value("${xypai.counter.expire:86400}")
+    private long expireSeconds;
+
+    private final Map<String, CounterHandler> handlers = new HashMap<>();
+
+    private ScheduledExecutorService scheduler;
+
+    @PostConstruct
+    public void init()
+    {
+        for (CounterHandler handler : counterHandlers)
+        {
+            handlers.put(handler.namespace(), handler);
+        }
+        if (handlers.isEmpty())
+        {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "redis-counter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::flushAll, flushInterval, flushInterval, TimeUnit.MILLISECONDS);
+        scheduler.scheduleWithFixedDelay(this::reconcileAll, reconcileInterval, reconcileInterval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void destroy()
+    {
+        if (scheduler != null)
+        {
+            scheduler.shutdown();
+            flushAll();
+        }
+    }
+
+    /**
+     * 累加计数，存在事务时在事务提交后执行
+     *
+     * @param namespace 命名空间
+     * @param id 实体ID
+     * @param field 计数字段
+     * @param delta 增量，可为负数
+     */
+    public void increment(final String namespace, final Long id, final String field, final long delta)
+    {
+        final CounterHandler handler = getHandler(namespace);
+        if (TransactionSynchronizationManager.isSynchronizationActive())
+        {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization()
+            {
+                @Override
+                public void afterCommit()
+                {
+                    doIncrement(handler, id, field, delta);
+                }
+            });
+        }
+        else
+        {
+            doIncrement(handler, id, field, delta);
+        }
+    }
+
+    private void doIncrement(CounterHandler handler, Long id, String field, long delta)
+    {
+        String namespace = handler.namespace();
+        redisTemplate.execute(INCREMENT_SCRIPT, Arrays.asList(getCounterKey(namespace, id), getDeltaKey(namespace)),
+                field, String.valueOf(delta), id + ":" + field, String.valueOf(expireSeconds), handler.writeBehind() ? "1" : "0");
+    }
+
+    /**
+     * 获取单个实体的计数
+     *
+     * @param namespace 命名空间
+     * @param id 实体ID
+     * @return 字段与计数
+     */
+    public Map<String, Long> getCounts(final String namespace, final Long id)
+    {
+        Map<String, Long> counts = multiGetCounts(namespace, Collections.singletonList(id)).get(id);
+        return counts != null ? counts : new HashMap<>();
+    }
+
+    /**
+     * 批量获取实体的计数，一次往返读取全部缓存，未命中的实体批量从数据库加载
+     *
+     * @param namespace 命名空间
+     * @param ids 实体ID集合
+     * @return key为实体ID，value为字段与计数
+     */
+    @SuppressWarnings("unchecked")
+    public Map<Long, Map<String, Long>> multiGetCounts(final String namespace, final Collection<Long> ids)
+    {
+        Map<Long, Map<String, Long>> result = new LinkedHashMap<>();
+        if (ids == null || ids.isEmpty())
+        {
+            return result;
+        }
+        CounterHandler handler = getHandler(namespace);
+        final List<Long> idList = new ArrayList<>(new LinkedHashSet<>(ids));
+        List<Object> cached = redisTemplate.executePipelined(new SessionCallback<Object>()
+        {
+            @Override
+            public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException
+            {
+                for (Long id : idList)
+                {
+                    operations.opsForHash().entries((K) getCounterKey(namespace, id));
+                }
+                return null;
+            }
+        });
+        List<Long> missing = new ArrayList<>();
+        for (int i = 0; i < idList.size(); i++)
+        {
+            Map<Object, Object> entries = (Map<Object, Object>) cached.get(i);
+            if (entries == null || entries.isEmpty())
+            {
+                missing.add(idList.get(i));
+                continue;
+            }
+            Map<String, Long> counts = new HashMap<>(entries.size());
+            for (Map.Entry<Object, Object> entry : entries.entrySet())
+            {
+                counts.put(String.valueOf(entry.getKey()), Long.parseLong(String.valueOf(entry.getValue())));
+            }
+            result.put(idList.get(i), counts);
+        }
+        if (!missing.isEmpty())
+        {
+            result.putAll(fill(handler, missing));
+        }
+        return result;
+    }
+
+    /**
+     * 将所有需要回写的命名空间增量落库
+     */
+    public void flushAll()
+    {
+        for (CounterHandler handler : handlers.values())
+        {
+            if (handler.writeBehind())
+            {
+                try
+                {
+                    flush(handler);
+                }
+                catch (Exception e)
+                {
+                    log.error("计数器增量落库失败 namespace={}", handler.namespace(), e);
+                }
+            }
+        }
+    }
+
+    /**
+     * 按数据库对账所有命名空间的计数缓存
+     */
+    public void reconcileAll()
+    {
+        for (CounterHandler handler : handlers.values())
+        {
+            try
+            {
+                reconcile(handler);
+            }
+            catch (Exception e)
+            {
+                log.error("计数器对账失败 namespace={}", handler.namespace(), e);
+            }
+        }
+    }
+
+    private void flush(CounterHandler handler)
+    {
+        String namespace = handler.namespace();
+        RedisLock lock = redisLockService.getLock(getLockName(namespace));
+        if (!lock.tryLock())
+        {
+            return;
+        }
+        try
+        {
+            String deltaKey = getDeltaKey(namespace);
+            String pendingKey = deltaKey + PENDING_SUFFIX;
+            // 最多两轮：先重新投递上次遗留的批次，再处理新的增量
+            for (int round = 0; round < 2; round++)
+            {
+                String newBatchId = IdUtils.fastSimpleUUID();
+                List<?> entries = redisTemplate.execute(PREPARE_FLUSH_SCRIPT, Arrays.asList(deltaKey, pendingKey), newBatchId);
+                if (entries == null || entries.isEmpty())
+                {
+                    return;
+                }
+                String batchId = null;
+                Map<Long, Map<String, Long>> deltas = new HashMap<>();
+                for (int i = 0; i + 1 < entries.size(); i += 2)
+                {
+                    String deltaField = String.valueOf(entries.get(i));
+                    if (BATCH_FIELD.equals(deltaField))
+                    {
+                        batchId = String.valueOf(entries.get(i + 1));
+                        continue;
+                    }
+                    long delta = Long.parseLong(String.valueOf(entries.get(i + 1)));
+                    if (delta == 0)
+                    {
+                        continue;
+                    }
+                    int index = deltaField.indexOf(':');
+                    Long id = Long.valueOf(deltaField.substring(0, index));
+                    deltas.computeIfAbsent(id, k -> new HashMap<>()).put(deltaField.substring(index + 1), delta);
+                }
+                if (!deltas.isEmpty())
+                {
+                    // 抛出异常时保留待落库表，下次以同一批次号重试
+                    handler.flush(batchId, deltas);
+                }
+                redisTemplate.delete(pendingKey);
+                if (newBatchId.equals(batchId))
+                {
+                    return;
+                }
+                log.info("计数器遗留批次已重新投递 namespace={} batch={}", namespace, batchId);
+            }
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    private void reconcile(CounterHandler handler)
+    {
+        String namespace = handler.namespace();
+        RedisLock lock = redisLockService.getLock(getLockName(namespace));
+        if (!lock.tryLock())
+        {
+            return;
+        }
+        try
+        {
+            String prefix = getCounterKey(namespace, null);
+            ScanOptions options = ScanOptions.scanOptions().match(prefix + "*").count(RECONCILE_BATCH_SIZE).build();
+            List<Long> batch = new ArrayList<>(RECONCILE_BATCH_SIZE);
+            try (Cursor<String> cursor = redisTemplate.scan(options))
+            {
+                while (cursor.hasNext())
+                {
+                    batch.add(Long.valueOf(cursor.next().substring(prefix.length())));
+                    if (batch.size() >= RECONCILE_BATCH_SIZE)
+                    {
+                        fill(handler, batch);
+                        batch.clear();
+                    }
+                }
+            }
+            if (!batch.isEmpty())
+            {
+                fill(handler, batch);
+            }
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 从数据库加载计数并叠加未落库的增量后回填缓存，落库进行中或有遗留批次时不回填
+     */
+    private Map<Long, Map<String, Long>> fill(CounterHandler handler, List<Long> ids)
+    {
+        String namespace = handler.namespace();
+        String deltaKey = getDeltaKey(namespace);
+        String pendingKey = deltaKey + PENDING_SUFFIX;
+        List<String> keys = new ArrayList<>(3);
+        Map<Long, Map<String, Long>> result = new HashMap<>();
+        Map<Long, Map<String, Long>> loaded = handler.load(ids);
+        for (Map.Entry<Long, Map<String, Long>> entry : loaded.entrySet())
+        {
+            if (entry.getValue() == null || entry.getValue().isEmpty())
+            {
+                continue;
+            }
+            keys.clear();
+            keys.add(getCounterKey(namespace, entry.getKey()));
+            keys.add(deltaKey);
+            keys.add(pendingKey);
+            List<String> args = new ArrayList<>(2 + entry.getValue().size() * 2);
+            args.add(String.valueOf(expireSeconds));
+            args.add(String.valueOf(entry.getKey()));
+            for (Map.Entry<String, Long> count : entry.getValue().entrySet())
+            {
+                args.add(count.getKey());
+                args.add(String.valueOf(count.getValue() != null ? count.getValue() : 0L));
+            }
+            List<?> values = redisTemplate.execute(FILL_SCRIPT, keys, args.toArray());
+            Map<String, Long> counts = new HashMap<>();
+            for (int i = 0; values != null && i + 1 < values.size(); i += 2)
+            {
+                counts.put(String.valueOf(values.get(i)), Long.parseLong(String.valueOf(values.get(i + 1))));
+            }
+            result.put(entry.getKey(), counts);
+        }
+        return result;
+    }
+
+    private CounterHandler getHandler(String namespace)
+    {
+        CounterHandler handler = handlers.get(namespace);
+        if (handler == null)
+        {
+            throw new ServiceException("未注册的计数器命名空间：" + namespace);
+        }
+        return handler;
+    }
+
+    /**
+     * 命名空间使用 {} 包裹，集群模式下同一命名空间的键落在同一slot，保证脚本可执行
+     */
+    private String getCounterKey(String namespace, Long id)
+    {
+        return CacheConstants.COUNTER_KEY + "{" + namespace + "}:" + (id != null ? id : "");
+    }
+
+    private String getDeltaKey(String namespace)
+    {
+        return CacheConstants.COUNTER_DELTA_KEY + "{" + namespace + "}";
+    }
+
+    private String getLockName(String namespace)
+    {
+        return CacheConstants.COUNTER_LOCK_KEY + namespace;
+    }
+}
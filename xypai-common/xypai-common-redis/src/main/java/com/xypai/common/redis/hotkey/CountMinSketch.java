@@ -0,0 +1,111 @@
+package com.xypai.common.redis.hotkey;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * 滑动窗口 Count-Min Sketch
+ * <p>
+ * 窗口被切分为若干时间片，每个时间片一组计数器，{@link #rotate()} 时清空最旧的时间片并作为当前时间片。
+ * 估算值为每一行在所有时间片上的计数之和的最小值，只会高估不会低估。
+ *
+ * @author xypai
+ */
+public class CountMinSketch
+{
+    private final int depth;
+
+    private final int mask;
+
+    private final AtomicIntegerArray[] slices;
+
+    private volatile int current;
+
+    /**
+     * @param depth 哈希函数个数
+     * @param width 每行计数器个数，向上取整为2的幂
+     * @param sliceCount 时间片个数
+     */
+    public CountMinSketch(int depth, int width, int sliceCount)
+    {
+        if (depth <= 0 || width <= 0 || sliceCount <= 0)
+        {
+            throw new IllegalArgumentException("depth、width、sliceCount必须大于0");
+        }
+        this.depth = depth;
+        int size = Integer.highestOneBit(Math.max(1, width - 1)) << 1;
+        this.mask = size - 1;
+        this.slices = new AtomicIntegerArray[sliceCount];
+        for (int i = 0; i < sliceCount; i++)
+        {
+            slices[i] = new AtomicIntegerArray(depth * size);
+        }
+    }
+
+    /**
+     * 计数加一并返回窗口内的估算值
+     */
+    public long add(String key)
+    {
+        int h1 = spread(key.hashCode());
+        int h2 = spread(h1 ^ 0x9E3779B9) | 1;
+        AtomicIntegerArray slice = slices[current];
+        for (int i = 0; i < depth; i++)
+        {
+            slice.incrementAndGet(index(i, h1, h2));
+        }
+        return estimate(h1, h2);
+    }
+
+    /**
+     * 窗口内的估算值
+     */
+    public long estimate(String key)
+    {
+        int h1 = spread(key.hashCode());
+        return estimate(h1, spread(h1 ^ 0x9E3779B9) | 1);
+    }
+
+    /**
+     * 滑动到下一个时间片，丢弃最旧时间片的计数
+     */
+    public synchronized void rotate()
+    {
+        int next = (current + 1) % slices.length;
+        AtomicIntegerArray slice = slices[next];
+        for (int i = 0; i < slice.length(); i++)
+        {
+            slice.set(i, 0);
+        }
+        current = next;
+    }
+
+    private long estimate(int h1, int h2)
+    {
+        long min = Long.MAX_VALUE;
+        for (int i = 0; i < depth; i++)
+        {
+            int index = index(i, h1, h2);
+            long sum = 0;
+            for (AtomicIntegerArray slice : slices)
+            {
+                sum += slice.get(index);
+            }
+            min = Math.min(min, sum);
+        }
+        return min;
+    }
+
+    private int index(int row, int h1, int h2)
+    {
+        return row * (mask + 1) + ((h1 + row * h2) & mask);
+    }
+
+    private static int spread(int h)
+    {
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        return h ^ (h >>> 16);
+    }
+}
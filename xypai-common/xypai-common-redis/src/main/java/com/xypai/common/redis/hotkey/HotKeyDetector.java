@@ -0,0 +1,338 @@
+package com.xypai.common.redis.hotkey;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 热点Key探测与本地缓存
+ * <p>
+ * 对 RedisService 的读取按采样率计入滑动窗口 Count-Min Sketch，窗口内估算读取次数超过阈值的键视为热点，
+ * 其值在本节点缓存 local-ttl 毫秒。本节点的写入/删除会立即失效本地副本，其它节点最多读到 local-ttl 内的旧值，
+ * 因此登录令牌、验证码等对一致性敏感的前缀默认排除。默认关闭，通过 xypai.redis.hotkey.* 调整。
+ * <p>
+ * 本地缓存直接返回同一个对象实例，调用方不应修改读取到的缓存对象。
+ *
+ * @author xypai
+ */
+@Component
+public class HotKeyDetector
+{
+    private static final Logger log = LoggerFactory.getLogger(HotKeyDetector.class);
+
+    private static final int SKETCH_DEPTH = 4;
+
+    private static final int SKETCH_WIDTH = 2048;
+
+    @Value("${xypai.redis.hotkey.enabled:false}")
+    private boolean enabled;
+
+    /**
+     * 采样率，(0, 1]
+     */
+    @Value("${xypai.redis.hotkey.sample-rate:0.1}")
+    private double sampleRate;
+
+    /**
+     * 窗口内（换算回全量后）读取次数达到该值即视为热点
+     */
+    @Value("${xypai.redis.hotkey.threshold:1000}")
+    private long threshold;
+
+    /**
+     * 统计窗口（毫秒）
+     */
+    @Value("${xypai.redis.hotkey.window:10000}")
+    private long window;
+
+    /**
+     * 窗口切分的时间片个数
+     */
+    @Value("${xypai.redis.hotkey.slices:10}")
+    private int slices;
+
+    /**
+     * 本地缓存有效期（毫秒）
+     */
+    @Value("${xypai.redis.hotkey.local-ttl:1000}")
+    private long localTtl;
+
+    /**
+     * 最多同时跟踪的热点Key个数
+     */
+    @Value("${xypai.redis.hotkey.max-size:500}")
+    private int maxSize;
+
+    /**
+     * 不参与探测的键前缀
+     */
+    @Value("${xypai.redis.hotkey.exclude-prefixes:login_tokens:,captcha_codes:,pwd_err_cnt:}")
+    private String[] excludePrefixes;
+
+    private final Map<String, HotKey> hotKeys = new ConcurrentHashMap<>();
+
+    private final Map<String, LocalEntry> localCache = new ConcurrentHashMap<>();
+
+    private CountMinSketch sketch;
+
+    private ScheduledExecutorService executor;
+
+    @PostConstruct
+    public void init()
+    {
+        if (!enabled)
+        {
+            return;
+        }
+        sketch = new CountMinSketch(SKETCH_DEPTH, SKETCH_WIDTH, slices);
+        long interval = Math.max(1, window / slices);
+        executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "redis-hotkey");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleAtFixedRate(this::rotate, interval, interval, TimeUnit.MILLISECONDS);
+        log.info("热点Key探测已开启 sampleRate={} threshold={} window={}ms localTtl={}ms", sampleRate, threshold, window, localTtl);
+    }
+
+    @PreDestroy
+    public void destroy()
+    {
+        if (executor != null)
+        {
+            executor.shutdownNow();
+        }
+    }
+
+    public boolean isEnabled()
+    {
+        return enabled;
+    }
+
+    /**
+     * 读取本地缓存的热点值
+     *
+     * @param key Redis键
+     * @return 缓存值，未命中或已过期返回null
+     */
+    public Object getLocal(String key)
+    {
+        if (!enabled)
+        {
+            return null;
+        }
+        LocalEntry entry = localCache.get(key);
+        if (entry == null)
+        {
+            return null;
+        }
+        if (entry.expireAt < System.currentTimeMillis())
+        {
+            localCache.remove(key, entry);
+            return null;
+        }
+        sample(key);
+        return entry.value;
+    }
+
+    /**
+     * 记录一次从Redis的读取，热点键的值写入本地缓存
+     *
+     * @param key Redis键
+     * @param value 读取到的值
+     */
+    public void recordRead(String key, Object value)
+    {
+        if (!enabled || excluded(key))
+        {
+            return;
+        }
+        sample(key);
+        if (value != null && hotKeys.containsKey(key))
+        {
+            localCache.put(key, new LocalEntry(value, System.currentTimeMillis() + localTtl));
+        }
+    }
+
+    /**
+     * 本节点修改或删除键时失效本地副本
+     */
+    public void invalidate(String key)
+    {
+        if (enabled)
+        {
+            localCache.remove(key);
+        }
+    }
+
+    /**
+     * 当前热点Key列表，按估算次数降序
+     */
+    public List<HotKey> getHotKeys()
+    {
+        List<HotKey> list = new ArrayList<>(hotKeys.values());
+        list.sort(Comparator.comparingLong(HotKey::getEstimate).reversed());
+        return list;
+    }
+
+    public double getSampleRate()
+    {
+        return sampleRate;
+    }
+
+    public long getThreshold()
+    {
+        return threshold;
+    }
+
+    public long getWindow()
+    {
+        return window;
+    }
+
+    public long getLocalTtl()
+    {
+        return localTtl;
+    }
+
+    public int getLocalSize()
+    {
+        return localCache.size();
+    }
+
+    private void sample(String key)
+    {
+        if (sampleRate < 1 && ThreadLocalRandom.current().nextDouble() >= sampleRate)
+        {
+            return;
+        }
+        long estimate = (long) (sketch.add(key) / sampleRate);
+        if (estimate < threshold)
+        {
+            return;
+        }
+        HotKey hotKey = hotKeys.get(key);
+        if (hotKey == null)
+        {
+            if (hotKeys.size() >= maxSize)
+            {
+                return;
+            }
+            hotKey = hotKeys.computeIfAbsent(key, HotKey::new);
+        }
+        hotKey.seen(estimate);
+    }
+
+    private boolean excluded(String key)
+    {
+        for (String prefix : excludePrefixes)
+        {
+            if (!prefix.isEmpty() && key.startsWith(prefix))
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 滑动窗口并淘汰不再热点的键
+     */
+    private void rotate()
+    {
+        try
+        {
+            sketch.rotate();
+            long now = System.currentTimeMillis();
+            Iterator<HotKey> it = hotKeys.values().iterator();
+            while (it.hasNext())
+            {
+                HotKey hotKey = it.next();
+                if (hotKey.getLastSeen() < now - window)
+                {
+                    it.remove();
+                    localCache.remove(hotKey.getKey());
+                    log.debug("热点Key降级 key={}", hotKey.getKey());
+                }
+            }
+            localCache.entrySet().removeIf(e -> e.getValue().expireAt < now);
+        }
+        catch (Exception e)
+        {
+            log.error("热点Key窗口滑动失败", e);
+        }
+    }
+
+    private static final class LocalEntry
+    {
+        private final Object value;
+
+        private final long expireAt;
+
+        LocalEntry(Object value, long expireAt)
+        {
+            this.value = value;
+            this.expireAt = expireAt;
+        }
+    }
+
+    /**
+     * 热点Key信息
+     */
+    public static class HotKey
+    {
+        private final String key;
+
+        private final long since;
+
+        private volatile long estimate;
+
+        private volatile long lastSeen;
+
+        HotKey(String key)
+        {
+            this.key = key;
+            this.since = System.currentTimeMillis();
+            this.lastSeen = since;
+        }
+
+        void seen(long estimate)
+        {
+            this.estimate = estimate;
+            this.lastSeen = System.currentTimeMillis();
+        }
+
+        public String getKey()
+        {
+            return key;
+        }
+
+        public long getSince()
+        {
+            return since;
+        }
+
+        public long getEstimate()
+        {
+            return estimate;
+        }
+
+        public long getLastSeen()
+        {
+            return lastSeen;
+        }
+    }
+}
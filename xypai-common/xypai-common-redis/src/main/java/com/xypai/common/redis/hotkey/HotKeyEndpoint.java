@@ -0,0 +1,35 @@
+package com.xypai.common.redis.hotkey;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * 热点Key监控端点 /actuator/hotkeys
+ *
+ * @author xypai
+ */
+@Component
+@Endpoint(id = "hotkeys")
+public class HotKeyEndpoint
+{
+    @Autowired
+    private HotKeyDetector hotKeyDetector;
+
+    @ReadOperation
+    public Map<String, Object> hotKeys()
+    {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("enabled", hotKeyDetector.isEnabled());
+        result.put("sampleRate", hotKeyDetector.getSampleRate());
+        result.put("threshold", hotKeyDetector.getThreshold());
+        result.put("window", hotKeyDetector.getWindow());
+        result.put("localTtl", hotKeyDetector.getLocalTtl());
+        result.put("localSize", hotKeyDetector.getLocalSize());
+        result.put("keys", hotKeyDetector.getHotKeys());
+        return result;
+    }
+}
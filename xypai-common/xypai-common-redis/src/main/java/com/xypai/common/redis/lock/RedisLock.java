@@ -0,0 +1,147 @@
+package com.xypai.common.redis.lock;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import com.xypai.common.redis.service.RedisLockService;
+
+/**
+ * Redis可重入分布式锁
+ * <p>
+ * 持有者为 节点ID:线程ID，同一线程可重复加锁；未指定租期时由看门狗自动续期，直到释放锁。
+ * 租期过期（如长时间GC停顿）后锁可能被其他节点获取，受保护的数据库写入仍需以乐观锁版本号等条件拒绝过期持有者的写入。
+ * 不支持 {@link #newCondition()}，Redis中没有与锁关联的等待队列。
+ *
+ * @author xypai
+ */
+public class RedisLock implements Lock
+{
+    /**
+     * 等待锁时的最大轮询间隔（毫秒）
+     */
+    private static final long MAX_POLL_INTERVAL = 100;
+
+    private final RedisLockService lockService;
+
+    private final String name;
+
+    public RedisLock(RedisLockService lockService, String name)
+    {
+        this.lockService = lockService;
+        this.name = name;
+    }
+
+    /**
+     * 获取锁名称
+     */
+    public String getName()
+    {
+        return name;
+    }
+
+    /**
+     * 尝试获取锁
+     *
+     * @param waitTime 最长等待时间，0表示不等待
+     * @param leaseTime 租期，小于等于0表示由看门狗自动续期
+     * @param unit 时间单位
+     * @return true=获取成功
+     * @throws InterruptedException 等待时线程被中断
+     */
+    public boolean tryLock(long waitTime, long leaseTime, TimeUnit unit) throws InterruptedException
+    {
+        long deadline = System.nanoTime() + unit.toNanos(waitTime);
+        long leaseMillis = leaseTime > 0 ? unit.toMillis(leaseTime) : -1;
+        while (true)
+        {
+            if (lockService.tryAcquire(name, leaseMillis))
+            {
+                return true;
+            }
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0)
+            {
+                return false;
+            }
+            long sleep = Math.min(TimeUnit.NANOSECONDS.toMillis(remaining), ThreadLocalRandom.current().nextLong(10, MAX_POLL_INTERVAL));
+            if (Thread.interrupted())
+            {
+                throw new InterruptedException();
+            }
+            Thread.sleep(Math.max(1, sleep));
+        }
+    }
+
+    @Override
+    public boolean tryLock(long time, TimeUnit unit) throws InterruptedException
+    {
+        return tryLock(time, -1, unit);
+    }
+
+    @Override
+    public boolean tryLock()
+    {
+        return lockService.tryAcquire(name, -1);
+    }
+
+    @Override
+    public void lock()
+    {
+        boolean interrupted = false;
+        while (true)
+        {
+            try
+            {
+                if (tryLock(Long.MAX_VALUE / 2, -1, TimeUnit.NANOSECONDS))
+                {
+                    break;
+                }
+            }
+            catch (InterruptedException e)
+            {
+                interrupted = true;
+            }
+        }
+        if (interrupted)
+        {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void lockInterruptibly() throws InterruptedException
+    {
+        tryLock(Long.MAX_VALUE / 2, -1, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * 释放锁，重入时仅减少持有计数
+     *
+     * @throws IllegalMonitorStateException 当前线程未持有锁（或租期已过期）
+     */
+    @Override
+    public void unlock()
+    {
+        lockService.release(name);
+    }
+
+    /**
+     * 当前线程是否持有锁
+     */
+    public boolean isHeldByCurrentThread()
+    {
+        return lockService.isHeldByCurrentThread(name);
+    }
+
+    /**
+     * 不支持
+     *
+     * @throws UnsupportedOperationException 总是抛出
+     */
+    @Override
+    public Condition newCondition()
+    {
+        throw new UnsupportedOperationException("RedisLock不支持Condition");
+    }
+}
@@ -0,0 +1,363 @@
+package com.xypai.common.redis.metrics;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+import com.xypai.common.core.context.SecurityContextHolder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Redis命令指标采集
+ * <p>
+ * 通过代理RedisTemplate取得的连接记录每个命令的耗时，指标通过Micrometer导出：
+ * <ul>
+ * <li>redis.command：按命令统计的耗时直方图，管道/事务中的命令只计数，耗时计入 CLOSEPIPELINE/EXEC</li>
+ * <li>redis.command.errors：按命令统计的异常次数</li>
+ * <li>redis.payload.size：FastJson2JsonRedisSerializer 序列化/反序列化的字节数</li>
+ * <li>redis.request.commands：单个请求执行的Redis命令数，由请求上下文累计</li>
+ * </ul>
+ * 超过慢命令阈值时输出告警日志，日志中只有键的前缀与哈希。
+ *
+ * @author xypai
+ */
+@Component
+public class RedisMetrics
+{
+    private static final Logger log = LoggerFactory.getLogger(RedisMetrics.class);
+
+    /**
+     * 请求上下文中Redis命令计数的键
+     */
+    public static final String REQUEST_COMMAND_COUNT = "redis_command_count";
+
+    /**
+     * 不属于Redis命令的连接方法
+     */
+    private static final Set<String> IGNORED_METHODS = Set.of("close", "isClosed", "getNativeConnection", "isQueueing",
+            "isPipelined", "openPipeline", "getSentinelConnection");
+
+    /**
+     * 结束管道/事务的方法，只记录耗时不计入请求命令数
+     */
+    private static final Set<String> FLUSH_METHODS = Set.of("closePipeline", "exec");
+
+    /**
+     * 慢命令日志中键前缀的最大长度
+     */
+    private static final int MAX_KEY_PREFIX_LENGTH = 100;
+
+    @Value("${xypai.redis.metrics.enabled:true}")
+    private boolean enabled;
+
+    /**
+     * 慢命令阈值（毫秒）
+     */
+    @Value("${xypai.redis.metrics.slow-threshold:50}")
+    private long slowThreshold;
+
+    /**
+     * 是否发布百分位直方图
+     */
+    @Value("${xypai.redis.metrics.histogram:true}")
+    private boolean histogram;
+
+    private final MeterRegistry registry;
+
+    private final Map<Method, Timer> timers = new ConcurrentHashMap<>();
+
+    private final Map<String, Counter> errorCounters = new ConcurrentHashMap<>();
+
+    private final Map<Class<?>, Class<?>[]> proxyInterfaces = new ConcurrentHashMap<>();
+
+    private long slowThresholdNanos;
+
+    private DistributionSummary writeSize;
+
+    private DistributionSummary readSize;
+
+    private DistributionSummary requestCommands;
+
+    public RedisMetrics(ObjectProvider<MeterRegistry> registryProvider)
+    {
+        this.registry = registryProvider.getIfAvailable(() -> Metrics.globalRegistry);
+    }
+
+    @PostConstruct
+    public void init()
+    {
+        slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowThreshold);
+        writeSize = payloadSummary("write");
+        readSize = payloadSummary("read");
+        requestCommands = DistributionSummary.builder("redis.request.commands")
+                .description("单个请求执行的Redis命令数")
+                .publishPercentileHistogram(histogram)
+                .register(registry);
+    }
+
+    public boolean isEnabled()
+    {
+        return enabled;
+    }
+
+    /**
+     * 包装连接，记录经过该连接的命令
+     *
+     * @param connection 原始连接
+     * @return 带指标的连接，未启用时返回原连接
+     */
+    public RedisConnection wrap(RedisConnection connection)
+    {
+        if (!enabled || connection == null)
+        {
+            return connection;
+        }
+        if (Proxy.isProxyClass(connection.getClass()) && Proxy.getInvocationHandler(connection) instanceof CommandInvocationHandler)
+        {
+            return connection;
+        }
+        Class<?>[] interfaces = proxyInterfaces.computeIfAbsent(connection.getClass(), this::publicInterfaces);
+        return (RedisConnection) Proxy.newProxyInstance(RedisMetrics.class.getClassLoader(), interfaces,
+                new CommandInvocationHandler(connection, connection));
+    }
+
+    /**
+     * 记录序列化后的负载大小
+     *
+     * @param write true=写入（序列化），false=读取（反序列化）
+     * @param bytes 字节数
+     */
+    public void recordPayload(boolean write, int bytes)
+    {
+        if (enabled)
+        {
+            (write ? writeSize : readSize).record(bytes);
+        }
+    }
+
+    /**
+     * 在请求上下文中开始统计Redis命令数，需在请求开始时调用
+     */
+    public static void beginRequest()
+    {
+        SecurityContextHolder.set(REQUEST_COMMAND_COUNT, new AtomicInteger());
+    }
+
+    /**
+     * 获取当前请求已执行的Redis命令数
+     *
+     * @return 命令数，不在请求上下文中时返回-1
+     */
+    public static int getRequestCommandCount()
+    {
+        AtomicInteger counter = SecurityContextHolder.peek(REQUEST_COMMAND_COUNT);
+        return counter == null ? -1 : counter.get();
+    }
+
+    /**
+     * 请求结束时记录本次请求的Redis命令数，需在清理请求上下文之前调用
+     */
+    public void completeRequest()
+    {
+        AtomicInteger counter = SecurityContextHolder.peek(REQUEST_COMMAND_COUNT);
+        if (counter != null && enabled)
+        {
+            requestCommands.record(counter.get());
+        }
+    }
+
+    private static void countRequestCommand()
+    {
+        AtomicInteger counter = SecurityContextHolder.peek(REQUEST_COMMAND_COUNT);
+        if (counter != null)
+        {
+            counter.incrementAndGet();
+        }
+    }
+
+    private DistributionSummary payloadSummary(String direction)
+    {
+        return DistributionSummary.builder("redis.payload.size")
+                .description("Redis值序列化后的字节数")
+                .baseUnit("bytes")
+                .tag("direction", direction)
+                .publishPercentileHistogram(histogram)
+                .register(registry);
+    }
+
+    private Timer timer(Method method)
+    {
+        return timers.computeIfAbsent(method, m -> Timer.builder("redis.command")
+                .description("Redis命令耗时")
+                .tag("command", m.getName().toUpperCase())
+                .publishPercentileHistogram(histogram)
+                .register(registry));
+    }
+
+    private void recordError(String command)
+    {
+        errorCounters.computeIfAbsent(command, c -> Counter.builder("redis.command.errors")
+                .description("Redis命令异常次数")
+                .tag("command", c)
+                .register(registry)).increment();
+    }
+
+    private void record(Method method, Object[] args, long nanos)
+    {
+        Timer timer = timer(method);
+        timer.record(nanos, TimeUnit.NANOSECONDS);
+        if (nanos >= slowThresholdNanos)
+        {
+            log.warn("Redis慢命令 command={} key={} cost={}ms", timer.getId().getTag("command"), describeKey(args),
+                    TimeUnit.NANOSECONDS.toMillis(nanos));
+        }
+    }
+
+    /**
+     * 慢命令日志中的键：只输出最后一个冒号及之前的前缀和整个键的哈希，如 login_tokens:#1f3a9c2e，
+     * 令牌等写在键中的敏感值不会进入日志
+     */
+    static String describeKey(Object[] args)
+    {
+        if (args == null || args.length == 0 || !(args[0] instanceof byte[] key))
+        {
+            return "";
+        }
+        int end = Math.min(key.length, MAX_KEY_PREFIX_LENGTH);
+        int prefixLength = 0;
+        for (int i = end - 1; i >= 0; i--)
+        {
+            if (key[i] == ':')
+            {
+                prefixLength = i + 1;
+                break;
+            }
+        }
+        return new String(key, 0, prefixLength, StandardCharsets.UTF_8) + "#" + Integer.toHexString(Arrays.hashCode(key));
+    }
+
+    private Class<?>[] publicInterfaces(Class<?> clazz)
+    {
+        return Arrays.stream(ClassUtils.getAllInterfacesForClass(clazz))
+                .filter(i -> Modifier.isPublic(i.getModifiers()))
+                .toArray(Class<?>[]::new);
+    }
+
+    /**
+     * 命令代理，连接与其 xxxCommands() 返回的命令接口共用同一个连接判断管道/事务状态
+     */
+    private final class CommandInvocationHandler implements InvocationHandler
+    {
+        private final RedisConnection connection;
+
+        private final Object target;
+
+        /**
+         * 命令接口 → 该连接上的命令代理
+         */
+        private final Map<Class<?>, Object> commandProxies = new ConcurrentHashMap<>(4);
+
+        CommandInvocationHandler(RedisConnection connection, Object target)
+        {
+            this.connection = connection;
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable
+        {
+            String name = method.getName();
+            if (method.getDeclaringClass() == Object.class)
+            {
+                switch (name)
+                {
+                    case "equals":
+                        return proxy == args[0];
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    default:
+                        return invokeTarget(method, args);
+                }
+            }
+            if (args == null && name.endsWith("Commands") && method.getReturnType().isInterface())
+            {
+                Object commands = invokeTarget(method, null);
+                return commands == null ? null : commandsProxy(method.getReturnType(), commands);
+            }
+            if (IGNORED_METHODS.contains(name))
+            {
+                return invokeTarget(method, args);
+            }
+            boolean flush = FLUSH_METHODS.contains(name);
+            if (!flush)
+            {
+                countRequestCommand();
+                if (connection.isPipelined() || connection.isQueueing())
+                {
+                    return invokeTarget(method, args);
+                }
+            }
+            long start = System.nanoTime();
+            try
+            {
+                return invokeTarget(method, args);
+            }
+            catch (Throwable e)
+            {
+                recordError(name.toUpperCase());
+                throw e;
+            }
+            finally
+            {
+                record(method, args, System.nanoTime() - start);
+            }
+        }
+
+        /**
+         * 同一连接的每种命令接口只创建一次代理，连接返回了新的命令对象时重新创建
+         */
+        private Object commandsProxy(Class<?> type, Object commands)
+        {
+            Object proxy = commandProxies.get(type);
+            if (proxy == null || ((CommandInvocationHandler) Proxy.getInvocationHandler(proxy)).target != commands)
+            {
+                proxy = Proxy.newProxyInstance(RedisMetrics.class.getClassLoader(), new Class<?>[] { type },
+                        new CommandInvocationHandler(connection, commands));
+                commandProxies.put(type, proxy);
+            }
+            return proxy;
+        }
+
+        private Object invokeTarget(Method method, Object[] args) throws Throwable
+        {
+            try
+            {
+                return method.invoke(target, args);
+            }
+            catch (InvocationTargetException e)
+            {
+                throw e.getTargetException();
+            }
+        }
+    }
+}
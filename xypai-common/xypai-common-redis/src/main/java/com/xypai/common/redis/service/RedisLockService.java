@@ -0,0 +1,229 @@
+package com.xypai.common.redis.service;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import com.xypai.common.core.constant.CacheConstants;
+import com.xypai.common.core.utils.uuid.IdUtils;
+import com.xypai.common.redis.lock.RedisLock;
+
+/**
+ * Redis分布式锁服务
+ * <p>
+ * 锁保存在 lock:{name} Hash中（owner/count），重入只累加count。
+ *
+ * @author xypai
+ */
+@Component
+public class RedisLockService
+{
+    private static final Logger log = LoggerFactory.getLogger(RedisLockService.class);
+
+    /**
+     * 获取锁：空闲时占用，已由自己持有时重入，返回1；否则返回0
+     */
+    private static final RedisScript<Long> ACQUIRE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('exists', KEYS[1]) == 0 then\n"
+            + "    redis.call('hset', KEYS[1], 'owner', ARGV[2], 'count', 1)\n"
+            + "    redis.call('pexpire', KEYS[1], ARGV[1])\n"
+            + "    return 1\n"
+            + "end\n"
+            + "if redis.call('hget', KEYS[1], 'owner') == ARGV[2] then\n"
+            + "    redis.call('hincrby', KEYS[1], 'count', 1)\n"
+            + "    redis.call('pexpire', KEYS[1], ARGV[1])\n"
+            + "    return 1\n"
+            + "end\n"
+            + "return 0", Long.class);
+
+    /**
+     * 释放锁：-1=非持有者，0=重入计数减一，1=已释放
+     */
+    private static final RedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('hget', KEYS[1], 'owner') ~= ARGV[1] then return -1 end\n"
+            + "local count = redis.call('hincrby', KEYS[1], 'count', -1)\n"
+            + "if count > 0 then\n"
+            + "    redis.call('pexpire', KEYS[1], ARGV[2])\n"
+            + "    return 0\n"
+            + "end\n"
+            + "redis.call('del', KEYS[1])\n"
+            + "return 1", Long.class);
+
+    /**
+     * 续期：仍由自己持有时刷新过期时间
+     */
+    private static final RedisScript<Long> RENEW_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('hget', KEYS[1], 'owner') == ARGV[1] then\n"
+            + "    redis.call('pexpire', KEYS[1], ARGV[2])\n"
+            + "    return 1\n"
+            + "end\n"
+            + "return 0", Long.class);
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    /**
+     * 看门狗租期（毫秒），持有期间每1/3租期续期一次
+     */
+    @Value("${xypai.lock.watchdog-timeout:30000}")
+    private long watchdogTimeout;
+
+    /**
+     * 节点标识，与线程ID组合为锁持有者
+     */
+    private final String instanceId = IdUtils.fastSimpleUUID();
+
+    /**
+     * 正在续期的锁，key为 锁键:持有者
+     */
+    private final Map<String, ScheduledFuture<?>> renewals = new ConcurrentHashMap<>();
+
+    /**
+     * 本节点持有的租期（毫秒），用于重入释放时恢复过期时间
+     */
+    private final Map<String, Long> leases = new ConcurrentHashMap<>();
+
+    private final ScheduledExecutorService watchdog = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "redis-lock-watchdog");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * 获取锁对象
+     *
+     * @param name 锁名称
+     * @return 锁
+     */
+    public RedisLock getLock(String name)
+    {
+        return new RedisLock(this, name);
+    }
+
+    /**
+     * 尝试获取一次锁
+     *
+     * @param name 锁名称
+     * @param leaseMillis 租期（毫秒），小于等于0表示由看门狗自动续期
+     * @return true=获取成功
+     */
+    public boolean tryAcquire(String name, long leaseMillis)
+    {
+        String owner = getOwner();
+        String lockKey = getLockKey(name);
+        long lease = leaseMillis > 0 ? leaseMillis : watchdogTimeout;
+        Long acquired = redisTemplate.execute(ACQUIRE_SCRIPT, Collections.singletonList(lockKey),
+                String.valueOf(lease), owner);
+        if (acquired == null || acquired == 0)
+        {
+            return false;
+        }
+        String holdKey = lockKey + ":" + owner;
+        leases.put(holdKey, lease);
+        if (leaseMillis <= 0)
+        {
+            renewals.computeIfAbsent(holdKey, k -> scheduleRenewal(lockKey, owner, holdKey));
+        }
+        return true;
+    }
+
+    /**
+     * 释放当前线程持有的锁
+     *
+     * @param name 锁名称
+     * @return true=已完全释放，false=重入计数减一
+     * @throws IllegalMonitorStateException 当前线程未持有锁
+     */
+    public boolean release(String name)
+    {
+        String owner = getOwner();
+        String lockKey = getLockKey(name);
+        String holdKey = lockKey + ":" + owner;
+        Long lease = leases.getOrDefault(holdKey, watchdogTimeout);
+        Long result = redisTemplate.execute(RELEASE_SCRIPT, Collections.singletonList(lockKey), owner, String.valueOf(lease));
+        if (result == null || result < 0)
+        {
+            stopRenewal(holdKey);
+            throw new IllegalMonitorStateException("当前线程未持有锁或锁已过期：" + name);
+        }
+        if (result == 1)
+        {
+            stopRenewal(holdKey);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * 当前线程是否持有锁
+     *
+     * @param name 锁名称
+     * @return 是否持有
+     */
+    public boolean isHeldByCurrentThread(String name)
+    {
+        Object owner = redisTemplate.opsForHash().get(getLockKey(name), "owner");
+        return getOwner().equals(owner);
+    }
+
+    @PreDestroy
+    public void destroy()
+    {
+        watchdog.shutdownNow();
+    }
+
+    private ScheduledFuture<?> scheduleRenewal(String lockKey, String owner, String holdKey)
+    {
+        long period = Math.max(1, watchdogTimeout / 3);
+        return watchdog.scheduleAtFixedRate(() -> {
+            try
+            {
+                Long renewed = redisTemplate.execute(RENEW_SCRIPT, Collections.singletonList(lockKey), owner,
+                        String.valueOf(watchdogTimeout));
+                if (renewed == null || renewed == 0)
+                {
+                    stopRenewal(holdKey);
+                }
+            }
+            catch (Exception e)
+            {
+                log.warn("分布式锁续期失败 key={}", lockKey, e);
+            }
+        }, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    private void stopRenewal(String holdKey)
+    {
+        leases.remove(holdKey);
+        ScheduledFuture<?> future = renewals.remove(holdKey);
+        if (future != null)
+        {
+            future.cancel(false);
+        }
+    }
+
+    private String getOwner()
+    {
+        return instanceId + ":" + Thread.currentThread().threadId();
+    }
+
+    /**
+     * 锁名称使用 {} 包裹（集群hash tag），保持已有的锁键格式
+     */
+    private String getLockKey(String name)
+    {
+        return CacheConstants.LOCK_KEY + "{" + name + "}";
+    }
+}
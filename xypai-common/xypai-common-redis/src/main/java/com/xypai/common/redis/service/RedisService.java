@@ -1,17 +1,32 @@
 package com.xypai.common.redis.service;
 
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
 import org.springframework.data.redis.core.BoundSetOperations;
 import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
 import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Component;
+import com.xypai.common.core.utils.uuid.IdUtils;
+import com.xypai.common.redis.hotkey.HotKeyDetector;
 
 /**
  * spring redis 工具类
@@ -22,9 +37,60 @@ import org.springframework.stereotype.Component;
 @Component
 public class RedisService
 {
+    private static final Logger log = LoggerFactory.getLogger(RedisService.class);
+
+    /**
+     * 空值占位符，用于缓存穿透保护；getOrLoad 与 getCacheObject 读取时都还原为null
+     */
+    private static final String NULL_VALUE = "@@XYPAI_NULL@@";
+
+    /**
+     * 空值缓存有效期（秒）
+     */
+    private static final long NULL_VALUE_EXPIRATION = 60;
+
+    /**
+     * 提前刷新窗口占有效期的比例，进入窗口后按概率提前刷新
+     */
+    private static final double EARLY_REFRESH_RATIO = 0.1;
+
+    /**
+     * 分布式加载租约后缀
+     */
+    private static final String LEASE_SUFFIX = ":lease";
+
+    /**
+     * 分布式加载租约时长（毫秒）
+     */
+    private static final long LEASE_TIMEOUT = 10000;
+
+    /**
+     * 未获得租约时等待其它节点回填缓存的最长时间（毫秒）
+     */
+    private static final long LEASE_WAIT_TIMEOUT = 2000;
+
+    /**
+     * 等待回填时的轮询间隔（毫秒）
+     */
+    private static final long LEASE_POLL_INTERVAL = 50;
+
+    /**
+     * 仅当租约仍属于自己时才释放
+     */
+    private static final RedisScript<Long> RELEASE_LEASE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end", Long.class);
+
     @Autowired
     public RedisTemplate redisTemplate;
 
+    @Autowired
+    private HotKeyDetector hotKeyDetector;
+
+    /**
+     * 进程内正在加载的键，同一键的并发加载合并为一次
+     */
+    private final ConcurrentHashMap<String, CompletableFuture<Object>> loadingFutures = new ConcurrentHashMap<>();
+
     /**
      * 缓存基本的对象，Integer、String、实体类等
      *
@@ -34,6 +100,7 @@ public class RedisService
     public <T> void setCacheObject(final String key, final T value)
     {
         redisTemplate.opsForValue().set(key, value);
+        hotKeyDetector.invalidate(key);
     }
 
     /**
@@ -47,6 +114,218 @@ public class RedisService
     public <T> void setCacheObject(final String key, final T value, final Long timeout, final TimeUnit timeUnit)
     {
         redisTemplate.opsForValue().set(key, value, timeout, timeUnit);
+        hotKeyDetector.invalidate(key);
+    }
+
+    /**
+     * 读取缓存，未命中时通过loader加载并回填（防缓存击穿）
+     * <p>
+     * 同一进程内对同一键的并发加载只执行一次；加载结果为null时缓存空值占位；
+     * 缓存临近过期时按概率提前刷新，避免大量键同时失效。
+     *
+     * @param key 缓存的键值
+     * @param timeout 有效时间，小于等于0表示不过期
+     * @param timeUnit 时间颗粒度
+     * @param loader 缓存未命中时的数据加载器
+     * @return 缓存或加载得到的数据
+     */
+    public <T> T getOrLoad(final String key, final long timeout, final TimeUnit timeUnit, final Supplier<T> loader)
+    {
+        return getOrLoad(key, timeout, timeUnit, loader, false);
+    }
+
+    /**
+     * 读取缓存，未命中时通过loader加载并回填（防缓存击穿）
+     *
+     * @param key 缓存的键值
+     * @param timeout 有效时间，小于等于0表示不过期
+     * @param timeUnit 时间颗粒度
+     * @param loader 缓存未命中时的数据加载器
+     * @param useLease 是否使用分布式租约限制多个节点同时加载
+     * @return 缓存或加载得到的数据
+     */
+    public <T> T getOrLoad(final String key, final long timeout, final TimeUnit timeUnit, final Supplier<T> loader,
+            final boolean useLease)
+    {
+        Object local = hotKeyDetector.getLocal(key);
+        if (local != null)
+        {
+            return unwrapNull(local);
+        }
+        Object cached;
+        boolean refreshEarly = false;
+        if (timeout > 0)
+        {
+            List<Object> results = redisTemplate.executePipelined(new SessionCallback<Object>()
+            {
+                @Override
+                public Object execute(RedisOperations operations) throws DataAccessException
+                {
+                    operations.opsForValue().get(key);
+                    operations.getExpire(key, TimeUnit.MILLISECONDS);
+                    return null;
+                }
+            });
+            cached = results.get(0);
+            Long remaining = (Long) results.get(1);
+            refreshEarly = cached != null && remaining != null && shouldRefreshEarly(remaining, timeUnit.toMillis(timeout));
+        }
+        else
+        {
+            cached = redisTemplate.opsForValue().get(key);
+        }
+        if (cached != null && !refreshEarly)
+        {
+            hotKeyDetector.recordRead(key, cached);
+            return unwrapNull(cached);
+        }
+        try
+        {
+            return unwrapNull(loadOnce(key, timeout, timeUnit, loader, useLease, cached));
+        }
+        catch (RuntimeException e)
+        {
+            if (cached == null)
+            {
+                throw e;
+            }
+            log.warn("提前刷新缓存失败，继续使用旧值 key={}", key, e);
+            return unwrapNull(cached);
+        }
+    }
+
+    /**
+     * 剩余有效期进入提前刷新窗口后，越临近过期刷新概率越高
+     */
+    private boolean shouldRefreshEarly(long remainingMillis, long timeoutMillis)
+    {
+        long window = (long) (timeoutMillis * EARLY_REFRESH_RATIO);
+        if (remainingMillis < 0 || window <= 0 || remainingMillis >= window)
+        {
+            return false;
+        }
+        return ThreadLocalRandom.current().nextDouble() > (double) remainingMillis / window;
+    }
+
+    /**
+     * 合并同一进程内对同一键的并发加载
+     */
+    private Object loadOnce(String key, long timeout, TimeUnit timeUnit, Supplier<?> loader, boolean useLease, Object stale)
+    {
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        CompletableFuture<Object> existing = loadingFutures.putIfAbsent(key, future);
+        if (existing != null)
+        {
+            if (stale != null)
+            {
+                return stale;
+            }
+            try
+            {
+                return existing.join();
+            }
+            catch (CompletionException e)
+            {
+                if (e.getCause() instanceof Error)
+                {
+                    throw (Error) e.getCause();
+                }
+                throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+            }
+        }
+        try
+        {
+            Object value = useLease ? loadWithLease(key, timeout, timeUnit, loader, stale) : loadAndCache(key, timeout, timeUnit, loader);
+            future.complete(value);
+            return value;
+        }
+        catch (Throwable e)
+        {
+            // 包括Error及绕过编译检查抛出的受检异常，否则等待同一键的线程会一直阻塞
+            future.completeExceptionally(e);
+            throw e;
+        }
+        finally
+        {
+            loadingFutures.remove(key, future);
+        }
+    }
+
+    /**
+     * 获取分布式租约后加载；未获得租约时等待其它节点回填，超时后自行加载
+     */
+    private Object loadWithLease(String key, long timeout, TimeUnit timeUnit, Supplier<?> loader, Object stale)
+    {
+        String leaseKey = key + LEASE_SUFFIX;
+        String token = IdUtils.fastSimpleUUID();
+        Boolean acquired = redisTemplate.opsForValue().setIfAbsent(leaseKey, token, LEASE_TIMEOUT, TimeUnit.MILLISECONDS);
+        if (Boolean.TRUE.equals(acquired))
+        {
+            try
+            {
+                return loadAndCache(key, timeout, timeUnit, loader);
+            }
+            finally
+            {
+                redisTemplate.execute(RELEASE_LEASE_SCRIPT, Collections.singletonList(leaseKey), token);
+            }
+        }
+        if (stale != null)
+        {
+            return stale;
+        }
+        long deadline = System.currentTimeMillis() + LEASE_WAIT_TIMEOUT;
+        while (System.currentTimeMillis() < deadline)
+        {
+            try
+            {
+                Thread.sleep(LEASE_POLL_INTERVAL);
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            Object cached = redisTemplate.opsForValue().get(key);
+            if (cached != null)
+            {
+                return cached;
+            }
+        }
+        return loadAndCache(key, timeout, timeUnit, loader);
+    }
+
+    /**
+     * 执行加载并回填缓存，null结果以占位符短期缓存
+     */
+    private Object loadAndCache(String key, long timeout, TimeUnit timeUnit, Supplier<?> loader)
+    {
+        hotKeyDetector.invalidate(key);
+        Object value = loader.get();
+        if (value == null)
+        {
+            long nullTimeout = NULL_VALUE_EXPIRATION;
+            if (timeout > 0)
+            {
+                nullTimeout = Math.min(nullTimeout, Math.max(1, timeUnit.toSeconds(timeout)));
+            }
+            redisTemplate.opsForValue().set(key, NULL_VALUE, nullTimeout, TimeUnit.SECONDS);
+            return NULL_VALUE;
+        }
+        if (timeout > 0)
+        {
+            redisTemplate.opsForValue().set(key, value, timeout, timeUnit);
+        }
+        else
+        {
+            redisTemplate.opsForValue().set(key, value);
+        }
+        return value;
+    }
+
+    private <T> T unwrapNull(Object value)
+    {
+        return NULL_VALUE.equals(value) ? null : (T) value;
     }
 
     /**
@@ -104,8 +383,15 @@ public class RedisService
      */
     public <T> T getCacheObject(final String key)
     {
-        ValueOperations<String, T> operation = redisTemplate.opsForValue();
-        return operation.get(key);
+        Object local = hotKeyDetector.getLocal(key);
+        if (local != null)
+        {
+            return unwrapNull(local);
+        }
+        ValueOperations<String, Object> operation = redisTemplate.opsForValue();
+        Object value = operation.get(key);
+        hotKeyDetector.recordRead(key, value);
+        return unwrapNull(value);
     }
 
     /**
@@ -115,6 +401,7 @@ public class RedisService
      */
     public boolean deleteObject(final String key)
     {
+        hotKeyDetector.invalidate(key);
         return redisTemplate.delete(key);
     }
 
@@ -126,6 +413,10 @@ public class RedisService
      */
     public boolean deleteObject(final Collection collection)
     {
+        for (Object key : collection)
+        {
+            hotKeyDetector.invalidate(String.valueOf(key));
+        }
         return redisTemplate.delete(collection) > 0;
     }
 
@@ -0,0 +1,140 @@
+package com.xypai.common.redis.service;
+
+import java.util.Collections;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import com.xypai.common.core.constant.CacheConstants;
+import com.xypai.common.core.utils.uuid.IdUtils;
+import com.xypai.common.core.utils.uuid.SnowflakeIdGenerator;
+import com.xypai.common.core.utils.uuid.WorkerIdProvider;
+
+/**
+ * 基于Redis租约分配雪花算法工作节点ID
+ * <p>
+ * 从随机位置开始对 snowflake_worker:{0～1023} 执行 SET NX PX，占到的即为本实例的工作节点ID，每1/3租期续期一次。
+ * 续期时发现租约已被他人占用（如Redis长时间不可用导致过期），重新租用并切换 IdUtils 的生成器。
+ * 停止时不直接删除租约，而是缩短到生成器允许借用的毫秒数之后过期，避免新实例与本实例借用的时间戳重叠。
+ *
+ * @author xypai
+ */
+@Component
+public class RedisWorkerIdProvider implements WorkerIdProvider
+{
+    private static final Logger log = LoggerFactory.getLogger(RedisWorkerIdProvider.class);
+
+    /**
+     * 续期：仍由自己持有时刷新过期时间
+     */
+    private static final RedisScript<Long> RENEW_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then\n"
+            + "    redis.call('pexpire', KEYS[1], ARGV[2])\n"
+            + "    return 1\n"
+            + "end\n"
+            + "return 0", Long.class);
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    /**
+     * 租期（毫秒）
+     */
+    @Value("${xypai.id.lease-timeout:60000}")
+    private long leaseTimeout;
+
+    /**
+     * 租约持有者标识
+     */
+    private final String instanceId = IdUtils.fastSimpleUUID();
+
+    private volatile int workerId = -1;
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "snowflake-worker-lease");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Override
+    public synchronized int getWorkerId()
+    {
+        if (workerId < 0)
+        {
+            workerId = acquire(ThreadLocalRandom.current().nextInt(SnowflakeIdGenerator.MAX_WORKER_ID + 1));
+            long period = Math.max(1, leaseTimeout / 3);
+            scheduler.scheduleAtFixedRate(this::renew, period, period, TimeUnit.MILLISECONDS);
+        }
+        return workerId;
+    }
+
+    @PreDestroy
+    public void destroy()
+    {
+        scheduler.shutdownNow();
+        if (workerId < 0)
+        {
+            return;
+        }
+        try
+        {
+            redisTemplate.execute(RENEW_SCRIPT, Collections.singletonList(getKey(workerId)), instanceId,
+                    String.valueOf(SnowflakeIdGenerator.DEFAULT_MAX_BACKWARD_MILLIS + 1000));
+        }
+        catch (Exception e)
+        {
+            log.warn("雪花算法工作节点ID释放失败 workerId={}", workerId, e);
+        }
+    }
+
+    /**
+     * 从指定位置开始依次尝试租用
+     */
+    private int acquire(int start)
+    {
+        for (int i = 0; i <= SnowflakeIdGenerator.MAX_WORKER_ID; i++)
+        {
+            int id = (start + i) & SnowflakeIdGenerator.MAX_WORKER_ID;
+            Boolean acquired = redisTemplate.opsForValue().setIfAbsent(getKey(id), instanceId, leaseTimeout, TimeUnit.MILLISECONDS);
+            if (Boolean.TRUE.equals(acquired))
+            {
+                return id;
+            }
+        }
+        throw new IllegalStateException("没有空闲的雪花算法工作节点ID，" + (SnowflakeIdGenerator.MAX_WORKER_ID + 1) + "个均已被租用");
+    }
+
+    private void renew()
+    {
+        try
+        {
+            Long renewed = redisTemplate.execute(RENEW_SCRIPT, Collections.singletonList(getKey(workerId)), instanceId,
+                    String.valueOf(leaseTimeout));
+            if (renewed == null || renewed == 0)
+            {
+                int lost = workerId;
+                workerId = acquire(lost);
+                IdUtils.setWorkerId(workerId);
+                log.warn("雪花算法工作节点ID {} 租约已失效，改用 {}", lost, workerId);
+            }
+        }
+        catch (Exception e)
+        {
+            log.warn("雪花算法工作节点ID续期失败 workerId={}", workerId, e);
+        }
+    }
+
+    private String getKey(int id)
+    {
+        return CacheConstants.SNOWFLAKE_WORKER_KEY + id;
+    }
+}
@@ -0,0 +1,279 @@
+package com.xypai.common.redis.counter;
+
+import com.xypai.common.redis.service.RedisLockService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 计数器落库测试类，使用嵌入式Redis执行真实的Lua脚本
+ *
+ * @author xypai
+ */
+class RedisCounterServiceTest {
+
+    private static final String NAMESPACE = "test_view";
+
+    private static final String FIELD = "viewCount";
+
+    private static final Long ID = 1001L;
+
+    private static RedisServer redisServer;
+
+    private static LettuceConnectionFactory connectionFactory;
+
+    private static StringRedisTemplate redisTemplate;
+
+    private RedisLockService lockService;
+
+    private RedisCounterService counterService;
+
+    private TestHandler handler;
+
+    @BeforeAll
+    static void startRedis() throws IOException {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        redisServer = new RedisServer(port);
+        redisServer.start();
+        connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration("127.0.0.1", port));
+        connectionFactory.afterPropertiesSet();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+    }
+
+    @AfterAll
+    static void stopRedis() throws IOException {
+        connectionFactory.destroy();
+        redisServer.stop();
+    }
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate.getConnectionFactory().getConnection().serverCommands().flushAll();
+        lockService = new RedisLockService();
+        ReflectionTestUtils.setField(lockService, "redisTemplate", redisTemplate);
+        ReflectionTestUtils.setField(lockService, "watchdogTimeout", 30000L);
+
+        handler = new TestHandler();
+        counterService = new RedisCounterService();
+        ReflectionTestUtils.setField(counterService, "redisTemplate", redisTemplate);
+        ReflectionTestUtils.setField(counterService, "redisLockService", lockService);
+        ReflectionTestUtils.setField(counterService, "counterHandlers", List.of(handler));
+        // 后台任务间隔足够长，测试中手动落库
+        ReflectionTestUtils.setField(counterService, "flushInterval", 3600000L);
+        ReflectionTestUtils.setField(counterService, "reconcileInterval", 3600000L);
+        ReflectionTestUtils.setField(counterService, "expireSeconds", 600L);
+        counterService.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        counterService.destroy();
+        lockService.destroy();
+    }
+
+    @Test
+    void testFlushAppliesDeltaOnce() {
+        handler.db.put(ID, 10L);
+        assertEquals(10L, counterService.getCounts(NAMESPACE, ID).get(FIELD));
+        for (int i = 0; i < 3; i++) {
+            counterService.increment(NAMESPACE, ID, FIELD, 1);
+        }
+        assertEquals(13L, counterService.getCounts(NAMESPACE, ID).get(FIELD));
+
+        counterService.flushAll();
+        assertEquals(13L, handler.db.get(ID));
+        assertEquals(1, handler.flushes);
+        assertFalse(redisTemplate.hasKey(deltaKey()));
+        assertFalse(redisTemplate.hasKey(pendingKey()));
+
+        // 待落库表已删除，再次落库不会重复累加
+        counterService.flushAll();
+        assertEquals(13L, handler.db.get(ID));
+        assertEquals(1, handler.flushes);
+        assertEquals(13L, counterService.getCounts(NAMESPACE, ID).get(FIELD));
+    }
+
+    @Test
+    void testFailedFlushKeepsPendingBatch() {
+        handler.db.put(ID, 0L);
+        counterService.increment(NAMESPACE, ID, FIELD, 5);
+        handler.during = (batchId, deltas) -> {
+            throw new IllegalStateException("db down");
+        };
+        counterService.flushAll();
+        assertEquals(0L, handler.db.get(ID));
+        assertEquals("5", redisTemplate.opsForHash().get(pendingKey(), ID + ":" + FIELD));
+        String batchId = (String) redisTemplate.opsForHash().get(pendingKey(), "batch");
+        assertNotNull(batchId);
+
+        // 重试前的新增量留在增量表，遗留批次以原批次号重新投递后再落库新增量
+        counterService.increment(NAMESPACE, ID, FIELD, 2);
+        handler.during = null;
+        counterService.flushAll();
+        assertEquals(7L, handler.db.get(ID));
+        assertEquals(2, handler.applied.size());
+        assertTrue(handler.applied.contains(batchId));
+        assertFalse(redisTemplate.hasKey(pendingKey()));
+        assertFalse(redisTemplate.hasKey(deltaKey()));
+    }
+
+    @Test
+    void testCommittedBatchIsNotReappliedAfterCrash() {
+        handler.db.put(ID, 0L);
+        counterService.increment(NAMESPACE, ID, FIELD, 4);
+        handler.during = (batchId, deltas) -> {
+            // 模拟事务已提交、删除待落库表前服务崩溃
+            handler.apply(batchId, deltas);
+            throw new IllegalStateException("crash");
+        };
+        counterService.flushAll();
+        assertEquals(4L, handler.db.get(ID));
+        assertTrue(redisTemplate.hasKey(pendingKey()));
+
+        handler.during = null;
+        counterService.flushAll();
+        assertEquals(4L, handler.db.get(ID));
+        assertEquals(2, handler.flushes);
+        assertFalse(redisTemplate.hasKey(pendingKey()));
+    }
+
+    @Test
+    void testFillDuringFlushCountsPendingWithoutCaching() {
+        handler.db.put(ID, 10L);
+        counterService.increment(NAMESPACE, ID, FIELD, 3);
+        Map<String, Long> refilled = new HashMap<>();
+        handler.during = (batchId, deltas) -> {
+            // 落库事务提交前缓存过期，被其它请求重建
+            redisTemplate.delete(counterKey());
+            refilled.putAll(counterService.getCounts(NAMESPACE, ID));
+            assertFalse(redisTemplate.hasKey(counterKey()));
+            handler.apply(batchId, deltas);
+        };
+        counterService.flushAll();
+        assertEquals(13L, refilled.get(FIELD));
+        assertEquals(13L, handler.db.get(ID));
+        assertEquals(13L, counterService.getCounts(NAMESPACE, ID).get(FIELD));
+        assertTrue(redisTemplate.hasKey(counterKey()));
+    }
+
+    @Test
+    void testFillWithLeftoverBatchIsNotCached() {
+        handler.db.put(ID, 10L);
+        counterService.increment(NAMESPACE, ID, FIELD, 3);
+        handler.during = (batchId, deltas) -> {
+            throw new IllegalStateException("db down");
+        };
+        counterService.flushAll();
+        counterService.increment(NAMESPACE, ID, FIELD, 1);
+
+        assertEquals(14L, counterService.getCounts(NAMESPACE, ID).get(FIELD));
+        assertFalse(redisTemplate.hasKey(counterKey()));
+
+        handler.during = null;
+        counterService.flushAll();
+        assertEquals(14L, handler.db.get(ID));
+        assertEquals(14L, counterService.getCounts(NAMESPACE, ID).get(FIELD));
+        assertTrue(redisTemplate.hasKey(counterKey()));
+    }
+
+    @Test
+    void testIncrementDuringFlushIsKeptForNextFlush() {
+        handler.db.put(ID, 0L);
+        counterService.increment(NAMESPACE, ID, FIELD, 1);
+        handler.during = (batchId, deltas) -> {
+            handler.apply(batchId, deltas);
+            counterService.increment(NAMESPACE, ID, FIELD, 2);
+        };
+        counterService.flushAll();
+        assertEquals(1L, handler.db.get(ID));
+
+        handler.during = null;
+        counterService.flushAll();
+        assertEquals(3L, handler.db.get(ID));
+    }
+
+    private static String deltaKey() {
+        return "counter_delta:{" + NAMESPACE + "}";
+    }
+
+    private static String pendingKey() {
+        return deltaKey() + ":pending";
+    }
+
+    private static String counterKey() {
+        return "counter:{" + NAMESPACE + "}:" + ID;
+    }
+
+    /**
+     * 以内存Map模拟数据库的回写计数器，按批次号去重
+     */
+    private static class TestHandler implements CounterHandler {
+
+        final Map<Long, Long> db = new ConcurrentHashMap<>();
+
+        final Set<String> applied = ConcurrentHashMap.newKeySet();
+
+        BiConsumer<String, Map<Long, Map<String, Long>>> during;
+
+        int flushes;
+
+        @Override
+        public String namespace() {
+            return NAMESPACE;
+        }
+
+        @Override
+        public Map<Long, Map<String, Long>> load(Collection<Long> ids) {
+            Map<Long, Map<String, Long>> result = new HashMap<>();
+            for (Long id : ids) {
+                Map<String, Long> counts = new HashMap<>();
+                counts.put(FIELD, db.getOrDefault(id, 0L));
+                result.put(id, counts);
+            }
+            return result;
+        }
+
+        @Override
+        public boolean writeBehind() {
+            return true;
+        }
+
+        @Override
+        public void flush(String batchId, Map<Long, Map<String, Long>> deltas) {
+            flushes++;
+            if (during != null) {
+                during.accept(batchId, deltas);
+            } else {
+                apply(batchId, deltas);
+            }
+        }
+
+        void apply(String batchId, Map<Long, Map<String, Long>> deltas) {
+            if (applied.add(batchId)) {
+                deltas.forEach((id, fields) -> db.merge(id, fields.getOrDefault(FIELD, 0L), Long::sum));
+            }
+        }
+    }
+}
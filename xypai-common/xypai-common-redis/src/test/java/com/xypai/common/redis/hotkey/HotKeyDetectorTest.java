@@ -0,0 +1,98 @@
+package com.xypai.common.redis.hotkey;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 热点Key探测测试类
+ *
+ * @author xypai
+ */
+class HotKeyDetectorTest {
+
+    private HotKeyDetector detector;
+
+    @BeforeEach
+    void setUp() {
+        detector = new HotKeyDetector();
+        ReflectionTestUtils.setField(detector, "enabled", true);
+        ReflectionTestUtils.setField(detector, "sampleRate", 1.0);
+        ReflectionTestUtils.setField(detector, "threshold", 100L);
+        ReflectionTestUtils.setField(detector, "window", 60000L);
+        ReflectionTestUtils.setField(detector, "slices", 6);
+        ReflectionTestUtils.setField(detector, "localTtl", 60000L);
+        ReflectionTestUtils.setField(detector, "maxSize", 10);
+        ReflectionTestUtils.setField(detector, "excludePrefixes", new String[]{"login_tokens:"});
+        detector.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        detector.destroy();
+    }
+
+    @Test
+    void testSketchNeverUnderestimates() {
+        CountMinSketch sketch = new CountMinSketch(4, 256, 3);
+        for (int i = 0; i < 1000; i++) {
+            sketch.add("key:" + (i % 100));
+        }
+        for (int i = 0; i < 100; i++) {
+            assertTrue(sketch.estimate("key:" + i) >= 10);
+        }
+    }
+
+    @Test
+    void testSketchWindowSlides() {
+        CountMinSketch sketch = new CountMinSketch(4, 256, 2);
+        for (int i = 0; i < 50; i++) {
+            sketch.add("hot");
+        }
+        sketch.rotate();
+        assertEquals(50, sketch.estimate("hot"));
+        sketch.rotate();
+        assertEquals(0, sketch.estimate("hot"));
+    }
+
+    @Test
+    void testHotKeyPromotedToLocalCache() {
+        String key = "sys_config:sys.index.skinName";
+        for (int i = 0; i < 99; i++) {
+            detector.recordRead(key, "skin-blue");
+        }
+        assertNull(detector.getLocal(key));
+
+        detector.recordRead(key, "skin-blue");
+        detector.recordRead(key, "skin-blue");
+        assertEquals("skin-blue", detector.getLocal(key));
+        assertEquals(key, detector.getHotKeys().get(0).getKey());
+
+        detector.invalidate(key);
+        assertNull(detector.getLocal(key));
+    }
+
+    @Test
+    void testColdAndExcludedKeysNotCached() {
+        for (int i = 0; i < 500; i++) {
+            detector.recordRead("login_tokens:abc", "token");
+            detector.recordRead("cold:" + i, "value");
+        }
+        assertNull(detector.getLocal("login_tokens:abc"));
+        assertNull(detector.getLocal("cold:1"));
+        assertTrue(detector.getHotKeys().isEmpty());
+    }
+
+    @Test
+    void testDisabledIsNoop() {
+        HotKeyDetector disabled = new HotKeyDetector();
+        disabled.init();
+        for (int i = 0; i < 1000; i++) {
+            disabled.recordRead("key", "value");
+        }
+        assertNull(disabled.getLocal("key"));
+    }
+}
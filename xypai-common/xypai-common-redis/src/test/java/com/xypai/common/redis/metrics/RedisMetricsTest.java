@@ -0,0 +1,142 @@
+package com.xypai.common.redis.metrics;
+
+import com.xypai.common.core.context.SecurityContextHolder;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Redis命令指标测试类
+ *
+ * @author xypai
+ */
+class RedisMetricsTest {
+
+    private static final byte[] KEY = "sys_config:test".getBytes(StandardCharsets.UTF_8);
+
+    private SimpleMeterRegistry registry;
+
+    private RedisMetrics metrics;
+
+    private RedisConnection connection;
+
+    private RedisStringCommands stringCommands;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory(Map.of("meterRegistry", registry));
+        metrics = new RedisMetrics(beanFactory.getBeanProvider(MeterRegistry.class));
+        ReflectionTestUtils.setField(metrics, "enabled", true);
+        ReflectionTestUtils.setField(metrics, "slowThreshold", 50L);
+        ReflectionTestUtils.setField(metrics, "histogram", false);
+        metrics.init();
+
+        connection = mock(RedisConnection.class);
+        stringCommands = mock(RedisStringCommands.class);
+        when(connection.stringCommands()).thenReturn(stringCommands);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.remove();
+    }
+
+    @Test
+    void testRecordsCommandLatency() {
+        when(stringCommands.get(any())).thenReturn("v".getBytes(StandardCharsets.UTF_8));
+        RedisConnection wrapped = metrics.wrap(connection);
+
+        assertArrayEquals("v".getBytes(StandardCharsets.UTF_8), wrapped.stringCommands().get(KEY));
+        wrapped.stringCommands().get(KEY);
+
+        assertEquals(2, registry.get("redis.command").tag("command", "GET").timer().count());
+        assertSame(wrapped, metrics.wrap(wrapped));
+    }
+
+    @Test
+    void testPipelinedCommandsAreCountedButNotTimed() {
+        when(connection.isPipelined()).thenReturn(true);
+        RedisConnection wrapped = metrics.wrap(connection);
+
+        RedisMetrics.beginRequest();
+        wrapped.stringCommands().get(KEY);
+        wrapped.stringCommands().get(KEY);
+        wrapped.closePipeline();
+
+        assertNull(registry.find("redis.command").tag("command", "GET").timer());
+        assertEquals(1, registry.get("redis.command").tag("command", "CLOSEPIPELINE").timer().count());
+        assertEquals(2, RedisMetrics.getRequestCommandCount());
+
+        metrics.completeRequest();
+        assertEquals(2.0, registry.get("redis.request.commands").summary().totalAmount());
+    }
+
+    @Test
+    void testErrorsAreCounted() {
+        when(stringCommands.get(any())).thenThrow(new IllegalStateException("boom"));
+        RedisConnection wrapped = metrics.wrap(connection);
+
+        assertThrows(IllegalStateException.class, () -> wrapped.stringCommands().get(KEY));
+        assertEquals(1.0, registry.get("redis.command.errors").tag("command", "GET").counter().count());
+    }
+
+    @Test
+    void testNoRequestContextIsNotCreated() {
+        metrics.wrap(connection).stringCommands().get(KEY);
+        assertEquals(-1, RedisMetrics.getRequestCommandCount());
+    }
+
+    @Test
+    void testCommandsProxyCachedPerConnection() {
+        RedisConnection wrapped = metrics.wrap(connection);
+
+        assertSame(wrapped.stringCommands(), wrapped.stringCommands());
+        // 连接返回新的命令对象时不再使用旧的代理
+        RedisStringCommands other = mock(RedisStringCommands.class);
+        when(connection.stringCommands()).thenReturn(other);
+        wrapped.stringCommands().get(KEY);
+        verify(other).get(KEY);
+        verify(stringCommands, never()).get(any());
+        // 不同连接不共用代理
+        assertNotSame(wrapped.stringCommands(), metrics.wrap(connection).stringCommands());
+    }
+
+    @Test
+    void testSlowCommandKeyHidesValue() {
+        byte[] token = "login_tokens:3f6a1c0e-secret".getBytes(StandardCharsets.UTF_8);
+
+        String key = RedisMetrics.describeKey(new Object[] { token });
+
+        assertEquals("login_tokens:#" + Integer.toHexString(Arrays.hashCode(token)), key);
+        assertFalse(key.contains("secret"));
+        assertEquals("sys_dict:a:#" + Integer.toHexString(Arrays.hashCode("sys_dict:a:b".getBytes(StandardCharsets.UTF_8))),
+                RedisMetrics.describeKey(new Object[] { "sys_dict:a:b".getBytes(StandardCharsets.UTF_8) }));
+        // 没有前缀时只有哈希
+        assertTrue(RedisMetrics.describeKey(new Object[] { "plain".getBytes(StandardCharsets.UTF_8) }).startsWith("#"));
+        assertEquals("", RedisMetrics.describeKey(null));
+    }
+
+    @Test
+    void testPayloadSize() {
+        metrics.recordPayload(true, 128);
+        metrics.recordPayload(false, 64);
+
+        assertEquals(128.0, registry.get("redis.payload.size").tag("direction", "write").summary().totalAmount());
+        assertEquals(64.0, registry.get("redis.payload.size").tag("direction", "read").summary().totalAmount());
+    }
+}
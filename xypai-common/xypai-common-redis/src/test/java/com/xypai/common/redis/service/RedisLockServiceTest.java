@@ -0,0 +1,181 @@
+package com.xypai.common.redis.service;
+
+import com.xypai.common.redis.lock.RedisLock;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 分布式锁测试类，需要本地Redis：mvn test -Dredis.host=127.0.0.1 [-Dredis.port=6379]
+ *
+ * @author xypai
+ */
+@EnabledIfSystemProperty(named = "redis.host", matches = ".+")
+class RedisLockServiceTest {
+
+    private static LettuceConnectionFactory connectionFactory;
+
+    private static RedisLockService lockService;
+
+    @BeforeAll
+    static void setUp() {
+        RedisStandaloneConfiguration configuration = new RedisStandaloneConfiguration(
+                System.getProperty("redis.host"), Integer.getInteger("redis.port", 6379));
+        connectionFactory = new LettuceConnectionFactory(configuration);
+        connectionFactory.afterPropertiesSet();
+        StringRedisTemplate redisTemplate = new StringRedisTemplate(connectionFactory);
+
+        lockService = new RedisLockService();
+        ReflectionTestUtils.setField(lockService, "redisTemplate", redisTemplate);
+        ReflectionTestUtils.setField(lockService, "watchdogTimeout", 3000L);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        lockService.destroy();
+        connectionFactory.destroy();
+    }
+
+    @Test
+    void testMutualExclusionUnderContention() throws Exception {
+        int threads = 16;
+        int iterations = 50;
+        String name = "test:contention:" + System.nanoTime();
+        int[] unsafeCounter = {0};
+        AtomicInteger inside = new AtomicInteger();
+        AtomicInteger violations = new AtomicInteger();
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            executor.execute(() -> {
+                try {
+                    start.await();
+                    RedisLock lock = lockService.getLock(name);
+                    for (int i = 0; i < iterations; i++) {
+                        assertTrue(lock.tryLock(30, TimeUnit.SECONDS));
+                        try {
+                            if (inside.incrementAndGet() != 1) {
+                                violations.incrementAndGet();
+                            }
+                            unsafeCounter[0]++;
+                            inside.decrementAndGet();
+                        } finally {
+                            lock.unlock();
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        start.countDown();
+        assertTrue(done.await(5, TimeUnit.MINUTES));
+        executor.shutdown();
+
+        assertEquals(0, violations.get());
+        assertEquals(threads * iterations, unsafeCounter[0]);
+    }
+
+    @Test
+    void testReentrantLock() throws Exception {
+        String name = "test:reentrant:" + System.nanoTime();
+        RedisLock lock = lockService.getLock(name);
+
+        assertTrue(lock.tryLock());
+        assertTrue(lock.tryLock());
+
+        lock.unlock();
+        assertTrue(lock.isHeldByCurrentThread());
+        assertFalse(tryLockInOtherThread(name));
+
+        lock.unlock();
+        assertFalse(lock.isHeldByCurrentThread());
+        assertTrue(tryLockInOtherThread(name));
+    }
+
+    @Test
+    void testUnlockWithoutHoldingThrows() {
+        RedisLock lock = lockService.getLock("test:not-held:" + System.nanoTime());
+        assertThrows(IllegalMonitorStateException.class, lock::unlock);
+    }
+
+    @Test
+    void testWatchdogRenewsLease() throws Exception {
+        String name = "test:watchdog:" + System.nanoTime();
+        RedisLock lock = lockService.getLock(name);
+        assertTrue(lock.tryLock());
+        try {
+            // 超过一个看门狗租期后仍应持有锁
+            Thread.sleep(4500);
+            assertTrue(lock.isHeldByCurrentThread());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Test
+    void testRepeatedAcquireLeavesNoState() throws Exception {
+        int threads = 8;
+        int iterations = 100;
+        String prefix = "test:repeated:" + System.nanoTime();
+        AtomicInteger failures = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            String name = prefix + ":" + t;
+            executor.execute(() -> {
+                RedisLock lock = lockService.getLock(name);
+                for (int i = 0; i < iterations; i++) {
+                    if (!lock.tryLock()) {
+                        failures.incrementAndGet();
+                        continue;
+                    }
+                    lock.unlock();
+                }
+                done.countDown();
+            });
+        }
+        assertTrue(done.await(1, TimeUnit.MINUTES));
+        executor.shutdown();
+
+        // 各线程使用自己的锁，每次都能获取；释放后不留下锁键、租期与看门狗任务
+        assertEquals(0, failures.get());
+        for (int t = 0; t < threads; t++) {
+            assertTrue(tryLockInOtherThread(prefix + ":" + t));
+        }
+        assertTrue(((Map<?, ?>) ReflectionTestUtils.getField(lockService, "renewals")).isEmpty());
+        assertTrue(((Map<?, ?>) ReflectionTestUtils.getField(lockService, "leases")).isEmpty());
+    }
+
+    private boolean tryLockInOtherThread(String name) throws Exception {
+        boolean[] result = {false};
+        Thread thread = new Thread(() -> {
+            RedisLock lock = lockService.getLock(name);
+            result[0] = lock.tryLock();
+            if (result[0]) {
+                lock.unlock();
+            }
+        });
+        thread.start();
+        thread.join();
+        return result[0];
+    }
+}
@@ -0,0 +1,206 @@
+package com.xypai.common.redis.service;
+
+import com.xypai.common.redis.hotkey.HotKeyDetector;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 缓存读取加载测试类，Redis以内存Map模拟
+ *
+ * @author xypai
+ */
+@SuppressWarnings({"unchecked", "rawtypes"})
+class RedisServiceTest {
+
+    private static final String KEY = "sys_config:test";
+
+    private static final String NULL_VALUE = "@@XYPAI_NULL@@";
+
+    /** 模拟Redis中的值 */
+    private final Map<String, Object> store = new ConcurrentHashMap<>();
+
+    /** 模拟Redis中的剩余有效期（毫秒） */
+    private final Map<String, Long> ttl = new ConcurrentHashMap<>();
+
+    private RedisService redisService;
+
+    private ValueOperations valueOperations;
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        RedisTemplate redisTemplate = mock(RedisTemplate.class);
+        valueOperations = mock(ValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(redisTemplate.executePipelined(any(SessionCallback.class))).thenAnswer(invocation ->
+                Arrays.asList(store.get(KEY), ttl.getOrDefault(KEY, -2L)));
+        when(valueOperations.get(anyString())).thenAnswer(invocation -> store.get(invocation.<String>getArgument(0)));
+        doAnswer(invocation -> {
+            String key = invocation.getArgument(0);
+            store.put(key, invocation.getArgument(1));
+            ttl.put(key, invocation.<TimeUnit>getArgument(3).toMillis(invocation.<Long>getArgument(2)));
+            return null;
+        }).when(valueOperations).set(anyString(), any(), anyLong(), any(TimeUnit.class));
+
+        redisService = new RedisService();
+        redisService.redisTemplate = redisTemplate;
+        ReflectionTestUtils.setField(redisService, "hotKeyDetector", new HotKeyDetector());
+        executor = Executors.newFixedThreadPool(8);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testNullResultIsCachedAsPlaceholder() {
+        AtomicInteger loads = new AtomicInteger();
+        assertNull(redisService.getOrLoad(KEY, 10, TimeUnit.MINUTES, () -> {
+            loads.incrementAndGet();
+            return null;
+        }));
+        assertEquals(NULL_VALUE, store.get(KEY));
+        assertEquals(TimeUnit.SECONDS.toMillis(60), ttl.get(KEY));
+
+        // 空值命中不再加载，普通读取也还原为null而不是占位字符串
+        assertNull(redisService.getOrLoad(KEY, 10, TimeUnit.MINUTES, () -> {
+            loads.incrementAndGet();
+            return "value";
+        }));
+        assertEquals(1, loads.get());
+        List<String> dict = redisService.getCacheObject(KEY);
+        assertNull(dict);
+    }
+
+    @Test
+    void testLoaderExceptionIsPropagatedAndNotCached() {
+        assertThrows(IllegalStateException.class, () -> redisService.getOrLoad(KEY, 10, TimeUnit.MINUTES, () -> {
+            throw new IllegalStateException("db down");
+        }));
+        assertFalse(store.containsKey(KEY));
+        assertEquals("value", redisService.getOrLoad(KEY, 10, TimeUnit.MINUTES, () -> "value"));
+    }
+
+    @Test
+    void testWaitersAreReleasedWhenLoaderThrowsError() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<?> first = executor.submit(() -> redisService.getOrLoad(KEY, 10, TimeUnit.MINUTES, () -> {
+            loading.countDown();
+            awaitQuietly(release);
+            throw new LoaderError();
+        }));
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+        Future<Object> waiter = executor.submit(() -> redisService.getOrLoad(KEY, 10, TimeUnit.MINUTES, () -> "second"));
+        // 等待者进入 join 后再让加载失败
+        Thread.sleep(100);
+        release.countDown();
+
+        Throwable firstError = assertThrows(java.util.concurrent.ExecutionException.class,
+                () -> first.get(5, TimeUnit.SECONDS)).getCause();
+        assertInstanceOf(LoaderError.class, firstError);
+        try {
+            assertEquals("second", waiter.get(5, TimeUnit.SECONDS));
+        } catch (java.util.concurrent.ExecutionException e) {
+            assertInstanceOf(LoaderError.class, e.getCause());
+        }
+        assertEquals("value", redisService.getOrLoad(KEY, 10, TimeUnit.MINUTES, () -> "value"));
+    }
+
+    @Test
+    void testSneakyCheckedExceptionDoesNotLeakLoadingEntry() {
+        assertThrows(Exception.class, () -> redisService.getOrLoad(KEY, 10, TimeUnit.MINUTES,
+                () -> RedisServiceTest.<RuntimeException, String>sneakyThrow(new java.io.IOException("io"))));
+        Map<?, ?> loading = (Map<?, ?>) ReflectionTestUtils.getField(redisService, "loadingFutures");
+        assertTrue(loading.isEmpty());
+        assertEquals("value", redisService.getOrLoad(KEY, 10, TimeUnit.MINUTES, () -> "value"));
+    }
+
+    @Test
+    void testConcurrentLoadsAreMerged() throws Exception {
+        int threads = 8;
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Object>> results = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                return redisService.getOrLoad(KEY, 10, TimeUnit.MINUTES, () -> {
+                    loads.incrementAndGet();
+                    sleepQuietly(200);
+                    return "value";
+                });
+            }));
+        }
+        start.countDown();
+        for (Future<Object> result : results) {
+            assertEquals("value", result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void testEarlyRefreshNearExpiry() {
+        store.put(KEY, "old");
+        ttl.put(KEY, TimeUnit.MINUTES.toMillis(5));
+        assertEquals("old", redisService.getOrLoad(KEY, 10, TimeUnit.MINUTES, () -> fail("未进入刷新窗口不应加载")));
+
+        // 剩余有效期为0时必定提前刷新
+        ttl.put(KEY, 0L);
+        assertEquals("new", redisService.getOrLoad(KEY, 10, TimeUnit.MINUTES, () -> "new"));
+        assertEquals("new", store.get(KEY));
+        assertEquals(TimeUnit.MINUTES.toMillis(10), ttl.get(KEY));
+
+        // 提前刷新失败时继续返回旧值
+        ttl.put(KEY, 0L);
+        assertEquals("new", redisService.getOrLoad(KEY, 10, TimeUnit.MINUTES, () -> {
+            throw new IllegalStateException("db down");
+        }));
+    }
+
+    private static <E extends Throwable, T> T sneakyThrow(Throwable e) throws E {
+        throw (E) e;
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static class LoaderError extends Error {
+    }
+}
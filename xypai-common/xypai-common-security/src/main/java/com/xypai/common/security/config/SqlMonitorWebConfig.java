@@ -0,0 +1,34 @@
+package com.xypai.common.security.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import com.xypai.common.security.interceptor.SqlMonitorHandlerInterceptor;
+import com.xypai.common.tracing.mybatis.SqlMonitorInterceptor;
+
+/**
+ * SQL监控拦截器配置
+ * <p>
+ * xypai-common-tracing 为可选依赖，服务引入后才加载本配置；xypai.sql.monitor.enabled=false 时不注册拦截器。
+ *
+ * @author xypai
+ */
+@ConditionalOnClass(name = "com.xypai.common.tracing.mybatis.SqlMonitorInterceptor")
+public class SqlMonitorWebConfig implements WebMvcConfigurer
+{
+    @Autowired(required = false)
+    private SqlMonitorInterceptor sqlMonitorInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry)
+    {
+        if (sqlMonitorInterceptor != null)
+        {
+            registry.addInterceptor(new SqlMonitorHandlerInterceptor(sqlMonitorInterceptor))
+                    .addPathPatterns("/**")
+                    .excludePathPatterns(WebMvcConfig.excludeUrls)
+                    .order(-10);
+        }
+    }
+}
@@ -1,7 +1,9 @@
 package com.xypai.common.security.config;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import com.xypai.common.redis.metrics.RedisMetrics;
 import com.xypai.common.security.interceptor.HeaderInterceptor;
 
 /**
@@ -14,6 +16,9 @@ public class WebMvcConfig implements WebMvcConfigurer
     /** 不需要拦截地址 */
     public static final String[] excludeUrls = { "/login", "/logout", "/refresh" };
 
+    @Autowired(required = false)
+    private RedisMetrics redisMetrics;
+
     @Override
     public void addInterceptors(InterceptorRegistry registry)
     {
@@ -28,6 +33,6 @@ public class WebMvcConfig implements WebMvcConfigurer
      */
     public HeaderInterceptor getHeaderInterceptor()
     {
-        return new HeaderInterceptor();
+        return new HeaderInterceptor(redisMetrics);
     }
 }
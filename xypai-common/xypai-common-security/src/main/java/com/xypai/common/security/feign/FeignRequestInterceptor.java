@@ -4,6 +4,7 @@ import java.util.Map;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.stereotype.Component;
 import com.xypai.common.core.constant.SecurityConstants;
+import com.xypai.common.core.context.SecurityContextHolder;
 import com.xypai.common.core.utils.ServletUtils;
 import com.xypai.common.core.utils.StringUtils;
 import com.xypai.common.core.utils.ip.IpUtils;
@@ -51,6 +52,13 @@ public class FeignRequestInterceptor implements RequestInterceptor
             requestTemplate.header("X-Forwarded-For", IpUtils.getIpAddr());
         }
         
+        // 传递链路标识，异步线程中也能从上下文取到
+        String traceId = SecurityContextHolder.getTraceId();
+        if (StringUtils.isNotEmpty(traceId))
+        {
+            requestTemplate.header(SecurityConstants.TRACE_ID, traceId);
+        }
+
         // 配置内部请求标识
         requestTemplate.header(SecurityConstants.FROM_SOURCE, SecurityConstants.INNER);
     }
@@ -2,12 +2,15 @@ package com.xypai.common.security.interceptor;
 
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.MDC;
 import org.springframework.web.method.HandlerMethod;
 import org.springframework.web.servlet.AsyncHandlerInterceptor;
 import com.xypai.common.core.constant.SecurityConstants;
 import com.xypai.common.core.context.SecurityContextHolder;
 import com.xypai.common.core.utils.ServletUtils;
 import com.xypai.common.core.utils.StringUtils;
+import com.xypai.common.core.utils.uuid.IdUtils;
+import com.xypai.common.redis.metrics.RedisMetrics;
 import com.xypai.common.security.auth.AuthUtil;
 import com.xypai.common.security.utils.SecurityUtils;
 import com.xypai.system.api.model.LoginUser;
@@ -20,6 +23,28 @@ import com.xypai.system.api.model.LoginUser;
  */
 public class HeaderInterceptor implements AsyncHandlerInterceptor
 {
+    /** 日志MDC字段：用户ID */
+    public static final String MDC_USER_ID = "userId";
+
+    /** 日志MDC字段：链路标识 */
+    public static final String MDC_TRACE_ID = "traceId";
+
+    /** 链路标识最大长度，超长或含非法字符时重新生成，避免日志注入 */
+    private static final int MAX_TRACE_ID_LENGTH = 64;
+
+    /** Redis命令指标，可为null */
+    private final RedisMetrics redisMetrics;
+
+    public HeaderInterceptor()
+    {
+        this(null);
+    }
+
+    public HeaderInterceptor(RedisMetrics redisMetrics)
+    {
+        this.redisMetrics = redisMetrics;
+    }
+
     @Override
     public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception
     {
@@ -31,6 +56,28 @@ public class HeaderInterceptor implements AsyncHandlerInterceptor
         SecurityContextHolder.setUserId(ServletUtils.getHeader(request, SecurityConstants.DETAILS_USER_ID));
         SecurityContextHolder.setUserName(ServletUtils.getHeader(request, SecurityConstants.DETAILS_USERNAME));
         SecurityContextHolder.setUserKey(ServletUtils.getHeader(request, SecurityConstants.USER_KEY));
+        // 已开启链路追踪时 traceId 由 Micrometer Tracing 写入MDC，否则沿用上游传入或新生成
+        String traceId = MDC.get(MDC_TRACE_ID);
+        if (StringUtils.isEmpty(traceId))
+        {
+            traceId = ServletUtils.getHeader(request, SecurityConstants.TRACE_ID);
+            if (!isValidTraceId(traceId))
+            {
+                traceId = IdUtils.fastSimpleUUID().substring(0, 16);
+            }
+            MDC.put(MDC_TRACE_ID, traceId);
+            request.setAttribute(MDC_TRACE_ID, traceId);
+        }
+        SecurityContextHolder.setTraceId(traceId);
+        Long userId = SecurityContextHolder.getUserId();
+        if (userId != 0L)
+        {
+            MDC.put(MDC_USER_ID, userId.toString());
+        }
+        if (redisMetrics != null)
+        {
+            RedisMetrics.beginRequest();
+        }
 
         String token = SecurityUtils.getToken();
         if (StringUtils.isNotEmpty(token))
@@ -49,6 +96,32 @@ public class HeaderInterceptor implements AsyncHandlerInterceptor
     public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex)
             throws Exception
     {
+        if (redisMetrics != null)
+        {
+            redisMetrics.completeRequest();
+        }
         SecurityContextHolder.remove();
+        if (request.getAttribute(MDC_TRACE_ID) != null)
+        {
+            MDC.remove(MDC_TRACE_ID);
+        }
+        MDC.remove(MDC_USER_ID);
+    }
+
+    private static boolean isValidTraceId(String traceId)
+    {
+        if (StringUtils.isEmpty(traceId) || traceId.length() > MAX_TRACE_ID_LENGTH)
+        {
+            return false;
+        }
+        for (int i = 0; i < traceId.length(); i++)
+        {
+            char c = traceId.charAt(i);
+            if (!Character.isLetterOrDigit(c) && c != '-')
+            {
+                return false;
+            }
+        }
+        return true;
     }
 }
@@ -0,0 +1,38 @@
+package com.xypai.common.security.interceptor;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import com.xypai.common.tracing.mybatis.SqlMonitorInterceptor;
+
+/**
+ * 按Controller方法统计单个请求的SQL语句，维护 SqlMonitorInterceptor 的请求上下文
+ *
+ * @author xypai
+ */
+public class SqlMonitorHandlerInterceptor implements AsyncHandlerInterceptor
+{
+    private final SqlMonitorInterceptor sqlMonitor;
+
+    public SqlMonitorHandlerInterceptor(SqlMonitorInterceptor sqlMonitor)
+    {
+        this.sqlMonitor = sqlMonitor;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+    {
+        if (handler instanceof HandlerMethod handlerMethod)
+        {
+            sqlMonitor.beginRequest(handlerMethod.getBeanType().getSimpleName() + "." + handlerMethod.getMethod().getName());
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex)
+    {
+        sqlMonitor.completeRequest();
+    }
+}
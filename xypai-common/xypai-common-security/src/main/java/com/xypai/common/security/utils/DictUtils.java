@@ -2,6 +2,8 @@ package com.xypai.common.security.utils;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 import com.alibaba.fastjson2.JSONArray;
 import com.xypai.common.core.constant.CacheConstants;
 import com.xypai.common.core.utils.SpringUtils;
@@ -24,7 +26,7 @@ public class DictUtils
      */
     public static void setDictCache(String key, List<SysDictData> dictDatas)
     {
-        SpringUtils.getBean(RedisService.class).setCacheObject(getCacheKey(key), dictDatas);
+        SpringUtils.getBean(RedisService.class).setCacheObject(getCacheKey(key), dictDatas, CacheConstants.SYS_CACHE_EXPIRATION, TimeUnit.MINUTES);
     }
 
     /**
@@ -43,6 +45,25 @@ public class DictUtils
         return null;
     }
 
+    /**
+     * 获取字典缓存，未命中时通过loader加载并回填，并发加载只执行一次
+     * 
+     * @param key 参数键
+     * @param loader 字典数据加载器
+     * @return dictDatas 字典数据列表
+     */
+    @SuppressWarnings("unchecked")
+    public static List<SysDictData> getOrLoadDictCache(String key, Supplier<List<SysDictData>> loader)
+    {
+        Object cache = SpringUtils.getBean(RedisService.class).getOrLoad(getCacheKey(key), CacheConstants.SYS_CACHE_EXPIRATION,
+                TimeUnit.MINUTES, loader, true);
+        if (cache instanceof JSONArray)
+        {
+            return ((JSONArray) cache).toList(SysDictData.class);
+        }
+        return (List<SysDictData>) cache;
+    }
+
     /**
      * 删除指定字典缓存
      * 
@@ -0,0 +1,32 @@
+package com.xypai.common.tracing.config;
+
+import org.apache.ibatis.plugin.Interceptor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import com.xypai.common.tracing.mybatis.SqlMonitorInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+
+/**
+ * 慢SQL与N+1查询检测配置，关闭：xypai.sql.monitor.enabled=false
+ *
+ * @author xypai
+ */
+@AutoConfiguration
+@ConditionalOnClass(Interceptor.class)
+@EnableConfigurationProperties(SqlMonitorProperties.class)
+@ConditionalOnProperty(name = "xypai.sql.monitor.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlMonitorAutoConfiguration
+{
+    @Bean
+    public SqlMonitorInterceptor sqlMonitorInterceptor(SqlMonitorProperties properties, ObjectProvider<MeterRegistry> registryProvider)
+    {
+        return new SqlMonitorInterceptor(registryProvider.getIfAvailable(() -> Metrics.globalRegistry),
+                properties.getSlowThreshold(), properties.getRepeatThreshold(), properties.getMaxStatements(),
+                properties.isHistogram());
+    }
+}
@@ -0,0 +1,77 @@
+package com.xypai.common.tracing.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 慢SQL与N+1查询检测配置
+ *
+ * @author xypai
+ */
+@ConfigurationProperties(prefix = "xypai.sql.monitor")
+public class SqlMonitorProperties
+{
+    /** 是否开启 */
+    private boolean enabled = true;
+
+    /** 慢SQL阈值（毫秒） */
+    private long slowThreshold = 500;
+
+    /** 同一形态的语句在一个请求内执行达到该次数视为N+1 */
+    private int repeatThreshold = 5;
+
+    /** 单个请求语句数上限，超过后输出告警日志 */
+    private int maxStatements = 50;
+
+    /** 是否发布百分位直方图 */
+    private boolean histogram = true;
+
+    public boolean isEnabled()
+    {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled)
+    {
+        this.enabled = enabled;
+    }
+
+    public long getSlowThreshold()
+    {
+        return slowThreshold;
+    }
+
+    public void setSlowThreshold(long slowThreshold)
+    {
+        this.slowThreshold = slowThreshold;
+    }
+
+    public int getRepeatThreshold()
+    {
+        return repeatThreshold;
+    }
+
+    public void setRepeatThreshold(int repeatThreshold)
+    {
+        this.repeatThreshold = repeatThreshold;
+    }
+
+    public int getMaxStatements()
+    {
+        return maxStatements;
+    }
+
+    public void setMaxStatements(int maxStatements)
+    {
+        this.maxStatements = maxStatements;
+    }
+
+    public boolean isHistogram()
+    {
+        return histogram;
+    }
+
+    public void setHistogram(boolean histogram)
+    {
+        this.histogram = histogram;
+    }
+}
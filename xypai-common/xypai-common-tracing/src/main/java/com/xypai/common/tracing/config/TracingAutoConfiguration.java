@@ -0,0 +1,68 @@
+package com.xypai.common.tracing.config;
+
+import java.nio.file.Path;
+import org.apache.ibatis.plugin.Interceptor;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+import com.xypai.common.tracing.exporter.FileSpanExporter;
+import com.xypai.common.tracing.mybatis.MybatisTracingInterceptor;
+import com.xypai.common.tracing.task.TracingTaskDecorator;
+import io.micrometer.tracing.Tracer;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+
+/**
+ * 链路追踪配置
+ * <p>
+ * Span的创建与传播由 Spring Boot / Spring Cloud 的 Observation 完成：网关路由、Servlet请求、Feign调用（feign-micrometer），
+ * W3C traceparent 请求头随网关转发与Feign调用传递。此处补充：
+ * <ul>
+ * <li>@Async 线程池的上下文传递（链路上下文 + TransmittableThreadLocal）</li>
+ * <li>MyBatis语句Span</li>
+ * <li>本地文件导出（xypai.tracing.file.enabled=true）</li>
+ * </ul>
+ * 采样率：management.tracing.sampling.probability；关闭：management.tracing.enabled=false。
+ * 未采样的请求只传递traceId用于日志关联，MyBatis拦截器只做一次判断。
+ *
+ * @author xypai
+ */
+@AutoConfiguration(before = TaskExecutionAutoConfiguration.class,
+        afterName = "org.springframework.boot.actuate.autoconfigure.tracing.MicrometerTracingAutoConfiguration")
+@EnableConfigurationProperties(TracingProperties.class)
+@ConditionalOnProperty(name = "management.tracing.enabled", havingValue = "true", matchIfMissing = true)
+public class TracingAutoConfiguration
+{
+    @Bean
+    @ConditionalOnMissingBean(TaskDecorator.class)
+    public TaskDecorator tracingTaskDecorator()
+    {
+        return new TracingTaskDecorator();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "xypai.tracing.file.enabled", havingValue = "true")
+    public SpanExporter fileSpanExporter(TracingProperties properties)
+    {
+        return new FileSpanExporter(Path.of(properties.getFile().getPath()), properties.getFile().getMaxSize());
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(Interceptor.class)
+    @ConditionalOnBean(Tracer.class)
+    @ConditionalOnProperty(name = "xypai.tracing.mybatis", havingValue = "true", matchIfMissing = true)
+    static class MybatisTracingConfiguration
+    {
+        @Bean
+        public MybatisTracingInterceptor mybatisTracingInterceptor(Tracer tracer)
+        {
+            return new MybatisTracingInterceptor(tracer);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.xypai.common.tracing.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 链路追踪配置
+ * <p>
+ * 采样率等通用配置沿用 Spring Boot：management.tracing.enabled、management.tracing.sampling.probability（默认0.1）。
+ *
+ * @author xypai
+ */
+@ConfigurationProperties(prefix = "xypai.tracing")
+public class TracingProperties
+{
+    /** 是否追踪MyBatis语句 */
+    private boolean mybatis = true;
+
+    /** 本地文件导出，用于开发环境排查，每行一个Span */
+    private File file = new File();
+
+    public boolean isMybatis()
+    {
+        return mybatis;
+    }
+
+    public void setMybatis(boolean mybatis)
+    {
+        this.mybatis = mybatis;
+    }
+
+    public File getFile()
+    {
+        return file;
+    }
+
+    public void setFile(File file)
+    {
+        this.file = file;
+    }
+
+    public static class File
+    {
+        /** 是否开启 */
+        private boolean enabled = false;
+
+        /** 文件路径 */
+        private String path = "logs/spans.log";
+
+        /** 单个文件最大字节数，超过后滚动为 .1 文件 */
+        private long maxSize = 100 * 1024 * 1024;
+
+        public boolean isEnabled()
+        {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled)
+        {
+            this.enabled = enabled;
+        }
+
+        public String getPath()
+        {
+            return path;
+        }
+
+        public void setPath(String path)
+        {
+            this.path = path;
+        }
+
+        public long getMaxSize()
+        {
+            return maxSize;
+        }
+
+        public void setMaxSize(long maxSize)
+        {
+            this.maxSize = maxSize;
+        }
+    }
+}
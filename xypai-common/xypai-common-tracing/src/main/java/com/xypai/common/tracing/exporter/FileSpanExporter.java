@@ -0,0 +1,148 @@
+package com.xypai.common.tracing.exporter;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import com.alibaba.fastjson2.JSON;
+import com.alibaba.fastjson2.JSONObject;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+
+/**
+ * 本地文件Span导出器，每行一个JSON，便于本地排查调用链（grep traceId 即可得到完整链路）
+ * <p>
+ * 由 BatchSpanProcessor 在导出线程中调用，不影响业务线程。
+ *
+ * @author xypai
+ */
+public class FileSpanExporter implements SpanExporter
+{
+    private static final Logger log = LoggerFactory.getLogger(FileSpanExporter.class);
+
+    private static final AttributeKey<String> SERVICE_NAME = AttributeKey.stringKey("service.name");
+
+    private final Path file;
+
+    private final long maxSize;
+
+    private BufferedWriter writer;
+
+    private long size;
+
+    public FileSpanExporter(Path file, long maxSize)
+    {
+        this.file = file;
+        this.maxSize = maxSize;
+    }
+
+    @Override
+    public synchronized CompletableResultCode export(Collection<SpanData> spans)
+    {
+        try
+        {
+            if (writer == null)
+            {
+                open();
+            }
+            for (SpanData span : spans)
+            {
+                String line = toJson(span);
+                writer.write(line);
+                writer.newLine();
+                size += line.length() + 1;
+            }
+            writer.flush();
+            if (size > maxSize)
+            {
+                roll();
+            }
+            return CompletableResultCode.ofSuccess();
+        }
+        catch (IOException e)
+        {
+            log.warn("写入Span文件失败 file={}: {}", file, e.getMessage());
+            closeQuietly();
+            return CompletableResultCode.ofFailure();
+        }
+    }
+
+    @Override
+    public CompletableResultCode flush()
+    {
+        return CompletableResultCode.ofSuccess();
+    }
+
+    @Override
+    public synchronized CompletableResultCode shutdown()
+    {
+        closeQuietly();
+        return CompletableResultCode.ofSuccess();
+    }
+
+    static String toJson(SpanData span)
+    {
+        JSONObject json = new JSONObject(16);
+        json.put("traceId", span.getTraceId());
+        json.put("spanId", span.getSpanId());
+        if (span.getParentSpanContext().isValid())
+        {
+            json.put("parentId", span.getParentSpanId());
+        }
+        json.put("service", span.getResource().getAttribute(SERVICE_NAME));
+        json.put("name", span.getName());
+        json.put("kind", span.getKind().name());
+        json.put("start", span.getStartEpochNanos() / 1000);
+        json.put("durationMicros", (span.getEndEpochNanos() - span.getStartEpochNanos()) / 1000);
+        json.put("status", span.getStatus().getStatusCode().name());
+        Map<String, Object> tags = new LinkedHashMap<>();
+        span.getAttributes().forEach((key, value) -> tags.put(key.getKey(), value));
+        json.put("tags", tags);
+        return JSON.toJSONString(json);
+    }
+
+    private void open() throws IOException
+    {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null)
+        {
+            Files.createDirectories(parent);
+        }
+        writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        size = Files.size(file);
+    }
+
+    private void roll() throws IOException
+    {
+        closeQuietly();
+        Files.move(file, file.resolveSibling(file.getFileName() + ".1"), StandardCopyOption.REPLACE_EXISTING);
+        open();
+    }
+
+    private void closeQuietly()
+    {
+        if (writer == null)
+        {
+            return;
+        }
+        try
+        {
+            writer.close();
+        }
+        catch (IOException ignored)
+        {
+            // 关闭失败时丢弃句柄，下次导出重新打开
+        }
+        writer = null;
+    }
+}
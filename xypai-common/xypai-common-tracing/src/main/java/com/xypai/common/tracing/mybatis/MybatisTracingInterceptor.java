@@ -0,0 +1,97 @@
+package com.xypai.common.tracing.mybatis;
+
+import java.util.Collection;
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+
+/**
+ * MyBatis语句链路追踪
+ * <p>
+ * 每条语句作为当前请求的子Span，标签：db.statement（Mapper语句ID）、db.operation（SELECT/INSERT/...）、db.rows（返回行数或影响行数）。
+ * 当前没有Span或未被采样时直接执行，不创建任何对象。
+ *
+ * @author xypai
+ */
+@Intercepts({
+        @Signature(type = Executor.class, method = "update", args = { MappedStatement.class, Object.class }),
+        @Signature(type = Executor.class, method = "query", args = { MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class }),
+        @Signature(type = Executor.class, method = "query", args = { MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class, CacheKey.class, BoundSql.class })
+})
+public class MybatisTracingInterceptor implements Interceptor
+{
+    public static final String TAG_STATEMENT = "db.statement";
+
+    public static final String TAG_OPERATION = "db.operation";
+
+    public static final String TAG_ROWS = "db.rows";
+
+    private final Tracer tracer;
+
+    public MybatisTracingInterceptor(Tracer tracer)
+    {
+        this.tracer = tracer;
+    }
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable
+    {
+        Span parent = tracer.currentSpan();
+        if (parent == null || !Boolean.TRUE.equals(parent.context().sampled()))
+        {
+            return invocation.proceed();
+        }
+        MappedStatement ms = (MappedStatement) invocation.getArgs()[0];
+        Span span = tracer.nextSpan().name(spanName(ms.getId()))
+                .tag(TAG_STATEMENT, ms.getId())
+                .tag(TAG_OPERATION, ms.getSqlCommandType().name())
+                .start();
+        try (Tracer.SpanInScope ignored = tracer.withSpan(span))
+        {
+            Object result = invocation.proceed();
+            span.tag(TAG_ROWS, String.valueOf(rows(result)));
+            return result;
+        }
+        catch (Throwable e)
+        {
+            span.error(e);
+            throw e;
+        }
+        finally
+        {
+            span.end();
+        }
+    }
+
+    /**
+     * Span名称取 Mapper类名.方法名，如 SysUserMapper.selectUserList
+     */
+    static String spanName(String statementId)
+    {
+        int method = statementId.lastIndexOf('.');
+        int type = method > 0 ? statementId.lastIndexOf('.', method - 1) : -1;
+        return statementId.substring(type + 1);
+    }
+
+    private static int rows(Object result)
+    {
+        if (result instanceof Collection<?> collection)
+        {
+            return collection.size();
+        }
+        if (result instanceof Integer count)
+        {
+            return count;
+        }
+        return result == null ? 0 : 1;
+    }
+}
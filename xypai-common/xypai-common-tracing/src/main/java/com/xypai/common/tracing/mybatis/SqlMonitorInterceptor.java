@@ -0,0 +1,185 @@
+package com.xypai.common.tracing.mybatis;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * 慢SQL与N+1查询检测
+ * <p>
+ * 指标通过Micrometer导出：
+ * <ul>
+ * <li>mybatis.statement：按语句（Mapper类名.方法名）统计的耗时直方图</li>
+ * <li>mybatis.request.statements：单个请求执行的语句数，按Controller方法统计</li>
+ * <li>mybatis.request.repeated：疑似N+1的请求次数，按Controller方法统计</li>
+ * </ul>
+ * 请求上下文由 xypai-common-security 的 SqlMonitorHandlerInterceptor 通过 {@link #beginRequest(String)}、{@link #completeRequest()} 维护，
+ * 同一形态的语句在一个请求内执行达到阈值或语句总数超过上限时输出告警日志，日志中带Controller方法名。
+ * 超过慢SQL阈值的语句无论是否在请求中都会输出告警日志。
+ *
+ * @author xypai
+ */
+@Intercepts({
+        @Signature(type = Executor.class, method = "update", args = { MappedStatement.class, Object.class }),
+        @Signature(type = Executor.class, method = "query", args = { MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class }),
+        @Signature(type = Executor.class, method = "query", args = { MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class, CacheKey.class, BoundSql.class })
+})
+public class SqlMonitorInterceptor implements Interceptor
+{
+    private static final Logger log = LoggerFactory.getLogger(SqlMonitorInterceptor.class);
+
+    private final MeterRegistry registry;
+
+    private final long slowThresholdNanos;
+
+    private final int repeatThreshold;
+
+    private final int maxStatements;
+
+    private final boolean histogram;
+
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    private final Map<String, Counter> repeatedCounters = new ConcurrentHashMap<>();
+
+    private final Map<String, DistributionSummary> requestStatements = new ConcurrentHashMap<>();
+
+    /**
+     * @param registry 指标注册表
+     * @param slowThreshold 慢SQL阈值（毫秒）
+     * @param repeatThreshold 同一形态的语句在一个请求内执行达到该次数视为N+1
+     * @param maxStatements 单个请求语句数上限
+     * @param histogram 是否发布百分位直方图
+     */
+    public SqlMonitorInterceptor(MeterRegistry registry, long slowThreshold, int repeatThreshold, int maxStatements, boolean histogram)
+    {
+        this.registry = registry;
+        this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowThreshold);
+        this.repeatThreshold = repeatThreshold;
+        this.maxStatements = maxStatements;
+        this.histogram = histogram;
+    }
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable
+    {
+        Object[] args = invocation.getArgs();
+        MappedStatement ms = (MappedStatement) args[0];
+        long start = System.nanoTime();
+        try
+        {
+            return invocation.proceed();
+        }
+        finally
+        {
+            long nanos = System.nanoTime() - start;
+            timer(ms.getId()).record(nanos, TimeUnit.NANOSECONDS);
+            SqlStatistics statistics = SqlStatistics.current();
+            // 只在统计中才取SQL文本，动态SQL重新生成的开销远小于一次数据库往返
+            String sql = statistics != null || nanos >= slowThresholdNanos ? sql(ms, args) : null;
+            if (statistics != null)
+            {
+                statistics.record(ms.getId(), sql, nanos);
+            }
+            if (nanos >= slowThresholdNanos)
+            {
+                log.warn("慢SQL statement={} cost={}ms handler={} sql={}", ms.getId(), TimeUnit.NANOSECONDS.toMillis(nanos),
+                        statistics == null ? "" : statistics.getName(), sql);
+            }
+        }
+    }
+
+    /**
+     * 开始统计当前请求的SQL语句，需在请求开始时调用
+     *
+     * @param handler Controller类名.方法名
+     */
+    public void beginRequest(String handler)
+    {
+        SqlStatistics.clear();
+        SqlStatistics.begin(handler);
+    }
+
+    /**
+     * 结束当前请求的统计，记录语句数并检查N+1
+     */
+    public void completeRequest()
+    {
+        SqlStatistics statistics = SqlStatistics.current();
+        if (statistics == null)
+        {
+            return;
+        }
+        statistics.close();
+        SqlStatistics.clear();
+        requestStatements(statistics.getName()).record(statistics.getStatementCount());
+        List<SqlStatistics.Shape> repeated = statistics.getRepeated(repeatThreshold);
+        if (!repeated.isEmpty())
+        {
+            repeatedCounter(statistics.getName()).increment();
+            log.warn("疑似N+1查询 handler={} statements={} cost={}ms repeated={}", statistics.getName(),
+                    statistics.getStatementCount(), statistics.getTotalMillis(), SqlStatistics.describe(repeated));
+        }
+        else if (statistics.getStatementCount() > maxStatements)
+        {
+            log.warn("单个请求SQL过多 handler={} statements={} cost={}ms", statistics.getName(),
+                    statistics.getStatementCount(), statistics.getTotalMillis());
+        }
+    }
+
+    private static String sql(MappedStatement ms, Object[] args)
+    {
+        try
+        {
+            BoundSql boundSql = args.length == 6 ? (BoundSql) args[5] : ms.getBoundSql(args[1]);
+            return boundSql == null ? null : boundSql.getSql();
+        }
+        catch (RuntimeException e)
+        {
+            return null;
+        }
+    }
+
+    private Timer timer(String statementId)
+    {
+        return timers.computeIfAbsent(statementId, id -> Timer.builder("mybatis.statement")
+                .description("SQL语句耗时")
+                .tag("statement", MybatisTracingInterceptor.spanName(id))
+                .publishPercentileHistogram(histogram)
+                .register(registry));
+    }
+
+    private DistributionSummary requestStatements(String handler)
+    {
+        return requestStatements.computeIfAbsent(handler, h -> DistributionSummary.builder("mybatis.request.statements")
+                .description("单个请求执行的SQL语句数")
+                .tag("handler", h)
+                .publishPercentileHistogram(histogram)
+                .register(registry));
+    }
+
+    private Counter repeatedCounter(String handler)
+    {
+        return repeatedCounters.computeIfAbsent(handler, h -> Counter.builder("mybatis.request.repeated")
+                .description("疑似N+1查询的请求次数")
+                .tag("handler", h)
+                .register(registry));
+    }
+}
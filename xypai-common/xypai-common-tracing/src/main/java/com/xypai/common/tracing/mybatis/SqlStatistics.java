@@ -0,0 +1,279 @@
+package com.xypai.common.tracing.mybatis;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 当前线程的SQL语句统计
+ * <p>
+ * 由 {@link SqlMonitorInterceptor} 记录，请求内按语句形态（语句ID + SQL文本，参数不同视为同一形态）累计次数与耗时，
+ * 同一形态重复执行多次通常意味着在循环中逐行查询（N+1）。
+ * <p>
+ * 也可在单元测试中使用，超出预期时抛出 {@link AssertionError}：
+ * <pre>
+ * try (SqlStatistics statistics = SqlStatistics.begin("listContent"))
+ * {
+ *     contentService.selectContentList(query);
+ *     statistics.assertNoRepeated(3);
+ *     statistics.assertMaxStatements(5);
+ * }
+ * </pre>
+ * 非线程安全，只在开始统计的线程上记录。
+ *
+ * @author xypai
+ */
+public final class SqlStatistics implements AutoCloseable
+{
+    private static final ThreadLocal<SqlStatistics> CURRENT = new ThreadLocal<>();
+
+    /** 单次统计最多保留的语句形态数，超出后只计总数，避免批处理任务占用过多内存 */
+    private static final int MAX_SHAPES = 512;
+
+    /** 告警信息中SQL的最大长度 */
+    private static final int MAX_SQL_LENGTH = 200;
+
+    private final String name;
+
+    private final SqlStatistics previous;
+
+    private final Map<String, Shape> shapes = new HashMap<>();
+
+    private int statements;
+
+    private long totalNanos;
+
+    private SqlStatistics(String name, SqlStatistics previous)
+    {
+        this.name = name;
+        this.previous = previous;
+    }
+
+    /**
+     * 在当前线程开始统计，嵌套调用时内层结束后恢复外层
+     *
+     * @param name 统计名称，请求中为 Controller类名.方法名
+     * @return 统计对象
+     */
+    public static SqlStatistics begin(String name)
+    {
+        SqlStatistics statistics = new SqlStatistics(name, CURRENT.get());
+        CURRENT.set(statistics);
+        return statistics;
+    }
+
+    /**
+     * 获取当前线程的统计
+     *
+     * @return 统计对象，未开始统计时返回null
+     */
+    public static SqlStatistics current()
+    {
+        return CURRENT.get();
+    }
+
+    /**
+     * 清除当前线程的统计，防止未正常结束的请求影响线程池中的下一个请求
+     */
+    static void clear()
+    {
+        CURRENT.remove();
+    }
+
+    /**
+     * 结束统计
+     */
+    @Override
+    public void close()
+    {
+        if (CURRENT.get() != this)
+        {
+            return;
+        }
+        if (previous == null)
+        {
+            CURRENT.remove();
+        }
+        else
+        {
+            CURRENT.set(previous);
+        }
+    }
+
+    void record(String statementId, String sql, long nanos)
+    {
+        statements++;
+        totalNanos += nanos;
+        String key = sql == null ? statementId : statementId + '\n' + sql;
+        Shape shape = shapes.get(key);
+        if (shape == null)
+        {
+            if (shapes.size() >= MAX_SHAPES)
+            {
+                return;
+            }
+            shape = new Shape(statementId, sql);
+            shapes.put(key, shape);
+        }
+        shape.count++;
+        shape.totalNanos += nanos;
+    }
+
+    public String getName()
+    {
+        return name;
+    }
+
+    /**
+     * 已执行的语句数
+     */
+    public int getStatementCount()
+    {
+        return statements;
+    }
+
+    /**
+     * 语句总耗时（毫秒）
+     */
+    public long getTotalMillis()
+    {
+        return TimeUnit.NANOSECONDS.toMillis(totalNanos);
+    }
+
+    /**
+     * 指定语句的执行次数
+     *
+     * @param statementId 语句ID，可只写结尾部分，如 SysUserMapper.selectUserById
+     * @return 各形态次数之和
+     */
+    public int getCount(String statementId)
+    {
+        int count = 0;
+        for (Shape shape : shapes.values())
+        {
+            if (shape.statementId.endsWith(statementId))
+            {
+                count += shape.count;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 执行次数达到阈值的语句形态，按次数降序
+     *
+     * @param threshold 阈值
+     * @return 语句形态列表
+     */
+    public List<Shape> getRepeated(int threshold)
+    {
+        List<Shape> repeated = new ArrayList<>();
+        for (Shape shape : shapes.values())
+        {
+            if (shape.count >= threshold)
+            {
+                repeated.add(shape);
+            }
+        }
+        repeated.sort(Comparator.comparingInt(Shape::getCount).reversed());
+        return repeated;
+    }
+
+    /**
+     * 断言语句数不超过上限
+     *
+     * @param max 上限
+     */
+    public void assertMaxStatements(int max)
+    {
+        if (statements > max)
+        {
+            throw new AssertionError(String.format("[%s] 执行了%d条SQL，预期不超过%d条: %s", name, statements, max, describe(getRepeated(1))));
+        }
+    }
+
+    /**
+     * 断言没有同一形态的语句执行达到阈值次数
+     *
+     * @param threshold 阈值
+     */
+    public void assertNoRepeated(int threshold)
+    {
+        List<Shape> repeated = getRepeated(threshold);
+        if (!repeated.isEmpty())
+        {
+            throw new AssertionError(String.format("[%s] 疑似N+1查询: %s", name, describe(repeated)));
+        }
+    }
+
+    /**
+     * 语句形态的简要描述，如 [SysUserMapper.selectUserById x20 (35ms) select ... from sys_user where user_id = ?]
+     */
+    static String describe(List<Shape> shapes)
+    {
+        StringBuilder sb = new StringBuilder("[");
+        for (Shape shape : shapes)
+        {
+            if (sb.length() > 1)
+            {
+                sb.append(", ");
+            }
+            sb.append(MybatisTracingInterceptor.spanName(shape.statementId)).append(" x").append(shape.count)
+                    .append(" (").append(TimeUnit.NANOSECONDS.toMillis(shape.totalNanos)).append("ms)");
+            if (shape.sql != null)
+            {
+                sb.append(' ').append(abbreviate(shape.sql));
+            }
+        }
+        return sb.append(']').toString();
+    }
+
+    private static String abbreviate(String sql)
+    {
+        String text = sql.replaceAll("\\s+", " ").trim();
+        return text.length() > MAX_SQL_LENGTH ? text.substring(0, MAX_SQL_LENGTH) + "..." : text;
+    }
+
+    /**
+     * 语句形态
+     */
+    public static final class Shape
+    {
+        private final String statementId;
+
+        private final String sql;
+
+        private int count;
+
+        private long totalNanos;
+
+        Shape(String statementId, String sql)
+        {
+            this.statementId = statementId;
+            this.sql = sql;
+        }
+
+        public String getStatementId()
+        {
+            return statementId;
+        }
+
+        public String getSql()
+        {
+            return sql;
+        }
+
+        public int getCount()
+        {
+            return count;
+        }
+
+        public long getTotalNanos()
+        {
+            return totalNanos;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.xypai.common.tracing.task;
+
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.core.task.support.ContextPropagatingTaskDecorator;
+import com.alibaba.ttl.TtlRunnable;
+
+/**
+ * 异步任务上下文传递
+ * <p>
+ * 提交任务时捕获当前的链路上下文（Micrometer Observation/Span，恢复后traceId、spanId随之写入MDC）与 TransmittableThreadLocal 变量（SecurityContextHolder），
+ * 在线程池线程中执行前恢复、执行后还原，避免线程复用导致的上下文错乱。
+ *
+ * @author xypai
+ */
+public class TracingTaskDecorator implements TaskDecorator
+{
+    private final ContextPropagatingTaskDecorator delegate = new ContextPropagatingTaskDecorator();
+
+    @Override
+    public Runnable decorate(Runnable runnable)
+    {
+        return TtlRunnable.get(delegate.decorate(runnable));
+    }
+}
@@ -0,0 +1,116 @@
+package com.xypai.common.tracing.mybatis;
+
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.TraceContext;
+import io.micrometer.tracing.Tracer;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.mapping.SqlSource;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * MyBatis语句链路追踪测试类
+ *
+ * @author xypai
+ */
+class MybatisTracingInterceptorTest {
+
+    private static final String STATEMENT_ID = "com.xypai.system.mapper.SysUserMapper.selectUserList";
+
+    private Tracer tracer;
+
+    private Span parent;
+
+    private TraceContext parentContext;
+
+    private Span child;
+
+    private Executor executor;
+
+    private MybatisTracingInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        tracer = mock(Tracer.class);
+        parent = mock(Span.class);
+        parentContext = mock(TraceContext.class);
+        child = mock(Span.class, RETURNS_SELF);
+        executor = mock(Executor.class);
+        when(tracer.currentSpan()).thenReturn(parent);
+        when(parent.context()).thenReturn(parentContext);
+        when(tracer.nextSpan()).thenReturn(child);
+        when(tracer.withSpan(child)).thenReturn(mock(Tracer.SpanInScope.class));
+        interceptor = new MybatisTracingInterceptor(tracer);
+    }
+
+    @Test
+    void testSampledQueryCreatesSpanWithRows() throws Throwable {
+        when(parentContext.sampled()).thenReturn(true);
+        MappedStatement ms = statement(SqlCommandType.SELECT);
+        doReturn(List.of("a", "b", "c")).when(executor).query(ms, null, RowBounds.DEFAULT, null);
+
+        Object result = interceptor.intercept(query(ms));
+
+        assertEquals(3, ((List<?>) result).size());
+        verify(child).name("SysUserMapper.selectUserList");
+        verify(child).tag(MybatisTracingInterceptor.TAG_STATEMENT, STATEMENT_ID);
+        verify(child).tag(MybatisTracingInterceptor.TAG_OPERATION, "SELECT");
+        verify(child).tag(MybatisTracingInterceptor.TAG_ROWS, "3");
+        verify(child).end();
+    }
+
+    @Test
+    void testUpdateErrorRecorded() throws Throwable {
+        when(parentContext.sampled()).thenReturn(true);
+        MappedStatement ms = statement(SqlCommandType.UPDATE);
+        IllegalStateException error = new IllegalStateException("deadlock");
+        when(executor.update(ms, null)).thenThrow(error);
+        Method update = Executor.class.getMethod("update", MappedStatement.class, Object.class);
+
+        assertThrows(Exception.class, () -> interceptor.intercept(new Invocation(executor, update, new Object[]{ms, null})));
+        verify(child).error(any(Throwable.class));
+        verify(child).end();
+    }
+
+    @Test
+    void testNotSampledSkipsSpan() throws Throwable {
+        when(parentContext.sampled()).thenReturn(false);
+        MappedStatement ms = statement(SqlCommandType.SELECT);
+        doReturn(List.of()).when(executor).query(ms, null, RowBounds.DEFAULT, null);
+
+        interceptor.intercept(query(ms));
+        when(tracer.currentSpan()).thenReturn(null);
+        interceptor.intercept(query(ms));
+
+        verify(tracer, never()).nextSpan();
+    }
+
+    @Test
+    void testSpanName() {
+        assertEquals("SysUserMapper.selectUserList", MybatisTracingInterceptor.spanName(STATEMENT_ID));
+        assertEquals("selectUserList", MybatisTracingInterceptor.spanName("selectUserList"));
+        assertEquals("Mapper.select", MybatisTracingInterceptor.spanName("Mapper.select"));
+    }
+
+    private Invocation query(MappedStatement ms) throws NoSuchMethodException {
+        Method query = Executor.class.getMethod("query", MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class);
+        return new Invocation(executor, query, new Object[]{ms, null, RowBounds.DEFAULT, null});
+    }
+
+    private static MappedStatement statement(SqlCommandType type) {
+        SqlSource sqlSource = mock(SqlSource.class);
+        return new MappedStatement.Builder(new Configuration(), STATEMENT_ID, sqlSource, type).build();
+    }
+}
@@ -0,0 +1,153 @@
+package com.xypai.common.tracing.mybatis;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.mapping.SqlSource;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 慢SQL与N+1查询检测测试类
+ *
+ * @author xypai
+ */
+class SqlMonitorInterceptorTest {
+
+    private static final String STATEMENT_ID = "com.xypai.user.mapper.UserProfileMapper.selectById";
+
+    private final Configuration configuration = new Configuration();
+
+    private SimpleMeterRegistry registry;
+
+    private Executor executor;
+
+    private SqlMonitorInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        registry = new SimpleMeterRegistry();
+        executor = mock(Executor.class);
+        doReturn(List.of()).when(executor).query(any(), any(), any(), any());
+        interceptor = new SqlMonitorInterceptor(registry, 500, 5, 50, false);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SqlStatistics.clear();
+    }
+
+    @Test
+    void testRepeatedShapeDetected() throws Throwable {
+        MappedStatement ms = statement(STATEMENT_ID, param -> "select * from user_profile where user_id = ?");
+        try (SqlStatistics statistics = SqlStatistics.begin("UserRelationController.following")) {
+            for (long userId = 1; userId <= 10; userId++) {
+                interceptor.intercept(query(ms, userId));
+            }
+
+            assertEquals(10, statistics.getStatementCount());
+            assertEquals(10, statistics.getCount("UserProfileMapper.selectById"));
+            List<SqlStatistics.Shape> repeated = statistics.getRepeated(5);
+            assertEquals(1, repeated.size());
+            assertEquals(10, repeated.get(0).getCount());
+
+            AssertionError error = assertThrows(AssertionError.class, () -> statistics.assertNoRepeated(5));
+            assertTrue(error.getMessage().contains("UserProfileMapper.selectById x10"));
+            statistics.assertMaxStatements(10);
+            assertThrows(AssertionError.class, () -> statistics.assertMaxStatements(9));
+        }
+        assertNull(SqlStatistics.current());
+    }
+
+    @Test
+    void testDifferentSqlIsDifferentShape() throws Throwable {
+        // 同一语句ID（如 BaseMapper.selectList）条件不同时生成的SQL不同，不算重复
+        MappedStatement ms = statement(STATEMENT_ID, param -> "select * from user_profile where col" + param + " = ?");
+        try (SqlStatistics statistics = SqlStatistics.begin("test")) {
+            for (long i = 1; i <= 10; i++) {
+                interceptor.intercept(query(ms, i));
+            }
+            assertEquals(10, statistics.getCount("selectById"));
+            statistics.assertNoRepeated(2);
+        }
+    }
+
+    @Test
+    void testCompleteRequestExportsMetrics() throws Throwable {
+        MappedStatement ms = statement(STATEMENT_ID, param -> "select * from user_profile where user_id = ?");
+        interceptor.beginRequest("ContentController.list");
+        for (long i = 1; i <= 6; i++) {
+            interceptor.intercept(query(ms, i));
+        }
+        interceptor.completeRequest();
+
+        assertNull(SqlStatistics.current());
+        assertEquals(1.0, registry.get("mybatis.request.repeated").tag("handler", "ContentController.list").counter().count());
+        assertEquals(6.0, registry.get("mybatis.request.statements").tag("handler", "ContentController.list").summary().totalAmount());
+        assertEquals(6, registry.get("mybatis.statement").tag("statement", "UserProfileMapper.selectById").timer().count());
+    }
+
+    @Test
+    void testBeginRequestDiscardsLeakedStatistics() throws Throwable {
+        MappedStatement ms = statement(STATEMENT_ID, param -> "select 1");
+        interceptor.beginRequest("A.leaked");
+        interceptor.intercept(query(ms, 1L));
+        interceptor.beginRequest("B.next");
+        interceptor.intercept(query(ms, 1L));
+
+        assertEquals("B.next", SqlStatistics.current().getName());
+        assertEquals(1, SqlStatistics.current().getStatementCount());
+        interceptor.completeRequest();
+        assertNull(SqlStatistics.current());
+    }
+
+    @Test
+    void testNestedStatisticsRestoreOuter() throws Throwable {
+        MappedStatement ms = statement(STATEMENT_ID, param -> "select 1");
+        try (SqlStatistics outer = SqlStatistics.begin("outer")) {
+            interceptor.intercept(query(ms, 1L));
+            try (SqlStatistics inner = SqlStatistics.begin("inner")) {
+                interceptor.intercept(query(ms, 2L));
+                assertEquals(1, inner.getStatementCount());
+            }
+            assertSame(outer, SqlStatistics.current());
+            assertEquals(1, outer.getStatementCount());
+        }
+    }
+
+    @Test
+    void testOutsideRequestOnlyRecordsTimer() throws Throwable {
+        SqlSource sqlSource = mock(SqlSource.class);
+        MappedStatement ms = new MappedStatement.Builder(configuration, STATEMENT_ID, sqlSource, SqlCommandType.SELECT).build();
+
+        interceptor.intercept(query(ms, 1L));
+
+        assertNull(SqlStatistics.current());
+        verify(sqlSource, never()).getBoundSql(any());
+        assertEquals(1, registry.get("mybatis.statement").timer().count());
+    }
+
+    private Invocation query(MappedStatement ms, Object parameter) throws NoSuchMethodException {
+        Method query = Executor.class.getMethod("query", MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class);
+        return new Invocation(executor, query, new Object[]{ms, parameter, RowBounds.DEFAULT, null});
+    }
+
+    private MappedStatement statement(String id, Function<Object, String> sql) {
+        SqlSource sqlSource = parameter -> new BoundSql(configuration, sql.apply(parameter), List.of(), parameter);
+        return new MappedStatement.Builder(configuration, id, sqlSource, SqlCommandType.SELECT).build();
+    }
+}
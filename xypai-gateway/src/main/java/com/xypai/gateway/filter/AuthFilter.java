@@ -73,6 +73,8 @@ public class AuthFilter implements GlobalFilter, Ordered {
         addHeader(mutate, SecurityConstants.DETAILS_USERNAME, username);
         // 内部请求来源参数清除
         removeHeader(mutate, SecurityConstants.FROM_SOURCE);
+        // 链路上下文由 traceparent 请求头传递，不信任客户端传入的 trace_id
+        removeHeader(mutate, SecurityConstants.TRACE_ID);
         return chain.filter(exchange.mutate().request(mutate.build()).build());
     }
 
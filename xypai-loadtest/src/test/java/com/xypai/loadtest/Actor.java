@@ -0,0 +1,39 @@
+package com.xypai.loadtest;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 压测用户，同一时刻只被一个压测线程使用
+ *
+ * @author xypai
+ */
+final class Actor {
+
+    final long userId;
+
+    final String userName;
+
+    /** 网关转发给下游服务的认证请求头 */
+    final Map<String, String> headers;
+
+    /** 已点赞的内容，用于在点赞/取消点赞之间切换，避免重复点赞被业务拒绝 */
+    final Set<Long> liked = new HashSet<>();
+
+    /** 刷动态时下一页的游标，null 表示从第一页开始 */
+    String feedCursor;
+
+    /** 本轮刷动态还要翻的页数 */
+    int feedPagesLeft;
+
+    Actor(long userId, String userName, Map<String, String> headers) {
+        this.userId = userId;
+        this.userName = userName;
+        this.headers = headers;
+    }
+
+    long conversationId() {
+        return SeedData.conversationId(userId);
+    }
+}
@@ -0,0 +1,58 @@
+package com.xypai.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * 单个场景的延迟记录，每个压测线程各持有一份，结束后合并；不做分桶，保留全部样本以得到准确分位数
+ *
+ * @author xypai
+ */
+final class LatencyRecorder {
+
+    private long[] samples = new long[1024];
+
+    private int size;
+
+    private long errors;
+
+    void record(long nanos, boolean success) {
+        if (size == samples.length) {
+            samples = Arrays.copyOf(samples, size << 1);
+        }
+        samples[size++] = nanos;
+        if (!success) {
+            errors++;
+        }
+    }
+
+    void merge(LatencyRecorder other) {
+        if (size + other.size > samples.length) {
+            samples = Arrays.copyOf(samples, Math.max(samples.length << 1, size + other.size));
+        }
+        System.arraycopy(other.samples, 0, samples, size, other.size);
+        size += other.size;
+        errors += other.errors;
+    }
+
+    long count() {
+        return size;
+    }
+
+    long errors() {
+        return errors;
+    }
+
+    /**
+     * 分位数（毫秒）
+     *
+     * @param percentile 0~100
+     */
+    double percentileMillis(double percentile) {
+        if (size == 0) {
+            return 0;
+        }
+        Arrays.sort(samples, 0, size);
+        int index = (int) Math.ceil(percentile / 100 * size) - 1;
+        return samples[Math.max(0, Math.min(index, size - 1))] / 1_000_000.0;
+    }
+}
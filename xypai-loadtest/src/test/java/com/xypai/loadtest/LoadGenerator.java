@@ -0,0 +1,152 @@
+package com.xypai.loadtest;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 闭环压测：每个线程发出请求、等待响应后立即发下一个，按场景权重随机选择请求
+ * <p>
+ * 压测用户按线程分片，同一用户只被一个线程使用，因此用户上的状态（如已点赞集合）无需同步。
+ * HTTP状态非200或响应体 code 不为200均计为错误。
+ *
+ * @author xypai
+ */
+final class LoadGenerator {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(TIMEOUT)
+            .build();
+
+    private final List<Scenario> scenarios;
+
+    private final List<Actor> actors;
+
+    private final int totalWeight;
+
+    LoadGenerator(List<Scenario> scenarios, List<Actor> actors) {
+        this.scenarios = scenarios;
+        this.actors = actors;
+        this.totalWeight = scenarios.stream().mapToInt(Scenario::weight).sum();
+    }
+
+    /**
+     * 运行指定时长
+     *
+     * @param threads 并发线程数，不能超过压测用户数
+     * @param duration 时长
+     * @return 各场景的延迟记录
+     */
+    Result run(int threads, Duration duration) throws InterruptedException {
+        if (threads > actors.size()) {
+            throw new IllegalArgumentException("threads不能超过压测用户数 " + actors.size());
+        }
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<Worker> workers = new ArrayList<>(threads);
+        for (int i = 0; i < threads; i++) {
+            List<Actor> partition = new ArrayList<>();
+            for (int a = i; a < actors.size(); a += threads) {
+                partition.add(actors.get(a));
+            }
+            workers.add(new Worker(partition, deadline));
+        }
+        long begin = System.nanoTime();
+        List<Thread> running = new ArrayList<>(threads);
+        for (int i = 0; i < threads; i++) {
+            running.add(Thread.ofPlatform().name("loadtest-" + i).start(workers.get(i)));
+        }
+        for (Thread thread : running) {
+            thread.join();
+        }
+        long elapsed = System.nanoTime() - begin;
+
+        Map<String, LatencyRecorder> merged = new LinkedHashMap<>();
+        for (Scenario scenario : scenarios) {
+            merged.put(scenario.name(), new LatencyRecorder());
+        }
+        for (Worker worker : workers) {
+            worker.recorders.forEach((name, recorder) -> merged.get(name).merge(recorder));
+        }
+        return new Result(merged, elapsed);
+    }
+
+    private Scenario next() {
+        int r = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (Scenario scenario : scenarios) {
+            r -= scenario.weight();
+            if (r < 0) {
+                return scenario;
+            }
+        }
+        throw new IllegalStateException();
+    }
+
+    private final class Worker implements Runnable {
+
+        private final List<Actor> partition;
+
+        private final long deadline;
+
+        private final Map<String, LatencyRecorder> recorders = new LinkedHashMap<>();
+
+        Worker(List<Actor> partition, long deadline) {
+            this.partition = partition;
+            this.deadline = deadline;
+            for (Scenario scenario : scenarios) {
+                recorders.put(scenario.name(), new LatencyRecorder());
+            }
+        }
+
+        @Override
+        public void run() {
+            int index = 0;
+            while (System.nanoTime() < deadline) {
+                Actor actor = partition.get(index++ % partition.size());
+                Scenario scenario = next();
+                HttpRequest.Builder builder = scenario.request().apply(actor).timeout(TIMEOUT);
+                actor.headers.forEach(builder::header);
+                long begin = System.nanoTime();
+                boolean success;
+                String body = null;
+                try {
+                    HttpResponse<String> response = client.send(builder.build(), HttpResponse.BodyHandlers.ofString());
+                    success = response.statusCode() == 200 && response.body().contains("\"code\":200");
+                    if (success) {
+                        body = response.body();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                } catch (Exception e) {
+                    success = false;
+                }
+                recorders.get(scenario.name()).record(System.nanoTime() - begin, success);
+                if (body != null) {
+                    scenario.response().accept(actor, body);
+                }
+            }
+        }
+    }
+
+    /**
+     * 一次压测的结果
+     *
+     * @param recorders 场景名 -> 延迟记录
+     * @param elapsedNanos 实际耗时
+     */
+    record Result(Map<String, LatencyRecorder> recorders, long elapsedNanos) {
+
+        double throughput(LatencyRecorder recorder) {
+            return recorder.count() * 1_000_000_000.0 / elapsedNanos;
+        }
+    }
+}
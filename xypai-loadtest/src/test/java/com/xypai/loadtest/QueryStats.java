@@ -0,0 +1,51 @@
+package com.xypai.loadtest;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 各接口每请求SQL条数，取自 SqlMonitorInterceptor 按处理方法记录的 mybatis.request.statements
+ *
+ * @author xypai
+ */
+final class QueryStats {
+
+    /** 处理方法 -> [请求数, SQL总条数] */
+    private final Map<String, double[]> handlers = new TreeMap<>();
+
+    static QueryStats snapshot(Map<String, ConfigurableApplicationContext> contexts) {
+        QueryStats stats = new QueryStats();
+        for (ConfigurableApplicationContext context : contexts.values()) {
+            MeterRegistry registry = context.getBean(MeterRegistry.class);
+            registry.find("mybatis.request.statements").summaries().forEach(summary -> {
+                HistogramSnapshot snapshot = summary.takeSnapshot();
+                stats.handlers.merge(summary.getId().getTag("handler"), new double[] { snapshot.count(), snapshot.total() },
+                        (a, b) -> new double[] { a[0] + b[0], a[1] + b[1] });
+            });
+        }
+        return stats;
+    }
+
+    /**
+     * 与之前快照的差值，只保留期间有请求的处理方法
+     */
+    QueryStats since(QueryStats before) {
+        QueryStats delta = new QueryStats();
+        handlers.forEach((handler, value) -> {
+            double[] previous = before.handlers.getOrDefault(handler, new double[2]);
+            double requests = value[0] - previous[0];
+            if (requests > 0) {
+                delta.handlers.put(handler, new double[] { requests, value[1] - previous[1] });
+            }
+        });
+        return delta;
+    }
+
+    Map<String, double[]> handlers() {
+        return handlers;
+    }
+}
@@ -0,0 +1,27 @@
+package com.xypai.loadtest;
+
+import java.net.http.HttpRequest;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * 压测场景：按权重随机选择，为指定用户构造一次请求
+ * <p>
+ * response 在请求成功后以响应体调用，不计入延迟，用于翻页等依赖上一次响应的场景。
+ *
+ * @author xypai
+ */
+record Scenario(String name, int weight, Function<Actor, HttpRequest.Builder> request,
+                BiConsumer<Actor, String> response) {
+
+    Scenario {
+        if (weight <= 0) {
+            throw new IllegalArgumentException("weight必须大于0: " + name);
+        }
+    }
+
+    Scenario(String name, int weight, Function<Actor, HttpRequest.Builder> request) {
+        this(name, weight, request, (actor, body) -> {
+        });
+    }
+}
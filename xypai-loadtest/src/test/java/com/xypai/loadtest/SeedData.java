@@ -0,0 +1,192 @@
+package com.xypai.loadtest;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+/**
+ * 压测数据：用户、关注关系、内容、私聊会话与历史消息
+ * <p>
+ * 用户ID为 1..users，内容ID为 CONTENT_BASE + 1..contents，
+ * 压测用户 a（1..actors）与 a+1 之间有一个私聊会话，ID为 CONVERSATION_BASE + a。
+ *
+ * @author xypai
+ */
+final class SeedData {
+
+    static final long CONTENT_BASE = 1_000_000L;
+
+    static final long CONVERSATION_BASE = 2_000_000L;
+
+    private static final int BATCH = 1000;
+
+    final int users;
+
+    final int followsPerUser;
+
+    final int contents;
+
+    final int actors;
+
+    final int messagesPerConversation;
+
+    SeedData(int users, int followsPerUser, int contents, int actors, int messagesPerConversation) {
+        if (actors >= users) {
+            throw new IllegalArgumentException("actors必须小于users");
+        }
+        this.users = users;
+        this.followsPerUser = followsPerUser;
+        this.contents = contents;
+        this.actors = actors;
+        this.messagesPerConversation = messagesPerConversation;
+    }
+
+    /**
+     * 按系统属性创建，默认1000用户、每人关注30人、5000条内容、200个压测用户、每个会话20条历史消息
+     */
+    static SeedData fromSystemProperties() {
+        return new SeedData(Integer.getInteger("loadtest.users", 1000), Integer.getInteger("loadtest.follows", 30),
+                Integer.getInteger("loadtest.contents", 5000), Integer.getInteger("loadtest.actors", 200),
+                Integer.getInteger("loadtest.messages", 20));
+    }
+
+    static long conversationId(long actorId) {
+        return CONVERSATION_BASE + actorId;
+    }
+
+    void load(Connection connection, String schema) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            for (String sql : schema.split(";")) {
+                if (!Arrays.stream(sql.split("\n")).allMatch(line -> line.isBlank() || line.trim().startsWith("--"))) {
+                    statement.execute(sql);
+                }
+            }
+        }
+        connection.setAutoCommit(false);
+        LocalDateTime now = LocalDateTime.now();
+        loadUsers(connection, now);
+        loadRelations(connection, now);
+        loadContents(connection, now);
+        loadConversations(connection, now);
+        connection.commit();
+        connection.setAutoCommit(true);
+    }
+
+    private void loadUsers(Connection connection, LocalDateTime now) throws SQLException {
+        try (PreparedStatement user = connection.prepareStatement(
+                "insert into `user` (id, username, mobile, password, status, created_at) values (?, ?, ?, ?, 1, ?)");
+             PreparedStatement profile = connection.prepareStatement(
+                "insert into user_profile (user_id, nickname, avatar, metadata) values (?, ?, ?, ?)");
+             PreparedStatement wallet = connection.prepareStatement(
+                "insert into user_wallet (user_id, balance) values (?, 10000)")) {
+            for (long id = 1; id <= users; id++) {
+                user.setLong(1, id);
+                user.setString(2, "user" + id);
+                user.setString(3, String.format("138%08d", id));
+                user.setString(4, "$2a$10$7JB720yubVSZvUI0rEqK/.VqGOZTH.ulu33dHOiBE8ByOhJIrdAu2");
+                user.setTimestamp(5, Timestamp.valueOf(now.minusDays(id % 365)));
+                user.addBatch();
+                profile.setLong(1, id);
+                profile.setString(2, "相遇派用户" + id);
+                profile.setString(3, "https://cdn.xypai.vip/avatar/" + id + ".png");
+                profile.setString(4, "{\"bio\":\"压测用户\",\"location\":\"深圳\"}");
+                profile.addBatch();
+                wallet.setLong(1, id);
+                wallet.addBatch();
+                if (id % BATCH == 0) {
+                    executeBatch(user, profile, wallet);
+                }
+            }
+            executeBatch(user, profile, wallet);
+        }
+    }
+
+    private void loadRelations(Connection connection, LocalDateTime now) throws SQLException {
+        try (PreparedStatement relation = connection.prepareStatement(
+                "insert into user_relation (id, user_id, target_id, type, created_at) values (?, ?, ?, 1, ?)")) {
+            long id = 1;
+            for (long userId = 1; userId <= users; userId++) {
+                for (int k = 1; k <= followsPerUser; k++) {
+                    relation.setLong(1, id++);
+                    relation.setLong(2, userId);
+                    relation.setLong(3, (userId + k - 1) % users + 1);
+                    relation.setTimestamp(4, Timestamp.valueOf(now.minusMinutes(k)));
+                    relation.addBatch();
+                }
+                if (userId % 100 == 0) {
+                    relation.executeBatch();
+                }
+            }
+            relation.executeBatch();
+        }
+    }
+
+    private void loadContents(Connection connection, LocalDateTime now) throws SQLException {
+        try (PreparedStatement content = connection.prepareStatement("insert into content "
+                + "(id, user_id, type, title, data, status, view_count, created_at, updated_at) values (?, ?, 1, ?, ?, 1, ?, ?, ?)")) {
+            for (int i = 1; i <= contents; i++) {
+                Timestamp time = Timestamp.valueOf(now.minusMinutes(i));
+                content.setLong(1, CONTENT_BASE + i);
+                content.setLong(2, i % users + 1);
+                content.setString(3, "周末一起打球 #" + i);
+                content.setString(4, "{\"text\":\"周末篮球局，限10人，先到先得\",\"images\":[\"https://cdn.xypai.vip/c/" + i + ".png\"]}");
+                content.setLong(5, i % 500);
+                content.setTimestamp(6, time);
+                content.setTimestamp(7, time);
+                content.addBatch();
+                if (i % BATCH == 0) {
+                    content.executeBatch();
+                }
+            }
+            content.executeBatch();
+        }
+    }
+
+    private void loadConversations(Connection connection, LocalDateTime now) throws SQLException {
+        try (PreparedStatement conversation = connection.prepareStatement("insert into chat_conversation "
+                + "(id, type, title, creator_id, metadata, status, created_at, updated_at) values (?, 1, null, ?, '{}', 1, ?, ?)");
+             PreparedStatement participant = connection.prepareStatement("insert into chat_participant "
+                + "(id, conversation_id, user_id, role, join_time, status) values (?, ?, ?, 1, ?, 1)");
+             PreparedStatement message = connection.prepareStatement("insert into chat_message "
+                + "(id, conversation_id, sender_id, message_type, content, status, created_at) values (?, ?, ?, 1, ?, 1, ?)")) {
+            long participantId = 1;
+            long messageId = 1;
+            for (long actor = 1; actor <= actors; actor++) {
+                long conversationId = conversationId(actor);
+                Timestamp created = Timestamp.valueOf(now.minusDays(1));
+                conversation.setLong(1, conversationId);
+                conversation.setLong(2, actor);
+                conversation.setTimestamp(3, created);
+                conversation.setTimestamp(4, Timestamp.valueOf(now.minusMinutes(actor)));
+                conversation.addBatch();
+                for (long userId : new long[] { actor, actor + 1 }) {
+                    participant.setLong(1, participantId++);
+                    participant.setLong(2, conversationId);
+                    participant.setLong(3, userId);
+                    participant.setTimestamp(4, created);
+                    participant.addBatch();
+                }
+                for (int i = 0; i < messagesPerConversation; i++) {
+                    message.setLong(1, messageId++);
+                    message.setLong(2, conversationId);
+                    message.setLong(3, i % 2 == 0 ? actor : actor + 1);
+                    message.setString(4, "历史消息 " + i);
+                    message.setTimestamp(5, Timestamp.valueOf(now.minusMinutes(messagesPerConversation - i)));
+                    message.addBatch();
+                }
+            }
+            // 会话需先于参与者与消息写入
+            executeBatch(conversation, participant, message);
+        }
+    }
+
+    private static void executeBatch(PreparedStatement... statements) throws SQLException {
+        for (PreparedStatement statement : statements) {
+            statement.executeBatch();
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.xypai.loadtest;
+
+import com.alibaba.fastjson2.JSON;
+import com.alibaba.fastjson2.JSONWriter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 用户/内容/聊天服务混合压测，输出各场景吞吐量、p50/p99延迟，以及各接口每请求SQL条数
+ * <p>
+ * mvn -P benchmark test -pl xypai-loadtest -am -Dbenchmark=true -Dtest=ServiceLoadTest -Dsurefire.failIfNoSpecifiedTests=false
+ * <p>
+ * 可选参数：-Dloadtest.threads=16 -Dloadtest.duration=30 -Dloadtest.warmup=5（秒），数据规模见 {@link SeedData}；
+ * 结果同时写入 target/loadtest-report.json。
+ *
+ * @author xypai
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ServiceLoadTest {
+
+    @Test
+    void mixedWorkload() throws Exception {
+        int threads = Integer.getInteger("loadtest.threads", 16);
+        Duration warmup = Duration.ofSeconds(Integer.getInteger("loadtest.warmup", 5));
+        Duration duration = Duration.ofSeconds(Integer.getInteger("loadtest.duration", 30));
+        SeedData seed = SeedData.fromSystemProperties();
+
+        try (ServiceStack stack = ServiceStack.start(seed)) {
+            LoadGenerator generator = new LoadGenerator(scenarios(stack, seed), stack.login(seed.actors));
+            generator.run(threads, warmup);
+
+            QueryStats before = QueryStats.snapshot(stack.contexts());
+            LoadGenerator.Result result = generator.run(threads, duration);
+            QueryStats queries = QueryStats.snapshot(stack.contexts()).since(before);
+
+            Map<String, Object> report = report(threads, result, queries);
+            Files.writeString(Path.of("target", "loadtest-report.json"),
+                    JSON.toJSONString(report, JSONWriter.Feature.PrettyFormat));
+            assertTrue(result.recorders().values().stream().mapToLong(LatencyRecorder::count).sum() > 0);
+        }
+    }
+
+    /**
+     * 典型的App流量：刷动态为主，其次是聊天与点赞
+     */
+    private static List<Scenario> scenarios(ServiceStack stack, SeedData seed) {
+        String user = stack.baseUrl(ServiceStack.USER);
+        String content = stack.baseUrl(ServiceStack.CONTENT);
+        String chat = stack.baseUrl(ServiceStack.CHAT);
+        return List.of(
+                // 动态列表为游标分页：每轮随机刷若干页，沿 nextCursor 往后翻，翻够或到底后从第一页重新开始
+                new Scenario("content.feed", 40, actor -> {
+                    if (actor.feedPagesLeft <= 0) {
+                        actor.feedPagesLeft = randomPages(seed.contents, 10);
+                        actor.feedCursor = null;
+                    }
+                    String cursor = actor.feedCursor == null ? "" : "&cursor=" + actor.feedCursor;
+                    return HttpRequest.newBuilder(
+                            URI.create(content + "/api/v1/contents/list?type=1&pageSize=10" + cursor)).GET();
+                }, (actor, body) -> {
+                    actor.feedCursor = JSON.parseObject(body).getString("nextCursor");
+                    actor.feedPagesLeft = actor.feedCursor == null ? 0 : actor.feedPagesLeft - 1;
+                }),
+                new Scenario("content.like", 15, actor -> {
+                    long contentId = SeedData.CONTENT_BASE + 1 + ThreadLocalRandom.current().nextInt(seed.contents);
+                    URI uri = URI.create(content + "/api/v1/content-actions/like/" + contentId);
+                    // 已点赞则取消，保证请求不会因重复点赞被拒绝
+                    if (actor.liked.remove(contentId)) {
+                        return HttpRequest.newBuilder(uri).DELETE();
+                    }
+                    actor.liked.add(contentId);
+                    return HttpRequest.newBuilder(uri).POST(HttpRequest.BodyPublishers.noBody());
+                }),
+                new Scenario("chat.send", 15, actor -> HttpRequest.newBuilder(URI.create(chat + "/api/v1/messages/text"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(JSON.toJSONString(Map.of(
+                                "conversationId", actor.conversationId(),
+                                "messageType", 1,
+                                "content", "今晚八点老地方见"))))),
+                new Scenario("chat.conversations", 20, actor -> HttpRequest.newBuilder(
+                        URI.create(chat + "/api/v1/conversations/list?pageNum=1&pageSize=20")).GET()),
+                new Scenario("user.following", 10, actor -> HttpRequest.newBuilder(
+                        URI.create(user + "/api/v1/relations/following?pageNum=1&pageSize=20")).GET()));
+    }
+
+    private static int randomPages(int total, int pageSize) {
+        // 集中在前几页，与真实刷动态的分布接近
+        int pages = Math.max(1, Math.min(total / pageSize, 20));
+        return 1 + (int) Math.floor(Math.pow(ThreadLocalRandom.current().nextDouble(), 2) * pages);
+    }
+
+    private static Map<String, Object> report(int threads, LoadGenerator.Result result, QueryStats queries) {
+        System.out.printf("%n压测结果（%d线程，%.1fs）%n", threads, result.elapsedNanos() / 1e9);
+        System.out.printf("%-22s %10s %10s %10s %10s %8s%n", "场景", "请求数", "吞吐(r/s)", "p50(ms)", "p99(ms)", "错误");
+        Map<String, Object> scenarios = new LinkedHashMap<>();
+        result.recorders().forEach((name, recorder) -> {
+            double throughput = result.throughput(recorder);
+            double p50 = recorder.percentileMillis(50);
+            double p99 = recorder.percentileMillis(99);
+            System.out.printf("%-22s %10d %10.1f %10.2f %10.2f %8d%n", name, recorder.count(), throughput, p50, p99, recorder.errors());
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("requests", recorder.count());
+            row.put("errors", recorder.errors());
+            row.put("throughput", throughput);
+            row.put("p50", p50);
+            row.put("p99", p99);
+            row.put("max", recorder.percentileMillis(100));
+            scenarios.put(name, row);
+        });
+
+        System.out.printf("%n%-50s %10s %12s%n", "接口", "请求数", "SQL/请求");
+        Map<String, Object> handlers = new LinkedHashMap<>();
+        queries.handlers().forEach((handler, value) -> {
+            double perRequest = value[1] / value[0];
+            System.out.printf("%-50s %10.0f %12.2f%n", handler, value[0], perRequest);
+            handlers.put(handler, Map.of("requests", (long) value[0], "queriesPerRequest", perRequest));
+        });
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("threads", threads);
+        report.put("elapsedSeconds", result.elapsedNanos() / 1e9);
+        report.put("scenarios", scenarios);
+        report.put("queries", handlers);
+        return report;
+    }
+}
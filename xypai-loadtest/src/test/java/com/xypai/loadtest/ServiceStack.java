@@ -0,0 +1,158 @@
+package com.xypai.loadtest;
+
+import com.xypai.chat.XyPaiChatApplication;
+import com.xypai.common.core.constant.SecurityConstants;
+import com.xypai.common.core.constant.TokenConstants;
+import com.xypai.common.security.service.TokenService;
+import com.xypai.content.XyPaiContentApplication;
+import com.xypai.system.api.domain.SysUser;
+import com.xypai.system.api.model.LoginUser;
+import com.xypai.user.XyPaiUserApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.ServerSocket;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 单进程启动的被测服务：嵌入式Redis + H2（MySQL兼容模式）+ 用户/内容/聊天三个模块
+ * <p>
+ * 三个模块共用一个H2内存库和一个Redis，各自监听随机端口；
+ * 通过 spring.cloud.bootstrap.name=loadtest 加载压测配置，替代各模块指向Nacos与MySQL的 bootstrap.yml。
+ *
+ * @author xypai
+ */
+final class ServiceStack implements AutoCloseable {
+
+    static final String USER = "xypai-user";
+
+    static final String CONTENT = "xypai-content";
+
+    static final String CHAT = "xypai-chat";
+
+    private static final String JDBC_URL = "jdbc:h2:mem:xypai;MODE=MySQL;DATABASE_TO_LOWER=TRUE;"
+            + "NON_KEYWORDS=USER,TRANSACTION,VALUE;DB_CLOSE_DELAY=-1";
+
+    private final RedisServer redis;
+
+    /** 保持一个连接，避免内存库在启动间隙被回收 */
+    private final Connection keepAlive;
+
+    private final Map<String, ConfigurableApplicationContext> contexts = new LinkedHashMap<>();
+
+    private final Map<String, String> baseUrls = new LinkedHashMap<>();
+
+    private ServiceStack(RedisServer redis, Connection keepAlive) {
+        this.redis = redis;
+        this.keepAlive = keepAlive;
+    }
+
+    static ServiceStack start(SeedData seed) throws Exception {
+        int redisPort = freePort();
+        RedisServer redis = new RedisServer(redisPort);
+        redis.start();
+        ServiceStack stack = null;
+        try {
+            stack = new ServiceStack(redis, DriverManager.getConnection(JDBC_URL, "sa", ""));
+            seed.load(stack.keepAlive, readSchema());
+            stack.boot(USER, XyPaiUserApplication.class, redisPort);
+            stack.boot(CONTENT, XyPaiContentApplication.class, redisPort);
+            stack.boot(CHAT, XyPaiChatApplication.class, redisPort);
+            return stack;
+        } catch (Exception e) {
+            if (stack != null) {
+                stack.close();
+            } else {
+                redis.stop();
+            }
+            throw e;
+        }
+    }
+
+    private void boot(String name, Class<?> application, int redisPort) throws IOException {
+        int port = freePort();
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(application).run(
+                "--spring.cloud.bootstrap.name=loadtest",
+                "--spring.application.name=" + name,
+                "--server.port=" + port,
+                "--spring.data.redis.port=" + redisPort,
+                "--spring.datasource.dynamic.datasource.master.url=" + JDBC_URL);
+        contexts.put(name, context);
+        baseUrls.put(name, "http://127.0.0.1:" + port);
+    }
+
+    /**
+     * 为压测用户签发令牌，令牌写入共享Redis，三个服务均可校验；使用超级权限以跳过接口权限配置
+     * （集合使用HashSet，LoginUser经Redis序列化后需可反序列化）
+     *
+     * @param actors 压测用户数，用户ID为 1..actors
+     */
+    List<Actor> login(int actors) {
+        TokenService tokenService = context(USER).getBean(TokenService.class);
+        List<Actor> result = new ArrayList<>(actors);
+        for (long userId = 1; userId <= actors; userId++) {
+            SysUser sysUser = new SysUser();
+            sysUser.setUserId(userId);
+            sysUser.setUserName("user" + userId);
+            LoginUser loginUser = new LoginUser();
+            loginUser.setSysUser(sysUser);
+            loginUser.setPermissions(new HashSet<>(Set.of("*:*:*")));
+            loginUser.setRoles(new HashSet<>(Set.of("admin")));
+            String accessToken = (String) tokenService.createToken(loginUser).get("access_token");
+            result.add(new Actor(userId, sysUser.getUserName(), Map.of(
+                    SecurityConstants.AUTHORIZATION_HEADER, TokenConstants.PREFIX + accessToken,
+                    SecurityConstants.DETAILS_USER_ID, String.valueOf(userId),
+                    SecurityConstants.DETAILS_USERNAME, sysUser.getUserName(),
+                    SecurityConstants.USER_KEY, loginUser.getToken())));
+        }
+        return result;
+    }
+
+    String baseUrl(String name) {
+        return baseUrls.get(name);
+    }
+
+    ConfigurableApplicationContext context(String name) {
+        return contexts.get(name);
+    }
+
+    Map<String, ConfigurableApplicationContext> contexts() {
+        return contexts;
+    }
+
+    @Override
+    public void close() throws Exception {
+        List<ConfigurableApplicationContext> started = new ArrayList<>(contexts.values());
+        for (int i = started.size() - 1; i >= 0; i--) {
+            started.get(i).close();
+        }
+        keepAlive.close();
+        redis.stop();
+    }
+
+    private static String readSchema() throws IOException {
+        try (InputStream in = ServiceStack.class.getResourceAsStream("/loadtest/schema.sql")) {
+            if (in == null) {
+                throw new IOException("缺少 loadtest/schema.sql");
+            }
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,119 @@
+-- 压测用H2表结构（MySQL兼容模式），字段以实体类为准（含 deleted/version/updated_at），JSON字段用VARCHAR保存
+
+create table `user` (
+    id          bigint       not null primary key,
+    username    varchar(50)  not null,
+    mobile      varchar(20)  not null,
+    password    varchar(100) not null,
+    status      tinyint      default 1,
+    created_at  datetime     default current_timestamp,
+    deleted     boolean      default false,
+    version     int          default 0
+);
+create unique index uk_username on `user` (username);
+create unique index uk_mobile on `user` (mobile);
+
+create table user_profile (
+    user_id     bigint       not null primary key,
+    nickname    varchar(50)  default null,
+    avatar      varchar(500) default null,
+    metadata    varchar(4000) default null,
+    version     int          default 0
+);
+
+create table user_wallet (
+    user_id     bigint       not null primary key,
+    balance     bigint       default 0,
+    version     int          default 0
+);
+
+create table `transaction` (
+    id          bigint       not null primary key,
+    user_id     bigint       not null,
+    amount      bigint       not null,
+    type        varchar(20)  not null,
+    ref_id      varchar(50)  default null,
+    created_at  datetime     default current_timestamp
+);
+create index idx_transaction_user_id on `transaction` (user_id);
+
+create table user_relation (
+    id          bigint       not null primary key,
+    user_id     bigint       not null,
+    target_id   bigint       not null,
+    type        tinyint      not null,
+    created_at  datetime     default current_timestamp
+);
+create index idx_relation_target_id on user_relation (target_id);
+create unique index uk_user_target_type on user_relation (user_id, target_id, type);
+
+create table content (
+    id          bigint       not null primary key,
+    user_id     bigint       not null,
+    type        tinyint      not null,
+    title       varchar(200) not null,
+    data        varchar(4000) not null,
+    status      tinyint      default 1,
+    view_count  bigint       default 0,
+    created_at  datetime     default current_timestamp,
+    updated_at  datetime     default current_timestamp,
+    deleted     boolean      default false,
+    version     int          default 0
+);
+create index idx_content_user_id on content (user_id);
+create index idx_content_created_at on content (created_at);
+
+create table content_action (
+    id          bigint       not null primary key,
+    content_id  bigint       not null,
+    user_id     bigint       not null,
+    action      tinyint      not null,
+    data        varchar(4000) default null,
+    created_at  datetime     default current_timestamp
+);
+create index idx_action_content_id on content_action (content_id);
+create unique index uk_user_content_action on content_action (user_id, content_id, action);
+
+create table counter_flush_batch (
+    batch_id    varchar(64)  not null primary key,
+    namespace   varchar(64)  not null,
+    created_at  datetime     default current_timestamp
+);
+
+create table chat_conversation (
+    id          bigint       not null primary key,
+    type        tinyint      not null,
+    title       varchar(100) default null,
+    creator_id  bigint       default null,
+    metadata    varchar(4000) default null,
+    status      tinyint      default 1,
+    created_at  datetime     default current_timestamp,
+    updated_at  datetime     default current_timestamp,
+    version     int          default 0
+);
+create index idx_conversation_updated_at on chat_conversation (updated_at);
+
+create table chat_message (
+    id              bigint       not null primary key,
+    conversation_id bigint       not null,
+    sender_id       bigint       default null,
+    message_type    tinyint      not null,
+    content         varchar(4000) not null,
+    media_data      varchar(4000) default null,
+    reply_to_id     bigint       default null,
+    status          tinyint      default 1,
+    created_at      datetime     default current_timestamp
+);
+create index idx_message_conversation_id on chat_message (conversation_id, created_at);
+
+create table chat_participant (
+    id              bigint       not null primary key,
+    conversation_id bigint       not null,
+    user_id         bigint       not null,
+    role            tinyint      default 1,
+    join_time       datetime     default current_timestamp,
+    last_read_time  datetime     default null,
+    status          tinyint      default 1
+);
+create index idx_participant_user_id on chat_participant (user_id);
+create unique index uk_conversation_user on chat_participant (conversation_id, user_id);
@@ -2,6 +2,9 @@ package com.xypai.chat.controller.app;
 
 import com.xypai.common.core.domain.R;
 import com.xypai.common.core.web.controller.BaseController;
+import com.xypai.common.core.web.page.CursorPage;
+import com.xypai.common.core.web.page.CursorRequest;
+import com.xypai.common.core.web.page.CursorToken;
 import com.xypai.common.core.web.page.TableDataInfo;
 import com.xypai.common.log.annotation.Log;
 import com.xypai.common.log.enums.BusinessType;
@@ -164,17 +167,19 @@ public class ChatMessageController extends BaseController {
     /**
      * 获取会话消息
      */
-    @Operation(summary = "获取会话消息", description = "获取指定会话的消息列表")
+    @Operation(summary = "获取会话消息", description = "按游标分页获取指定会话的消息列表，下一页传回 nextCursor")
     @GetMapping("/conversation/{conversationId}")
     @RequiresPermissions("chat:message:query")
-    public TableDataInfo getConversationMessages(
+    public CursorPage<MessageVO> getConversationMessages(
             @Parameter(description = "会话ID", required = true)
             @PathVariable Long conversationId,
-            @Parameter(description = "最后消息ID(分页)")
+            @Parameter(description = "最后消息ID(兼容旧版本，优先使用cursor)")
             @RequestParam(required = false) Long lastMessageId) {
-        startPage();
-        List<MessageVO> list = messageService.selectConversationMessages(conversationId, lastMessageId, "before", 20);
-        return getDataTable(list);
+        CursorRequest request = getCursorRequest();
+        if (request.isFirstPage() && lastMessageId != null) {
+            request = CursorRequest.of(CursorToken.encode(lastMessageId), request.getPageSize());
+        }
+        return messageService.selectConversationMessagePage(conversationId, request);
     }
 
     /**
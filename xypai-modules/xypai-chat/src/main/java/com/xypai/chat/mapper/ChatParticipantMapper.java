@@ -6,6 +6,7 @@ import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 
@@ -68,6 +69,16 @@ public interface ChatParticipantMapper extends BaseMapper<ChatParticipant> {
     Integer countParticipants(@Param("conversationId") Long conversationId,
                              @Param("status") Integer status);
 
+    /**
+     * 批量统计会话的参与者数量
+     *
+     * @param conversationIds 会话ID集合
+     * @param status 参与状态(可选)
+     * @return 统计行，包含conversation_id、total
+     */
+    List<Map<String, Object>> countParticipantsByConversationIds(@Param("conversationIds") Collection<Long> conversationIds,
+                                                                 @Param("status") Integer status);
+
     /**
      * 批量添加参与者
      *
@@ -3,6 +3,8 @@ package com.xypai.chat.service;
 import com.xypai.chat.domain.dto.MessageQueryDTO;
 import com.xypai.chat.domain.dto.MessageSendDTO;
 import com.xypai.chat.domain.vo.MessageVO;
+import com.xypai.common.core.web.page.CursorPage;
+import com.xypai.common.core.web.page.CursorRequest;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -87,6 +89,15 @@ public interface IChatMessageService {
      */
     List<MessageVO> selectConversationMessages(Long conversationId, Long baseMessageId, String direction, Integer limit);
 
+    /**
+     * 查询会话消息(游标分页，按消息ID倒序)
+     *
+     * @param conversationId 会话ID
+     * @param request 游标分页请求
+     * @return 消息分页数据
+     */
+    CursorPage<MessageVO> selectConversationMessagePage(Long conversationId, CursorRequest request);
+
     /**
      * 查询会话最新消息
      *
@@ -0,0 +1,58 @@
+package com.xypai.chat.service.counter;
+
+import com.xypai.chat.domain.entity.ChatParticipant;
+import com.xypai.chat.mapper.ChatParticipantMapper;
+import com.xypai.common.redis.counter.CounterHandler;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 会话参与者计数器（正常状态的成员数）
+ * <p>
+ * 计数由chat_participant明细行统计得出，成员加入/退出时只累加缓存，无需回写
+ *
+ * @author xypai
+ * @date 2025-01-01
+ */
+@Component
+@RequiredArgsConstructor
+public class ChatParticipantCounterHandler implements CounterHandler {
+
+    public static final String NAMESPACE = "chat_participant";
+
+    public static final String FIELD_PARTICIPANTS = "participantCount";
+
+    private final ChatParticipantMapper chatParticipantMapper;
+
+    @Override
+    public String namespace() {
+        return NAMESPACE;
+    }
+
+    @Override
+    public Map<Long, Map<String, Long>> load(Collection<Long> ids) {
+        Map<Long, Map<String, Long>> result = new HashMap<>();
+        for (Long conversationId : ids) {
+            Map<String, Long> counts = new HashMap<>();
+            counts.put(FIELD_PARTICIPANTS, 0L);
+            result.put(conversationId, counts);
+        }
+        if (ids.isEmpty()) {
+            return result;
+        }
+        List<Map<String, Object>> rows = chatParticipantMapper.countParticipantsByConversationIds(
+                ids, ChatParticipant.Status.NORMAL.getCode());
+        for (Map<String, Object> row : rows) {
+            Map<String, Long> counts = result.get(((Number) row.get("conversation_id")).longValue());
+            if (counts != null) {
+                counts.put(FIELD_PARTICIPANTS, ((Number) row.get("total")).longValue());
+            }
+        }
+        return result;
+    }
+}
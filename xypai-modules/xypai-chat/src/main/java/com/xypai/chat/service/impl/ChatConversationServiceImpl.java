@@ -12,8 +12,10 @@ import com.xypai.chat.domain.vo.ConversationListVO;
 import com.xypai.chat.mapper.ChatConversationMapper;
 import com.xypai.chat.mapper.ChatParticipantMapper;
 import com.xypai.chat.service.IChatConversationService;
+import com.xypai.chat.service.counter.ChatParticipantCounterHandler;
 import com.xypai.common.core.exception.ServiceException;
 import com.xypai.common.core.utils.StringUtils;
+import com.xypai.common.redis.counter.RedisCounterService;
 import com.xypai.common.security.utils.SecurityUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -37,6 +39,7 @@ public class ChatConversationServiceImpl implements IChatConversationService {
 
     private final ChatConversationMapper chatConversationMapper;
     private final ChatParticipantMapper chatParticipantMapper;
+    private final RedisCounterService redisCounterService;
 
     @Override
     @Transactional(rollbackFor = Exception.class)
@@ -81,6 +84,7 @@ public class ChatConversationServiceImpl implements IChatConversationService {
                 .build();
 
         chatParticipantMapper.insert(creatorParticipant);
+        incrementParticipantCount(conversation.getId(), 1);
 
         // 添加其他参与者
         if (createDTO.getParticipantIds() != null && !createDTO.getParticipantIds().isEmpty()) {
@@ -96,7 +100,7 @@ public class ChatConversationServiceImpl implements IChatConversationService {
                     .collect(Collectors.toList());
 
             if (!participants.isEmpty()) {
-                chatParticipantMapper.batchInsertParticipants(participants);
+                incrementParticipantCount(conversation.getId(), chatParticipantMapper.batchInsertParticipants(participants));
             }
         }
 
@@ -211,8 +215,9 @@ public class ChatConversationServiceImpl implements IChatConversationService {
                 List<Long> userIds = participants.stream()
                         .map(ChatParticipant::getUserId)
                         .collect(Collectors.toList());
-                chatParticipantMapper.batchUpdateParticipantStatus(
+                int left = chatParticipantMapper.batchUpdateParticipantStatus(
                         conversationId, userIds, ChatParticipant.Status.LEFT.getCode());
+                incrementParticipantCount(conversationId, -left);
             }
 
             log.info("解散会话成功，会话ID：{}，原因：{}", conversationId, reason);
@@ -278,6 +283,7 @@ public class ChatConversationServiceImpl implements IChatConversationService {
 
         if (!participants.isEmpty()) {
             int result = chatParticipantMapper.batchInsertParticipants(participants);
+            incrementParticipantCount(operationDTO.getConversationId(), result);
             log.info("添加参与者成功，会话ID：{}，添加数量：{}", operationDTO.getConversationId(), result);
             return result > 0;
         }
@@ -307,9 +313,16 @@ public class ChatConversationServiceImpl implements IChatConversationService {
             throw new ServiceException("不能移除群主");
         }
 
-        // 移除参与者
+        // 移除参与者，成员数只扣减原本为正常状态的成员
+        long normalCount = chatParticipantMapper.selectConversationParticipants(
+                        operationDTO.getConversationId(), ChatParticipant.Status.NORMAL.getCode()).stream()
+                .filter(participant -> operationDTO.getUserIds().contains(participant.getUserId()))
+                .count();
         int result = chatParticipantMapper.batchUpdateParticipantStatus(
                 operationDTO.getConversationId(), operationDTO.getUserIds(), ChatParticipant.Status.LEFT.getCode());
+        if (result > 0) {
+            incrementParticipantCount(operationDTO.getConversationId(), -normalCount);
+        }
 
         log.info("移除参与者成功，会话ID：{}，移除数量：{}", operationDTO.getConversationId(), result);
         return result > 0;
@@ -341,6 +354,9 @@ public class ChatConversationServiceImpl implements IChatConversationService {
         List<Long> userIds = Collections.singletonList(currentUserId);
         int result = chatParticipantMapper.batchUpdateParticipantStatus(
                 conversationId, userIds, ChatParticipant.Status.LEFT.getCode());
+        if (result > 0 && participant.isNormal()) {
+            incrementParticipantCount(conversationId, -1);
+        }
 
         log.info("退出会话成功，会话ID：{}，用户ID：{}，原因：{}", conversationId, currentUserId, reason);
         return result > 0;
@@ -437,6 +453,9 @@ public class ChatConversationServiceImpl implements IChatConversationService {
 
         List<Long> userIds = Collections.singletonList(userId);
         int result = chatParticipantMapper.batchUpdateParticipantStatus(conversationId, userIds, newStatus);
+        if (result > 0 && participant.isNormal() != ChatParticipant.Status.NORMAL.getCode().equals(newStatus)) {
+            incrementParticipantCount(conversationId, participant.isNormal() ? -1 : 1);
+        }
 
         log.info("设置用户禁言成功，会话ID：{}，用户ID：{}，是否禁言：{}", conversationId, userId, isMuted);
         return result > 0;
@@ -533,7 +552,7 @@ public class ChatConversationServiceImpl implements IChatConversationService {
                         .build()
         );
 
-        chatParticipantMapper.batchInsertParticipants(participants);
+        incrementParticipantCount(conversation.getId(), chatParticipantMapper.batchInsertParticipants(participants));
 
         log.info("创建订单会话成功，订单ID：{}，会话ID：{}", orderId, conversation.getId());
         return conversation.getId();
@@ -574,6 +593,7 @@ public class ChatConversationServiceImpl implements IChatConversationService {
                 .build();
 
         chatParticipantMapper.insert(participant);
+        incrementParticipantCount(conversation.getId(), 1);
 
         log.info("创建系统通知会话成功，用户ID：{}，会话ID：{}", userId, conversation.getId());
         return conversation.getId();
@@ -808,15 +828,23 @@ public class ChatConversationServiceImpl implements IChatConversationService {
             return new ArrayList<>();
         }
 
+        // 参与者数量一次批量读取计数缓存，未命中的会话合并为一条分组查询
+        List<Long> conversationIds = conversations.stream()
+                .map(ChatConversation::getId)
+                .collect(Collectors.toList());
+        Map<Long, Map<String, Long>> participantCounts = redisCounterService.multiGetCounts(
+                ChatParticipantCounterHandler.NAMESPACE, conversationIds);
+
         return conversations.stream()
-                .map(conversation -> convertToListVO(conversation, includeLatestMessage, includeUnreadCount))
+                .map(conversation -> convertToListVO(conversation, participantCounts.get(conversation.getId()),
+                        includeLatestMessage, includeUnreadCount))
                 .collect(Collectors.toList());
     }
 
     /**
      * 转换为列表VO
      */
-    private ConversationListVO convertToListVO(ChatConversation conversation, 
+    private ConversationListVO convertToListVO(ChatConversation conversation, Map<String, Long> counts,
                                               Boolean includeLatestMessage, Boolean includeUnreadCount) {
         ConversationListVO.ConversationListVOBuilder builder = ConversationListVO.builder()
                 .id(conversation.getId())
@@ -831,10 +859,9 @@ public class ChatConversationServiceImpl implements IChatConversationService {
                 .createdAt(conversation.getCreatedAt())
                 .updatedAt(conversation.getUpdatedAt());
 
-        // 查询参与者数量
-        Integer participantCount = chatParticipantMapper.countParticipants(
-                conversation.getId(), ChatParticipant.Status.NORMAL.getCode());
-        builder.participantCount(participantCount);
+        // 参与者数量
+        Long participantCount = counts != null ? counts.get(ChatParticipantCounterHandler.FIELD_PARTICIPANTS) : null;
+        builder.participantCount(participantCount != null ? participantCount.intValue() : 0);
 
         // TODO: 添加最新消息和未读数量的查询逻辑
         if (Boolean.TRUE.equals(includeLatestMessage)) {
@@ -872,6 +899,16 @@ public class ChatConversationServiceImpl implements IChatConversationService {
                 .build();
     }
 
+    /**
+     * 累加会话的参与者数量缓存，事务提交后生效
+     */
+    private void incrementParticipantCount(Long conversationId, long delta) {
+        if (delta != 0) {
+            redisCounterService.increment(ChatParticipantCounterHandler.NAMESPACE, conversationId,
+                    ChatParticipantCounterHandler.FIELD_PARTICIPANTS, delta);
+        }
+    }
+
     /**
      * 转换为参与者VO
      */
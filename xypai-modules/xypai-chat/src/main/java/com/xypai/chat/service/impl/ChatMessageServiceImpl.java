@@ -13,6 +13,10 @@ import com.xypai.chat.service.IChatConversationService;
 import com.xypai.chat.service.IChatMessageService;
 import com.xypai.common.core.exception.ServiceException;
 import com.xypai.common.core.utils.StringUtils;
+import com.xypai.common.core.web.page.CursorPage;
+import com.xypai.common.core.web.page.CursorRequest;
+import com.xypai.common.core.web.page.Keyset;
+import com.xypai.common.datasource.annotation.Slave;
 import com.xypai.common.security.utils.SecurityUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -34,6 +38,8 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class ChatMessageServiceImpl implements IChatMessageService {
 
+    private static final Keyset<ChatMessage> MESSAGE_KEYSET = Keyset.desc(ChatMessage::getId);
+
     private final ChatMessageMapper chatMessageMapper;
     private final ChatParticipantMapper chatParticipantMapper;
     private final IChatConversationService chatConversationService;
@@ -81,6 +87,7 @@ public class ChatMessageServiceImpl implements IChatMessageService {
     }
 
     @Override
+    @Slave
     public List<MessageVO> selectMessageList(MessageQueryDTO queryDTO) {
         LambdaQueryWrapper<ChatMessage> queryWrapper = buildQueryWrapper(queryDTO);
         List<ChatMessage> messages = chatMessageMapper.selectList(queryWrapper);
@@ -262,6 +269,7 @@ public class ChatMessageServiceImpl implements IChatMessageService {
     }
 
     @Override
+    @Slave
     public List<MessageVO> selectConversationMessages(Long conversationId, Long baseMessageId, 
                                                      String direction, Integer limit) {
         if (conversationId == null) {
@@ -279,6 +287,27 @@ public class ChatMessageServiceImpl implements IChatMessageService {
         return convertToVOs(messages, true, true);
     }
 
+    @Override
+    @Slave
+    public CursorPage<MessageVO> selectConversationMessagePage(Long conversationId, CursorRequest request) {
+        if (conversationId == null) {
+            throw new ServiceException("会话ID不能为空");
+        }
+
+        // 验证访问权限
+        Long currentUserId = SecurityUtils.getUserId();
+        if (currentUserId != null && !chatConversationService.validateAccessPermission(conversationId, currentUserId)) {
+            throw new ServiceException("无权限访问该会话");
+        }
+
+        // 消息ID随时间递增，按ID倒序即按发送时间倒序，走 (conversation_id, id) 索引
+        LambdaQueryWrapper<ChatMessage> queryWrapper = Wrappers.lambdaQuery(ChatMessage.class)
+                .eq(ChatMessage::getConversationId, conversationId)
+                .ne(ChatMessage::getStatus, ChatMessage.Status.DELETED.getCode());
+        List<ChatMessage> messages = chatMessageMapper.selectList(MESSAGE_KEYSET.apply(queryWrapper, request));
+        return MESSAGE_KEYSET.page(messages, request).convert(list -> convertToVOs(list, true, true));
+    }
+
     @Override
     public MessageVO selectLatestMessage(Long conversationId) {
         if (conversationId == null) {
@@ -2,6 +2,7 @@ package com.xypai.content.controller.app;
 
 import com.xypai.common.core.domain.R;
 import com.xypai.common.core.web.controller.BaseController;
+import com.xypai.common.core.web.page.CursorPage;
 import com.xypai.common.core.web.page.TableDataInfo;
 import com.xypai.common.log.annotation.Log;
 import com.xypai.common.log.enums.BusinessType;
@@ -41,13 +42,11 @@ public class ContentController extends BaseController {
     /**
      * 查询内容列表
      */
-    @Operation(summary = "查询内容列表", description = "分页查询内容列表信息")
+    @Operation(summary = "查询内容列表", description = "按游标分页查询内容列表信息，下一页传回 nextCursor")
     @GetMapping("/list")
     @RequiresPermissions("content:content:list")
-    public TableDataInfo list(ContentQueryDTO query) {
-        startPage();
-        List<ContentListVO> list = contentService.selectContentList(query);
-        return getDataTable(list);
+    public CursorPage<ContentListVO> list(ContentQueryDTO query) {
+        return contentService.selectContentPage(query, getCursorRequest());
     }
 
     /**
@@ -178,14 +177,12 @@ public class ContentController extends BaseController {
     @Operation(summary = "获取用户内容", description = "获取指定用户发布的内容")
     @GetMapping("/user/{userId}")
     @RequiresPermissions("content:content:query")
-    public TableDataInfo getUserContents(
+    public CursorPage<ContentListVO> getUserContents(
             @Parameter(description = "用户ID", required = true)
             @PathVariable Long userId,
             @Parameter(description = "内容类型")
             @RequestParam(required = false) Integer type) {
-        startPage();
-        List<ContentListVO> list = contentService.getUserContents(userId, type);
-        return getDataTable(list);
+        return contentService.getUserContentPage(userId, type, getCursorRequest());
     }
 
     /**
@@ -194,14 +191,12 @@ public class ContentController extends BaseController {
     @Operation(summary = "获取我的内容", description = "获取当前用户的内容列表")
     @GetMapping("/my")
     @RequiresPermissions("content:content:query")
-    public TableDataInfo getMyContents(
+    public CursorPage<ContentListVO> getMyContents(
             @Parameter(description = "内容类型")
             @RequestParam(required = false) Integer type,
             @Parameter(description = "内容状态")
             @RequestParam(required = false) Integer status) {
-        startPage();
-        List<ContentListVO> list = contentService.getMyContents(type, status);
-        return getDataTable(list);
+        return contentService.getMyContentPage(type, status, getCursorRequest());
     }
 
     /**
@@ -5,6 +5,7 @@ import com.xypai.content.domain.entity.ContentAction;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 
@@ -25,6 +26,14 @@ public interface ContentActionMapper extends BaseMapper<ContentAction> {
      */
     Map<Integer, Long> selectActionStatsByContentId(@Param("contentId") Long contentId);
 
+    /**
+     * 批量查询内容的行为统计
+     *
+     * @param contentIds 内容ID集合
+     * @return 统计行，包含contentId、action、total
+     */
+    List<Map<String, Object>> selectActionStatsByContentIds(@Param("contentIds") Collection<Long> contentIds);
+
     /**
      * 查询用户对内容的行为记录
      *
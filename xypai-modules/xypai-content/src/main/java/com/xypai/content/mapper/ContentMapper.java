@@ -5,7 +5,9 @@ import com.xypai.content.domain.entity.Content;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 /**
  * 内容Mapper接口
@@ -49,6 +51,31 @@ public interface ContentMapper extends BaseMapper<Content> {
      */
     int incrementViewCount(@Param("contentId") Long contentId);
 
+    /**
+     * 批量累加查看数
+     *
+     * @param deltas key为内容ID，value为查看数增量
+     * @return 影响行数
+     */
+    int batchIncrementViewCount(@Param("deltas") Map<Long, Long> deltas);
+
+    /**
+     * 记录已回写的计数器批次，批次已存在时忽略
+     *
+     * @param namespace 计数器命名空间
+     * @param batchId 批次号
+     * @return 影响行数，0表示批次已回写过
+     */
+    int insertCounterBatch(@Param("namespace") String namespace, @Param("batchId") String batchId);
+
+    /**
+     * 批量查询查看数
+     *
+     * @param contentIds 内容ID集合
+     * @return 查询行，包含id、view_count
+     */
+    List<Map<String, Object>> selectViewCountsByIds(@Param("contentIds") Collection<Long> contentIds);
+
     /**
      * 查询相关内容
      *
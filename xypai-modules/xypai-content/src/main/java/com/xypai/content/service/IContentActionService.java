@@ -4,6 +4,7 @@ import com.xypai.content.domain.dto.ContentActionDTO;
 import com.xypai.content.domain.dto.ContentActionQueryDTO;
 import com.xypai.content.domain.vo.ContentActionVO;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 
@@ -199,6 +200,14 @@ public interface IContentActionService {
      */
     Map<String, Object> getContentActionStats(Long contentId);
 
+    /**
+     * 批量获取内容行为统计
+     *
+     * @param contentIds 内容ID集合
+     * @return key为内容ID，value为统计信息
+     */
+    Map<Long, Map<String, Object>> getContentActionStats(Collection<Long> contentIds);
+
     /**
      * 获取用户对内容的行为状态
      *
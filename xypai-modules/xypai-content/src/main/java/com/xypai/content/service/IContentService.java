@@ -1,5 +1,7 @@
 package com.xypai.content.service;
 
+import com.xypai.common.core.web.page.CursorPage;
+import com.xypai.common.core.web.page.CursorRequest;
 import com.xypai.content.domain.dto.ContentAddDTO;
 import com.xypai.content.domain.dto.ContentQueryDTO;
 import com.xypai.content.domain.dto.ContentUpdateDTO;
@@ -25,6 +27,15 @@ public interface IContentService {
      */
     List<ContentListVO> selectContentList(ContentQueryDTO query);
 
+    /**
+     * 查询内容列表(游标分页，按创建时间倒序)
+     *
+     * @param query 查询条件
+     * @param request 游标分页请求
+     * @return 内容分页数据
+     */
+    CursorPage<ContentListVO> selectContentPage(ContentQueryDTO query, CursorRequest request);
+
     /**
      * 根据内容ID查询详情
      *
@@ -238,6 +249,16 @@ public interface IContentService {
      */
     List<ContentListVO> getUserContents(Long userId, Integer type);
 
+    /**
+     * 获取用户内容(游标分页)
+     *
+     * @param userId 用户ID
+     * @param type 内容类型
+     * @param request 游标分页请求
+     * @return 内容分页数据
+     */
+    CursorPage<ContentListVO> getUserContentPage(Long userId, Integer type, CursorRequest request);
+
     /**
      * 获取我的内容
      *
@@ -247,6 +268,16 @@ public interface IContentService {
      */
     List<ContentListVO> getMyContents(Integer type, Integer status);
 
+    /**
+     * 获取我的内容(游标分页)
+     *
+     * @param type 内容类型
+     * @param status 内容状态
+     * @param request 游标分页请求
+     * @return 内容分页数据
+     */
+    CursorPage<ContentListVO> getMyContentPage(Integer type, Integer status, CursorRequest request);
+
     /**
      * 获取内容统计 (兼容控制器)
      *
@@ -0,0 +1,75 @@
+package com.xypai.content.service.counter;
+
+import com.xypai.common.redis.counter.CounterHandler;
+import com.xypai.content.domain.entity.ContentAction;
+import com.xypai.content.mapper.ContentActionMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * 内容行为计数器（点赞/评论/分享/收藏/报名数）
+ * <p>
+ * 计数由content_action明细行统计得出，行为写入时只累加缓存，无需回写
+ *
+ * @author xypai
+ * @date 2025-01-01
+ */
+@Component
+@RequiredArgsConstructor
+public class ContentActionCounterHandler implements CounterHandler {
+
+    public static final String NAMESPACE = "content_action";
+
+    /**
+     * 参与计数的行为类型与计数字段
+     */
+    private static final Map<Integer, String> FIELDS = new LinkedHashMap<>();
+
+    static {
+        FIELDS.put(ContentAction.Action.LIKE.getCode(), "likeCount");
+        FIELDS.put(ContentAction.Action.COMMENT.getCode(), "commentCount");
+        FIELDS.put(ContentAction.Action.SHARE.getCode(), "shareCount");
+        FIELDS.put(ContentAction.Action.COLLECT.getCode(), "collectCount");
+        FIELDS.put(ContentAction.Action.SIGNUP.getCode(), "signupCount");
+    }
+
+    private final ContentActionMapper contentActionMapper;
+
+    /**
+     * 获取行为对应的计数字段
+     *
+     * @param action 行为类型
+     * @return 计数字段，不参与计数的行为返回null
+     */
+    public static String getField(Integer action) {
+        return FIELDS.get(action);
+    }
+
+    @Override
+    public String namespace() {
+        return NAMESPACE;
+    }
+
+    @Override
+    public Map<Long, Map<String, Long>> load(Collection<Long> ids) {
+        Map<Long, Map<String, Long>> result = new HashMap<>();
+        for (Long id : ids) {
+            Map<String, Long> counts = new HashMap<>();
+            for (String field : FIELDS.values()) {
+                counts.put(field, 0L);
+            }
+            result.put(id, counts);
+        }
+        List<Map<String, Object>> rows = contentActionMapper.selectActionStatsByContentIds(ids);
+        for (Map<String, Object> row : rows) {
+            Long contentId = ((Number) row.get("content_id")).longValue();
+            String field = FIELDS.get(((Number) row.get("action")).intValue());
+            if (field != null && result.containsKey(contentId)) {
+                result.get(contentId).put(field, ((Number) row.get("total")).longValue());
+            }
+        }
+        return result;
+    }
+}
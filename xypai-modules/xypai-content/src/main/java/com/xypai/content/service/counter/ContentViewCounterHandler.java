@@ -0,0 +1,71 @@
+package com.xypai.content.service.counter;
+
+import com.xypai.common.redis.counter.CounterHandler;
+import com.xypai.content.mapper.ContentMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+
+/**
+ * 内容查看数计数器
+ * <p>
+ * 查看只累加Redis计数，增量由计数器后台线程批量回写content.view_count，
+ * 已回写的批次号记录在counter_flush_batch中
+ *
+ * @author xypai
+ * @date 2025-01-01
+ */
+@Component
+@RequiredArgsConstructor
+public class ContentViewCounterHandler implements CounterHandler {
+
+    public static final String NAMESPACE = "content_view";
+
+    public static final String FIELD_VIEW = "viewCount";
+
+    private final ContentMapper contentMapper;
+
+    @Override
+    public String namespace() {
+        return NAMESPACE;
+    }
+
+    @Override
+    public Map<Long, Map<String, Long>> load(Collection<Long> ids) {
+        Map<Long, Map<String, Long>> result = new HashMap<>();
+        List<Map<String, Object>> rows = contentMapper.selectViewCountsByIds(ids);
+        for (Map<String, Object> row : rows) {
+            Number viewCount = (Number) row.get("view_count");
+            Map<String, Long> counts = new HashMap<>();
+            counts.put(FIELD_VIEW, viewCount != null ? viewCount.longValue() : 0L);
+            result.put(((Number) row.get("id")).longValue(), counts);
+        }
+        return result;
+    }
+
+    @Override
+    public boolean writeBehind() {
+        return true;
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public void flush(String batchId, Map<Long, Map<String, Long>> deltas) {
+        // 批次号与增量在同一事务中写入，重复投递的批次插入失败后直接跳过
+        if (contentMapper.insertCounterBatch(NAMESPACE, batchId) == 0) {
+            return;
+        }
+        Map<Long, Long> viewDeltas = new HashMap<>();
+        for (Map.Entry<Long, Map<String, Long>> entry : deltas.entrySet()) {
+            Long delta = entry.getValue().get(FIELD_VIEW);
+            if (delta != null && delta != 0) {
+                viewDeltas.put(entry.getKey(), delta);
+            }
+        }
+        if (!viewDeltas.isEmpty()) {
+            contentMapper.batchIncrementViewCount(viewDeltas);
+        }
+    }
+}
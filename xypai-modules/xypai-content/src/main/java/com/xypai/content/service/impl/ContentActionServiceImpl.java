@@ -4,6 +4,7 @@ import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.core.toolkit.Wrappers;
 import com.xypai.common.core.exception.ServiceException;
 import com.xypai.common.core.utils.StringUtils;
+import com.xypai.common.redis.counter.RedisCounterService;
 import com.xypai.common.security.utils.SecurityUtils;
 import com.xypai.content.domain.dto.ContentActionDTO;
 import com.xypai.content.domain.dto.ContentActionQueryDTO;
@@ -14,6 +15,8 @@ import com.xypai.content.domain.vo.ContentListVO;
 import com.xypai.content.mapper.ContentActionMapper;
 import com.xypai.content.mapper.ContentMapper;
 import com.xypai.content.service.IContentActionService;
+import com.xypai.content.service.counter.ContentActionCounterHandler;
+import com.xypai.content.service.counter.ContentViewCounterHandler;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -36,6 +39,7 @@ public class ContentActionServiceImpl implements IContentActionService {
 
     private final ContentActionMapper contentActionMapper;
     private final ContentMapper contentMapper;
+    private final RedisCounterService redisCounterService;
 
     @Override
     @Transactional(rollbackFor = Exception.class)
@@ -72,6 +76,7 @@ public class ContentActionServiceImpl implements IContentActionService {
         if (result <= 0) {
             throw new ServiceException("执行操作失败");
         }
+        incrementActionCount(actionDTO.getContentId(), actionDTO.getAction(), 1);
 
         log.info("执行内容行为成功，内容ID：{}，用户ID：{}，行为：{}", 
                 actionDTO.getContentId(), currentUserId, actionDTO.getAction());
@@ -87,6 +92,7 @@ public class ContentActionServiceImpl implements IContentActionService {
         }
 
         int result = contentActionMapper.deleteUserAction(contentId, currentUserId, action);
+        incrementActionCount(contentId, action, -result);
         log.info("取消内容行为，内容ID：{}，用户ID：{}，行为：{}", contentId, currentUserId, action);
         return result > 0;
     }
@@ -158,6 +164,7 @@ public class ContentActionServiceImpl implements IContentActionService {
         }
 
         int result = contentActionMapper.deleteById(commentId);
+        incrementActionCount(comment.getContentId(), comment.getAction(), -result);
         log.info("删除评论成功，评论ID：{}", commentId);
         return result > 0;
     }
@@ -286,16 +293,32 @@ public class ContentActionServiceImpl implements IContentActionService {
             return new HashMap<>();
         }
 
-        Map<Integer, Long> stats = contentActionMapper.selectActionStatsByContentId(contentId);
-        
-        Map<String, Object> result = new HashMap<>();
-        result.put("likeCount", stats.getOrDefault(ContentAction.Action.LIKE.getCode(), 0L));
-        result.put("commentCount", stats.getOrDefault(ContentAction.Action.COMMENT.getCode(), 0L));
-        result.put("shareCount", stats.getOrDefault(ContentAction.Action.SHARE.getCode(), 0L));
-        result.put("collectCount", stats.getOrDefault(ContentAction.Action.COLLECT.getCode(), 0L));
-        result.put("viewCount", stats.getOrDefault(ContentAction.Action.VIEW.getCode(), 0L));
-        result.put("signupCount", stats.getOrDefault(ContentAction.Action.SIGNUP.getCode(), 0L));
-        
+        return getContentActionStats(Collections.singletonList(contentId)).get(contentId);
+    }
+
+    @Override
+    public Map<Long, Map<String, Object>> getContentActionStats(Collection<Long> contentIds) {
+        Map<Long, Map<String, Object>> result = new HashMap<>();
+        if (contentIds == null || contentIds.isEmpty()) {
+            return result;
+        }
+
+        Map<Long, Map<String, Long>> actionStats = redisCounterService.multiGetCounts(ContentActionCounterHandler.NAMESPACE, contentIds);
+        Map<Long, Map<String, Long>> viewStats = redisCounterService.multiGetCounts(ContentViewCounterHandler.NAMESPACE, contentIds);
+
+        for (Long contentId : contentIds) {
+            Map<String, Long> stats = actionStats.getOrDefault(contentId, Collections.emptyMap());
+            Map<String, Long> views = viewStats.getOrDefault(contentId, Collections.emptyMap());
+
+            Map<String, Object> item = new HashMap<>();
+            item.put("likeCount", stats.getOrDefault("likeCount", 0L));
+            item.put("commentCount", stats.getOrDefault("commentCount", 0L));
+            item.put("shareCount", stats.getOrDefault("shareCount", 0L));
+            item.put("collectCount", stats.getOrDefault("collectCount", 0L));
+            item.put("viewCount", views.getOrDefault(ContentViewCounterHandler.FIELD_VIEW, 0L));
+            item.put("signupCount", stats.getOrDefault("signupCount", 0L));
+            result.put(contentId, item);
+        }
         return result;
     }
 
@@ -385,6 +408,16 @@ public class ContentActionServiceImpl implements IContentActionService {
         return convertToActionVOs(comments);
     }
 
+    /**
+     * 累加内容行为计数，不参与计数的行为忽略
+     */
+    private void incrementActionCount(Long contentId, Integer action, long delta) {
+        String field = ContentActionCounterHandler.getField(action);
+        if (field != null && delta != 0) {
+            redisCounterService.increment(ContentActionCounterHandler.NAMESPACE, contentId, field, delta);
+        }
+    }
+
     /**
      * 检查行为是否已存在
      */
@@ -560,6 +593,7 @@ public class ContentActionServiceImpl implements IContentActionService {
         }
 
         int result = contentActionMapper.deleteById(actionId);
+        incrementActionCount(action.getContentId(), action.getAction(), -result);
         log.info("删除行为记录成功，记录ID：{}", actionId);
         return result > 0;
     }
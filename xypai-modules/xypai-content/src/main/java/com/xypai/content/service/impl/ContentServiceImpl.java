@@ -4,6 +4,11 @@ import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.core.toolkit.Wrappers;
 import com.xypai.common.core.exception.ServiceException;
 import com.xypai.common.core.utils.StringUtils;
+import com.xypai.common.core.web.page.CursorPage;
+import com.xypai.common.core.web.page.CursorRequest;
+import com.xypai.common.core.web.page.Keyset;
+import com.xypai.common.datasource.annotation.Slave;
+import com.xypai.common.redis.counter.RedisCounterService;
 import com.xypai.common.security.utils.SecurityUtils;
 import com.xypai.content.domain.dto.ContentAddDTO;
 import com.xypai.content.domain.dto.ContentQueryDTO;
@@ -15,6 +20,7 @@ import com.xypai.content.mapper.ContentActionMapper;
 import com.xypai.content.mapper.ContentMapper;
 import com.xypai.content.service.IContentActionService;
 import com.xypai.content.service.IContentService;
+import com.xypai.content.service.counter.ContentViewCounterHandler;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -36,11 +42,15 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class ContentServiceImpl implements IContentService {
 
+    private static final Keyset<Content> CONTENT_KEYSET = Keyset.desc(Content::getCreatedAt, Content::getId);
+
     private final ContentMapper contentMapper;
     private final ContentActionMapper contentActionMapper;
     private final IContentActionService contentActionService;
+    private final RedisCounterService redisCounterService;
 
     @Override
+    @Slave
     public List<ContentListVO> selectContentList(ContentQueryDTO query) {
         LambdaQueryWrapper<Content> queryWrapper = buildQueryWrapper(query);
         
@@ -60,6 +70,15 @@ public class ContentServiceImpl implements IContentService {
         return convertToListVOs(contents);
     }
 
+    @Override
+    @Slave
+    public CursorPage<ContentListVO> selectContentPage(ContentQueryDTO query, CursorRequest request) {
+        // 各排序方式目前都按创建时间倒序，id 作为同一时间内的次序
+        LambdaQueryWrapper<Content> queryWrapper = CONTENT_KEYSET.apply(buildQueryWrapper(query), request);
+        List<Content> contents = contentMapper.selectList(queryWrapper);
+        return CONTENT_KEYSET.page(contents, request).convert(this::convertToListVOs);
+    }
+
     @Override
     public ContentDetailVO selectContentById(Long contentId) {
         if (contentId == null) {
@@ -199,6 +218,7 @@ public class ContentServiceImpl implements IContentService {
     }
 
     @Override
+    @Slave
     public List<ContentListVO> selectFollowingContentList(ContentQueryDTO query) {
         Long currentUserId = SecurityUtils.getUserId();
         if (currentUserId == null) {
@@ -210,6 +230,7 @@ public class ContentServiceImpl implements IContentService {
     }
 
     @Override
+    @Slave
     public List<ContentListVO> selectPopularContentList(Integer type, Integer limit) {
         List<Content> contents = contentMapper.selectPopularContents(limit != null ? limit : 20);
         
@@ -223,6 +244,7 @@ public class ContentServiceImpl implements IContentService {
     }
 
     @Override
+    @Slave
     public List<ContentListVO> selectRecommendedContentList(Integer limit) {
         Long currentUserId = SecurityUtils.getUserId();
         List<Content> contents = contentMapper.selectRecommendedContents(
@@ -363,7 +385,7 @@ public class ContentServiceImpl implements IContentService {
         }
 
         try {
-            contentMapper.incrementViewCount(contentId);
+            redisCounterService.increment(ContentViewCounterHandler.NAMESPACE, contentId, ContentViewCounterHandler.FIELD_VIEW, 1);
             return true;
         } catch (Exception e) {
             log.error("增加查看数失败，内容ID：{}", contentId, e);
@@ -549,9 +571,13 @@ public class ContentServiceImpl implements IContentService {
             return new ArrayList<>();
         }
 
+        // 批量获取行为统计
+        Map<Long, Map<String, Object>> statsMap = contentActionService.getContentActionStats(
+                contents.stream().map(Content::getId).collect(Collectors.toList()));
+
         List<ContentListVO> result = new ArrayList<>();
         for (Content content : contents) {
-            ContentListVO vo = convertToListVO(content);
+            ContentListVO vo = convertToListVO(content, statsMap.getOrDefault(content.getId(), Collections.emptyMap()));
             result.add(vo);
         }
         return result;
@@ -560,7 +586,7 @@ public class ContentServiceImpl implements IContentService {
     /**
      * 转换为列表VO
      */
-    private ContentListVO convertToListVO(Content content) {
+    private ContentListVO convertToListVO(Content content, Map<String, Object> stats) {
         Map<String, Object> data = content.getData();
         
         ContentListVO vo = ContentListVO.builder()
@@ -579,8 +605,7 @@ public class ContentServiceImpl implements IContentService {
                 .createdAt(content.getCreatedAt())
                 .build();
 
-        // 获取行为统计
-        Map<String, Object> stats = contentActionService.getContentActionStats(content.getId());
+        // 行为统计
         vo.setLikeCount((Long) stats.getOrDefault("likeCount", 0L));
         vo.setCommentCount((Long) stats.getOrDefault("commentCount", 0L));
         vo.setShareCount((Long) stats.getOrDefault("shareCount", 0L));
@@ -717,6 +742,33 @@ public class ContentServiceImpl implements IContentService {
         return selectMyContentList(query);
     }
 
+    @Override
+    @Slave
+    public CursorPage<ContentListVO> getUserContentPage(Long userId, Integer type, CursorRequest request) {
+        ContentQueryDTO query = ContentQueryDTO.builder()
+                .userId(userId)
+                .type(type)
+                .status(Content.Status.PUBLISHED.getCode())
+                .build();
+        return selectContentPage(query, request);
+    }
+
+    @Override
+    @Slave
+    public CursorPage<ContentListVO> getMyContentPage(Integer type, Integer status, CursorRequest request) {
+        Long currentUserId = SecurityUtils.getUserId();
+        if (currentUserId == null) {
+            throw new ServiceException("未获取到当前用户信息");
+        }
+
+        ContentQueryDTO query = ContentQueryDTO.builder()
+                .userId(currentUserId)
+                .type(type)
+                .status(status)
+                .build();
+        return selectContentPage(query, request);
+    }
+
     @Override
     public Map<String, Object> getContentStatistics(String beginTime, String endTime) {
         // 根据时间范围统计内容
@@ -8,14 +8,22 @@ import com.xypai.system.api.domain.SysFile;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.File;
+import java.io.IOException;
+
 /**
  * 文件请求处理
  *
@@ -29,6 +37,12 @@ public class SysFileController {
     @Autowired
     private ISysFileService sysFileService;
 
+    /**
+     * 上传文件存储在本地的根路径
+     */
+    @Value("${file.path}")
+    private String localFilePath;
+
     /**
      * 文件上传请求
      */
@@ -65,4 +79,18 @@ public class SysFileController {
             return R.fail(e.getMessage());
         }
     }
+
+    /**
+     * 本地文件访问，支持断点续传（Range）与缓存校验（ETag/Last-Modified），大文件由Tomcat sendfile发送
+     */
+    @Operation(summary = "文件下载")
+    @GetMapping("${file.prefix}/{*path}")
+    public void download(@PathVariable String path, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        File file = new File(localFilePath, path);
+        if (!FileUtils.validateFilePath(path) || !file.isFile()) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        FileUtils.writeFile(request, response, file);
+    }
 }
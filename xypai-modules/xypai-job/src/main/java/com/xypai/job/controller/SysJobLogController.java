@@ -49,9 +49,8 @@ public class SysJobLogController extends BaseController {
     @Log(title = "任务调度日志", businessType = BusinessType.EXPORT)
     @PostMapping("/export")
     public void export(HttpServletResponse response, SysJobLog sysJobLog) {
-        List<SysJobLog> list = jobLogService.selectJobLogList(sysJobLog);
         ExcelUtil<SysJobLog> util = new ExcelUtil<SysJobLog>(SysJobLog.class);
-        util.exportExcel(response, list, "调度日志");
+        jobLogService.streamJobLogList(sysJobLog, rows -> util.exportExcel(response, rows, "调度日志"));
     }
 
     /**
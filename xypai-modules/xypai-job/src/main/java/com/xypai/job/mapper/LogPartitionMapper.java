@@ -0,0 +1,47 @@
+package com.xypai.job.mapper;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.ibatis.annotations.Param;
+
+/**
+ * 日志表分区维护 数据层
+ *
+ * @author xypai
+ */
+public interface LogPartitionMapper {
+    /**
+     * 查询表的分区名称，按分区顺序排列
+     *
+     * @param tableName 表名
+     * @return 分区名称集合，未分区时为空
+     */
+    public List<String> selectPartitionNames(@Param("tableName") String tableName);
+
+    /**
+     * 查询表中最早的时间
+     *
+     * @param tableName 表名
+     * @param columnName 分区时间列
+     * @return 最早时间，空表时为null
+     */
+    public LocalDateTime selectMinTime(@Param("tableName") String tableName, @Param("columnName") String columnName);
+
+    /**
+     * 将 p_future 分区拆分为若干月分区和新的 p_future
+     *
+     * @param tableName 表名
+     * @param partitions 分区名称 -> 上界（不含）
+     */
+    public void reorganizeFuturePartition(@Param("tableName") String tableName, @Param("partitions") Map<String, String> partitions);
+
+    /**
+     * 删除分区
+     *
+     * @param tableName 表名
+     * @param partitionNames 分区名称集合
+     */
+    public void dropPartitions(@Param("tableName") String tableName, @Param("partitionNames") List<String> partitionNames);
+}
@@ -2,6 +2,7 @@ package com.xypai.job.mapper;
 
 import java.util.List;
 
+import org.apache.ibatis.cursor.Cursor;
 import com.xypai.job.domain.SysJobLog;
 
 /**
@@ -18,6 +19,14 @@ public interface SysJobLogMapper {
      */
     public List<SysJobLog> selectJobLogList(SysJobLog jobLog);
 
+    /**
+     * 流式查询调度日志，结果逐条读取，不一次载入内存（需在事务内使用并关闭）
+     *
+     * @param jobLog 调度日志对象
+     * @return 调度日志游标
+     */
+    public Cursor<SysJobLog> selectJobLogStream(SysJobLog jobLog);
+
     /**
      * 查询所有调度任务日志
      *
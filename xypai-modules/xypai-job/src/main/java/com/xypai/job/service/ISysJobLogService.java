@@ -1,6 +1,7 @@
 package com.xypai.job.service;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 import com.xypai.job.domain.SysJobLog;
 
@@ -18,6 +19,14 @@ public interface ISysJobLogService {
      */
     public List<SysJobLog> selectJobLogList(SysJobLog jobLog);
 
+    /**
+     * 流式读取调度日志集合，用于大数据量导出
+     *
+     * @param jobLog 调度日志对象
+     * @param consumer 数据消费者，返回后结果集关闭
+     */
+    public void streamJobLogList(SysJobLog jobLog, Consumer<Iterable<SysJobLog>> consumer);
+
     /**
      * 通过调度任务日志ID查询调度信息
      *
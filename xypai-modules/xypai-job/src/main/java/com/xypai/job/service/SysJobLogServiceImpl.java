@@ -1,9 +1,14 @@
 package com.xypai.job.service;
 
+import java.io.IOException;
 import java.util.List;
+import java.util.function.Consumer;
 
+import org.apache.ibatis.cursor.Cursor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import com.xypai.common.core.exception.ServiceException;
 import com.xypai.job.domain.SysJobLog;
 import com.xypai.job.mapper.SysJobLogMapper;
 
@@ -28,6 +33,22 @@ public class SysJobLogServiceImpl implements ISysJobLogService {
         return jobLogMapper.selectJobLogList(jobLog);
     }
 
+    /**
+     * 流式读取调度日志集合，用于大数据量导出
+     *
+     * @param jobLog 调度日志信息
+     * @param consumer 数据消费者，返回后结果集关闭
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void streamJobLogList(SysJobLog jobLog, Consumer<Iterable<SysJobLog>> consumer) {
+        try (Cursor<SysJobLog> cursor = jobLogMapper.selectJobLogStream(jobLog)) {
+            consumer.accept(cursor);
+        } catch (IOException e) {
+            throw new ServiceException("关闭调度日志结果集失败");
+        }
+    }
+
     /**
      * 通过调度任务日志ID查询调度信息
      *
@@ -0,0 +1,159 @@
+package com.xypai.job.task;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import com.xypai.job.mapper.LogPartitionMapper;
+
+/**
+ * 操作日志、登录日志按月分区维护
+ * <p>
+ * 表按时间列 RANGE COLUMNS 分区，月分区命名为 pyyyyMM，最后一个分区 p_future 存放尚未建分区的数据。
+ * 每次执行从 p_future 中拆分出未来若干个月的分区，并删除超过保留期的月分区；删除分区只是删除文件，
+ * 不会像 delete 那样逐行写 undo/binlog。未分区的表（未执行 sql/sys_log_partition.sql）会被跳过。
+ * <p>
+ * 调用目标：logPartitionTask.maintain() 或 logPartitionTask.maintain(2, 6)
+ *
+ * @author xypai
+ */
+@Component("logPartitionTask")
+public class LogPartitionTask {
+    private static final Logger log = LoggerFactory.getLogger(LogPartitionTask.class);
+
+    public static final String FUTURE_PARTITION = "p_future";
+
+    private static final DateTimeFormatter PARTITION_NAME = DateTimeFormatter.ofPattern("'p'yyyyMM");
+
+    private static final DateTimeFormatter PARTITION_BOUND = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    /**
+     * 表名 -> 分区时间列
+     */
+    private static final Map<String, String> TABLES = new LinkedHashMap<>();
+
+    static {
+        TABLES.put("sys_oper_log", "oper_time");
+        TABLES.put("sys_logininfor", "access_time");
+    }
+
+    @Autowired
+    private LogPartitionMapper logPartitionMapper;
+
+    /**
+     * 预建2个月的分区，保留6个月
+     */
+    public void maintain() {
+        maintain(2, 6);
+    }
+
+    /**
+     * 分区维护
+     *
+     * @param aheadMonths 提前创建的月分区数（不含当月）
+     * @param retentionMonths 保留的整月数（不含当月），小于等于0时不删除
+     */
+    public void maintain(Integer aheadMonths, Integer retentionMonths) {
+        YearMonth current = YearMonth.now();
+        for (Map.Entry<String, String> table : TABLES.entrySet()) {
+            String tableName = table.getKey();
+            List<String> names = logPartitionMapper.selectPartitionNames(tableName);
+            if (!names.contains(FUTURE_PARTITION)) {
+                log.warn("表{}未按月分区，跳过分区维护", tableName);
+                continue;
+            }
+            Map<String, String> created = planCreate(names, current, aheadMonths, retentionMonths,
+                    () -> logPartitionMapper.selectMinTime(tableName, table.getValue()));
+            if (!created.isEmpty()) {
+                logPartitionMapper.reorganizeFuturePartition(tableName, created);
+                log.info("表{}新建分区{}", tableName, created.keySet());
+            }
+            List<String> expired = planDrop(names, current, retentionMonths);
+            if (!expired.isEmpty()) {
+                logPartitionMapper.dropPartitions(tableName, expired);
+                log.info("表{}删除过期分区{}", tableName, expired);
+            }
+        }
+    }
+
+    /**
+     * 计算需要从 p_future 拆分出的月分区
+     *
+     * @param names 现有分区
+     * @param current 当月
+     * @param aheadMonths 提前创建的月分区数
+     * @param retentionMonths 保留的整月数
+     * @param minTime 表中最早时间，仅在尚无月分区时调用，用于把历史数据拆到各自月份
+     * @return 分区名称 -> 上界（不含），按时间顺序
+     */
+    static Map<String, String> planCreate(List<String> names, YearMonth current, int aheadMonths, int retentionMonths,
+                                          Supplier<LocalDateTime> minTime) {
+        YearMonth last = null;
+        for (String name : names) {
+            YearMonth month = parseMonth(name);
+            if (month != null && (last == null || month.isAfter(last))) {
+                last = month;
+            }
+        }
+        YearMonth from;
+        if (last != null) {
+            from = last.plusMonths(1);
+        } else {
+            LocalDateTime min = minTime.get();
+            from = min == null ? current : YearMonth.from(min);
+            if (retentionMonths > 0 && from.isBefore(current.minusMonths(retentionMonths))) {
+                // 保留期之前的历史数据都落入第一个分区，随它一起过期
+                from = current.minusMonths(retentionMonths);
+            }
+            if (from.isAfter(current)) {
+                from = current;
+            }
+        }
+        Map<String, String> partitions = new LinkedHashMap<>();
+        for (YearMonth month = from; !month.isAfter(current.plusMonths(aheadMonths)); month = month.plusMonths(1)) {
+            partitions.put(month.format(PARTITION_NAME), month.plusMonths(1).atDay(1).atStartOfDay().format(PARTITION_BOUND));
+        }
+        return partitions;
+    }
+
+    /**
+     * 计算超过保留期的月分区
+     *
+     * @param names 现有分区
+     * @param current 当月
+     * @param retentionMonths 保留的整月数，小于等于0时不删除
+     * @return 待删除的分区名称
+     */
+    static List<String> planDrop(List<String> names, YearMonth current, int retentionMonths) {
+        List<String> expired = new ArrayList<>();
+        if (retentionMonths <= 0) {
+            return expired;
+        }
+        YearMonth oldest = current.minusMonths(retentionMonths);
+        for (String name : names) {
+            YearMonth month = parseMonth(name);
+            if (month != null && month.isBefore(oldest)) {
+                expired.add(name);
+            }
+        }
+        return expired;
+    }
+
+    private static YearMonth parseMonth(String partitionName) {
+        try {
+            return YearMonth.parse(partitionName, PARTITION_NAME);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
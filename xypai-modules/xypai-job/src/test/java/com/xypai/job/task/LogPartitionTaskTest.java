@@ -0,0 +1,147 @@
+package com.xypai.job.task;
+
+import com.xypai.job.mapper.LogPartitionMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 日志表分区维护测试类
+ *
+ * @author xypai
+ */
+@ExtendWith(MockitoExtension.class)
+class LogPartitionTaskTest {
+
+    @Mock
+    private LogPartitionMapper logPartitionMapper;
+
+    @InjectMocks
+    private LogPartitionTask logPartitionTask;
+
+    @Test
+    void testPlanCreateRollsOverYear() {
+        List<String> names = List.of("p202611", "p202612", "p_future");
+        Map<String, String> created = LogPartitionTask.planCreate(names, YearMonth.of(2026, 12), 2, 6,
+                () -> fail("已有月分区时不应查询最早时间"));
+
+        assertEquals(List.of("p202701", "p202702"), List.copyOf(created.keySet()));
+        assertEquals("2027-02-01 00:00:00", created.get("p202701"));
+        assertEquals("2027-03-01 00:00:00", created.get("p202702"));
+    }
+
+    @Test
+    void testPlanCreateNothingWhenAheadPartitionsExist() {
+        List<String> names = List.of("p202610", "p202611", "p202612", "p_future");
+        assertTrue(LogPartitionTask.planCreate(names, YearMonth.of(2026, 10), 2, 6, () -> null).isEmpty());
+    }
+
+    @Test
+    void testPlanCreateFillsGapAfterMissedRuns() {
+        // 任务停了几个月，从最后一个月分区接着建，不跳月
+        List<String> names = List.of("p202606", "p_future");
+        Map<String, String> created = LogPartitionTask.planCreate(names, YearMonth.of(2026, 10), 1, 6, () -> null);
+
+        assertEquals(List.of("p202607", "p202608", "p202609", "p202610", "p202611"), List.copyOf(created.keySet()));
+        assertEquals("2026-08-01 00:00:00", created.get("p202607"));
+    }
+
+    @Test
+    void testPlanCreateEmptyPartitionList() {
+        Map<String, String> created = LogPartitionTask.planCreate(Collections.emptyList(), YearMonth.of(2026, 10), 2, 6,
+                () -> null);
+
+        assertEquals(List.of("p202610", "p202611", "p202612"), List.copyOf(created.keySet()));
+        assertEquals("2026-11-01 00:00:00", created.get("p202610"));
+    }
+
+    @Test
+    void testPlanCreateSplitsHistoryFromRetentionBoundary() {
+        YearMonth current = YearMonth.of(2026, 3);
+        // 早于保留期的历史数据并入保留期第一个月
+        Map<String, String> created = LogPartitionTask.planCreate(List.of("p_future"), current, 1, 6,
+                () -> LocalDateTime.of(2024, 5, 17, 8, 0));
+        assertEquals(List.of("p202509", "p202510", "p202511", "p202512", "p202601", "p202602", "p202603", "p202604"),
+                List.copyOf(created.keySet()));
+
+        // 保留期内的历史数据从最早月份开始拆分
+        created = LogPartitionTask.planCreate(List.of("p_future"), current, 1, 6,
+                () -> LocalDateTime.of(2026, 1, 31, 23, 59, 59));
+        assertEquals(List.of("p202601", "p202602", "p202603", "p202604"), List.copyOf(created.keySet()));
+
+        // 不删除时保留全部历史月份
+        created = LogPartitionTask.planCreate(List.of("p_future"), current, 0, 0,
+                () -> LocalDateTime.of(2025, 12, 1, 0, 0));
+        assertEquals(List.of("p202512", "p202601", "p202602", "p202603"), List.copyOf(created.keySet()));
+
+        // 时间晚于当月（时钟偏差）时从当月开始
+        created = LogPartitionTask.planCreate(List.of("p_future"), current, 0, 6,
+                () -> LocalDateTime.of(2026, 5, 1, 0, 0));
+        assertEquals(List.of("p202603"), List.copyOf(created.keySet()));
+    }
+
+    @Test
+    void testPlanCreateIgnoresPmax() {
+        // 手工建的 pmax 等非月分区不参与计算
+        Map<String, String> created = LogPartitionTask.planCreate(List.of("p202610", "pmax", "p_future"),
+                YearMonth.of(2026, 10), 1, 6, () -> null);
+        assertEquals(List.of("p202611"), List.copyOf(created.keySet()));
+
+        created = LogPartitionTask.planCreate(List.of("pmax"), YearMonth.of(2026, 10), 0, 6, () -> null);
+        assertEquals(List.of("p202610"), List.copyOf(created.keySet()));
+    }
+
+    @Test
+    void testPlanDropRetentionBoundary() {
+        List<String> names = List.of("p202603", "p202604", "p202605", "p202610", "p202612", "p_future");
+        // 保留6个整月（不含当月）：2026-04 是最早保留的月份
+        assertEquals(List.of("p202603"), LogPartitionTask.planDrop(names, YearMonth.of(2026, 10), 6));
+        assertEquals(List.of("p202603", "p202604"), LogPartitionTask.planDrop(names, YearMonth.of(2026, 11), 6));
+        assertTrue(LogPartitionTask.planDrop(names, YearMonth.of(2026, 9), 6).isEmpty());
+    }
+
+    @Test
+    void testPlanDropRollsOverYear() {
+        List<String> names = List.of("p202607", "p202608", "p202612", "p202701", "p_future");
+        assertEquals(List.of("p202607"), LogPartitionTask.planDrop(names, YearMonth.of(2027, 2), 6));
+        assertEquals(List.of("p202607", "p202608"), LogPartitionTask.planDrop(names, YearMonth.of(2027, 1), 1));
+    }
+
+    @Test
+    void testPlanDropDisabledOrEmpty() {
+        List<String> names = List.of("p201001", "p_future");
+        assertTrue(LogPartitionTask.planDrop(names, YearMonth.of(2026, 10), 0).isEmpty());
+        assertTrue(LogPartitionTask.planDrop(names, YearMonth.of(2026, 10), -1).isEmpty());
+        assertTrue(LogPartitionTask.planDrop(Collections.emptyList(), YearMonth.of(2026, 10), 6).isEmpty());
+    }
+
+    @Test
+    void testPlanDropNeverDropsPmaxOrFuture() {
+        List<String> names = List.of("p200001", "pmax", "p_future");
+        assertEquals(List.of("p200001"), LogPartitionTask.planDrop(names, YearMonth.of(2026, 10), 1));
+    }
+
+    @Test
+    void testMaintainSkipsTablesWithoutFuturePartition() {
+        when(logPartitionMapper.selectPartitionNames("sys_oper_log")).thenReturn(Collections.emptyList());
+        when(logPartitionMapper.selectPartitionNames("sys_logininfor")).thenReturn(List.of("p202001", "pmax"));
+
+        logPartitionTask.maintain(2, 6);
+
+        verify(logPartitionMapper, never()).reorganizeFuturePartition(anyString(), anyMap());
+        verify(logPartitionMapper, never()).dropPartitions(anyString(), anyList());
+        verify(logPartitionMapper, never()).selectMinTime(anyString(), anyString());
+    }
+}
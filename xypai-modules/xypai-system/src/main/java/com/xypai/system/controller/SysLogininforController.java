@@ -41,9 +41,10 @@ public class SysLogininforController extends BaseController {
     @RequiresPermissions("system:logininfor:list")
     @GetMapping("/list")
     public TableDataInfo list(SysLogininfor logininfor) {
-        startPage();
+        long total = logininforService.countLogininfor(logininfor);
+        startPageWithoutCount();
         List<SysLogininfor> list = logininforService.selectLogininforList(logininfor);
-        return getDataTable(list);
+        return getDataTable(list, total);
     }
 
     @Log(title = "登录日志", businessType = BusinessType.EXPORT)
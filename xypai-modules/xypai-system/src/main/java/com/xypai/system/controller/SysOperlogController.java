@@ -14,6 +14,8 @@ import org.springframework.web.bind.annotation.RestController;
 import com.xypai.common.core.utils.poi.ExcelUtil;
 import com.xypai.common.core.web.controller.BaseController;
 import com.xypai.common.core.web.domain.AjaxResult;
+import com.xypai.common.core.web.page.CursorPage;
+import com.xypai.common.core.web.page.CursorRequest;
 import com.xypai.common.core.web.page.TableDataInfo;
 import com.xypai.common.log.annotation.Log;
 import com.xypai.common.log.enums.BusinessType;
@@ -36,18 +38,32 @@ public class SysOperlogController extends BaseController {
     @RequiresPermissions("system:operlog:list")
     @GetMapping("/list")
     public TableDataInfo list(SysOperLog operLog) {
-        startPage();
+        long total = operLogService.countOperLog(operLog);
+        startPageWithoutCount();
         List<SysOperLog> list = operLogService.selectOperLogList(operLog);
-        return getDataTable(list);
+        return getDataTable(list, total);
+    }
+
+    /**
+     * 游标分页查询操作日志，下一页传回 nextCursor，深翻页不受偏移量影响
+     */
+    @RequiresPermissions("system:operlog:list")
+    @GetMapping("/cursor")
+    public CursorPage<SysOperLog> cursorList(SysOperLog operLog) {
+        CursorRequest request = getCursorRequest();
+        CursorPage<SysOperLog> page = operLogService.selectOperLogPage(operLog, request);
+        if (request.isFirstPage()) {
+            page.setTotal(operLogService.countOperLog(operLog));
+        }
+        return page;
     }
 
     @Log(title = "操作日志", businessType = BusinessType.EXPORT)
     @RequiresPermissions("system:operlog:export")
     @PostMapping("/export")
     public void export(HttpServletResponse response, SysOperLog operLog) {
-        List<SysOperLog> list = operLogService.selectOperLogList(operLog);
         ExcelUtil<SysOperLog> util = new ExcelUtil<SysOperLog>(SysOperLog.class);
-        util.exportExcel(response, list, "操作日志");
+        operLogService.streamOperLogList(operLog, rows -> util.exportExcel(response, rows, "操作日志"));
     }
 
     @Log(title = "操作日志", businessType = BusinessType.DELETE)
@@ -70,4 +86,11 @@ public class SysOperlogController extends BaseController {
     public AjaxResult add(@RequestBody SysOperLog operLog) {
         return toAjax(operLogService.insertOperlog(operLog));
     }
+
+    @InnerAuth
+    @PostMapping("/batch")
+    public AjaxResult addBatch(@RequestBody List<SysOperLog> operLogs) {
+        operLogService.insertOperlogBatch(operLogs);
+        return success();
+    }
 }
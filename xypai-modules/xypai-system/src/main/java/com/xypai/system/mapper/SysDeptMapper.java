@@ -44,6 +44,14 @@ public interface SysDeptMapper {
      */
     public List<SysDept> selectChildrenDeptById(Long deptId);
 
+    /**
+     * 查询部门及其全部下级部门ID
+     *
+     * @param deptId 部门ID
+     * @return 部门ID列表
+     */
+    public List<Long> selectDeptAndChildIds(Long deptId);
+
     /**
      * 根据ID查询所有子部门（正常状态）
      *
@@ -1,6 +1,7 @@
 package com.xypai.system.mapper;
 
 import java.util.List;
+import java.util.Map;
 
 import com.xypai.system.api.domain.SysLogininfor;
 
@@ -25,6 +26,21 @@ public interface SysLogininforMapper {
      */
     public List<SysLogininfor> selectLogininforList(SysLogininfor logininfor);
 
+    /**
+     * 查询系统登录日志总数
+     *
+     * @param logininfor 访问日志对象
+     * @return 总数
+     */
+    public long selectLogininforCount(SysLogininfor logininfor);
+
+    /**
+     * 查询登录日志表的执行计划，rows列为估算行数
+     *
+     * @return 执行计划
+     */
+    public List<Map<String, Object>> selectLogininforCountEstimate();
+
     /**
      * 批量删除系统登录日志
      *
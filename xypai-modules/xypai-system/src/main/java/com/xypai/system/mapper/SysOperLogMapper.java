@@ -1,7 +1,9 @@
 package com.xypai.system.mapper;
 
 import java.util.List;
+import java.util.Map;
 
+import org.apache.ibatis.cursor.Cursor;
 import com.xypai.system.api.domain.SysOperLog;
 
 /**
@@ -17,6 +19,14 @@ public interface SysOperLogMapper {
      */
     public int insertOperlog(SysOperLog operLog);
 
+    /**
+     * 批量新增操作日志
+     *
+     * @param operLogs 操作日志集合
+     * @return 结果
+     */
+    public int batchInsertOperlog(List<SysOperLog> operLogs);
+
     /**
      * 查询系统操作日志集合
      *
@@ -25,6 +35,37 @@ public interface SysOperLogMapper {
      */
     public List<SysOperLog> selectOperLogList(SysOperLog operLog);
 
+    /**
+     * 流式查询操作日志，结果逐条读取，不一次载入内存（需在事务内使用并关闭）
+     *
+     * @param operLog 操作日志对象
+     * @return 操作日志游标
+     */
+    public Cursor<SysOperLog> selectOperLogStream(SysOperLog operLog);
+
+    /**
+     * 按游标查询系统操作日志（params.cursorOperTime、params.cursorOperId 为上一页最后一行，params.fetchSize 为条数）
+     *
+     * @param operLog 操作日志对象
+     * @return 操作日志集合
+     */
+    public List<SysOperLog> selectOperLogCursorPage(SysOperLog operLog);
+
+    /**
+     * 查询系统操作日志总数
+     *
+     * @param operLog 操作日志对象
+     * @return 总数
+     */
+    public long selectOperLogCount(SysOperLog operLog);
+
+    /**
+     * 查询操作日志表的执行计划，rows列为估算行数
+     *
+     * @return 执行计划
+     */
+    public List<Map<String, Object>> selectOperLogCountEstimate();
+
     /**
      * 批量删除系统操作日志
      *
@@ -1,7 +1,10 @@
 package com.xypai.system.mapper;
 
+import java.util.Collection;
 import java.util.List;
 
+import org.apache.ibatis.annotations.Param;
+
 import com.xypai.system.domain.SysRoleDept;
 
 /**
@@ -41,4 +44,12 @@ public interface SysRoleDeptMapper {
      * @return 结果
      */
     public int batchRoleDept(List<SysRoleDept> roleDeptList);
+
+    /**
+     * 查询角色自定数据权限的部门
+     *
+     * @param roleIds 角色ID
+     * @return 部门ID列表
+     */
+    public List<Long> selectDeptIdsByRoleIds(@Param("roleIds") Collection<Long> roleIds);
 }
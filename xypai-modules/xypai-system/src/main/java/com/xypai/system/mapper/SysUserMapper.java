@@ -3,6 +3,7 @@ package com.xypai.system.mapper;
 import java.util.List;
 
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.cursor.Cursor;
 import com.xypai.system.api.domain.SysUser;
 
 /**
@@ -19,6 +20,14 @@ public interface SysUserMapper {
      */
     public List<SysUser> selectUserList(SysUser sysUser);
 
+    /**
+     * 流式查询用户信息，结果逐条读取，不一次载入内存（需在事务内使用并关闭）
+     *
+     * @param sysUser 用户信息对象
+     * @return 用户信息游标
+     */
+    public Cursor<SysUser> selectUserStream(SysUser sysUser);
+
     /**
      * 根据条件分页查询已配用户角色列表
      *
@@ -43,6 +52,14 @@ public interface SysUserMapper {
      */
     public SysUser selectUserByUserName(String userName);
 
+    /**
+     * 通过用户名批量查询用户ID
+     *
+     * @param userNames 用户名
+     * @return 用户对象信息（仅包含用户ID与用户名）
+     */
+    public List<SysUser> selectUsersByUserNames(@Param("userNames") List<String> userNames);
+
     /**
      * 通过用户ID查询用户
      *
@@ -67,6 +84,14 @@ public interface SysUserMapper {
      */
     public int updateUser(SysUser user);
 
+    /**
+     * 批量新增或修改用户信息，用户ID为空的新增，否则按用户ID修改导入的字段
+     *
+     * @param userList 用户信息
+     * @return 结果
+     */
+    public int upsertUsers(List<SysUser> userList);
+
     /**
      * 修改用户头像
      *
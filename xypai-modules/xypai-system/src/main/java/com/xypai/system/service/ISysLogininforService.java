@@ -25,6 +25,14 @@ public interface ISysLogininforService {
      */
     public List<SysLogininfor> selectLogininforList(SysLogininfor logininfor);
 
+    /**
+     * 查询系统登录日志总数，无查询条件时返回估算值
+     *
+     * @param logininfor 访问日志对象
+     * @return 总数
+     */
+    public long countLogininfor(SysLogininfor logininfor);
+
     /**
      * 批量删除系统登录日志
      *
@@ -1,7 +1,10 @@
 package com.xypai.system.service;
 
 import java.util.List;
+import java.util.function.Consumer;
 
+import com.xypai.common.core.web.page.CursorPage;
+import com.xypai.common.core.web.page.CursorRequest;
 import com.xypai.system.api.domain.SysOperLog;
 
 /**
@@ -18,6 +21,14 @@ public interface ISysOperLogService {
      */
     public int insertOperlog(SysOperLog operLog);
 
+    /**
+     * 批量新增操作日志
+     *
+     * @param operLogs 操作日志集合
+     * @return 结果
+     */
+    public int insertOperlogBatch(List<SysOperLog> operLogs);
+
     /**
      * 查询系统操作日志集合
      *
@@ -26,6 +37,31 @@ public interface ISysOperLogService {
      */
     public List<SysOperLog> selectOperLogList(SysOperLog operLog);
 
+    /**
+     * 流式读取操作日志集合，用于大数据量导出
+     *
+     * @param operLog 操作日志对象
+     * @param consumer 数据消费者，返回后结果集关闭
+     */
+    public void streamOperLogList(SysOperLog operLog, Consumer<Iterable<SysOperLog>> consumer);
+
+    /**
+     * 按游标分页查询系统操作日志，按操作时间、日志主键倒序
+     *
+     * @param operLog 操作日志对象
+     * @param request 游标分页请求
+     * @return 分页数据，不含总数
+     */
+    public CursorPage<SysOperLog> selectOperLogPage(SysOperLog operLog, CursorRequest request);
+
+    /**
+     * 查询系统操作日志总数，无查询条件时返回估算值
+     *
+     * @param operLog 操作日志对象
+     * @return 总数
+     */
+    public long countOperLog(SysOperLog operLog);
+
     /**
      * 批量删除系统操作日志
      *
@@ -1,6 +1,8 @@
 package com.xypai.system.service;
 
+import java.io.InputStream;
 import java.util.List;
+import java.util.function.Consumer;
 
 import com.xypai.system.api.domain.SysUser;
 
@@ -18,6 +20,14 @@ public interface ISysUserService {
      */
     public List<SysUser> selectUserList(SysUser user);
 
+    /**
+     * 流式读取用户信息集合，用于大数据量导出
+     *
+     * @param user 用户信息对象
+     * @param consumer 数据消费者，返回后结果集关闭
+     */
+    public void streamUserList(SysUser user, Consumer<Iterable<SysUser>> consumer);
+
     /**
      * 根据条件分页查询已分配用户角色列表
      *
@@ -203,4 +213,14 @@ public interface ISysUserService {
      * @return 结果
      */
     public String importUser(List<SysUser> userList, Boolean isUpdateSupport, String operName);
+
+    /**
+     * 流式导入用户数据，按批写入，不在内存中保留整个文件
+     *
+     * @param is              Excel文件输入流
+     * @param isUpdateSupport 是否更新支持，如果已存在，则进行更新数据
+     * @param operName        操作用户
+     * @return 结果
+     */
+    public String importUser(InputStream is, Boolean isUpdateSupport, String operName);
 }
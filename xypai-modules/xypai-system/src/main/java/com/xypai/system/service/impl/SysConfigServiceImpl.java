@@ -2,6 +2,7 @@ package com.xypai.system.service.impl;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -11,6 +12,7 @@ import com.xypai.common.core.constant.UserConstants;
 import com.xypai.common.core.exception.ServiceException;
 import com.xypai.common.core.text.Convert;
 import com.xypai.common.core.utils.StringUtils;
+import com.xypai.common.redis.annotation.DistributedLock;
 import com.xypai.common.redis.service.RedisService;
 import com.xypai.system.domain.SysConfig;
 import com.xypai.system.mapper.SysConfigMapper;
@@ -23,6 +25,11 @@ import com.xypai.system.service.ISysConfigService;
  */
 @Service
 public class SysConfigServiceImpl implements ISysConfigService {
+    /**
+     * 参数缓存锁，重置缓存与修改参数互斥
+     */
+    private static final String CONFIG_CACHE_LOCK = "sys_config:reset";
+
     @Autowired
     private SysConfigMapper configMapper;
 
@@ -58,18 +65,13 @@ public class SysConfigServiceImpl implements ISysConfigService {
      */
     @Override
     public String selectConfigByKey(String configKey) {
-        String configValue = Convert.toStr(redisService.getCacheObject(getCacheKey(configKey)));
-        if (StringUtils.isNotEmpty(configValue)) {
-            return configValue;
-        }
-        SysConfig config = new SysConfig();
-        config.setConfigKey(configKey);
-        SysConfig retConfig = configMapper.selectConfig(config);
-        if (StringUtils.isNotNull(retConfig)) {
-            redisService.setCacheObject(getCacheKey(configKey), retConfig.getConfigValue());
-            return retConfig.getConfigValue();
-        }
-        return StringUtils.EMPTY;
+        String configValue = Convert.toStr(redisService.getOrLoad(getCacheKey(configKey), CacheConstants.SYS_CACHE_EXPIRATION, TimeUnit.MINUTES, () -> {
+            SysConfig config = new SysConfig();
+            config.setConfigKey(configKey);
+            SysConfig retConfig = configMapper.selectConfig(config);
+            return StringUtils.isNotNull(retConfig) ? retConfig.getConfigValue() : null;
+        }, true));
+        return StringUtils.isNotNull(configValue) ? configValue : StringUtils.EMPTY;
     }
 
     /**
@@ -90,10 +92,11 @@ public class SysConfigServiceImpl implements ISysConfigService {
      * @return 结果
      */
     @Override
+    @DistributedLock(key = CONFIG_CACHE_LOCK, message = "参数缓存正在刷新，请稍后再试")
     public int insertConfig(SysConfig config) {
         int row = configMapper.insertConfig(config);
         if (row > 0) {
-            redisService.setCacheObject(getCacheKey(config.getConfigKey()), config.getConfigValue());
+            redisService.setCacheObject(getCacheKey(config.getConfigKey()), config.getConfigValue(), CacheConstants.SYS_CACHE_EXPIRATION, TimeUnit.MINUTES);
         }
         return row;
     }
@@ -105,6 +108,7 @@ public class SysConfigServiceImpl implements ISysConfigService {
      * @return 结果
      */
     @Override
+    @DistributedLock(key = CONFIG_CACHE_LOCK, message = "参数缓存正在刷新，请稍后再试")
     public int updateConfig(SysConfig config) {
         SysConfig temp = configMapper.selectConfigById(config.getConfigId());
         if (!StringUtils.equals(temp.getConfigKey(), config.getConfigKey())) {
@@ -113,7 +117,7 @@ public class SysConfigServiceImpl implements ISysConfigService {
 
         int row = configMapper.updateConfig(config);
         if (row > 0) {
-            redisService.setCacheObject(getCacheKey(config.getConfigKey()), config.getConfigValue());
+            redisService.setCacheObject(getCacheKey(config.getConfigKey()), config.getConfigValue(), CacheConstants.SYS_CACHE_EXPIRATION, TimeUnit.MINUTES);
         }
         return row;
     }
@@ -124,6 +128,7 @@ public class SysConfigServiceImpl implements ISysConfigService {
      * @param configIds 需要删除的参数ID
      */
     @Override
+    @DistributedLock(key = CONFIG_CACHE_LOCK, message = "参数缓存正在刷新，请稍后再试")
     public void deleteConfigByIds(Long[] configIds) {
         for (Long configId : configIds) {
             SysConfig config = selectConfigById(configId);
@@ -142,7 +147,7 @@ public class SysConfigServiceImpl implements ISysConfigService {
     public void loadingConfigCache() {
         List<SysConfig> configsList = configMapper.selectConfigList(new SysConfig());
         for (SysConfig config : configsList) {
-            redisService.setCacheObject(getCacheKey(config.getConfigKey()), config.getConfigValue());
+            redisService.setCacheObject(getCacheKey(config.getConfigKey()), config.getConfigValue(), CacheConstants.SYS_CACHE_EXPIRATION, TimeUnit.MINUTES);
         }
     }
 
@@ -157,8 +162,13 @@ public class SysConfigServiceImpl implements ISysConfigService {
 
     /**
      * 重置参数缓存数据
+     * <p>
+     * 新增、修改、删除参数持有同一把锁，避免重置时读出的旧值覆盖刚修改的缓存。
+     * sys_config 表没有版本号，锁的租期过期（如长时间GC停顿）后无法拒绝过期持有者的写入，
+     * 此时缓存中可能留下修改前的值，直到下次修改或重置该参数。
      */
     @Override
+    @DistributedLock(key = CONFIG_CACHE_LOCK, waitTime = 0, message = "参数缓存正在刷新，请稍后再试")
     public void resetConfigCache() {
         clearConfigCache();
         loadingConfigCache();
@@ -0,0 +1,34 @@
+package com.xypai.system.service.impl;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import com.xypai.common.datascope.service.DataScopeDeptProvider;
+import com.xypai.system.mapper.SysDeptMapper;
+import com.xypai.system.mapper.SysRoleDeptMapper;
+
+/**
+ * 数据权限部门查询，供 xypai.datascope.resolve-dept-ids 开启时预先查出部门ID集合
+ *
+ * @author xypai
+ */
+@Service
+public class SysDataScopeDeptProviderImpl implements DataScopeDeptProvider {
+    @Autowired
+    private SysRoleDeptMapper roleDeptMapper;
+
+    @Autowired
+    private SysDeptMapper deptMapper;
+
+    @Override
+    public List<Long> selectDeptIdsByRoleIds(Collection<Long> roleIds) {
+        return roleDeptMapper.selectDeptIdsByRoleIds(roleIds);
+    }
+
+    @Override
+    public List<Long> selectDeptAndChildIds(Long deptId) {
+        return deptMapper.selectDeptAndChildIds(deptId);
+    }
+}
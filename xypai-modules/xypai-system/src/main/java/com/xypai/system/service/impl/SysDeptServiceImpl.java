@@ -13,6 +13,7 @@ import com.xypai.common.core.text.Convert;
 import com.xypai.common.core.utils.SpringUtils;
 import com.xypai.common.core.utils.StringUtils;
 import com.xypai.common.datascope.annotation.DataScope;
+import com.xypai.common.datascope.service.DataScopeDeptCache;
 import com.xypai.common.security.utils.SecurityUtils;
 import com.xypai.system.api.domain.SysDept;
 import com.xypai.system.api.domain.SysRole;
@@ -35,6 +36,9 @@ public class SysDeptServiceImpl implements ISysDeptService {
     @Autowired
     private SysRoleMapper roleMapper;
 
+    @Autowired
+    private DataScopeDeptCache dataScopeDeptCache;
+
     /**
      * 查询部门管理数据
      *
@@ -199,7 +203,9 @@ public class SysDeptServiceImpl implements ISysDeptService {
             throw new ServiceException("部门停用，不允许新增");
         }
         dept.setAncestors(info.getAncestors() + "," + dept.getParentId());
-        return deptMapper.insertDept(dept);
+        int result = deptMapper.insertDept(dept);
+        dataScopeDeptCache.clear();
+        return result;
     }
 
     /**
@@ -224,6 +230,7 @@ public class SysDeptServiceImpl implements ISysDeptService {
             // 如果该部门是启用状态，则启用该部门的所有上级部门
             updateParentDeptStatusNormal(dept);
         }
+        dataScopeDeptCache.clear();
         return result;
     }
 
@@ -263,7 +270,9 @@ public class SysDeptServiceImpl implements ISysDeptService {
      */
     @Override
     public int deleteDeptById(Long deptId) {
-        return deptMapper.deleteDeptById(deptId);
+        int result = deptMapper.deleteDeptById(deptId);
+        dataScopeDeptCache.clear();
+        return result;
     }
 
     /**
@@ -69,16 +69,11 @@ public class SysDictTypeServiceImpl implements ISysDictTypeService {
      */
     @Override
     public List<SysDictData> selectDictDataByType(String dictType) {
-        List<SysDictData> dictDatas = DictUtils.getDictCache(dictType);
-        if (StringUtils.isNotEmpty(dictDatas)) {
-            return dictDatas;
-        }
-        dictDatas = dictDataMapper.selectDictDataByType(dictType);
-        if (StringUtils.isNotEmpty(dictDatas)) {
-            DictUtils.setDictCache(dictType, dictDatas);
-            return dictDatas;
-        }
-        return null;
+        List<SysDictData> dictDatas = DictUtils.getOrLoadDictCache(dictType, () -> {
+            List<SysDictData> loaded = dictDataMapper.selectDictDataByType(dictType);
+            return StringUtils.isNotEmpty(loaded) ? loaded : null;
+        });
+        return StringUtils.isNotEmpty(dictDatas) ? dictDatas : null;
     }
 
     /**
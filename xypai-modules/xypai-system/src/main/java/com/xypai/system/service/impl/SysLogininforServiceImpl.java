@@ -1,9 +1,12 @@
 package com.xypai.system.service.impl;
 
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import com.xypai.common.core.text.Convert;
+import com.xypai.common.core.utils.StringUtils;
 import com.xypai.system.api.domain.SysLogininfor;
 import com.xypai.system.mapper.SysLogininforMapper;
 import com.xypai.system.service.ISysLogininforService;
@@ -40,6 +43,24 @@ public class SysLogininforServiceImpl implements ISysLogininforService {
         return logininforMapper.selectLogininforList(logininfor);
     }
 
+    /**
+     * 查询系统登录日志总数，无查询条件时返回估算值
+     *
+     * @param logininfor 访问日志对象
+     * @return 总数
+     */
+    @Override
+    public long countLogininfor(SysLogininfor logininfor) {
+        if (hasCondition(logininfor)) {
+            return logininforMapper.selectLogininforCount(logininfor);
+        }
+        long rows = 0;
+        for (Map<String, Object> plan : logininforMapper.selectLogininforCountEstimate()) {
+            rows += Convert.toLong(plan.get("rows"), 0L);
+        }
+        return rows;
+    }
+
     /**
      * 批量删除系统登录日志
      *
@@ -58,4 +79,15 @@ public class SysLogininforServiceImpl implements ISysLogininforService {
     public void cleanLogininfor() {
         logininforMapper.cleanLogininfor();
     }
+
+    /**
+     * 是否有查询条件，无条件时全表count(*)代价过高，改用估算值
+     */
+    private boolean hasCondition(SysLogininfor logininfor) {
+        Map<String, Object> params = logininfor.getParams();
+        return StringUtils.isNotEmpty(logininfor.getUserName()) || StringUtils.isNotEmpty(logininfor.getIpaddr())
+                || StringUtils.isNotEmpty(logininfor.getStatus())
+                || StringUtils.isNotEmpty(Convert.toStr(params.get("beginTime")))
+                || StringUtils.isNotEmpty(Convert.toStr(params.get("endTime")));
+    }
 }
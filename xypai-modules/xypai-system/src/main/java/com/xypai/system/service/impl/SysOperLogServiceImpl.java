@@ -1,9 +1,21 @@
 package com.xypai.system.service.impl;
 
+import java.io.IOException;
+import java.util.Date;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
+import org.apache.ibatis.cursor.Cursor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import com.xypai.common.core.exception.ServiceException;
+import com.xypai.common.core.text.Convert;
+import com.xypai.common.core.utils.StringUtils;
+import com.xypai.common.core.web.page.CursorPage;
+import com.xypai.common.core.web.page.CursorRequest;
+import com.xypai.common.core.web.page.CursorToken;
 import com.xypai.system.api.domain.SysOperLog;
 import com.xypai.system.mapper.SysOperLogMapper;
 import com.xypai.system.service.ISysOperLogService;
@@ -15,6 +27,11 @@ import com.xypai.system.service.ISysOperLogService;
  */
 @Service
 public class SysOperLogServiceImpl implements ISysOperLogService {
+    /**
+     * 单条INSERT语句最多插入的行数
+     */
+    private static final int BATCH_INSERT_SIZE = 500;
+
     @Autowired
     private SysOperLogMapper operLogMapper;
 
@@ -29,6 +46,25 @@ public class SysOperLogServiceImpl implements ISysOperLogService {
         return operLogMapper.insertOperlog(operLog);
     }
 
+    /**
+     * 批量新增操作日志
+     *
+     * @param operLogs 操作日志集合
+     * @return 结果
+     */
+    @Override
+    @Transactional
+    public int insertOperlogBatch(List<SysOperLog> operLogs) {
+        if (StringUtils.isEmpty(operLogs)) {
+            return 0;
+        }
+        int rows = 0;
+        for (int i = 0; i < operLogs.size(); i += BATCH_INSERT_SIZE) {
+            rows += operLogMapper.batchInsertOperlog(operLogs.subList(i, Math.min(i + BATCH_INSERT_SIZE, operLogs.size())));
+        }
+        return rows;
+    }
+
     /**
      * 查询系统操作日志集合
      *
@@ -40,6 +76,63 @@ public class SysOperLogServiceImpl implements ISysOperLogService {
         return operLogMapper.selectOperLogList(operLog);
     }
 
+    /**
+     * 流式读取操作日志集合，用于大数据量导出
+     *
+     * @param operLog 操作日志对象
+     * @param consumer 数据消费者，返回后结果集关闭
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void streamOperLogList(SysOperLog operLog, Consumer<Iterable<SysOperLog>> consumer) {
+        try (Cursor<SysOperLog> cursor = operLogMapper.selectOperLogStream(operLog)) {
+            consumer.accept(cursor);
+        } catch (IOException e) {
+            throw new ServiceException("关闭操作日志结果集失败");
+        }
+    }
+
+    /**
+     * 按游标分页查询系统操作日志，游标为上一页最后一行的 (operTime, operId)
+     *
+     * @param operLog 操作日志对象
+     * @param request 游标分页请求
+     * @return 分页数据，不含总数
+     */
+    @Override
+    public CursorPage<SysOperLog> selectOperLogPage(SysOperLog operLog, CursorRequest request) {
+        Map<String, Object> params = operLog.getParams();
+        CursorToken cursor = request.getCursor();
+        if (cursor != null) {
+            if (cursor.size() != 2) {
+                throw new ServiceException("分页游标无效");
+            }
+            params.put("cursorOperTime", cursor.get(0, Date.class));
+            params.put("cursorOperId", cursor.get(1, Long.class));
+        }
+        params.put("fetchSize", request.getFetchSize());
+        List<SysOperLog> rows = operLogMapper.selectOperLogCursorPage(operLog);
+        return CursorPage.of(rows, request, row -> new Object[] { row.getOperTime(), row.getOperId() });
+    }
+
+    /**
+     * 查询系统操作日志总数，无查询条件时返回估算值
+     *
+     * @param operLog 操作日志对象
+     * @return 总数
+     */
+    @Override
+    public long countOperLog(SysOperLog operLog) {
+        if (hasCondition(operLog)) {
+            return operLogMapper.selectOperLogCount(operLog);
+        }
+        long rows = 0;
+        for (Map<String, Object> plan : operLogMapper.selectOperLogCountEstimate()) {
+            rows += Convert.toLong(plan.get("rows"), 0L);
+        }
+        return rows;
+    }
+
     /**
      * 批量删除系统操作日志
      *
@@ -69,4 +162,16 @@ public class SysOperLogServiceImpl implements ISysOperLogService {
     public void cleanOperLog() {
         operLogMapper.cleanOperLog();
     }
+
+    /**
+     * 是否有查询条件，无条件时全表count(*)代价过高，改用估算值
+     */
+    private boolean hasCondition(SysOperLog operLog) {
+        Map<String, Object> params = operLog.getParams();
+        return StringUtils.isNotEmpty(operLog.getTitle()) || StringUtils.isNotEmpty(operLog.getOperName())
+                || StringUtils.isNotEmpty(operLog.getOperIp()) || operLog.getBusinessType() != null
+                || StringUtils.isNotEmpty(operLog.getBusinessTypes()) || operLog.getStatus() != null
+                || StringUtils.isNotEmpty(Convert.toStr(params.get("beginTime")))
+                || StringUtils.isNotEmpty(Convert.toStr(params.get("endTime")));
+    }
 }
@@ -14,6 +14,7 @@ import com.xypai.common.core.exception.ServiceException;
 import com.xypai.common.core.utils.SpringUtils;
 import com.xypai.common.core.utils.StringUtils;
 import com.xypai.common.datascope.annotation.DataScope;
+import com.xypai.common.datascope.service.DataScopeDeptCache;
 import com.xypai.common.security.utils.SecurityUtils;
 import com.xypai.system.api.domain.SysRole;
 import com.xypai.system.api.domain.SysUser;
@@ -45,6 +46,9 @@ public class SysRoleServiceImpl implements ISysRoleService {
     @Autowired
     private SysRoleDeptMapper roleDeptMapper;
 
+    @Autowired
+    private DataScopeDeptCache dataScopeDeptCache;
+
     /**
      * 根据条件分页查询角色数据
      *
@@ -256,6 +260,7 @@ public class SysRoleServiceImpl implements ISysRoleService {
         roleMapper.updateRole(role);
         // 删除角色与部门关联
         roleDeptMapper.deleteRoleDeptByRoleId(role.getRoleId());
+        dataScopeDeptCache.clear();
         // 新增角色和部门信息（数据权限）
         return insertRoleDept(role);
     }
@@ -315,6 +320,7 @@ public class SysRoleServiceImpl implements ISysRoleService {
         roleMenuMapper.deleteRoleMenuByRoleId(roleId);
         // 删除角色与部门关联
         roleDeptMapper.deleteRoleDeptByRoleId(roleId);
+        dataScopeDeptCache.clear();
         return roleMapper.deleteRoleById(roleId);
     }
 
@@ -339,6 +345,7 @@ public class SysRoleServiceImpl implements ISysRoleService {
         roleMenuMapper.deleteRoleMenu(roleIds);
         // 删除角色与部门关联
         roleDeptMapper.deleteRoleDept(roleIds);
+        dataScopeDeptCache.clear();
         return roleMapper.deleteRoleByIds(roleIds);
     }
 
@@ -1,10 +1,18 @@
 package com.xypai.system.service.impl;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
+import jakarta.validation.ConstraintViolationException;
 import jakarta.validation.Validator;
+import org.apache.ibatis.cursor.Cursor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -16,6 +24,8 @@ import com.xypai.common.core.exception.ServiceException;
 import com.xypai.common.core.utils.SpringUtils;
 import com.xypai.common.core.utils.StringUtils;
 import com.xypai.common.core.utils.bean.BeanValidators;
+import com.xypai.common.core.utils.poi.ExcelRow;
+import com.xypai.common.core.utils.poi.ExcelUtil;
 import com.xypai.common.datascope.annotation.DataScope;
 import com.xypai.common.security.utils.SecurityUtils;
 import com.xypai.system.api.domain.SysRole;
@@ -40,6 +50,10 @@ import com.xypai.system.service.ISysUserService;
 @Service
 public class SysUserServiceImpl implements ISysUserService {
     private static final Logger log = LoggerFactory.getLogger(SysUserServiceImpl.class);
+    /** 导入用户每批行数 */
+    private static final int IMPORT_BATCH_SIZE = 1000;
+    /** 导入结果消息中最多列出的明细行数 */
+    private static final int IMPORT_MESSAGE_LINES = 1000;
     @Autowired
     protected Validator validator;
     @Autowired
@@ -69,6 +83,23 @@ public class SysUserServiceImpl implements ISysUserService {
         return userMapper.selectUserList(user);
     }
 
+    /**
+     * 流式读取用户信息集合，用于大数据量导出
+     *
+     * @param user 用户信息
+     * @param consumer 数据消费者，返回后结果集关闭
+     */
+    @Override
+    @DataScope(deptAlias = "d", userAlias = "u")
+    @Transactional(readOnly = true)
+    public void streamUserList(SysUser user, Consumer<Iterable<SysUser>> consumer) {
+        try (Cursor<SysUser> cursor = userMapper.selectUserStream(user)) {
+            consumer.accept(cursor);
+        } catch (IOException e) {
+            throw new ServiceException("关闭用户结果集失败");
+        }
+    }
+
     /**
      * 根据条件分页查询已分配用户角色列表
      *
@@ -440,51 +471,194 @@ public class SysUserServiceImpl implements ISysUserService {
         if (StringUtils.isNull(userList) || userList.size() == 0) {
             throw new ServiceException("导入用户数据不能为空！");
         }
-        int successNum = 0;
-        int failureNum = 0;
-        StringBuilder successMsg = new StringBuilder();
-        StringBuilder failureMsg = new StringBuilder();
-        for (SysUser user : userList) {
-            try {
-                // 验证是否存在这个用户
-                SysUser u = userMapper.selectUserByUserName(user.getUserName());
-                if (StringUtils.isNull(u)) {
-                    BeanValidators.validateWithException(validator, user);
-                    deptService.checkDeptDataScope(user.getDeptId());
-                    String password = configService.selectConfigByKey("sys.user.initPassword");
-                    user.setPassword(SecurityUtils.encryptPassword(password));
-                    user.setCreateBy(operName);
-                    userMapper.insertUser(user);
-                    successNum++;
-                    successMsg.append("<br/>" + successNum + "、账号 " + user.getUserName() + " 导入成功");
-                } else if (isUpdateSupport) {
-                    BeanValidators.validateWithException(validator, user);
-                    checkUserAllowed(u);
-                    checkUserDataScope(u.getUserId());
-                    deptService.checkDeptDataScope(user.getDeptId());
-                    user.setUserId(u.getUserId());
-                    user.setUpdateBy(operName);
-                    userMapper.updateUser(user);
-                    successNum++;
-                    successMsg.append("<br/>" + successNum + "、账号 " + user.getUserName() + " 更新成功");
+        UserImport userImport = new UserImport(isUpdateSupport, operName);
+        List<ExcelRow<SysUser>> rows = new ArrayList<>(IMPORT_BATCH_SIZE);
+        for (int i = 0; i < userList.size(); i++) {
+            // 数据从表头下一行开始
+            rows.add(new ExcelRow<>(i + 2, userList.get(i)));
+            if (rows.size() == IMPORT_BATCH_SIZE || i == userList.size() - 1) {
+                userImport.importBatch(rows);
+                rows = new ArrayList<>(IMPORT_BATCH_SIZE);
+            }
+        }
+        return userImport.getMessage();
+    }
+
+    /**
+     * 流式导入用户数据
+     *
+     * @param is              Excel文件输入流
+     * @param isUpdateSupport 是否更新支持，如果已存在，则进行更新数据
+     * @param operName        操作用户
+     * @return 结果
+     */
+    @Override
+    public String importUser(InputStream is, Boolean isUpdateSupport, String operName) {
+        UserImport userImport = new UserImport(isUpdateSupport, operName);
+        new ExcelUtil<SysUser>(SysUser.class).importExcel(is, 0, IMPORT_BATCH_SIZE, userImport::importBatch);
+        return userImport.getMessage();
+    }
+
+    /**
+     * 一次导入的状态：按批查询已存在的用户、并行校验、多行写入，逐行记录结果
+     */
+    private class UserImport {
+        private final boolean updateSupport;
+        private final String operName;
+        /** 部门数据权限校验结果，null表示有权限 */
+        private final Map<Long, String> deptScopeErrors = new HashMap<>();
+        private final StringBuilder successMsg = new StringBuilder();
+        private final StringBuilder failureMsg = new StringBuilder();
+        private String password;
+        private int successNum;
+        private int failureNum;
+
+        UserImport(Boolean updateSupport, String operName) {
+            this.updateSupport = Boolean.TRUE.equals(updateSupport);
+            this.operName = operName;
+        }
+
+        void importBatch(List<ExcelRow<SysUser>> rows) {
+            List<String> userNames = rows.stream().filter(row -> !row.hasError())
+                    .map(row -> row.getData().getUserName()).filter(StringUtils::isNotEmpty).distinct().collect(Collectors.toList());
+            Map<String, SysUser> existing = userNames.isEmpty() ? Collections.emptyMap()
+                    : userMapper.selectUsersByUserNames(userNames).stream().collect(Collectors.toMap(SysUser::getUserName, u -> u, (a, b) -> a));
+
+            Map<String, Integer> seen = new HashMap<>();
+            List<ExcelRow<SysUser>> writes = new ArrayList<>(rows.size());
+            for (ExcelRow<SysUser> row : rows) {
+                SysUser user = row.getData();
+                if (!row.hasError()) {
+                    Integer firstRow = StringUtils.isEmpty(user.getUserName()) ? null : seen.putIfAbsent(user.getUserName(), row.getRowNum());
+                    if (firstRow != null) {
+                        row.setError("与第 " + firstRow + " 行账号重复");
+                    } else if (existing.containsKey(user.getUserName()) && !updateSupport) {
+                        failureNum++;
+                        appendLine(failureMsg, failureNum, "、账号 " + user.getUserName() + " 已存在");
+                        continue;
+                    }
+                }
+                if (row.hasError()) {
+                    failure(row, row.getError());
                 } else {
-                    failureNum++;
-                    failureMsg.append("<br/>" + failureNum + "、账号 " + user.getUserName() + " 已存在");
+                    writes.add(row);
                 }
+            }
+
+            // Validator 线程安全，校验与数据库无关，大批量时并行执行
+            writes.parallelStream().forEach(row -> {
+                try {
+                    BeanValidators.validateWithException(validator, row.getData());
+                } catch (ConstraintViolationException e) {
+                    row.setError(e.getMessage());
+                }
+            });
+
+            // 数据权限依赖当前登录用户，在调用线程中校验
+            List<ExcelRow<SysUser>> upserts = new ArrayList<>(writes.size());
+            for (ExcelRow<SysUser> row : writes) {
+                SysUser user = row.getData();
+                try {
+                    if (row.hasError()) {
+                        throw new ServiceException(row.getError());
+                    }
+                    SysUser u = existing.get(user.getUserName());
+                    if (StringUtils.isNull(u)) {
+                        checkDeptDataScope(user.getDeptId());
+                        user.setUserId(null);
+                        user.setPassword(getPassword());
+                        user.setCreateBy(operName);
+                    } else {
+                        checkUserAllowed(u);
+                        checkUserDataScope(u.getUserId());
+                        checkDeptDataScope(user.getDeptId());
+                        user.setUserId(u.getUserId());
+                        user.setUpdateBy(operName);
+                    }
+                    upserts.add(row);
+                } catch (Exception e) {
+                    failure(row, e.getMessage());
+                }
+            }
+            upsert(upserts);
+        }
+
+        /**
+         * 整批写入失败时逐行重试，定位出错的行
+         */
+        private void upsert(List<ExcelRow<SysUser>> rows) {
+            if (rows.isEmpty()) {
+                return;
+            }
+            try {
+                userMapper.upsertUsers(rows.stream().map(ExcelRow::getData).collect(Collectors.toList()));
             } catch (Exception e) {
-                failureNum++;
-                String msg = "<br/>" + failureNum + "、账号 " + user.getUserName() + " 导入失败：";
-                failureMsg.append(msg + e.getMessage());
-                log.error(msg, e);
+                if (rows.size() == 1) {
+                    failure(rows.get(0), e.getMessage());
+                    log.error("导入用户失败 row={}", rows.get(0).getRowNum(), e);
+                } else {
+                    rows.forEach(row -> upsert(Collections.singletonList(row)));
+                }
+                return;
+            }
+            for (ExcelRow<SysUser> row : rows) {
+                successNum++;
+                String action = StringUtils.isNull(row.getData().getUserId()) ? " 导入成功" : " 更新成功";
+                appendLine(successMsg, successNum, "、账号 " + row.getData().getUserName() + action);
+            }
+        }
+
+        private void checkDeptDataScope(Long deptId) {
+            if (!deptScopeErrors.containsKey(deptId)) {
+                try {
+                    deptService.checkDeptDataScope(deptId);
+                    deptScopeErrors.put(deptId, null);
+                } catch (ServiceException e) {
+                    deptScopeErrors.put(deptId, e.getMessage());
+                }
+            }
+            String error = deptScopeErrors.get(deptId);
+            if (error != null) {
+                throw new ServiceException(error);
+            }
+        }
+
+        /**
+         * 初始密码只加密一次，BCrypt 每次加密耗时数十毫秒
+         */
+        private String getPassword() {
+            if (password == null) {
+                password = SecurityUtils.encryptPassword(configService.selectConfigByKey("sys.user.initPassword"));
             }
+            return password;
+        }
+
+        private void failure(ExcelRow<SysUser> row, String message) {
+            failureNum++;
+            appendLine(failureMsg, failureNum, "、第 " + row.getRowNum() + " 行账号 " + row.getData().getUserName() + " 导入失败：" + message);
         }
-        if (failureNum > 0) {
-            failureMsg.insert(0, "很抱歉，导入失败！共 " + failureNum + " 条数据格式不正确，错误如下：");
-            throw new ServiceException(failureMsg.toString());
-        } else {
+
+        /**
+         * 明细最多保留 IMPORT_MESSAGE_LINES 行，大文件导入时消息不随行数增长
+         */
+        private void appendLine(StringBuilder msg, int num, String line) {
+            if (num <= IMPORT_MESSAGE_LINES) {
+                msg.append("<br/>").append(num).append(line);
+            } else if (num == IMPORT_MESSAGE_LINES + 1) {
+                msg.append("<br/>……");
+            }
+        }
+
+        String getMessage() {
+            if (successNum + failureNum == 0) {
+                throw new ServiceException("导入用户数据不能为空！");
+            }
+            if (failureNum > 0) {
+                failureMsg.insert(0, "很抱歉，导入失败！共 " + failureNum + " 条数据格式不正确，错误如下：");
+                throw new ServiceException(failureMsg.toString());
+            }
             successMsg.insert(0, "恭喜您，数据已全部导入成功！共 " + successNum + " 条，数据如下：");
+            return successMsg.toString();
         }
-        return successMsg.toString();
     }
-
 }
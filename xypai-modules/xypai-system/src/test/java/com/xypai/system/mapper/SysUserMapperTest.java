@@ -0,0 +1,209 @@
+package com.xypai.system.mapper;
+
+import com.xypai.system.api.domain.SysUser;
+import org.apache.ibatis.builder.xml.XMLMapperBuilder;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.reflection.ParamNameResolver;
+import org.apache.ibatis.scripting.defaults.DefaultParameterHandler;
+import org.apache.ibatis.session.Configuration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.InputStream;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 用户批量导入SQL（upsertUsers）测试类
+ * <p>
+ * 解析真实的映射文件生成SQL，在H2（MySQL兼容模式）中执行；H2 不支持 MySQL 的 if() 与 sysdate()，执行前替换为等价的 casewhen() 与 now()。
+ *
+ * @author xypai
+ * @date 2025-01-01
+ */
+class SysUserMapperTest {
+
+    private static final String UPSERT_USERS = "com.xypai.system.mapper.SysUserMapper.upsertUsers";
+
+    private Configuration configuration;
+
+    private Connection connection;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        configuration = new Configuration();
+        configuration.getTypeAliasRegistry().registerAliases("com.xypai.system.api.domain");
+        String resource = "mapper/system/SysUserMapper.xml";
+        try (InputStream is = getClass().getClassLoader().getResourceAsStream(resource)) {
+            new XMLMapperBuilder(is, configuration, resource, configuration.getSqlFragments()).parse();
+        }
+
+        connection = DriverManager.getConnection("jdbc:h2:mem:sys_user;MODE=MySQL;DB_CLOSE_DELAY=-1");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("drop table if exists sys_user");
+            statement.execute("create table sys_user ("
+                    + "user_id bigint not null auto_increment primary key, dept_id bigint default null,"
+                    + "user_name varchar(30) not null, nick_name varchar(30) not null,"
+                    + "email varchar(50) default '', phonenumber varchar(11) default '',"
+                    + "sex char(1) default '0', password varchar(100) default '', status char(1) default '0',"
+                    + "create_by varchar(64) default '', create_time datetime, update_by varchar(64) default '',"
+                    + "update_time datetime, remark varchar(500) default null)");
+            statement.execute("alter table sys_user alter column user_id restart with 100");
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Test
+    void testInsertUsesDefaults() throws SQLException {
+        SysUser user = new SysUser();
+        user.setDeptId(0L);
+        user.setUserName("zhangsan");
+        user.setSex("");
+        user.setPassword("secret");
+        user.setCreateBy("admin");
+
+        assertEquals(1, upsert(List.of(user)));
+
+        Map<String, Object> row = select("zhangsan");
+        assertEquals(100L, row.get("USER_ID"));
+        // 部门编号为0时视为未填写
+        assertNull(row.get("DEPT_ID"));
+        assertEquals("", row.get("NICK_NAME"));
+        assertEquals("", row.get("EMAIL"));
+        assertEquals("", row.get("PHONENUMBER"));
+        assertEquals("0", row.get("SEX"));
+        assertEquals("0", row.get("STATUS"));
+        assertEquals("secret", row.get("PASSWORD"));
+        assertEquals("admin", row.get("CREATE_BY"));
+        assertNotNull(row.get("CREATE_TIME"));
+        assertNull(row.get("UPDATE_TIME"));
+    }
+
+    @Test
+    void testUpdateKeepsColumnsNotImported() throws SQLException {
+        insert(100L, "zhangsan");
+        SysUser user = new SysUser(100L);
+        user.setUserName("zhangsan");
+        user.setStatus("1");
+        user.setSex("");
+        user.setUpdateBy("importer");
+
+        upsert(List.of(user));
+
+        Map<String, Object> row = select("zhangsan");
+        assertEquals(1, count());
+        assertEquals(103L, row.get("DEPT_ID"));
+        assertEquals("张三", row.get("NICK_NAME"));
+        assertEquals("zs@example.com", row.get("EMAIL"));
+        assertEquals("15888888888", row.get("PHONENUMBER"));
+        assertEquals("1", row.get("SEX"));
+        assertEquals("1", row.get("STATUS"));
+        assertEquals("hash", row.get("PASSWORD"));
+        assertEquals("old", row.get("REMARK"));
+        assertEquals("creator", row.get("CREATE_BY"));
+        assertEquals("importer", row.get("UPDATE_BY"));
+        assertNotNull(row.get("UPDATE_TIME"));
+    }
+
+    @Test
+    void testUpdateOverwritesImportedColumns() throws SQLException {
+        insert(100L, "zhangsan");
+        SysUser user = new SysUser(100L);
+        user.setDeptId(105L);
+        user.setUserName("zhangsan");
+        user.setNickName("张三丰");
+        user.setEmail("zsf@example.com");
+        user.setPhonenumber("13900000000");
+        user.setSex("0");
+        user.setRemark("新备注");
+
+        upsert(List.of(user));
+
+        Map<String, Object> row = select("zhangsan");
+        assertEquals(105L, row.get("DEPT_ID"));
+        assertEquals("张三丰", row.get("NICK_NAME"));
+        assertEquals("zsf@example.com", row.get("EMAIL"));
+        assertEquals("13900000000", row.get("PHONENUMBER"));
+        assertEquals("0", row.get("SEX"));
+        assertEquals("新备注", row.get("REMARK"));
+        assertEquals("hash", row.get("PASSWORD"));
+    }
+
+    @Test
+    void testMixedBatchInOneStatement() throws SQLException {
+        insert(100L, "zhangsan");
+        SysUser existing = new SysUser(100L);
+        existing.setUserName("zhangsan");
+        existing.setNickName("张三丰");
+        SysUser created = new SysUser();
+        created.setUserName("lisi");
+        created.setNickName("李四");
+        created.setPassword("secret");
+
+        upsert(List.of(existing, created));
+
+        assertEquals(2, count());
+        assertEquals("张三丰", select("zhangsan").get("NICK_NAME"));
+        Map<String, Object> row = select("lisi");
+        assertEquals(101L, row.get("USER_ID"));
+        assertEquals("李四", row.get("NICK_NAME"));
+        assertEquals("secret", row.get("PASSWORD"));
+    }
+
+    private int upsert(List<SysUser> users) throws SQLException {
+        MappedStatement ms = configuration.getMappedStatement(UPSERT_USERS);
+        Object parameter = ParamNameResolver.wrapToMapIfCollection(users, null);
+        BoundSql boundSql = ms.getBoundSql(parameter);
+        String sql = boundSql.getSql().replaceAll("\\bif\\(", "casewhen(").replace("sysdate()", "now()");
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            new DefaultParameterHandler(ms, parameter, boundSql).setParameters(ps);
+            return ps.executeUpdate();
+        }
+    }
+
+    private void insert(Long userId, String userName) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement("insert into sys_user(user_id, dept_id, user_name, nick_name, email, phonenumber,"
+                + " sex, password, status, create_by, create_time, remark)"
+                + " values (?, 103, ?, '张三', 'zs@example.com', '15888888888', '1', 'hash', '0', 'creator', now(), 'old')")) {
+            ps.setLong(1, userId);
+            ps.setString(2, userName);
+            ps.executeUpdate();
+        }
+    }
+
+    private Map<String, Object> select(String userName) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement("select * from sys_user where user_name = ?")) {
+            ps.setString(1, userName);
+            try (ResultSet rs = ps.executeQuery()) {
+                assertTrue(rs.next(), userName);
+                Map<String, Object> row = new HashMap<>();
+                for (int i = 1; i <= rs.getMetaData().getColumnCount(); i++) {
+                    row.put(rs.getMetaData().getColumnLabel(i), rs.getObject(i));
+                }
+                return row;
+            }
+        }
+    }
+
+    private int count() throws SQLException {
+        try (Statement statement = connection.createStatement(); ResultSet rs = statement.executeQuery("select count(*) from sys_user")) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.xypai.system.service.impl;
+
+import com.xypai.common.core.constant.CacheConstants;
+import com.xypai.common.redis.service.RedisService;
+import com.xypai.system.domain.SysConfig;
+import com.xypai.system.mapper.SysConfigMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 参数配置缓存测试类
+ *
+ * @author xypai
+ * @date 2025-01-01
+ */
+@ExtendWith(MockitoExtension.class)
+class SysConfigServiceImplTest {
+
+    @Mock
+    private SysConfigMapper configMapper;
+
+    @Mock
+    private RedisService redisService;
+
+    @InjectMocks
+    private SysConfigServiceImpl configService;
+
+    @Test
+    void testSelectConfigByKeyLoadsWithExpiration() {
+        SysConfig config = config("sys.account.captchaEnabled", "true");
+        when(configMapper.selectConfig(any())).thenReturn(config);
+        when(redisService.getOrLoad(eq("sys_config:sys.account.captchaEnabled"), eq(CacheConstants.SYS_CACHE_EXPIRATION),
+                eq(TimeUnit.MINUTES), any(), eq(true))).thenAnswer(invocation -> {
+                    Supplier<?> loader = invocation.getArgument(3);
+                    return loader.get();
+                });
+
+        // 有效期大于0时 getOrLoad 才会在到期前提前刷新
+        assertTrue(CacheConstants.SYS_CACHE_EXPIRATION > 0);
+        assertEquals("true", configService.selectConfigByKey("sys.account.captchaEnabled"));
+    }
+
+    @Test
+    void testMissingConfigIsEmpty() {
+        when(redisService.getOrLoad(anyString(), anyLong(), any(), any(), anyBoolean())).thenAnswer(invocation -> {
+            Supplier<?> loader = invocation.getArgument(3);
+            return loader.get();
+        });
+
+        assertEquals("", configService.selectConfigByKey("missing"));
+    }
+
+    @Test
+    void testCacheWritesUseSameExpiration() {
+        when(configMapper.selectConfigList(any())).thenReturn(List.of(config("a", "1"), config("b", "2")));
+        SysConfig inserted = config("c", "3");
+        when(configMapper.insertConfig(inserted)).thenReturn(1);
+
+        configService.loadingConfigCache();
+        configService.insertConfig(inserted);
+
+        // 预热与修改写入的缓存同样会过期，不会一直留在Redis中
+        verify(redisService).setCacheObject("sys_config:a", "1", CacheConstants.SYS_CACHE_EXPIRATION, TimeUnit.MINUTES);
+        verify(redisService).setCacheObject("sys_config:b", "2", CacheConstants.SYS_CACHE_EXPIRATION, TimeUnit.MINUTES);
+        verify(redisService).setCacheObject("sys_config:c", "3", CacheConstants.SYS_CACHE_EXPIRATION, TimeUnit.MINUTES);
+        verify(redisService, never()).setCacheObject(anyString(), any());
+    }
+
+    private static SysConfig config(String key, String value) {
+        SysConfig config = new SysConfig();
+        config.setConfigKey(key);
+        config.setConfigValue(value);
+        return config;
+    }
+}
@@ -0,0 +1,286 @@
+package com.xypai.system.service.impl;
+
+import com.xypai.common.core.exception.ServiceException;
+import com.xypai.common.core.utils.poi.ExcelUtil;
+import com.xypai.common.core.web.page.CursorPage;
+import com.xypai.common.core.web.page.CursorRequest;
+import com.xypai.common.core.web.page.CursorToken;
+import com.xypai.system.api.domain.SysOperLog;
+import com.xypai.system.mapper.SysOperLogMapper;
+import com.xypai.system.service.ISysOperLogService;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mybatis.spring.SqlSessionFactoryBean;
+import org.mybatis.spring.mapper.MapperFactoryBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 操作日志流式导出与游标分页测试类
+ * <p>
+ * 通过 Spring 事务与 MyBatis 在 H2 中执行真实的映射语句；H2 不接受 MySQL 流式读取使用的负数 fetchSize，
+ * 数据源记录下 setFetchSize 的参数后不再传给驱动。
+ *
+ * @author xypai
+ * @date 2025-01-01
+ */
+@SpringJUnitConfig(SysOperLogServiceImplTest.Config.class)
+class SysOperLogServiceImplTest {
+
+    /**
+     * 语句上设置过的 fetchSize
+     */
+    private static final List<Integer> FETCH_SIZES = new CopyOnWriteArrayList<>();
+
+    /**
+     * 连接上设置过的只读标记
+     */
+    private static final List<Boolean> READ_ONLY = new CopyOnWriteArrayList<>();
+
+    @Autowired
+    private ISysOperLogService operLogService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("drop table if exists sys_oper_log");
+        jdbcTemplate.execute("create table sys_oper_log (oper_id bigint not null auto_increment primary key,"
+                + " title varchar(50) default '', business_type int default 0, method varchar(200) default '',"
+                + " request_method varchar(10) default '', operator_type int default 0, oper_name varchar(50) default '',"
+                + " dept_name varchar(50) default '', oper_url varchar(255) default '', oper_ip varchar(128) default '',"
+                + " oper_param varchar(2000) default '', json_result varchar(2000) default '', status int default 0,"
+                + " error_msg varchar(2000) default '', oper_time datetime, cost_time bigint default 0)");
+        for (int i = 1; i <= 5; i++) {
+            jdbcTemplate.update("insert into sys_oper_log(oper_id, title, business_type, oper_name, oper_time)"
+                    + " values (?, ?, 1, 'admin', dateadd('MINUTE', ?, timestamp '2025-01-01 00:00:00'))", i, i % 2 == 0 ? "用户管理" : "角色管理", i);
+        }
+        FETCH_SIZES.clear();
+        READ_ONLY.clear();
+    }
+
+    @Test
+    void testStreamsRowsInReadOnlyTransaction() {
+        List<Long> operIds = new ArrayList<>();
+
+        operLogService.streamOperLogList(new SysOperLog(), rows -> {
+            assertInstanceOf(Cursor.class, rows);
+            // 游标在只读事务中打开，读取期间连接不归还
+            assertTrue(TransactionSynchronizationManager.isActualTransactionActive());
+            assertTrue(TransactionSynchronizationManager.isCurrentTransactionReadOnly());
+            Cursor<?> cursor = (Cursor<?>) rows;
+            for (SysOperLog row : rows) {
+                assertTrue(cursor.isOpen());
+                operIds.add(row.getOperId());
+            }
+        });
+
+        assertEquals(List.of(5L, 4L, 3L, 2L, 1L), operIds);
+        assertEquals(List.of(Integer.MIN_VALUE), FETCH_SIZES);
+        assertTrue(READ_ONLY.contains(true));
+        assertFalse(TransactionSynchronizationManager.isActualTransactionActive());
+    }
+
+    @Test
+    void testStreamAppliesConditions() {
+        SysOperLog operLog = new SysOperLog();
+        operLog.setTitle("用户");
+        List<Long> operIds = new ArrayList<>();
+
+        operLogService.streamOperLogList(operLog, rows -> rows.forEach(row -> operIds.add(row.getOperId())));
+
+        assertEquals(List.of(4L, 2L), operIds);
+    }
+
+    @Test
+    void testCursorClosedOnException() {
+        List<Cursor<?>> cursors = new ArrayList<>();
+
+        IllegalStateException e = assertThrows(IllegalStateException.class, () -> operLogService.streamOperLogList(new SysOperLog(), rows -> {
+            cursors.add((Cursor<?>) rows);
+            Iterator<SysOperLog> iterator = rows.iterator();
+            assertEquals(5L, iterator.next().getOperId());
+            throw new IllegalStateException("写入失败");
+        }));
+
+        assertEquals("写入失败", e.getMessage());
+        // 消费者抛出异常后结果集关闭，事务结束
+        assertFalse(cursors.get(0).isOpen());
+        assertFalse(TransactionSynchronizationManager.isActualTransactionActive());
+    }
+
+    @Test
+    void testExportExcelFromCursor() throws IOException {
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+
+        operLogService.streamOperLogList(new SysOperLog(), rows -> {
+            try {
+                new ExcelUtil<>(SysOperLog.class).exportExcel(os, rows, "操作日志", "");
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        try (XSSFWorkbook wb = new XSSFWorkbook(new ByteArrayInputStream(os.toByteArray()))) {
+            // 表头加5行数据
+            assertEquals(5, wb.getSheetAt(0).getLastRowNum());
+        }
+    }
+
+    @Test
+    void testCursorPagesWalkAllRowsWithTies() {
+        // 与第3行操作时间相同的两行，按主键倒序排在第3行之前
+        jdbcTemplate.update("insert into sys_oper_log(oper_id, title, oper_time) values (6, '用户管理', dateadd('MINUTE', 3, timestamp '2025-01-01 00:00:00'))");
+        jdbcTemplate.update("insert into sys_oper_log(oper_id, title, oper_time) values (7, '角色管理', dateadd('MINUTE', 3, timestamp '2025-01-01 00:00:00'))");
+        List<List<Long>> pages = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPage<SysOperLog> page = operLogService.selectOperLogPage(new SysOperLog(), CursorRequest.of(cursor, 2));
+            pages.add(page.getRows().stream().map(SysOperLog::getOperId).toList());
+            assertEquals(page.isHasMore(), page.getNextCursor() != null);
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertEquals(List.of(List.of(5L, 4L), List.of(7L, 6L), List.of(3L, 2L), List.of(1L)), pages);
+    }
+
+    @Test
+    void testCursorPageAppliesConditions() {
+        SysOperLog operLog = new SysOperLog();
+        operLog.setTitle("角色");
+
+        CursorPage<SysOperLog> first = operLogService.selectOperLogPage(operLog, CursorRequest.of(null, 2));
+        SysOperLog next = new SysOperLog();
+        next.setTitle("角色");
+        CursorPage<SysOperLog> second = operLogService.selectOperLogPage(next, CursorRequest.of(first.getNextCursor(), 2));
+
+        assertEquals(List.of(5L, 3L), first.getRows().stream().map(SysOperLog::getOperId).toList());
+        assertEquals(List.of(1L), second.getRows().stream().map(SysOperLog::getOperId).toList());
+        assertFalse(second.isHasMore());
+    }
+
+    @Test
+    void testInvalidCursorRejected() {
+        // 排序列个数或类型与 (operTime, operId) 不一致
+        String oneColumn = CursorToken.encode(5L);
+        String wrongType = CursorToken.encode("2025-01-01", 5L);
+
+        assertThrows(ServiceException.class, () -> operLogService.selectOperLogPage(new SysOperLog(), CursorRequest.of(oneColumn, 2)));
+        assertThrows(ServiceException.class, () -> operLogService.selectOperLogPage(new SysOperLog(), CursorRequest.of(wrongType, 2)));
+        assertThrows(ServiceException.class, () -> operLogService.selectOperLogPage(new SysOperLog(), CursorRequest.of("not-a-cursor!", 2)));
+    }
+
+    @Configuration
+    @EnableTransactionManagement
+    static class Config {
+
+        @Bean
+        DataSource dataSource() {
+            DataSource h2 = new SimpleDriverDataSource(new org.h2.Driver(), "jdbc:h2:mem:sys_oper_log;MODE=MySQL;DB_CLOSE_DELAY=-1");
+            return new DelegatingDataSource(h2) {
+                @Override
+                public Connection getConnection() throws SQLException {
+                    return recording(super.getConnection());
+                }
+            };
+        }
+
+        @Bean
+        JdbcTemplate jdbcTemplate(DataSource dataSource) {
+            return new JdbcTemplate(dataSource);
+        }
+
+        @Bean
+        PlatformTransactionManager transactionManager(DataSource dataSource) {
+            return new DataSourceTransactionManager(dataSource);
+        }
+
+        @Bean
+        SqlSessionFactory sqlSessionFactory(DataSource dataSource) throws Exception {
+            SqlSessionFactoryBean factory = new SqlSessionFactoryBean();
+            factory.setDataSource(dataSource);
+            factory.setTypeAliasesPackage("com.xypai.system.api.domain");
+            factory.setMapperLocations(new ClassPathResource("mapper/system/SysOperLogMapper.xml"));
+            return factory.getObject();
+        }
+
+        @Bean
+        MapperFactoryBean<SysOperLogMapper> operLogMapper(SqlSessionFactory sqlSessionFactory) {
+            MapperFactoryBean<SysOperLogMapper> factory = new MapperFactoryBean<>(SysOperLogMapper.class);
+            factory.setSqlSessionFactory(sqlSessionFactory);
+            return factory;
+        }
+
+        @Bean
+        ISysOperLogService operLogService() {
+            return new SysOperLogServiceImpl();
+        }
+
+        private static Connection recording(Connection connection) {
+            return (Connection) Proxy.newProxyInstance(SysOperLogServiceImplTest.class.getClassLoader(), new Class<?>[] { Connection.class },
+                    (proxy, method, args) -> {
+                        if ("setReadOnly".equals(method.getName())) {
+                            READ_ONLY.add((Boolean) args[0]);
+                        }
+                        Object result = invoke(connection, method, args);
+                        if (result instanceof PreparedStatement statement && "prepareStatement".equals(method.getName())) {
+                            return recording(statement);
+                        }
+                        return result;
+                    });
+        }
+
+        private static PreparedStatement recording(PreparedStatement statement) {
+            return (PreparedStatement) Proxy.newProxyInstance(SysOperLogServiceImplTest.class.getClassLoader(), new Class<?>[] { PreparedStatement.class },
+                    (proxy, method, args) -> {
+                        if ("setFetchSize".equals(method.getName())) {
+                            FETCH_SIZES.add((Integer) args[0]);
+                            if ((Integer) args[0] < 0) {
+                                return null;
+                            }
+                        }
+                        return invoke(statement, method, args);
+                    });
+        }
+
+        private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        }
+    }
+}
@@ -0,0 +1,264 @@
+package com.xypai.system.service.impl;
+
+import com.xypai.common.core.context.SecurityContextHolder;
+import com.xypai.common.core.exception.ServiceException;
+import com.xypai.system.api.domain.SysUser;
+import com.xypai.system.mapper.SysUserMapper;
+import com.xypai.system.service.ISysConfigService;
+import com.xypai.system.service.ISysDeptService;
+import jakarta.validation.Validation;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 用户导入测试类
+ *
+ * @author xypai
+ * @date 2025-01-01
+ */
+@ExtendWith(MockitoExtension.class)
+class SysUserServiceImplTest {
+
+    private static final String OPER_NAME = "admin";
+
+    @Mock
+    private SysUserMapper userMapper;
+
+    @Mock
+    private ISysConfigService configService;
+
+    @Mock
+    private ISysDeptService deptService;
+
+    @InjectMocks
+    private SysUserServiceImpl userService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(userService, "validator", Validation.buildDefaultValidatorFactory().getValidator());
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.remove();
+    }
+
+    @Test
+    void testImportNewUsersInBatches() {
+        when(userMapper.selectUsersByUserNames(anyList())).thenReturn(Collections.emptyList());
+        when(configService.selectConfigByKey("sys.user.initPassword")).thenReturn("123456");
+        List<SysUser> users = new ArrayList<>();
+        for (int i = 0; i < 2500; i++) {
+            users.add(user("user" + i));
+        }
+
+        String message = userService.importUser(users, false, OPER_NAME);
+
+        assertTrue(message.startsWith("恭喜您，数据已全部导入成功！共 2500 条"), message);
+        // 每1000行查询一次已存在的账号并写入一次
+        List<List<SysUser>> batches = captureUpserts(3);
+        assertEquals(List.of(1000, 1000, 500), batches.stream().map(List::size).collect(Collectors.toList()));
+        verify(userMapper, times(3)).selectUsersByUserNames(anyList());
+
+        SysUser first = batches.get(0).get(0);
+        assertNull(first.getUserId());
+        assertEquals(OPER_NAME, first.getCreateBy());
+        assertTrue(new BCryptPasswordEncoder().matches("123456", first.getPassword()));
+        // 初始密码只加密一次，所有新用户共用
+        verify(configService, times(1)).selectConfigByKey("sys.user.initPassword");
+        assertTrue(users.stream().allMatch(u -> first.getPassword().equals(u.getPassword())));
+        verify(deptService, times(1)).checkDeptDataScope(103L);
+    }
+
+    @Test
+    void testDuplicateUserNameWithinBatch() {
+        when(userMapper.selectUsersByUserNames(anyList())).thenReturn(Collections.emptyList());
+        when(configService.selectConfigByKey("sys.user.initPassword")).thenReturn("123456");
+
+        ServiceException e = assertThrows(ServiceException.class,
+                () -> userService.importUser(List.of(user("a"), user("b"), user("a")), false, OPER_NAME));
+
+        assertTrue(e.getMessage().contains("共 1 条"), e.getMessage());
+        assertTrue(e.getMessage().contains("第 4 行账号 a 导入失败：与第 2 行账号重复"), e.getMessage());
+        // 只查询一次去重后的账号，先出现的行照常写入
+        verify(userMapper).selectUsersByUserNames(List.of("a", "b"));
+        assertEquals(List.of("a", "b"), userNames(captureUpserts(1).get(0)));
+    }
+
+    @Test
+    void testExistingUserWithoutUpdateSupport() {
+        when(userMapper.selectUsersByUserNames(anyList())).thenReturn(List.of(existing(200L, "a")));
+        when(configService.selectConfigByKey("sys.user.initPassword")).thenReturn("123456");
+
+        ServiceException e = assertThrows(ServiceException.class,
+                () -> userService.importUser(List.of(user("a"), user("b")), false, OPER_NAME));
+
+        assertTrue(e.getMessage().contains("账号 a 已存在"), e.getMessage());
+        assertEquals(List.of("b"), userNames(captureUpserts(1).get(0)));
+    }
+
+    @Test
+    void testExistingUserUpdated() {
+        // 超级管理员操作时不校验用户数据权限
+        SecurityContextHolder.setUserId("1");
+        when(userMapper.selectUsersByUserNames(anyList())).thenReturn(List.of(existing(200L, "a")));
+
+        String message = userService.importUser(List.of(user("a")), true, OPER_NAME);
+
+        assertTrue(message.contains("账号 a 更新成功"), message);
+        SysUser updated = captureUpserts(1).get(0).get(0);
+        assertEquals(200L, updated.getUserId());
+        assertEquals(OPER_NAME, updated.getUpdateBy());
+        assertNull(updated.getPassword(), "更新时不修改密码");
+        verifyNoInteractions(configService);
+    }
+
+    @Test
+    void testAdminUserNotUpdated() {
+        SecurityContextHolder.setUserId("1");
+        when(userMapper.selectUsersByUserNames(anyList())).thenReturn(List.of(existing(1L, "admin")));
+
+        ServiceException e = assertThrows(ServiceException.class,
+                () -> userService.importUser(List.of(user("admin")), true, OPER_NAME));
+
+        assertTrue(e.getMessage().contains("不允许操作超级管理员用户"), e.getMessage());
+        verify(userMapper, never()).upsertUsers(anyList());
+    }
+
+    @Test
+    void testBatchFailureFallsBackToSingleRows() {
+        when(userMapper.selectUsersByUserNames(anyList())).thenReturn(Collections.emptyList());
+        when(configService.selectConfigByKey("sys.user.initPassword")).thenReturn("123456");
+        List<List<String>> calls = new ArrayList<>();
+        when(userMapper.upsertUsers(anyList())).thenAnswer(invocation -> {
+            List<SysUser> users = invocation.getArgument(0);
+            calls.add(userNames(users));
+            if (users.stream().anyMatch(u -> "bad".equals(u.getUserName()))) {
+                throw new IllegalStateException("Data too long for column 'nick_name'");
+            }
+            return users.size();
+        });
+
+        ServiceException e = assertThrows(ServiceException.class,
+                () -> userService.importUser(List.of(user("a"), user("bad"), user("c")), false, OPER_NAME));
+
+        // 整批失败后逐行重试，只有出错的一行记为失败
+        assertEquals(List.of(List.of("a", "bad", "c"), List.of("a"), List.of("bad"), List.of("c")), calls);
+        assertTrue(e.getMessage().contains("共 1 条"), e.getMessage());
+        assertTrue(e.getMessage().contains("第 3 行账号 bad 导入失败：Data too long"), e.getMessage());
+    }
+
+    @Test
+    void testValidationAndDeptScopeFailures() {
+        when(userMapper.selectUsersByUserNames(anyList())).thenReturn(Collections.emptyList());
+        when(configService.selectConfigByKey("sys.user.initPassword")).thenReturn("123456");
+        doAnswer(invocation -> {
+            if (Long.valueOf(999L).equals(invocation.getArgument(0))) {
+                throw new ServiceException("没有权限访问部门数据！");
+            }
+            return null;
+        }).when(deptService).checkDeptDataScope(anyLong());
+        SysUser invalidEmail = user("b");
+        invalidEmail.setEmail("not-an-email");
+        SysUser otherDept = user("c");
+        otherDept.setDeptId(999L);
+        SysUser otherDept2 = user("d");
+        otherDept2.setDeptId(999L);
+
+        ServiceException e = assertThrows(ServiceException.class,
+                () -> userService.importUser(List.of(user("a"), invalidEmail, otherDept, otherDept2), false, OPER_NAME));
+
+        assertTrue(e.getMessage().contains("共 3 条"), e.getMessage());
+        assertTrue(e.getMessage().contains("第 3 行账号 b 导入失败：email: 邮箱格式不正确"), e.getMessage());
+        assertTrue(e.getMessage().contains("第 4 行账号 c 导入失败：没有权限访问部门数据！"), e.getMessage());
+        assertTrue(e.getMessage().contains("第 5 行账号 d 导入失败：没有权限访问部门数据！"), e.getMessage());
+        // 每个部门的数据权限只校验一次
+        verify(deptService, times(1)).checkDeptDataScope(999L);
+        assertEquals(List.of("a"), userNames(captureUpserts(1).get(0)));
+    }
+
+    @Test
+    void testImportFromExcel() throws IOException {
+        when(userMapper.selectUsersByUserNames(anyList())).thenReturn(Collections.emptyList());
+        when(configService.selectConfigByKey("sys.user.initPassword")).thenReturn("123456");
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+        try (XSSFWorkbook wb = new XSSFWorkbook()) {
+            Sheet sheet = wb.createSheet();
+            String[] header = { "部门编号", "登录名称", "用户名称", "用户邮箱", "手机号码", "用户性别", "账号状态" };
+            Row head = sheet.createRow(0);
+            for (int i = 0; i < header.length; i++) {
+                head.createCell(i).setCellValue(header[i]);
+            }
+            Row row = sheet.createRow(1);
+            row.createCell(0).setCellValue(103);
+            row.createCell(1).setCellValue("zhangsan");
+            row.createCell(2).setCellValue("张三");
+            row.createCell(3).setCellValue("zs@example.com");
+            row.createCell(4).setCellValue("15888888888");
+            row.createCell(5).setCellValue("女");
+            row.createCell(6).setCellValue("停用");
+            Row duplicate = sheet.createRow(2);
+            duplicate.createCell(1).setCellValue("zhangsan");
+            wb.write(os);
+        }
+
+        ServiceException e = assertThrows(ServiceException.class,
+                () -> userService.importUser(new ByteArrayInputStream(os.toByteArray()), false, OPER_NAME));
+
+        assertTrue(e.getMessage().contains("第 3 行账号 zhangsan 导入失败：与第 2 行账号重复"), e.getMessage());
+        SysUser user = captureUpserts(1).get(0).get(0);
+        assertEquals(103L, user.getDeptId());
+        assertEquals("张三", user.getNickName());
+        assertEquals("15888888888", user.getPhonenumber());
+        assertEquals("1", user.getSex());
+        assertEquals("1", user.getStatus());
+    }
+
+    private List<List<SysUser>> captureUpserts(int times) {
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<SysUser>> captor = ArgumentCaptor.forClass(List.class);
+        verify(userMapper, times(times)).upsertUsers(captor.capture());
+        return captor.getAllValues();
+    }
+
+    private static List<String> userNames(List<SysUser> users) {
+        return users.stream().map(SysUser::getUserName).collect(Collectors.toList());
+    }
+
+    private static SysUser user(String userName) {
+        SysUser user = new SysUser();
+        user.setDeptId(103L);
+        user.setUserName(userName);
+        user.setNickName(userName);
+        return user;
+    }
+
+    private static SysUser existing(Long userId, String userName) {
+        SysUser user = new SysUser(userId);
+        user.setUserName(userName);
+        return user;
+    }
+}
@@ -218,7 +218,7 @@ public class ServiceOrder implements Serializable {
     }
 
     /**
-     * 获取订单编号（格式化显示）
+     * 获取订单编号（格式化显示），id 由雪花算法生成（见 IdGeneratorConfig），编号随之时间有序且全局唯一
      */
     public String getOrderNo() {
         return "SO" + id;
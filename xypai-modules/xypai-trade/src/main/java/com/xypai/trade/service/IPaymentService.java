@@ -176,7 +176,7 @@ public interface IPaymentService {
     Map<String, Object> getPaymentConfig(String paymentMethod);
 
     /**
-     * 生成支付订单号
+     * 生成支付订单号，支付方式前缀 + 雪花算法ID，时间有序且多实例间不重复
      *
      * @param orderId 订单ID
      * @param paymentMethod 支付方式
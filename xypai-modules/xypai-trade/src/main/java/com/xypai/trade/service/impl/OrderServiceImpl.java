@@ -4,6 +4,8 @@ import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.core.toolkit.Wrappers;
 import com.xypai.common.core.exception.ServiceException;
 import com.xypai.common.core.utils.StringUtils;
+import com.xypai.common.datasource.annotation.Slave;
+import com.xypai.common.redis.annotation.DistributedLock;
 import com.xypai.common.security.utils.SecurityUtils;
 import com.xypai.trade.domain.dto.OrderCreateDTO;
 import com.xypai.trade.domain.dto.OrderQueryDTO;
@@ -132,6 +134,7 @@ public class OrderServiceImpl implements IOrderService {
     }
 
     @Override
+    @DistributedLock(key = "'order:' + #orderUpdateDTO.id")
     @Transactional(rollbackFor = Exception.class)
     public boolean updateOrder(OrderUpdateDTO orderUpdateDTO) {
         if (orderUpdateDTO.getId() == null) {
@@ -181,6 +184,7 @@ public class OrderServiceImpl implements IOrderService {
     }
 
     @Override
+    @DistributedLock(key = "'order:' + #orderId")
     @Transactional(rollbackFor = Exception.class)
     public boolean cancelOrder(Long orderId, String reason) {
         if (orderId == null) {
@@ -206,6 +210,7 @@ public class OrderServiceImpl implements IOrderService {
                 .id(orderId)
                 .status(ServiceOrder.Status.CANCELLED.getCode())
                 .updatedAt(LocalDateTime.now())
+                .version(order.getVersion())
                 .build();
 
         int result = serviceOrderMapper.updateById(updateOrder);
@@ -222,6 +227,7 @@ public class OrderServiceImpl implements IOrderService {
     }
 
     @Override
+    @DistributedLock(key = "'order:' + #orderId")
     @Transactional(rollbackFor = Exception.class)
     public boolean completeOrder(Long orderId, String completionNote) {
         if (orderId == null) {
@@ -247,6 +253,7 @@ public class OrderServiceImpl implements IOrderService {
                 .id(orderId)
                 .status(ServiceOrder.Status.COMPLETED.getCode())
                 .updatedAt(LocalDateTime.now())
+                .version(order.getVersion())
                 .build();
 
         int result = serviceOrderMapper.updateById(updateOrder);
@@ -266,6 +273,7 @@ public class OrderServiceImpl implements IOrderService {
     }
 
     @Override
+    @DistributedLock(key = "'order:' + #orderId")
     @Transactional(rollbackFor = Exception.class)
     public boolean startService(Long orderId, String serviceNote) {
         if (orderId == null) {
@@ -291,6 +299,7 @@ public class OrderServiceImpl implements IOrderService {
                 .id(orderId)
                 .status(ServiceOrder.Status.IN_SERVICE.getCode())
                 .updatedAt(LocalDateTime.now())
+                .version(order.getVersion())
                 .build();
 
         int result = serviceOrderMapper.updateById(updateOrder);
@@ -417,6 +426,7 @@ public class OrderServiceImpl implements IOrderService {
     }
 
     @Override
+    @Slave
     public Map<String, Object> getPlatformTradeStats(String startDate, String endDate) {
         LocalDateTime start = parseDateTime(startDate);
         LocalDateTime end = parseDateTime(endDate);
@@ -2,6 +2,7 @@ package com.xypai.trade.service.impl;
 
 import com.xypai.common.core.exception.ServiceException;
 import com.xypai.common.core.utils.StringUtils;
+import com.xypai.common.core.utils.uuid.IdUtils;
 import com.xypai.common.security.utils.SecurityUtils;
 import com.xypai.trade.domain.dto.PaymentDTO;
 import com.xypai.trade.domain.dto.RefundDTO;
@@ -17,7 +18,6 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
@@ -452,8 +452,7 @@ public class PaymentServiceImpl implements IPaymentService {
                 break;
         }
         
-        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMddHHmmss"));
-        return prefix + timestamp + orderId;
+        return IdUtils.nextNo(prefix);
     }
 
     @Override
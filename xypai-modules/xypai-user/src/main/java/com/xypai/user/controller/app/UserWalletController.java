@@ -2,7 +2,7 @@ package com.xypai.user.controller.app;
 
 import com.xypai.common.core.domain.R;
 import com.xypai.common.core.web.controller.BaseController;
-import com.xypai.common.core.web.page.TableDataInfo;
+import com.xypai.common.core.web.page.CursorPage;
 import com.xypai.common.log.annotation.Log;
 import com.xypai.common.log.enums.BusinessType;
 import com.xypai.common.security.annotation.RequiresPermissions;
@@ -19,7 +19,6 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
 import java.util.Map;
 
 /**
@@ -84,13 +83,11 @@ public class UserWalletController extends BaseController {
     /**
      * 获取交易记录
      */
-    @Operation(summary = "获取交易记录", description = "分页查询用户交易流水")
+    @Operation(summary = "获取交易记录", description = "按游标分页查询用户交易流水，下一页传回 nextCursor")
     @GetMapping("/transactions")
     @RequiresPermissions("user:wallet:query")
-    public TableDataInfo getTransactions(TransactionQueryDTO query) {
-        startPage();
-        List<TransactionVO> list = userWalletService.getUserTransactions(query);
-        return getDataTable(list);
+    public CursorPage<TransactionVO> getTransactions(TransactionQueryDTO query) {
+        return userWalletService.getUserTransactionPage(query, getCursorRequest());
     }
 
     /**
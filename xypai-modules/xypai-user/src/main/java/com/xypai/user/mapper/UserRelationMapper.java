@@ -5,6 +5,10 @@ import com.xypai.user.domain.entity.UserRelation;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
 /**
  * 用户关系Mapper接口
  *
@@ -24,6 +28,22 @@ public interface UserRelationMapper extends BaseMapper<UserRelation> {
      */
     Long countFollowers(@Param("userId") Long userId);
 
+    /**
+     * 批量统计用户关注数
+     *
+     * @param userIds 用户ID集合
+     * @return 统计行，包含userId、total；没有关注的用户不返回
+     */
+    List<Map<String, Object>> countFollowingByUserIds(@Param("userIds") Collection<Long> userIds);
+
+    /**
+     * 批量统计用户粉丝数
+     *
+     * @param userIds 用户ID集合
+     * @return 统计行，包含userId、total；没有粉丝的用户不返回
+     */
+    List<Map<String, Object>> countFollowersByUserIds(@Param("userIds") Collection<Long> userIds);
+
     /**
      * 检查用户关系是否存在
      */
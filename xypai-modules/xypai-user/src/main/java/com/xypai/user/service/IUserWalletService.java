@@ -1,5 +1,7 @@
 package com.xypai.user.service;
 
+import com.xypai.common.core.web.page.CursorPage;
+import com.xypai.common.core.web.page.CursorRequest;
 import com.xypai.user.domain.dto.TransactionQueryDTO;
 import com.xypai.user.domain.dto.WalletRechargeDTO;
 import com.xypai.user.domain.dto.WalletTransferDTO;
@@ -42,6 +44,11 @@ public interface IUserWalletService {
      */
     List<TransactionVO> getUserTransactions(TransactionQueryDTO query);
 
+    /**
+     * 获取用户交易记录(游标分页，按创建时间倒序)
+     */
+    CursorPage<TransactionVO> getUserTransactionPage(TransactionQueryDTO query, CursorRequest request);
+
     /**
      * 根据交易ID获取交易详情
      */
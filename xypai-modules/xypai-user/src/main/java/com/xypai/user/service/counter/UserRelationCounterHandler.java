@@ -0,0 +1,64 @@
+package com.xypai.user.service.counter;
+
+import com.xypai.common.redis.counter.CounterHandler;
+import com.xypai.user.mapper.UserRelationMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 用户关系计数器（关注数/粉丝数）
+ * <p>
+ * 计数由user_relation明细行统计得出，关注/取关时只累加缓存，无需回写
+ *
+ * @author xypai
+ * @date 2025-01-01
+ */
+@Component
+@RequiredArgsConstructor
+public class UserRelationCounterHandler implements CounterHandler {
+
+    public static final String NAMESPACE = "user_relation";
+
+    public static final String FIELD_FOLLOWING = "followingCount";
+
+    public static final String FIELD_FOLLOWERS = "followersCount";
+
+    private final UserRelationMapper userRelationMapper;
+
+    @Override
+    public String namespace() {
+        return NAMESPACE;
+    }
+
+    @Override
+    public Map<Long, Map<String, Long>> load(Collection<Long> ids) {
+        Map<Long, Map<String, Long>> result = new HashMap<>();
+        for (Long userId : ids) {
+            Map<String, Long> counts = new HashMap<>();
+            counts.put(FIELD_FOLLOWING, 0L);
+            counts.put(FIELD_FOLLOWERS, 0L);
+            result.put(userId, counts);
+        }
+        if (ids.isEmpty()) {
+            return result;
+        }
+        // 每个计数字段一条分组查询，不随ID数量增加
+        fillCounts(result, FIELD_FOLLOWING, userRelationMapper.countFollowingByUserIds(ids));
+        fillCounts(result, FIELD_FOLLOWERS, userRelationMapper.countFollowersByUserIds(ids));
+        return result;
+    }
+
+    private void fillCounts(Map<Long, Map<String, Long>> result, String field, List<Map<String, Object>> rows) {
+        for (Map<String, Object> row : rows) {
+            Map<String, Long> counts = result.get(((Number) row.get("user_id")).longValue());
+            if (counts != null) {
+                counts.put(field, ((Number) row.get("total")).longValue());
+            }
+        }
+    }
+}
@@ -4,6 +4,7 @@ import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.core.toolkit.Wrappers;
 import com.xypai.common.core.exception.ServiceException;
 import com.xypai.common.core.utils.StringUtils;
+import com.xypai.common.redis.counter.RedisCounterService;
 import com.xypai.common.security.utils.SecurityUtils;
 import com.xypai.user.domain.dto.UserRelationQueryDTO;
 import com.xypai.user.domain.entity.User;
@@ -15,6 +16,7 @@ import com.xypai.user.mapper.UserMapper;
 import com.xypai.user.mapper.UserProfileMapper;
 import com.xypai.user.mapper.UserRelationMapper;
 import com.xypai.user.service.IUserRelationService;
+import com.xypai.user.service.counter.UserRelationCounterHandler;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -38,6 +40,7 @@ public class UserRelationServiceImpl implements IUserRelationService {
     private final UserRelationMapper userRelationMapper;
     private final UserMapper userMapper;
     private final UserProfileMapper userProfileMapper;
+    private final RedisCounterService redisCounterService;
 
     @Override
     @Transactional(rollbackFor = Exception.class)
@@ -72,6 +75,7 @@ public class UserRelationServiceImpl implements IUserRelationService {
                 .build();
 
         int result = userRelationMapper.insert(relation);
+        incrementFollowCount(currentUserId, targetUserId, result);
         log.info("用户关注成功，用户ID：{}，目标用户ID：{}", currentUserId, targetUserId);
         return result > 0;
     }
@@ -87,6 +91,7 @@ public class UserRelationServiceImpl implements IUserRelationService {
                 .eq(UserRelation::getType, UserRelation.Type.FOLLOW.getCode());
 
         int result = userRelationMapper.delete(queryWrapper);
+        incrementFollowCount(currentUserId, targetUserId, -result);
         log.info("取消关注成功，用户ID：{}，目标用户ID：{}", currentUserId, targetUserId);
         return result > 0;
     }
@@ -214,13 +219,10 @@ public class UserRelationServiceImpl implements IUserRelationService {
 
         Map<String, Long> statistics = new HashMap<>();
         
-        // 关注数
-        Long followingCount = userRelationMapper.countFollowing(userId);
-        statistics.put("followingCount", followingCount);
-        
-        // 粉丝数
-        Long followersCount = userRelationMapper.countFollowers(userId);
-        statistics.put("followersCount", followersCount);
+        // 关注数、粉丝数
+        Map<String, Long> counts = redisCounterService.getCounts(UserRelationCounterHandler.NAMESPACE, userId);
+        statistics.put("followingCount", counts.getOrDefault(UserRelationCounterHandler.FIELD_FOLLOWING, 0L));
+        statistics.put("followersCount", counts.getOrDefault(UserRelationCounterHandler.FIELD_FOLLOWERS, 0L));
         
         // 拉黑数
         LambdaQueryWrapper<UserRelation> blockQueryWrapper = Wrappers.lambdaQuery(UserRelation.class)
@@ -257,6 +259,7 @@ public class UserRelationServiceImpl implements IUserRelationService {
                             .build();
                     
                     if (userRelationMapper.insert(relation) > 0) {
+                        incrementFollowCount(currentUserId, targetUserId, 1);
                         successCount++;
                     }
                 }
@@ -283,7 +286,11 @@ public class UserRelationServiceImpl implements IUserRelationService {
                 .in(UserRelation::getTargetId, userIds)
                 .eq(UserRelation::getType, UserRelation.Type.FOLLOW.getCode());
 
+        List<UserRelation> relations = userRelationMapper.selectList(queryWrapper);
         int result = userRelationMapper.delete(queryWrapper);
+        for (UserRelation relation : relations) {
+            incrementFollowCount(currentUserId, relation.getTargetId(), -1);
+        }
         log.info("批量取消关注完成，取消数量：{}", result);
         return result > 0;
     }
@@ -457,6 +464,17 @@ public class UserRelationServiceImpl implements IUserRelationService {
                 .build();
     }
 
+    /**
+     * 累加关注数与粉丝数
+     */
+    private void incrementFollowCount(Long userId, Long targetUserId, long delta) {
+        if (delta == 0) {
+            return;
+        }
+        redisCounterService.increment(UserRelationCounterHandler.NAMESPACE, userId, UserRelationCounterHandler.FIELD_FOLLOWING, delta);
+        redisCounterService.increment(UserRelationCounterHandler.NAMESPACE, targetUserId, UserRelationCounterHandler.FIELD_FOLLOWERS, delta);
+    }
+
     /**
      * 获取当前用户ID
      */
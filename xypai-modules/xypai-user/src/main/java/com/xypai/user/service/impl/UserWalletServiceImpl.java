@@ -4,6 +4,11 @@ import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.core.toolkit.Wrappers;
 import com.xypai.common.core.exception.ServiceException;
 import com.xypai.common.core.utils.StringUtils;
+import com.xypai.common.core.utils.uuid.IdUtils;
+import com.xypai.common.core.web.page.CursorPage;
+import com.xypai.common.core.web.page.CursorRequest;
+import com.xypai.common.core.web.page.Keyset;
+import com.xypai.common.redis.annotation.DistributedLock;
 import com.xypai.common.security.utils.SecurityUtils;
 import com.xypai.user.domain.dto.TransactionQueryDTO;
 import com.xypai.user.domain.dto.WalletRechargeDTO;
@@ -35,6 +40,8 @@ import java.util.*;
 @RequiredArgsConstructor
 public class UserWalletServiceImpl implements IUserWalletService {
 
+    private static final Keyset<Transaction> TRANSACTION_KEYSET = Keyset.desc(Transaction::getCreatedAt, Transaction::getId);
+
     private final UserWalletMapper userWalletMapper;
     private final TransactionMapper transactionMapper;
 
@@ -134,12 +141,7 @@ public class UserWalletServiceImpl implements IUserWalletService {
             throw new ServiceException("未获取到当前用户信息");
         }
 
-        LambdaQueryWrapper<Transaction> queryWrapper = Wrappers.lambdaQuery(Transaction.class)
-                .eq(Transaction::getUserId, query.getUserId() != null ? query.getUserId() : currentUserId)
-                .eq(StringUtils.isNotBlank(query.getType()), Transaction::getType, query.getType())
-                .eq(StringUtils.isNotBlank(query.getRefId()), Transaction::getRefId, query.getRefId())
-                .between(StringUtils.isNotBlank(query.getBeginTime()) && StringUtils.isNotBlank(query.getEndTime()),
-                        Transaction::getCreatedAt, query.getBeginTime(), query.getEndTime())
+        LambdaQueryWrapper<Transaction> queryWrapper = buildTransactionQueryWrapper(query, currentUserId)
                 .orderByDesc(Transaction::getCreatedAt);
 
         List<Transaction> transactions = transactionMapper.selectList(queryWrapper);
@@ -153,6 +155,37 @@ public class UserWalletServiceImpl implements IUserWalletService {
         return result;
     }
 
+    @Override
+    public CursorPage<TransactionVO> getUserTransactionPage(TransactionQueryDTO query, CursorRequest request) {
+        Long currentUserId = SecurityUtils.getUserId();
+        if (currentUserId == null) {
+            throw new ServiceException("未获取到当前用户信息");
+        }
+
+        LambdaQueryWrapper<Transaction> queryWrapper = TRANSACTION_KEYSET.apply(
+                buildTransactionQueryWrapper(query, currentUserId), request);
+        List<Transaction> transactions = transactionMapper.selectList(queryWrapper);
+        return TRANSACTION_KEYSET.page(transactions, request).convert(list -> {
+            List<TransactionVO> result = new ArrayList<>(list.size());
+            for (Transaction transaction : list) {
+                result.add(convertToTransactionVO(transaction));
+            }
+            return result;
+        });
+    }
+
+    /**
+     * 构建交易记录查询条件(不含排序)
+     */
+    private LambdaQueryWrapper<Transaction> buildTransactionQueryWrapper(TransactionQueryDTO query, Long currentUserId) {
+        return Wrappers.lambdaQuery(Transaction.class)
+                .eq(Transaction::getUserId, query.getUserId() != null ? query.getUserId() : currentUserId)
+                .eq(StringUtils.isNotBlank(query.getType()), Transaction::getType, query.getType())
+                .eq(StringUtils.isNotBlank(query.getRefId()), Transaction::getRefId, query.getRefId())
+                .between(StringUtils.isNotBlank(query.getBeginTime()) && StringUtils.isNotBlank(query.getEndTime()),
+                        Transaction::getCreatedAt, query.getBeginTime(), query.getEndTime());
+    }
+
     @Override
     public TransactionVO getTransactionById(Long transactionId) {
         if (transactionId == null) {
@@ -238,6 +271,7 @@ public class UserWalletServiceImpl implements IUserWalletService {
     }
 
     @Override
+    @DistributedLock(key = "'wallet:' + #userId")
     @Transactional(rollbackFor = Exception.class)
     public boolean updateBalance(Long userId, Long amount, String type, String refId) {
         if (userId == null || amount == null || amount == 0) {
@@ -310,12 +344,14 @@ public class UserWalletServiceImpl implements IUserWalletService {
     }
 
     @Override
+    @DistributedLock(key = "'wallet:' + #userId")
     @Transactional(rollbackFor = Exception.class)
     public boolean consumeBalance(Long userId, Long amount, String type, String refId) {
         return updateBalance(userId, -amount, type, refId);
     }
 
     @Override
+    @DistributedLock(key = "'wallet:' + #userId")
     @Transactional(rollbackFor = Exception.class)
     public boolean refundBalance(Long userId, Long amount, String type, String refId) {
         return updateBalance(userId, amount, type, refId);
@@ -356,8 +392,7 @@ public class UserWalletServiceImpl implements IUserWalletService {
      * 生成订单号
      */
     private String generateOrderNo(String prefix) {
-        return prefix + System.currentTimeMillis() + 
-               String.format("%03d", new Random().nextInt(1000));
+        return IdUtils.nextNo(prefix);
     }
 
     /**
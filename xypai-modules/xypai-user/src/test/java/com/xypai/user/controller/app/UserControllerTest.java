@@ -5,6 +5,11 @@ import com.xypai.user.domain.dto.UserAddDTO;
 import com.xypai.user.domain.dto.UserUpdateDTO;
 import com.xypai.user.domain.vo.UserDetailVO;
 import com.xypai.user.domain.vo.UserListVO;
+import com.xypai.user.mapper.TransactionMapper;
+import com.xypai.user.mapper.UserMapper;
+import com.xypai.user.mapper.UserProfileMapper;
+import com.xypai.user.mapper.UserRelationMapper;
+import com.xypai.user.mapper.UserWalletMapper;
 import com.xypai.user.service.IUserService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -37,6 +42,24 @@ class UserControllerTest {
     @MockBean
     private IUserService userService;
 
+    /**
+     * 应用类上的Mapper扫描在切片测试中同样生效，没有数据源时以Mock替代
+     */
+    @MockBean
+    private UserMapper userMapper;
+
+    @MockBean
+    private UserProfileMapper userProfileMapper;
+
+    @MockBean
+    private UserRelationMapper userRelationMapper;
+
+    @MockBean
+    private UserWalletMapper userWalletMapper;
+
+    @MockBean
+    private TransactionMapper transactionMapper;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -153,7 +176,7 @@ class UserControllerTest {
         mockMvc.perform(get("/api/v1/users/list")
                 .param("username", "test")
                 .param("status", "1"))
-                .andExpected(status().isOk())
+                .andExpect(status().isOk())
                 .andExpect(jsonPath("$.rows").isArray())
                 .andExpect(jsonPath("$.rows.length()").value(2))
                 .andExpect(jsonPath("$.total").exists());
@@ -190,7 +213,7 @@ class UserControllerTest {
         // When & Then
         mockMvc.perform(get("/api/v1/users/check-username")
                 .param("username", "newuser"))
-                .andExpected(status().isOk())
+                .andExpect(status().isOk())
                 .andExpect(jsonPath("$.code").value(200))
                 .andExpect(jsonPath("$.data").value(true));
     }
@@ -203,7 +226,7 @@ class UserControllerTest {
         // When & Then
         mockMvc.perform(get("/api/v1/users/check-mobile")
                 .param("mobile", "13800138001"))
-                .andExpected(status().isOk())
+                .andExpect(status().isOk())
                 .andExpect(jsonPath("$.code").value(200))
                 .andExpect(jsonPath("$.data").value(false));
     }
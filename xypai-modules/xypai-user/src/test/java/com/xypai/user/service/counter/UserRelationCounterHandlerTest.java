@@ -0,0 +1,73 @@
+package com.xypai.user.service.counter;
+
+import com.xypai.user.mapper.UserRelationMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 用户关系计数器测试类
+ *
+ * @author xypai
+ * @date 2025-01-01
+ */
+@ExtendWith(MockitoExtension.class)
+class UserRelationCounterHandlerTest {
+
+    @Mock
+    private UserRelationMapper userRelationMapper;
+
+    @InjectMocks
+    private UserRelationCounterHandler handler;
+
+    @Test
+    void testLoadUsesOneGroupedQueryPerCounter() {
+        List<Long> ids = List.of(1L, 2L, 3L);
+        when(userRelationMapper.countFollowingByUserIds(ids)).thenReturn(List.of(
+                Map.of("user_id", 1L, "total", 5L),
+                Map.of("user_id", 3L, "total", 1L)));
+        when(userRelationMapper.countFollowersByUserIds(ids)).thenReturn(List.of(
+                Map.of("user_id", 2, "total", 7)));
+
+        Map<Long, Map<String, Long>> result = handler.load(ids);
+
+        assertEquals(3, result.size());
+        assertEquals(5L, result.get(1L).get(UserRelationCounterHandler.FIELD_FOLLOWING));
+        assertEquals(0L, result.get(1L).get(UserRelationCounterHandler.FIELD_FOLLOWERS));
+        assertEquals(0L, result.get(2L).get(UserRelationCounterHandler.FIELD_FOLLOWING));
+        assertEquals(7L, result.get(2L).get(UserRelationCounterHandler.FIELD_FOLLOWERS));
+        assertEquals(1L, result.get(3L).get(UserRelationCounterHandler.FIELD_FOLLOWING));
+        verify(userRelationMapper, times(1)).countFollowingByUserIds(ids);
+        verify(userRelationMapper, times(1)).countFollowersByUserIds(ids);
+        verify(userRelationMapper, never()).countFollowing(anyLong());
+        verify(userRelationMapper, never()).countFollowers(anyLong());
+    }
+
+    @Test
+    void testLoadIgnoresUnrequestedRows() {
+        List<Long> ids = List.of(1L);
+        when(userRelationMapper.countFollowingByUserIds(ids)).thenReturn(List.of(Map.of("user_id", 9L, "total", 3L)));
+        when(userRelationMapper.countFollowersByUserIds(ids)).thenReturn(Collections.emptyList());
+
+        Map<Long, Map<String, Long>> result = handler.load(ids);
+
+        assertEquals(1, result.size());
+        assertEquals(0L, result.get(1L).get(UserRelationCounterHandler.FIELD_FOLLOWING));
+    }
+
+    @Test
+    void testLoadEmptyIdsSkipsQueries() {
+        assertTrue(handler.load(Collections.emptyList()).isEmpty());
+        verifyNoInteractions(userRelationMapper);
+    }
+}
@@ -1,6 +1,7 @@
 package com.xypai.user.service.impl;
 
 import com.xypai.common.core.exception.ServiceException;
+import com.xypai.common.redis.counter.RedisCounterService;
 import com.xypai.user.domain.dto.UserRelationQueryDTO;
 import com.xypai.user.domain.entity.User;
 import com.xypai.user.domain.entity.UserProfile;
@@ -9,6 +10,7 @@ import com.xypai.user.domain.vo.UserRelationVO;
 import com.xypai.user.mapper.UserMapper;
 import com.xypai.user.mapper.UserProfileMapper;
 import com.xypai.user.mapper.UserRelationMapper;
+import com.xypai.user.service.counter.UserRelationCounterHandler;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -20,6 +22,7 @@ import com.xypai.common.security.utils.SecurityUtils;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -45,6 +48,9 @@ class UserRelationServiceImplTest {
     @Mock
     private UserProfileMapper userProfileMapper;
 
+    @Mock
+    private RedisCounterService redisCounterService;
+
     @InjectMocks
     private UserRelationServiceImpl relationService;
 
@@ -168,6 +174,8 @@ class UserRelationServiceImplTest {
             // Then
             assertTrue(result);
             verify(userRelationMapper).delete(any());
+            verify(redisCounterService).increment(UserRelationCounterHandler.NAMESPACE, 1L, UserRelationCounterHandler.FIELD_FOLLOWING, -1L);
+            verify(redisCounterService).increment(UserRelationCounterHandler.NAMESPACE, 2L, UserRelationCounterHandler.FIELD_FOLLOWERS, -1L);
         }
     }
 
@@ -259,8 +267,9 @@ class UserRelationServiceImplTest {
         try (MockedStatic<SecurityUtils> mockedSecurityUtils = mockStatic(SecurityUtils.class)) {
             mockedSecurityUtils.when(SecurityUtils::getUserId).thenReturn(1L);
             when(userRelationMapper.selectList(any())).thenReturn(mockRelations);
-            when(userMapper.selectById(2L)).thenReturn(targetUser);
-            when(userProfileMapper.selectById(2L)).thenReturn(targetProfile);
+            // 粉丝记录的目标用户是当前用户
+            when(userMapper.selectById(1L)).thenReturn(testUser);
+            when(userProfileMapper.selectById(1L)).thenReturn(testProfile);
 
             // When
             List<UserRelationVO> result = relationService.getFollowersList(query);
@@ -298,8 +307,10 @@ class UserRelationServiceImplTest {
         // Given
         try (MockedStatic<SecurityUtils> mockedSecurityUtils = mockStatic(SecurityUtils.class)) {
             mockedSecurityUtils.when(SecurityUtils::getUserId).thenReturn(1L);
-            when(userRelationMapper.countFollowing(1L)).thenReturn(10L);
-            when(userRelationMapper.countFollowers(1L)).thenReturn(5L);
+            Map<String, Long> counts = new HashMap<>();
+            counts.put(UserRelationCounterHandler.FIELD_FOLLOWING, 10L);
+            counts.put(UserRelationCounterHandler.FIELD_FOLLOWERS, 5L);
+            when(redisCounterService.getCounts(UserRelationCounterHandler.NAMESPACE, 1L)).thenReturn(counts);
             when(userRelationMapper.selectCount(any())).thenReturn(2L);
 
             // When